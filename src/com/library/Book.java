@@ -1,16 +1,46 @@
 package com.library;
 
+import com.library.dictionary.Term;
+import com.library.dictionary.TermDictionary;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Kelas Book merepresentasikan sebuah buku dalam sistem perpustakaan.
  * Kelas ini menyimpan informasi dasar tentang buku seperti judul, pengarang,
  * ISBN, tahun publikasi, dan status ketersediaan.
  * 
+ * <p>Representasi teks buku ({@link #toString()} dan {@link #getBookInfo()})
+ * dibangun dari bagian yang jarang berubah dan disimpan dalam cache. Cache
+ * dibuang setiap kali atribut selain status ketersediaan diubah, sehingga
+ * {@link #appendTo(Appendable)}, {@link #appendInfoTo(Appendable)}, dan
+ * {@link #writeTo(ByteBuffer)} dapat menulis buku tanpa alokasi objek baru.
+ * 
+ * <p>Pengarang dan kategori disimpan sebagai {@link Term} kanonik dari
+ * {@link TermDictionary#AUTHORS} dan {@link TermDictionary#CATEGORIES}, sehingga
+ * buku-buku dengan pengarang atau kategori yang sama berbagi satu instance
+ * String beserta bentuk huruf kecilnya.
+ * 
+ * <p>Buku yang disimpan di {@link Library} terikat ke perpustakaan tersebut.
+ * Perubahan lewat mutator publik (misalnya {@link #borrowBook()} atau
+ * {@link #setCategory(String)}) pada buku yang terikat langsung diteruskan ke
+ * perpustakaan, sehingga statistik, indeks, penyimpanan, dan event tetap
+ * konsisten seperti jika perubahan dilakukan lewat Library. ID buku yang
+ * terikat tidak dapat diubah.
+ * 
  * @author Mochammad Rizky Firdaus
  * @version 1
  * @since 2025-11-09
  */
 public class Book {
     
+    /** Akhiran UTF-8 untuk buku yang tersedia */
+    private static final byte[] AVAILABLE_SUFFIX = "Ya}".getBytes(StandardCharsets.UTF_8);
+    
+    /** Akhiran UTF-8 untuk buku yang sedang dipinjam */
+    private static final byte[] BORROWED_SUFFIX = "Tidak}".getBytes(StandardCharsets.UTF_8);
+    
     /** ID unik untuk setiap buku */
     private int bookId;
     
@@ -18,7 +48,7 @@ public class Book {
     private String title;
     
     /** Nama pengarang buku */
-    private String author;
+    private Term author;
     
     /** Nomor ISBN buku */
     private String isbn;
@@ -29,8 +59,14 @@ public class Book {
     /** Status ketersediaan buku (true jika tersedia, false jika dipinjam) */
     private boolean isAvailable;
     
-    /** Kategori atau genre buku */
-    private String category;
+    /** Kategori atau genre buku, null jika tidak diisi */
+    private Term category;
+    
+    /** Cache representasi teks, null jika perlu dibangun ulang */
+    private Rendering rendering;
+    
+    /** Perpustakaan yang menyimpan buku ini, null jika tidak terikat */
+    private Library owner;
     
     /**
      * Constructor untuk membuat objek Book dengan semua parameter.
@@ -60,10 +96,10 @@ public class Book {
         
         this.bookId = bookId;
         this.title = title.trim();
-        this.author = author.trim();
+        this.author = TermDictionary.AUTHORS.intern(author.trim());
         this.isbn = isbn;
         this.publicationYear = publicationYear;
-        this.category = category;
+        this.category = TermDictionary.CATEGORIES.intern(category);
         this.isAvailable = true; // default tersedia
     }
     
@@ -79,6 +115,27 @@ public class Book {
         this(bookId, title, author, "", 0, "Umum");
     }
     
+    /**
+     * Constructor salinan yang membuat objek Book baru dengan atribut dan status
+     * ketersediaan yang sama dengan buku lain.
+     * 
+     * @param other buku yang akan disalin, tidak boleh null
+     * @throws IllegalArgumentException jika other adalah null
+     */
+    public Book(Book other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Buku yang disalin tidak boleh null");
+        }
+        this.bookId = other.bookId;
+        this.title = other.title;
+        this.author = other.author;
+        this.isbn = other.isbn;
+        this.publicationYear = other.publicationYear;
+        this.category = other.category;
+        this.isAvailable = other.isAvailable;
+        this.rendering = other.rendering;
+    }
+    
     /**
      * Mendapatkan ID unik buku.
      * 
@@ -98,7 +155,11 @@ public class Book {
         if (bookId <= 0) {
             throw new IllegalArgumentException("Book ID harus berupa angka positif");
         }
+        if (owner != null && bookId != this.bookId) {
+            throw new IllegalStateException("ID buku yang tersimpan di perpustakaan tidak dapat diubah");
+        }
         this.bookId = bookId;
+        this.rendering = null;
     }
     
     /**
@@ -120,7 +181,10 @@ public class Book {
         if (title == null || title.trim().isEmpty()) {
             throw new IllegalArgumentException("Judul buku tidak boleh kosong");
         }
+        Book previous = beforeChange();
         this.title = title.trim();
+        this.rendering = null;
+        afterChange(previous);
     }
     
     /**
@@ -129,6 +193,15 @@ public class Book {
      * @return nama pengarang dalam bentuk String
      */
     public String getAuthor() {
+        return author.getValue();
+    }
+    
+    /**
+     * Mendapatkan nama pengarang sebagai Term kanonik.
+     * 
+     * @return Term pengarang dari {@link TermDictionary#AUTHORS}
+     */
+    public Term getAuthorTerm() {
         return author;
     }
     
@@ -142,7 +215,10 @@ public class Book {
         if (author == null || author.trim().isEmpty()) {
             throw new IllegalArgumentException("Nama pengarang tidak boleh kosong");
         }
-        this.author = author.trim();
+        Book previous = beforeChange();
+        this.author = TermDictionary.AUTHORS.intern(author.trim());
+        this.rendering = null;
+        afterChange(previous);
     }
     
     /**
@@ -160,7 +236,10 @@ public class Book {
      * @param isbn nomor ISBN baru untuk buku
      */
     public void setIsbn(String isbn) {
+        Book previous = beforeChange();
         this.isbn = isbn;
+        this.rendering = null;
+        afterChange(previous);
     }
     
     /**
@@ -182,7 +261,10 @@ public class Book {
         if (publicationYear < 1000 || publicationYear > 2024) {
             throw new IllegalArgumentException("Tahun publikasi tidak valid");
         }
+        Book previous = beforeChange();
         this.publicationYear = publicationYear;
+        this.rendering = null;
+        afterChange(previous);
     }
     
     /**
@@ -200,7 +282,12 @@ public class Book {
      * @param available status ketersediaan baru (true = tersedia, false = dipinjam)
      */
     public void setAvailable(boolean available) {
+        if (available == isAvailable) {
+            return;
+        }
+        Book previous = beforeChange();
         this.isAvailable = available;
+        afterChange(previous);
     }
     
     /**
@@ -209,6 +296,16 @@ public class Book {
      * @return kategori buku dalam bentuk String
      */
     public String getCategory() {
+        return category != null ? category.getValue() : null;
+    }
+    
+    /**
+     * Mendapatkan kategori sebagai Term kanonik.
+     * 
+     * @return Term kategori dari {@link TermDictionary#CATEGORIES}, null jika
+     *         kategori tidak diisi
+     */
+    public Term getCategoryTerm() {
         return category;
     }
     
@@ -218,7 +315,10 @@ public class Book {
      * @param category kategori baru untuk buku
      */
     public void setCategory(String category) {
-        this.category = category;
+        Book previous = beforeChange();
+        this.category = TermDictionary.CATEGORIES.intern(category);
+        this.rendering = null;
+        afterChange(previous);
     }
     
     /**
@@ -232,7 +332,9 @@ public class Book {
         if (!isAvailable) {
             throw new IllegalStateException("Buku sedang tidak tersedia untuk dipinjam");
         }
+        Book previous = beforeChange();
         this.isAvailable = false;
+        afterChange(previous);
         return true;
     }
     
@@ -247,26 +349,127 @@ public class Book {
         if (isAvailable) {
             throw new IllegalStateException("Buku sudah dalam status tersedia");
         }
+        Book previous = beforeChange();
         this.isAvailable = true;
+        afterChange(previous);
         return true;
     }
     
+    /**
+     * Mengubah status ketersediaan tanpa memberi tahu perpustakaan pemilik,
+     * untuk dipakai oleh Library yang mencatat perubahannya sendiri.
+     * 
+     * @param available status ketersediaan baru
+     */
+    void markAvailable(boolean available) {
+        this.isAvailable = available;
+    }
+    
+    /**
+     * Menyalin judul, pengarang, ISBN, tahun publikasi, dan kategori dari buku
+     * lain tanpa memberi tahu perpustakaan pemilik, untuk dipakai oleh Library
+     * yang mencatat perubahannya sendiri.
+     * 
+     * @param other buku sumber atribut
+     */
+    void assignAttributes(Book other) {
+        this.title = other.title;
+        this.author = other.author;
+        this.isbn = other.isbn;
+        this.publicationYear = other.publicationYear;
+        this.category = other.category;
+        this.rendering = null;
+    }
+    
+    /**
+     * Mendapatkan perpustakaan yang menyimpan buku ini.
+     * 
+     * @return perpustakaan pemilik, atau null jika tidak terikat
+     */
+    Library getOwner() {
+        return owner;
+    }
+    
+    /**
+     * Mengikat buku ke perpustakaan yang menyimpannya, atau melepasnya dengan null.
+     * 
+     * @param owner perpustakaan pemilik
+     */
+    void setOwner(Library owner) {
+        this.owner = owner;
+    }
+    
+    /**
+     * Menyalin keadaan buku sebelum diubah jika buku terikat ke perpustakaan.
+     */
+    private Book beforeChange() {
+        return owner != null ? new Book(this) : null;
+    }
+    
+    /**
+     * Meneruskan perubahan ke perpustakaan pemilik.
+     */
+    private void afterChange(Book previous) {
+        if (previous != null) {
+            owner.onBookChanged(previous, this);
+        }
+    }
+    
     /**
      * Menampilkan informasi lengkap tentang buku dalam format yang mudah dibaca.
      * 
      * @return String berisi informasi lengkap buku termasuk status ketersediaan
      */
     public String getBookInfo() {
-        StringBuilder info = new StringBuilder();
-        info.append("=== INFORMASI BUKU ===\n");
-        info.append("ID: ").append(bookId).append("\n");
-        info.append("Judul: ").append(title).append("\n");
-        info.append("Pengarang: ").append(author).append("\n");
-        info.append("ISBN: ").append(isbn.isEmpty() ? "Tidak tersedia" : isbn).append("\n");
-        info.append("Tahun Publikasi: ").append(publicationYear == 0 ? "Tidak diketahui" : publicationYear).append("\n");
-        info.append("Kategori: ").append(category).append("\n");
-        info.append("Status: ").append(isAvailable ? "Tersedia" : "Dipinjam").append("\n");
-        return info.toString();
+        return rendering().info.concat(isAvailable ? "Tersedia\n" : "Dipinjam\n");
+    }
+    
+    /**
+     * Menulis informasi lengkap buku (format yang sama dengan {@link #getBookInfo()})
+     * langsung ke sebuah Appendable tanpa membuat String baru.
+     * 
+     * @param out tujuan penulisan
+     * @throws IOException jika terjadi kesalahan penulisan
+     */
+    public void appendInfoTo(Appendable out) throws IOException {
+        out.append(rendering().info).append(isAvailable ? "Tersedia\n" : "Dipinjam\n");
+    }
+    
+    /**
+     * Menulis representasi singkat buku (format yang sama dengan {@link #toString()})
+     * langsung ke sebuah Appendable tanpa membuat String baru.
+     * 
+     * @param out tujuan penulisan
+     * @throws IOException jika terjadi kesalahan penulisan
+     */
+    public void appendTo(Appendable out) throws IOException {
+        out.append(rendering().summary).append(isAvailable ? "Ya}" : "Tidak}");
+    }
+    
+    /**
+     * Menulis representasi singkat buku dalam UTF-8 ke sebuah ByteBuffer.
+     * Bagian yang tidak berubah sudah di-encode sebelumnya sehingga penulisan
+     * hanya berupa penyalinan byte.
+     * 
+     * @param buffer buffer tujuan
+     * @throws java.nio.BufferOverflowException jika sisa ruang buffer tidak cukup
+     */
+    public void writeTo(ByteBuffer buffer) {
+        buffer.put(rendering().summaryUtf8).put(isAvailable ? AVAILABLE_SUFFIX : BORROWED_SUFFIX);
+    }
+    
+    /**
+     * Mendapatkan cache representasi teks, membangunnya jika belum ada.
+     * 
+     * @return cache representasi teks buku
+     */
+    private Rendering rendering() {
+        Rendering current = rendering;
+        if (current == null) {
+            current = new Rendering(this);
+            rendering = current;
+        }
+        return current;
     }
     
     /**
@@ -300,7 +503,41 @@ public class Book {
      */
     @Override
     public String toString() {
-        return String.format("Book{ID=%d, Title='%s', Author='%s', Available=%s}", 
-                           bookId, title, author, isAvailable ? "Ya" : "Tidak");
+        return rendering().summary.concat(isAvailable ? "Ya}" : "Tidak}");
+    }
+    
+    /**
+     * Cache bagian representasi teks yang tidak bergantung pada status
+     * ketersediaan. Semua field final agar aman dibagikan antar thread.
+     */
+    private static final class Rendering {
+        
+        /** Awalan toString() sampai sebelum nilai Available */
+        final String summary;
+        
+        /** Awalan toString() dalam UTF-8 */
+        final byte[] summaryUtf8;
+        
+        /** Awalan getBookInfo() sampai sebelum nilai Status */
+        final String info;
+        
+        /**
+         * Membangun cache dari atribut buku saat ini.
+         * 
+         * @param book buku yang akan dirender
+         */
+        Rendering(Book book) {
+            this.summary = "Book{ID=" + book.bookId + ", Title='" + book.title
+                    + "', Author='" + book.author.getValue() + "', Available=";
+            this.summaryUtf8 = summary.getBytes(StandardCharsets.UTF_8);
+            this.info = "=== INFORMASI BUKU ===\n"
+                    + "ID: " + book.bookId + "\n"
+                    + "Judul: " + book.title + "\n"
+                    + "Pengarang: " + book.author.getValue() + "\n"
+                    + "ISBN: " + (book.isbn.isEmpty() ? "Tidak tersedia" : book.isbn) + "\n"
+                    + "Tahun Publikasi: " + (book.publicationYear == 0 ? "Tidak diketahui" : book.publicationYear) + "\n"
+                    + "Kategori: " + book.getCategory() + "\n"
+                    + "Status: ";
+        }
     }
 }
\ No newline at end of file
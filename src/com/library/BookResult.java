@@ -0,0 +1,160 @@
+package com.library;
+
+import com.library.dedup.DuplicateCandidate;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Kelas BookResult membungkus hasil operasi perpustakaan tanpa exception:
+ * sebuah {@link OperationStatus} dan buku yang terkait (jika ada).
+ * 
+ * <p>Hasil yang tidak membawa buku, seperti {@link OperationStatus#NOT_FOUND}
+ * dan {@link OperationStatus#FULL}, memakai instance bersama sehingga jalur
+ * gagal yang paling sering terjadi tidak melakukan alokasi sama sekali.
+ * 
+ * <p>Hasil penambahan buku yang berhasil juga membawa buku-buku yang sudah
+ * ada dan kemungkinan merupakan duplikat dari buku baru tersebut.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see OperationStatus
+ * @see Library#tryBorrowBook(int)
+ */
+public final class BookResult {
+    
+    /** Hasil bersama untuk buku yang tidak ditemukan */
+    private static final BookResult NOT_FOUND = new BookResult(OperationStatus.NOT_FOUND, null);
+    
+    /** Hasil bersama untuk perpustakaan yang penuh */
+    private static final BookResult FULL = new BookResult(OperationStatus.FULL, null);
+    
+    /** Status hasil operasi */
+    private final OperationStatus status;
+    
+    /** Buku yang terkait dengan operasi, bisa null */
+    private final Book book;
+    
+    /** Kandidat duplikat dari buku yang baru ditambahkan, tidak pernah null */
+    private final List<DuplicateCandidate> likelyDuplicates;
+    
+    /**
+     * Constructor privat, gunakan factory method {@link #of(OperationStatus, Book)}.
+     * 
+     * @param status status hasil operasi
+     * @param book buku yang terkait
+     * @param likelyDuplicates kandidat duplikat buku yang ditambahkan
+     */
+    private BookResult(OperationStatus status, Book book, List<DuplicateCandidate> likelyDuplicates) {
+        this.status = status;
+        this.book = book;
+        this.likelyDuplicates = likelyDuplicates;
+    }
+    
+    private BookResult(OperationStatus status, Book book) {
+        this(status, book, Collections.emptyList());
+    }
+    
+    /**
+     * Membuat hasil operasi dengan status dan buku tertentu.
+     * 
+     * @param status status hasil operasi, tidak boleh null
+     * @param book buku yang terkait, boleh null
+     * @return objek BookResult
+     * @throws IllegalArgumentException jika status adalah null
+     */
+    public static BookResult of(OperationStatus status, Book book) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status tidak boleh null");
+        }
+        if (book == null && status == OperationStatus.NOT_FOUND) {
+            return NOT_FOUND;
+        }
+        if (book == null && status == OperationStatus.FULL) {
+            return FULL;
+        }
+        return new BookResult(status, book);
+    }
+    
+    /**
+     * Membuat hasil penambahan buku yang berhasil beserta buku-buku yang
+     * kemungkinan merupakan duplikatnya.
+     * 
+     * @param book buku yang ditambahkan, tidak boleh null
+     * @param likelyDuplicates kandidat duplikat, terurut dari kemiripan tertinggi
+     * @return objek BookResult dengan status OK
+     * @throws IllegalArgumentException jika book atau likelyDuplicates adalah null
+     */
+    public static BookResult added(Book book, List<DuplicateCandidate> likelyDuplicates) {
+        if (book == null || likelyDuplicates == null) {
+            throw new IllegalArgumentException("Buku dan kandidat duplikat tidak boleh null");
+        }
+        return new BookResult(OperationStatus.OK, book, Collections.unmodifiableList(likelyDuplicates));
+    }
+    
+    /**
+     * Mendapatkan hasil bersama untuk buku yang tidak ditemukan.
+     * 
+     * @return BookResult dengan status NOT_FOUND
+     */
+    public static BookResult notFound() {
+        return NOT_FOUND;
+    }
+    
+    /**
+     * Mendapatkan hasil bersama untuk perpustakaan yang penuh.
+     * 
+     * @return BookResult dengan status FULL
+     */
+    public static BookResult full() {
+        return FULL;
+    }
+    
+    /**
+     * Mendapatkan status hasil operasi.
+     * 
+     * @return status operasi
+     */
+    public OperationStatus getStatus() {
+        return status;
+    }
+    
+    /**
+     * Mendapatkan buku yang terkait dengan operasi.
+     * 
+     * @return buku yang terkait, atau null jika tidak ada
+     */
+    public Book getBook() {
+        return book;
+    }
+    
+    /**
+     * Mendapatkan buku yang sudah ada dan kemungkinan merupakan duplikat dari
+     * buku yang baru ditambahkan.
+     * 
+     * @return kandidat duplikat terurut dari kemiripan tertinggi, kosong untuk
+     *         hasil selain penambahan buku
+     */
+    public List<DuplicateCandidate> getLikelyDuplicates() {
+        return likelyDuplicates;
+    }
+    
+    /**
+     * Mengecek apakah operasi berhasil.
+     * 
+     * @return true jika status adalah OK
+     */
+    public boolean isOk() {
+        return status == OperationStatus.OK;
+    }
+    
+    /**
+     * Menghasilkan representasi string dari hasil operasi.
+     * 
+     * @return String berisi status dan buku terkait
+     */
+    @Override
+    public String toString() {
+        return "BookResult{Status=" + status + ", Book=" + book + "}";
+    }
+}
\ No newline at end of file
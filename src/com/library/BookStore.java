@@ -0,0 +1,288 @@
+package com.library;
+
+import com.library.storage.BookRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Kelas BookStore adalah mesin penyimpanan {@link BookRepository} di memori
+ * berbasis slot dan menjadi penyimpanan default {@link Library}.
+ * 
+ * <p>Buku disimpan di array slot dengan indeks ID ke slot, sehingga pencarian
+ * berdasarkan ID dan penghapusan berjalan dalam waktu konstan. Penghapusan hanya
+ * mengosongkan slot (tombstone) dan mencatatnya di daftar slot bebas, yang
+ * dipakai ulang oleh penambahan berikutnya. Akibatnya urutan iterasi mengikuti
+ * urutan slot, bukan urutan penambahan.
+ * 
+ * <p>Slot kosong membuat iterasi lebih lambat; {@link #compact(int)} memindahkan
+ * buku dari ekor array ke slot kosong secara bertahap agar penyimpanan kembali
+ * padat. Objek Book disimpan apa adanya, sehingga {@link #get(int)} dan
+ * {@link #scan()} mengembalikan instance yang sama dengan yang disimpan.
+ * Kelas ini tidak thread-safe, sama seperti Library.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ */
+final class BookStore implements BookRepository {
+    
+    /** Kapasitas awal array slot */
+    private static final int INITIAL_SLOTS = 16;
+    
+    /** Array slot, null berarti slot kosong */
+    private Book[] slots;
+    
+    /** Batas atas slot yang pernah dipakai; slot di atasnya selalu kosong */
+    private int limit;
+    
+    /** Jumlah buku yang tersimpan */
+    private int size;
+    
+    /** Tumpukan slot bebas; bisa berisi entri basi yang dilewati saat diambil */
+    private int[] freeSlots;
+    
+    /** Jumlah entri di tumpukan slot bebas */
+    private int freeCount;
+    
+    /** Indeks ID buku ke slot */
+    private final Map<Integer, Integer> index;
+    
+    BookStore() {
+        this.slots = new Book[INITIAL_SLOTS];
+        this.freeSlots = new int[INITIAL_SLOTS];
+        this.index = new HashMap<>();
+    }
+    
+    /**
+     * Jumlah buku yang tersimpan.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * Jumlah slot yang harus dipindai untuk iterasi, termasuk slot kosong.
+     */
+    @Override
+    public int getScanCost() {
+        return limit;
+    }
+    
+    /**
+     * Proporsi slot kosong di bawah batas atas, antara 0.0 dan 1.0.
+     */
+    @Override
+    public double getFragmentation() {
+        return limit == 0 ? 0.0 : (double) (limit - size) / limit;
+    }
+    
+    /**
+     * Menambahkan buku ke slot bebas, atau ke akhir array jika tidak ada.
+     * Pemanggil harus memastikan ID buku belum ada.
+     */
+    @Override
+    public void insert(Book book) {
+        int slot = takeFreeSlot();
+        if (slot < 0) {
+            if (limit == slots.length) {
+                slots = Arrays.copyOf(slots, slots.length * 2);
+            }
+            slot = limit++;
+        }
+        slots[slot] = book;
+        index.put(book.getBookId(), slot);
+        size++;
+    }
+    
+    /**
+     * Mencari buku berdasarkan ID.
+     * 
+     * @return buku, atau null jika tidak ada
+     */
+    @Override
+    public Book get(int bookId) {
+        Integer slot = index.get(bookId);
+        return slot != null ? slots[slot] : null;
+    }
+    
+    /**
+     * Mengganti isi slot buku dengan objek yang diberikan. Jika objeknya sama
+     * dengan yang tersimpan, tidak ada yang perlu ditulis.
+     */
+    @Override
+    public void update(Book book) {
+        Integer slot = index.get(book.getBookId());
+        if (slot == null) {
+            throw new IllegalArgumentException("Buku dengan ID " + book.getBookId() + " tidak tersimpan");
+        }
+        slots[slot] = book;
+    }
+
+    
+    /**
+     * Menghapus buku berdasarkan ID dengan mengosongkan slotnya.
+     * 
+     * @return buku yang dihapus, atau null jika tidak ada
+     */
+    @Override
+    public Book delete(int bookId) {
+        Integer slot = index.remove(bookId);
+        if (slot == null) {
+            return null;
+        }
+        Book book = slots[slot];
+        release(slot);
+        return book;
+    }
+    
+    /**
+     * Menghapus semua buku yang memenuhi predikat dalam satu kali pemindaian.
+     * 
+     * @param filter predikat buku yang dihapus
+     * @param removed dipanggil untuk setiap buku yang dihapus, boleh null
+     * @return jumlah buku yang dihapus
+     */
+    @Override
+    public int removeIf(Predicate<? super Book> filter, Consumer<? super Book> removed) {
+        int count = 0;
+        for (int i = 0; i < limit; i++) {
+            Book book = slots[i];
+            if (book != null && filter.test(book)) {
+                index.remove(book.getBookId());
+                release(i);
+                if (removed != null) {
+                    removed.accept(book);
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Stream semua buku sesuai urutan slot.
+     */
+    @Override
+    public Stream<Book> scan() {
+        return Arrays.stream(slots, 0, limit).filter(Objects::nonNull);
+    }
+    
+    /**
+     * Salinan list semua buku sesuai urutan slot.
+     */
+    @Override
+    public List<Book> toList() {
+        List<Book> result = new ArrayList<>(size);
+        for (int i = 0; i < limit; i++) {
+            if (slots[i] != null) {
+                result.add(slots[i]);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Menghitung buku yang memenuhi predikat tanpa membuat objek perantara.
+     */
+    @Override
+    public int count(Predicate<? super Book> filter) {
+        int count = 0;
+        for (int i = 0; i < limit; i++) {
+            if (slots[i] != null && filter.test(slots[i])) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Memadatkan penyimpanan secara bertahap dengan memindahkan buku dari slot
+     * paling akhir ke slot kosong. Setiap pemindahan O(1), sehingga pemanggil
+     * dapat membatasi lama satu langkah dan menyelanya dengan operasi lain.
+     * 
+     * @param maxMoves jumlah maksimum buku yang dipindahkan
+     * @return jumlah buku yang dipindahkan
+     */
+    @Override
+    public int compact(int maxMoves) {
+        int moved = 0;
+        trimTail();
+        while (moved < maxMoves && size < limit) {
+            int hole = takeFreeSlot();
+            if (hole < 0) {
+                break;
+            }
+            Book book = slots[limit - 1];
+            slots[hole] = book;
+            slots[limit - 1] = null;
+            index.put(book.getBookId(), hole);
+            limit--;
+            trimTail();
+            moved++;
+        }
+        
+        if (size == limit) {
+            // Tidak ada slot kosong lagi, semua entri tumpukan sudah basi
+            freeCount = 0;
+            int target = Math.max(INITIAL_SLOTS, limit * 2);
+            if (slots.length > target * 2) {
+                slots = Arrays.copyOf(slots, target);
+                freeSlots = new int[INITIAL_SLOTS];
+            }
+        }
+        return moved;
+    }
+    
+    /**
+     * Mengosongkan slot dan mencatatnya sebagai slot bebas.
+     */
+    private void release(int slot) {
+        slots[slot] = null;
+        size--;
+        if (slot == limit - 1) {
+            trimTail();
+            return;
+        }
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+    
+    /**
+     * Mengambil slot bebas yang masih valid, melewati entri basi.
+     * 
+     * @return indeks slot, atau -1 jika tidak ada
+     */
+    private int takeFreeSlot() {
+        while (freeCount > 0) {
+            int slot = freeSlots[--freeCount];
+            if (slot < limit && slots[slot] == null) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Menurunkan batas atas melewati slot kosong di ekor array.
+     */
+    private void trimTail() {
+        while (limit > 0 && slots[limit - 1] == null) {
+            limit--;
+        }
+    }
+}
\ No newline at end of file
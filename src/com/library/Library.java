@@ -1,9 +1,37 @@
 package com.library;
 
+import com.library.dedup.DuplicateCandidate;
+import com.library.dedup.DuplicateDetector;
+import com.library.dedup.DuplicateGroup;
+import com.library.dictionary.Term;
+import com.library.dictionary.TermDictionary;
 import com.library.exceptions.BookNotFoundException;
 import com.library.exceptions.DuplicateBookException;
+import com.library.events.MutationRingBuffer;
+import com.library.events.MutationType;
+import com.library.id.IdAllocator;
+import com.library.index.BookSortKey;
+import com.library.index.SortedBookIndex;
+import com.library.loan.Loan;
+import com.library.loan.LoanTracker;
+import com.library.loan.Reservation;
+import com.library.loan.ReservationQueues;
+import com.library.metrics.LibraryMetrics;
+import com.library.metrics.LibraryOperation;
+import com.library.popularity.BookPopularity;
+import com.library.popularity.PopularityTracker;
+import com.library.statistics.StatisticsAggregator;
+import com.library.statistics.StatisticsSnapshot;
+import com.library.storage.BookRepository;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -11,8 +39,58 @@ import java.util.stream.Collectors;
  * koleksi buku-buku. Kelas ini menyediakan fungsionalitas untuk menambah, mencari,
  * meminjam, dan mengembalikan buku.
  * 
- * <p>Kelas ini menggunakan ArrayList untuk menyimpan koleksi buku dan menyediakan
- * berbagai metode pencarian berdasarkan ID, judul, pengarang, dan kategori.
+ * <p>Kelas ini menyimpan koleksi buku di {@link BookRepository}. Secara default
+ * dipakai {@link BookStore} di memori berbasis slot dengan indeks ID, sehingga
+ * pencarian berdasarkan ID dan penghapusan berjalan dalam waktu konstan; mesin
+ * lain seperti {@link com.library.storage.FileBookRepository} dapat dipilih
+ * lewat constructor. Aturan kapasitas, ID ganda, dan status peminjaman tetap
+ * dijalankan di kelas ini, dan setiap perubahan status buku ditulis kembali ke
+ * penyimpanan. Kelas ini menyediakan berbagai metode pencarian berdasarkan ID,
+ * judul, pengarang, dan kategori. Ruang yang kosong karena penghapusan dapat
+ * dipadatkan dengan {@link #compact(int)}, misalnya oleh {@link LibraryCompactor}.
+ * 
+ * <p>Setiap operasi publik dicatat oleh {@link LibraryMetrics} yang dapat
+ * diperoleh melalui {@link #getMetrics()}.
+ * 
+ * <p>Statistik koleksi dipelihara secara inkremental oleh {@link StatisticsAggregator}
+ * pada setiap perubahan, sehingga {@link #getStatistics()} dan
+ * {@link #getLibraryStatistics()} tidak memindai seluruh koleksi. Buku yang
+ * disimpan terikat ke perpustakaan ini, sehingga perubahan langsung lewat
+ * mutator {@link Book} (misalnya {@code findBookById(id).borrowBook()}) juga
+ * dicatat seperti operasi Library yang setara. Buku yang sudah terikat ke
+ * perpustakaan lain tidak dapat ditambahkan; tambahkan salinannya.
+ * 
+ * <p>Setiap peminjaman juga dicatat oleh {@link PopularityTracker}, sehingga
+ * {@link #getMostPopularBooks(int)} dapat mendaftar buku terpopuler dan
+ * {@link #findPopularBooksByTitle(String, int)} serta
+ * {@link #findPopularBooksByAuthor(String, int)} mengembalikan hasil pencarian
+ * yang paling sering dipinjam lebih dulu.
+ * 
+ * <p>Judul dan pengarang setiap buku diindeks oleh {@link DuplicateDetector}.
+ * Setiap penambahan dengan {@link #tryAddBook(Book)} atau
+ * {@link #tryAddBook(String, String, String, int, String)} menandai buku yang
+ * mirip dengan buku yang sudah ada (bukan hanya ID yang sama) lewat
+ * {@link BookResult#getLikelyDuplicates()},
+ * {@link #findLikelyDuplicates(Book)} memeriksa buku sebelum ditambahkan, dan
+ * {@link #getDuplicateReport()} dapat mengelompokkan duplikat di seluruh
+ * koleksi tanpa membandingkan setiap pasangan buku. Perpustakaan yang dimuat
+ * dari {@link LibraryImage} membangun indeks ini saat pertama kali dibutuhkan.
+ * 
+ * <p>Untuk jalur dengan trafik tinggi, operasi pinjam, kembali, hapus, dan
+ * tambah juga tersedia dalam varian tanpa exception ({@link #tryBorrowBook(int)},
+ * {@link #tryReturnBook(int)}, {@link #tryRemoveBook(int)}, {@link #tryAddBook(Book)})
+ * yang mengembalikan {@link BookResult}. Jika exception tetap dibutuhkan,
+ * {@link #setStacklessExceptions(boolean)} membuat exception tanpa stack trace.
+ * 
+ * <p>Setiap peminjaman dicatat sebagai {@link Loan} dengan peminjam dan batas
+ * pengembalian di dalam {@link LoanTracker}, sehingga laporan keterlambatan
+ * dapat dibuat tanpa memindai seluruh koleksi. Buku yang sedang dipinjam dapat
+ * direservasi dengan {@link #reserveBook(int, String)}; ketika dikembalikan, buku
+ * langsung dipinjamkan ke pemegang reservasi berikutnya.
+ * 
+ * <p>Semua perubahan data (tambah, hapus, pinjam, kembali, dan hapus massal)
+ * dipublikasikan ke {@link MutationRingBuffer} yang dapat dibaca oleh sistem
+ * hilir melalui {@link #getMutationEvents()}.
  * 
  * @author Mochammad Rizky Firdaus
  * @version 1
@@ -20,20 +98,66 @@ import java.util.stream.Collectors;
  * @see Book
  * @see BookNotFoundException
  * @see DuplicateBookException
+ * @see BookResult
  */
 public class Library {
     
+    /** Lama peminjaman default */
+    public static final Duration DEFAULT_LOAN_PERIOD = Duration.ofDays(14);
+    
+    /** Pesan BookNotFoundException pada mode tanpa stack trace */
+    private static final String NOT_FOUND_MESSAGE = "Buku tidak ditemukan";
+    
+    /** Pesan DuplicateBookException pada mode tanpa stack trace */
+    private static final String DUPLICATE_MESSAGE = "Buku sudah ada";
+    
     /** Nama perpustakaan */
     private String libraryName;
     
-    /** Koleksi buku dalam perpustakaan */
-    private List<Book> books;
+    /** Mesin penyimpanan koleksi buku */
+    private final BookRepository books;
     
     /** Kapasitas maksimum buku yang dapat disimpan */
-    private int maxCapacity;
+    private final int maxCapacity;
+    
+    /** Pembagi ID buku otomatis */
+    private final IdAllocator ids;
+    
+    /** Statistik koleksi yang diperbarui pada setiap perubahan */
+    private final StatisticsAggregator statistics;
+    
+    /** Popularitas buku berdasarkan frekuensi peminjaman */
+    private final PopularityTracker popularity;
     
-    /** Counter untuk generate ID buku otomatis */
-    private int nextBookId;
+    /** Indeks kemiripan judul dan pengarang untuk mendeteksi duplikat */
+    private final DuplicateDetector duplicates;
+    
+    /** Penanda bahwa indeks duplikat belum dibangun setelah pemuatan image */
+    private volatile boolean duplicatesPending;
+    
+    /** Urutan buku yang terpelihara per atribut */
+    private final Map<BookSortKey, SortedBookIndex> sortedViews;
+    
+    /** Instrumentasi latensi dan counter operasi */
+    private final LibraryMetrics metrics;
+    
+    /** Flag untuk membuat exception tanpa stack trace */
+    private boolean stacklessExceptions;
+    
+    /** Catatan peminjaman aktif */
+    private final LoanTracker loanTracker;
+    
+    /** Antrean reservasi per buku */
+    private final ReservationQueues reservations;
+    
+    /** Aliran event perubahan data untuk sistem hilir */
+    private final MutationRingBuffer events;
+    
+    /** Sumber waktu untuk catatan peminjaman */
+    private Clock clock;
+    
+    /** Lama peminjaman sebelum buku dianggap terlambat */
+    private Duration loanPeriod;
     
     /**
      * Constructor untuk membuat objek Library dengan nama dan kapasitas maksimum.
@@ -43,17 +167,81 @@ public class Library {
      * @throws IllegalArgumentException jika parameter tidak valid
      */
     public Library(String libraryName, int maxCapacity) {
+        this(libraryName, maxCapacity, new IdAllocator());
+    }
+    
+    /**
+     * Constructor untuk membuat objek Library yang memakai pembagi ID tertentu,
+     * misalnya allocator dengan high-water mark di file agar ID tidak dipakai
+     * ulang setelah restart.
+     * 
+     * @param libraryName nama perpustakaan, tidak boleh null atau kosong
+     * @param maxCapacity kapasitas maksimum buku, harus lebih dari 0
+     * @param ids pembagi ID buku otomatis, tidak boleh null
+     * @throws IllegalArgumentException jika parameter tidak valid
+     */
+    public Library(String libraryName, int maxCapacity, IdAllocator ids) {
+        this(libraryName, maxCapacity, ids, new BookStore());
+    }
+    
+    /**
+     * Constructor untuk membuat objek Library di atas mesin penyimpanan
+     * tertentu. Buku yang sudah ada di penyimpanan langsung dimuat ke statistik
+     * dan indeks; buku yang tersimpan dalam status dipinjam tidak memiliki
+     * catatan peminjaman aktif.
+     * 
+     * @param libraryName nama perpustakaan, tidak boleh null atau kosong
+     * @param maxCapacity kapasitas maksimum buku, harus lebih dari 0
+     * @param ids pembagi ID buku otomatis, tidak boleh null
+     * @param repository mesin penyimpanan buku, tidak boleh null
+     * @throws IllegalArgumentException jika parameter tidak valid
+     */
+    @SuppressWarnings("this-escape")
+    public Library(String libraryName, int maxCapacity, IdAllocator ids, BookRepository repository) {
         if (libraryName == null || libraryName.trim().isEmpty()) {
             throw new IllegalArgumentException("Nama perpustakaan tidak boleh kosong");
         }
         if (maxCapacity <= 0) {
             throw new IllegalArgumentException("Kapasitas maksimum harus lebih dari 0");
         }
+        if (ids == null) {
+            throw new IllegalArgumentException("Pembagi ID tidak boleh null");
+        }
+        if (repository == null) {
+            throw new IllegalArgumentException("Mesin penyimpanan tidak boleh null");
+        }
         
         this.libraryName = libraryName.trim();
         this.maxCapacity = maxCapacity;
-        this.books = new ArrayList<>();
-        this.nextBookId = 1;
+        this.books = repository;
+        this.statistics = new StatisticsAggregator();
+        this.popularity = new PopularityTracker();
+        this.duplicates = new DuplicateDetector();
+        this.sortedViews = new EnumMap<>(BookSortKey.class);
+        for (BookSortKey key : BookSortKey.values()) {
+            sortedViews.put(key, new SortedBookIndex(key));
+        }
+        this.ids = ids;
+        this.loanTracker = new LoanTracker();
+        this.reservations = new ReservationQueues();
+        this.events = new MutationRingBuffer();
+        this.clock = Clock.systemUTC();
+        this.loanPeriod = DEFAULT_LOAN_PERIOD;
+        // Gauge hanya memakai field final dan parameter agar this tidak bocor dari constructor
+        this.metrics = new LibraryMetrics(this.libraryName, repository::size, statistics::getAvailableBooks,
+                                          () -> (double) repository.size() / maxCapacity * 100.0);
+        // Objek yang dibuat ulang oleh penyimpanan, misalnya dari disk, ikut terikat
+        repository.setLoadListener(book -> book.setOwner(this));
+        Iterator<Book> existing = repository.scan().iterator();
+        while (existing.hasNext()) {
+            Book book = existing.next();
+            // Book hanya menyimpan referensi pemilik; tidak ada callback selama konstruksi
+            book.setOwner(this);
+            statistics.onAdd(book);
+            indexDuplicate(book);
+            indexSorted(book);
+            ids.observe(book.getBookId());
+        }
     }
     
     /**
@@ -111,7 +299,123 @@ public class Library {
      * @return jumlah buku yang statusnya tersedia
      */
     public int getAvailableBooks() {
-        return (int) books.stream().filter(Book::isAvailable).count();
+        long start = System.nanoTime();
+        int available = countAvailable();
+        metrics.record(LibraryOperation.COUNT_AVAILABLE, start);
+        return available;
+    }
+    
+    /**
+     * Mengecek apakah exception dibuat tanpa stack trace.
+     * 
+     * @return true jika mode exception tanpa stack trace aktif
+     */
+    public boolean isStacklessExceptions() {
+        return stacklessExceptions;
+    }
+    
+    /**
+     * Mengatur apakah BookNotFoundException dan DuplicateBookException dibuat
+     * tanpa stack trace. Pada mode ini pesan exception juga tidak dirangkai
+     * saat dibuat; ID buku disimpan dan ditambahkan ke pesan oleh
+     * {@code getMessage()} hanya ketika pesan benar-benar dibaca.
+     * 
+     * @param stacklessExceptions true untuk mengaktifkan mode tanpa stack trace
+     */
+    public void setStacklessExceptions(boolean stacklessExceptions) {
+        this.stacklessExceptions = stacklessExceptions;
+    }
+    
+    /**
+     * Mendapatkan catatan peminjaman perpustakaan ini.
+     * 
+     * @return LoanTracker berisi peminjaman aktif dan terlambat
+     */
+    public LoanTracker getLoanTracker() {
+        return loanTracker;
+    }
+    
+    /**
+     * Mendapatkan pembagi ID buku otomatis.
+     * 
+     * @return allocator yang dipakai {@link #addBook(String, String, String, int, String)}
+     */
+    public IdAllocator getIdAllocator() {
+        return ids;
+    }
+    
+    /**
+     * Mendapatkan tracker popularitas buku.
+     * 
+     * @return tracker popularitas berdasarkan frekuensi peminjaman
+     */
+    public PopularityTracker getPopularityTracker() {
+        return popularity;
+    }
+    
+    /**
+     * Mendapatkan aliran event perubahan data perpustakaan ini.
+     * 
+     * @return ring buffer berisi event perubahan
+     */
+    public MutationRingBuffer getMutationEvents() {
+        return events;
+    }
+    
+    /**
+     * Mendapatkan semua peminjaman yang terlambat pada saat ini.
+     * Peminjaman yang baru melewati batas pengembalian diproses terlebih dahulu.
+     * 
+     * @return list peminjaman terlambat
+     */
+    public List<Loan> getOverdueLoans() {
+        return loanTracker.getOverdueLoans(clock.millis());
+    }
+    
+    /**
+     * Mendapatkan lama peminjaman yang berlaku.
+     * 
+     * @return lama peminjaman
+     */
+    public Duration getLoanPeriod() {
+        return loanPeriod;
+    }
+    
+    /**
+     * Mengatur lama peminjaman untuk peminjaman berikutnya.
+     * 
+     * @param loanPeriod lama peminjaman, harus positif
+     * @throws IllegalArgumentException jika loanPeriod null, nol, atau negatif
+     */
+    public void setLoanPeriod(Duration loanPeriod) {
+        if (loanPeriod == null || loanPeriod.isZero() || loanPeriod.isNegative()) {
+            throw new IllegalArgumentException("Lama peminjaman harus positif");
+        }
+        this.loanPeriod = loanPeriod;
+    }
+    
+    /**
+     * Mengatur sumber waktu untuk catatan peminjaman dan peluruhan popularitas,
+     * misalnya untuk simulasi.
+     * 
+     * @param clock sumber waktu, tidak boleh null
+     * @throws IllegalArgumentException jika clock adalah null
+     */
+    public void setClock(Clock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock tidak boleh null");
+        }
+        this.clock = clock;
+        popularity.setClock(clock);
+    }
+    
+    /**
+     * Mendapatkan instrumentasi operasi perpustakaan ini.
+     * 
+     * @return objek LibraryMetrics milik perpustakaan ini
+     */
+    public LibraryMetrics getMetrics() {
+        return metrics;
     }
     
     /**
@@ -123,6 +427,27 @@ public class Library {
         return books.size() >= maxCapacity;
     }
     
+    /**
+     * Mendapatkan proporsi slot penyimpanan yang kosong akibat penghapusan.
+     * Nilai yang tinggi membuat pencarian berbasis pemindaian lebih lambat.
+     * 
+     * @return fragmentasi antara 0.0 (padat) dan 1.0
+     */
+    public double getFragmentation() {
+        return books.getFragmentation();
+    }
+    
+    /**
+     * Memadatkan penyimpanan secara bertahap dengan memindahkan buku ke slot
+     * yang kosong. Urutan buku pada hasil listing dapat berubah.
+     * 
+     * @param maxMoves jumlah maksimum buku yang dipindahkan dalam satu panggilan
+     * @return jumlah buku yang dipindahkan, 0 jika penyimpanan sudah padat
+     */
+    public int compact(int maxMoves) {
+        return books.compact(maxMoves);
+    }
+    
     /**
      * Menambahkan buku baru ke perpustakaan dengan ID otomatis.
      * 
@@ -137,13 +462,50 @@ public class Library {
      */
     public Book addBook(String title, String author, String isbn, 
                        int publicationYear, String category) {
-        if (isFull()) {
+        BookResult result = tryAddBook(title, author, isbn, publicationYear, category);
+        if (result.getStatus() == OperationStatus.FULL) {
             throw new IllegalStateException("Perpustakaan sudah mencapai kapasitas maksimum");
         }
-        
-        Book newBook = new Book(nextBookId++, title, author, isbn, publicationYear, category);
-        books.add(newBook);
-        return newBook;
+        return result.getBook();
+    }
+    
+    /**
+     * Menambahkan buku baru dengan ID otomatis tanpa melempar exception untuk
+     * kondisi penuh, dan menandai buku yang sudah ada yang kemungkinan
+     * merupakan duplikatnya.
+     * 
+     * @param title judul buku yang akan ditambahkan
+     * @param author pengarang buku
+     * @param isbn nomor ISBN buku (opsional)
+     * @param publicationYear tahun publikasi buku
+     * @param category kategori buku
+     * @return hasil dengan status OK beserta kandidat duplikat, atau FULL
+     * @throws IllegalArgumentException jika parameter tidak valid
+     */
+    public BookResult tryAddBook(String title, String author, String isbn,
+                                 int publicationYear, String category) {
+        long start = System.nanoTime();
+        try {
+            if (isFull()) {
+                return BookResult.full();
+            }
+            
+            int bookId = ids.nextId();
+            while (books.get(bookId) != null) {
+                // ID sudah dipakai secara eksplisit sebelum lease ini ditinggalkan
+                bookId = ids.nextId();
+            }
+            Book newBook = new Book(bookId, title, author, isbn, publicationYear, category);
+            books.insert(newBook);
+            newBook.setOwner(this);
+            statistics.onAdd(newBook);
+            indexDuplicate(newBook);
+            indexSorted(newBook);
+            events.publish(MutationType.ADD, newBook.getBookId(), newBook, null, 0, clock.millis());
+            return BookResult.added(newBook, findLikelyDuplicates(newBook.getBookId()));
+        } finally {
+            metrics.record(LibraryOperation.ADD_BOOK, start);
+        }
     }
     
     /**
@@ -156,22 +518,56 @@ public class Library {
      * @throws IllegalArgumentException jika book adalah null
      */
     public boolean addBook(Book book) {
+        BookResult result = tryAddBook(book);
+        switch (result.getStatus()) {
+            case OK:
+                return true;
+            case FULL:
+                throw new IllegalStateException(OperationStatus.FULL.getDescription());
+            default:
+                metrics.recordDuplicateBook();
+                throw newDuplicateBookException(book.getBookId());
+        }
+    }
+    
+    /**
+     * Menambahkan objek buku tanpa melempar exception untuk kondisi penuh
+     * atau duplikat ID, dan menandai buku yang sudah ada yang kemungkinan
+     * merupakan duplikatnya.
+     * 
+     * @param book objek Book yang akan ditambahkan
+     * @return hasil dengan status OK beserta kandidat duplikat, FULL, atau DUPLICATE
+     * @throws IllegalArgumentException jika book adalah null
+     */
+    public BookResult tryAddBook(Book book) {
         if (book == null) {
             throw new IllegalArgumentException("Objek book tidak boleh null");
         }
-        if (isFull()) {
-            throw new IllegalStateException("Perpustakaan sudah mencapai kapasitas maksimum");
+        if (book.getOwner() != null && book.getOwner() != this) {
+            throw new IllegalArgumentException("Buku sudah tersimpan di perpustakaan lain, tambahkan salinannya");
         }
-        if (findBookById(book.getBookId()) != null) {
-            throw new DuplicateBookException("Buku dengan ID " + book.getBookId() + " sudah ada");
+        long start = System.nanoTime();
+        try {
+            if (isFull()) {
+                return BookResult.full();
+            }
+            Book existing = lookup(LibraryOperation.ADD_BOOK, book.getBookId());
+            if (existing != null) {
+                return BookResult.of(OperationStatus.DUPLICATE, existing);
+            }
+            
+            books.insert(book);
+            book.setOwner(this);
+            statistics.onAdd(book);
+            indexDuplicate(book);
+            indexSorted(book);
+            // ID eksplisit tidak boleh dibagikan lagi oleh addBook berikutnya
+            ids.observe(book.getBookId());
+            events.publish(MutationType.ADD, book.getBookId(), book, null, 0, clock.millis());
+            return BookResult.added(book, findLikelyDuplicates(book.getBookId()));
+        } finally {
+            metrics.record(LibraryOperation.ADD_BOOK, start);
         }
-        
-        books.add(book);
-        // Update nextBookId jika perlu
-        if (book.getBookId() >= nextBookId) {
-            nextBookId = book.getBookId() + 1;
-        }
-        return true;
     }
     
     /**
@@ -181,10 +577,25 @@ public class Library {
      * @return objek Book jika ditemukan, null jika tidak ditemukan
      */
     public Book findBookById(int bookId) {
-        return books.stream()
-                   .filter(book -> book.getBookId() == bookId)
-                   .findFirst()
-                   .orElse(null);
+        long start = System.nanoTime();
+        Book book = lookup(LibraryOperation.FIND_BY_ID, bookId);
+        metrics.recordLookup(book != null);
+        metrics.record(LibraryOperation.FIND_BY_ID, start);
+        return book;
+    }
+    
+    /**
+     * Mencari buku berdasarkan ID tanpa mencatat latensi, dipakai bersama oleh
+     * operasi-operasi yang perlu menemukan buku terlebih dahulu.
+     * 
+     * @param operation operasi yang melakukan pencarian, untuk pencatatan pemindaian
+     * @param bookId ID buku yang dicari
+     * @return objek Book jika ditemukan, null jika tidak ditemukan
+     */
+    private Book lookup(LibraryOperation operation, int bookId) {
+        Book book = books.get(bookId);
+        metrics.recordScan(operation, 1);
+        return book;
     }
     
     /**
@@ -199,10 +610,14 @@ public class Library {
             throw new IllegalArgumentException("Judul pencarian tidak boleh kosong");
         }
         
+        long start = System.nanoTime();
         String searchTitle = title.trim().toLowerCase();
-        return books.stream()
+        List<Book> result = books.scan()
                    .filter(book -> book.getTitle().toLowerCase().contains(searchTitle))
                    .collect(Collectors.toList());
+        metrics.recordScan(LibraryOperation.FIND_BY_TITLE, books.getScanCost());
+        metrics.record(LibraryOperation.FIND_BY_TITLE, start);
+        return result;
     }
     
     /**
@@ -217,10 +632,14 @@ public class Library {
             throw new IllegalArgumentException("Nama pengarang tidak boleh kosong");
         }
         
+        long start = System.nanoTime();
         String searchAuthor = author.trim().toLowerCase();
-        return books.stream()
-                   .filter(book -> book.getAuthor().toLowerCase().contains(searchAuthor))
+        List<Book> result = books.scan()
+                   .filter(book -> book.getAuthorTerm().getFolded().contains(searchAuthor))
                    .collect(Collectors.toList());
+        metrics.recordScan(LibraryOperation.FIND_BY_AUTHOR, books.getScanCost());
+        metrics.record(LibraryOperation.FIND_BY_AUTHOR, start);
+        return result;
     }
     
     /**
@@ -235,10 +654,156 @@ public class Library {
             throw new IllegalArgumentException("Kategori tidak boleh kosong");
         }
         
-        String searchCategory = category.trim().toLowerCase();
-        return books.stream()
-                   .filter(book -> book.getCategory().toLowerCase().equals(searchCategory))
+        long start = System.nanoTime();
+        int code = TermDictionary.CATEGORIES.getFoldedCode(category.trim().toLowerCase());
+        if (code < 0) {
+            // Tidak ada buku mana pun yang pernah memakai kategori ini
+            metrics.recordScan(LibraryOperation.FIND_BY_CATEGORY, 0);
+            metrics.record(LibraryOperation.FIND_BY_CATEGORY, start);
+            return new ArrayList<>();
+        }
+        List<Book> result = books.scan()
+                   .filter(book -> hasCategory(book, code))
                    .collect(Collectors.toList());
+        metrics.recordScan(LibraryOperation.FIND_BY_CATEGORY, books.getScanCost());
+        metrics.record(LibraryOperation.FIND_BY_CATEGORY, start);
+        return result;
+    }
+    
+    /**
+     * Mengecek kategori buku dengan membandingkan kode bentuk huruf kecil.
+     * 
+     * @param book buku yang dicek
+     * @param foldedCode kode kategori dalam huruf kecil dari {@link TermDictionary#CATEGORIES}
+     * @return true jika kategori buku sama tanpa memperhatikan huruf besar-kecil
+     */
+    private static boolean hasCategory(Book book, int foldedCode) {
+        Term term = book.getCategoryTerm();
+        return term != null && term.getFoldedCode() == foldedCode;
+    }
+    
+    /**
+     * Mencari buku berdasarkan judul dan mengembalikan yang paling sering
+     * dipinjam lebih dulu. Hanya limit buku teratas yang dipilih, tanpa
+     * mengurutkan seluruh hasil pencarian.
+     * 
+     * @param title judul buku yang dicari (sebagian atau lengkap)
+     * @param limit jumlah maksimum buku yang dikembalikan
+     * @return List berisi buku terpopuler yang judulnya mengandung kata kunci
+     * @throws IllegalArgumentException jika title null atau kosong, atau limit negatif
+     */
+    public List<Book> findPopularBooksByTitle(String title, int limit) {
+        if (title == null || title.trim().isEmpty()) {
+            throw new IllegalArgumentException("Judul pencarian tidak boleh kosong");
+        }
+        
+        long start = System.nanoTime();
+        String searchTitle = title.trim().toLowerCase();
+        List<Book> result = selectMostPopular(
+                book -> book.getTitle().toLowerCase().contains(searchTitle), limit);
+        metrics.recordScan(LibraryOperation.FIND_BY_TITLE, books.getScanCost());
+        metrics.record(LibraryOperation.FIND_BY_TITLE, start);
+        return result;
+    }
+    
+    /**
+     * Mencari buku berdasarkan pengarang dan mengembalikan yang paling sering
+     * dipinjam lebih dulu. Hanya limit buku teratas yang dipilih, tanpa
+     * mengurutkan seluruh hasil pencarian.
+     * 
+     * @param author nama pengarang yang dicari (sebagian atau lengkap)
+     * @param limit jumlah maksimum buku yang dikembalikan
+     * @return List berisi buku terpopuler karya pengarang tersebut
+     * @throws IllegalArgumentException jika author null atau kosong, atau limit negatif
+     */
+    public List<Book> findPopularBooksByAuthor(String author, int limit) {
+        if (author == null || author.trim().isEmpty()) {
+            throw new IllegalArgumentException("Nama pengarang tidak boleh kosong");
+        }
+        
+        long start = System.nanoTime();
+        String searchAuthor = author.trim().toLowerCase();
+        List<Book> result = selectMostPopular(
+                book -> book.getAuthorTerm().getFolded().contains(searchAuthor), limit);
+        metrics.recordScan(LibraryOperation.FIND_BY_AUTHOR, books.getScanCost());
+        metrics.record(LibraryOperation.FIND_BY_AUTHOR, start);
+        return result;
+    }
+    
+    /**
+     * Mendapatkan buku yang paling sering dipinjam dengan bobot peminjaman
+     * lama yang sudah meluruh. Daftar diambil dari kandidat
+     * {@link PopularityTracker} tanpa memindai koleksi.
+     * 
+     * @param limit jumlah maksimum buku, paling banyak
+     *              {@link PopularityTracker#DEFAULT_CAPACITY}
+     * @return List berisi buku terpopuler, terurut dari skor tertinggi
+     * @throws IllegalArgumentException jika limit negatif
+     */
+    public List<Book> getMostPopularBooks(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Jumlah buku tidak boleh negatif");
+        }
+        List<BookPopularity> top = popularity.top(limit);
+        List<Book> result = new ArrayList<>(top.size());
+        for (BookPopularity entry : top) {
+            Book book = books.get(entry.getBookId());
+            if (book != null && entry.getScore() > 0) {
+                result.add(book);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Memilih buku terpopuler yang memenuhi predikat.
+     * 
+     * @param filter predikat buku
+     * @param limit jumlah maksimum buku
+     * @return buku terpopuler, terurut dari skor tertinggi
+     */
+    private List<Book> selectMostPopular(Predicate<Book> filter, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Jumlah buku tidak boleh negatif");
+        }
+        return popularity.selectMostPopular(books.scan().filter(filter).iterator(), limit);
+    }
+    
+    /**
+     * Mencari buku di koleksi yang judul dan pengarangnya mirip dengan sebuah
+     * buku, misalnya sebelum buku hasil impor ditambahkan. Buku dengan ID yang
+     * sama tidak ikut dikembalikan.
+     * 
+     * @param book buku yang diperiksa
+     * @return kandidat duplikat, terurut dari kemiripan tertinggi
+     * @throws IllegalArgumentException jika book adalah null
+     */
+    public List<DuplicateCandidate> findLikelyDuplicates(Book book) {
+        ensureDuplicates();
+        return duplicates.findDuplicates(book);
+    }
+    
+    /**
+     * Mencari buku lain di koleksi yang kemungkinan merupakan duplikat dari
+     * buku yang sudah ada, misalnya untuk menandai buku yang baru ditambahkan.
+     * 
+     * @param bookId ID buku di koleksi
+     * @return kandidat duplikat, kosong jika buku tidak ada
+     */
+    public List<DuplicateCandidate> findLikelyDuplicates(int bookId) {
+        ensureDuplicates();
+        return duplicates.findDuplicates(bookId);
+    }
+    
+    /**
+     * Membuat laporan kelompok buku yang kemungkinan duplikat di seluruh koleksi
+     * dalam waktu mendekati linear.
+     * 
+     * @return kelompok duplikat, terurut berdasarkan ID terkecil
+     */
+    public List<DuplicateGroup> getDuplicateReport() {
+        ensureDuplicates();
+        return duplicates.report();
     }
     
     /**
@@ -247,9 +812,13 @@ public class Library {
      * @return List berisi buku-buku yang statusnya tersedia
      */
     public List<Book> getAvailableBooksList() {
-        return books.stream()
+        long start = System.nanoTime();
+        List<Book> result = books.scan()
                    .filter(Book::isAvailable)
                    .collect(Collectors.toList());
+        metrics.recordScan(LibraryOperation.LIST_AVAILABLE, books.getScanCost());
+        metrics.record(LibraryOperation.LIST_AVAILABLE, start);
+        return result;
     }
     
     /**
@@ -258,9 +827,13 @@ public class Library {
      * @return List berisi buku-buku yang sedang dipinjam
      */
     public List<Book> getBorrowedBooks() {
-        return books.stream()
+        long start = System.nanoTime();
+        List<Book> result = books.scan()
                    .filter(book -> !book.isAvailable())
                    .collect(Collectors.toList());
+        metrics.recordScan(LibraryOperation.LIST_BORROWED, books.getScanCost());
+        metrics.record(LibraryOperation.LIST_BORROWED, start);
+        return result;
     }
     
     /**
@@ -272,17 +845,57 @@ public class Library {
      * @throws IllegalStateException jika buku sedang tidak tersedia
      */
     public Book borrowBook(int bookId) throws BookNotFoundException {
-        Book book = findBookById(bookId);
-        if (book == null) {
-            throw new BookNotFoundException("Buku dengan ID " + bookId + " tidak ditemukan");
-        }
-        
-        if (!book.isAvailable()) {
-            throw new IllegalStateException("Buku '" + book.getTitle() + "' sedang dipinjam");
+        return borrowBook(bookId, null);
+    }
+    
+    /**
+     * Meminjam buku berdasarkan ID buku atas nama seorang peminjam.
+     * Catatan peminjaman dengan batas pengembalian dibuat di {@link LoanTracker}.
+     * 
+     * @param bookId ID buku yang akan dipinjam
+     * @param borrower nama peminjam, null berarti tidak diketahui
+     * @return objek Book yang berhasil dipinjam
+     * @throws BookNotFoundException jika buku dengan ID tersebut tidak ditemukan
+     * @throws IllegalStateException jika buku sedang tidak tersedia
+     */
+    public Book borrowBook(int bookId, String borrower) throws BookNotFoundException {
+        return unwrap(tryBorrowBook(bookId, borrower), bookId);
+    }
+    
+    /**
+     * Meminjam buku berdasarkan ID tanpa melempar exception.
+     * 
+     * @param bookId ID buku yang akan dipinjam
+     * @return hasil dengan status OK, NOT_FOUND, atau NOT_AVAILABLE
+     */
+    public BookResult tryBorrowBook(int bookId) {
+        return tryBorrowBook(bookId, null);
+    }
+    
+    /**
+     * Meminjam buku atas nama seorang peminjam tanpa melempar exception.
+     * 
+     * @param bookId ID buku yang akan dipinjam
+     * @param borrower nama peminjam, null berarti tidak diketahui
+     * @return hasil dengan status OK, NOT_FOUND, atau NOT_AVAILABLE
+     */
+    public BookResult tryBorrowBook(int bookId, String borrower) {
+        long start = System.nanoTime();
+        try {
+            Book book = lookup(LibraryOperation.BORROW, bookId);
+            metrics.recordLookup(book != null);
+            if (book == null) {
+                return BookResult.notFound();
+            }
+            if (!book.isAvailable()) {
+                return BookResult.of(OperationStatus.NOT_AVAILABLE, book);
+            }
+            
+            lend(book, borrower);
+            return BookResult.of(OperationStatus.OK, book);
+        } finally {
+            metrics.record(LibraryOperation.BORROW, start);
         }
-        
-        book.borrowBook();
-        return book;
     }
     
     /**
@@ -294,17 +907,209 @@ public class Library {
      * @throws IllegalStateException jika buku sudah dalam status tersedia
      */
     public Book returnBook(int bookId) throws BookNotFoundException {
-        Book book = findBookById(bookId);
+        return unwrap(tryReturnBook(bookId), bookId);
+    }
+    
+    /**
+     * Mengembalikan buku berdasarkan ID tanpa melempar exception.
+     * 
+     * @param bookId ID buku yang akan dikembalikan
+     * @return hasil dengan status OK, NOT_FOUND, atau ALREADY_AVAILABLE
+     */
+    public BookResult tryReturnBook(int bookId) {
+        long start = System.nanoTime();
+        try {
+            Book book = lookup(LibraryOperation.RETURN, bookId);
+            metrics.recordLookup(book != null);
+            if (book == null) {
+                return BookResult.notFound();
+            }
+            if (book.isAvailable()) {
+                return BookResult.of(OperationStatus.ALREADY_AVAILABLE, book);
+            }
+            
+            book.markAvailable(true);
+            recordReturn(book);
+            return BookResult.of(OperationStatus.OK, book);
+        } finally {
+            metrics.record(LibraryOperation.RETURN, start);
+        }
+    }
+    
+    /**
+     * Mereservasi buku untuk seorang peminjam. Jika buku tersedia, buku langsung
+     * dipinjamkan dan future yang dikembalikan sudah selesai. Jika tidak, peminjam
+     * masuk antrean FIFO buku tersebut dan future diselesaikan ketika buku
+     * dikembalikan dan diserahkan kepadanya.
+     * 
+     * <p>Future diselesaikan di thread yang mengembalikan buku; gunakan varian
+     * {@code *Async} untuk pekerjaan lanjutan yang berat. Membatalkan future sama
+     * dengan membatalkan reservasi.
+     * 
+     * @param bookId ID buku yang akan direservasi
+     * @param borrower nama peminjam
+     * @return future berisi buku yang dipinjamkan kepada peminjam
+     * @throws BookNotFoundException jika buku tidak ditemukan
+     * @throws IllegalStateException jika antrean reservasi buku sudah penuh
+     */
+    public CompletableFuture<Book> reserveBook(int bookId, String borrower) throws BookNotFoundException {
+        long start = System.nanoTime();
+        try {
+            Book book = lookup(LibraryOperation.RESERVE, bookId);
+            metrics.recordLookup(book != null);
+            if (book == null) {
+                metrics.recordBookNotFound();
+                throw newBookNotFoundException(bookId);
+            }
+            
+            String holder = borrower == null || borrower.trim().isEmpty() ? Loan.UNKNOWN_BORROWER : borrower.trim();
+            if (book.isAvailable() && reservations.getQueueLength(bookId) == 0) {
+                lend(book, holder);
+                return CompletableFuture.completedFuture(book);
+            }
+            return reservations.enqueue(bookId, holder, clock.millis()).getFuture();
+        } finally {
+            metrics.record(LibraryOperation.RESERVE, start);
+        }
+    }
+    
+    /**
+     * Membatalkan reservasi seorang peminjam untuk sebuah buku.
+     * 
+     * @param bookId ID buku
+     * @param borrower nama peminjam
+     * @return true jika ada reservasi yang dibatalkan
+     */
+    public boolean cancelReservation(int bookId, String borrower) {
+        return borrower != null && reservations.cancel(bookId, borrower.trim());
+    }
+    
+    /**
+     * Menghitung jumlah peminjam yang sedang menunggu sebuah buku.
+     * 
+     * @param bookId ID buku
+     * @return jumlah reservasi yang menunggu
+     */
+    public int getReservationCount(int bookId) {
+        return reservations.getQueueLength(bookId);
+    }
+    
+    /**
+     * Meminjamkan buku yang tersedia kepada seorang peminjam dan mencatat peminjamannya.
+     * 
+     * @param book buku yang tersedia
+     * @param borrower nama peminjam
+     */
+    private void lend(Book book, String borrower) {
+        book.markAvailable(false);
+        recordBorrow(book, borrower);
+    }
+    
+    /**
+     * Mencatat buku yang baru berubah menjadi dipinjam: penyimpanan, statistik,
+     * catatan peminjaman, popularitas, dan event.
+     * 
+     * @param book buku yang sudah ditandai dipinjam
+     * @param borrower nama peminjam
+     */
+    private void recordBorrow(Book book, String borrower) {
+        books.updateAvailability(book);
+        statistics.onBorrow(book);
+        long now = clock.millis();
+        if (loanTracker.getActiveLoan(book.getBookId()) != null) {
+            // Status salinan buku dari penyimpanan diubah langsung tanpa melalui Library
+            loanTracker.close(book.getBookId(), now);
+        }
+        Loan loan = loanTracker.open(book.getBookId(), borrower, now, now + loanPeriod.toMillis());
+        popularity.recordBorrow(book.getBookId(), now);
+        events.publish(MutationType.BORROW, book.getBookId(), book, loan.getBorrower(), 0, now);
+    }
+    
+    /**
+     * Mencatat buku yang baru berubah menjadi tersedia, lalu menyerahkannya
+     * kepada pemegang reservasi berikutnya.
+     * 
+     * @param book buku yang sudah ditandai tersedia
+     */
+    private void recordReturn(Book book) {
+        books.updateAvailability(book);
+        statistics.onReturn(book);
+        long now = clock.millis();
+        loanTracker.close(book.getBookId(), now);
+        events.publish(MutationType.RETURN, book.getBookId(), book, null, 0, now);
+        handOffToNextHolder(book);
+    }
+    
+    /**
+     * Menyerahkan buku yang baru dikembalikan kepada pemegang reservasi berikutnya.
+     * Peminjaman dibuat sebelum future diselesaikan, sehingga pemegang reservasi
+     * langsung melihat buku sudah atas namanya. Reservasi diklaim secara atomik
+     * sebelum buku dipinjamkan, sehingga reservasi yang dibatalkan bersamaan
+     * dilewati tanpa peminjaman, event, atau perubahan statistik.
+     * 
+     * @param book buku yang baru dikembalikan
+     */
+    private void handOffToNextHolder(Book book) {
+        Reservation next;
+        while ((next = reservations.poll(book.getBookId())) != null) {
+            // Reservasi yang dibatalkan bersamaan gagal diklaim dan dilewati tanpa efek samping
+            if (next.claim()) {
+                lend(book, next.getBorrower());
+                next.getFuture().complete(book);
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Mengubah judul, pengarang, ISBN, tahun publikasi, dan kategori buku.
+     * 
+     * @param book buku berisi atribut baru, dengan ID buku yang diubah
+     * @return buku yang sudah diubah
+     * @throws BookNotFoundException jika buku tidak ditemukan
+     * @throws IllegalArgumentException jika book adalah null
+     */
+    public Book updateBook(Book book) throws BookNotFoundException {
         if (book == null) {
-            throw new BookNotFoundException("Buku dengan ID " + bookId + " tidak ditemukan");
+            throw new IllegalArgumentException("Objek book tidak boleh null");
         }
-        
-        if (book.isAvailable()) {
-            throw new IllegalStateException("Buku '" + book.getTitle() + "' sudah dalam status tersedia");
+        return unwrap(tryUpdateBook(book), book.getBookId());
+    }
+    
+    /**
+     * Mengubah atribut buku tanpa melempar exception. Status ketersediaan,
+     * peminjaman, dan reservasi tidak berubah, sedangkan statistik, indeks
+     * duplikat, dan urutan buku diperbarui.
+     * 
+     * @param book buku berisi atribut baru, dengan ID buku yang diubah
+     * @return hasil dengan status OK (berisi buku yang diubah) atau NOT_FOUND
+     * @throws IllegalArgumentException jika book adalah null
+     */
+    public BookResult tryUpdateBook(Book book) {
+        if (book == null) {
+            throw new IllegalArgumentException("Objek book tidak boleh null");
+        }
+        long start = System.nanoTime();
+        try {
+            Book existing = lookup(LibraryOperation.UPDATE_BOOK, book.getBookId());
+            metrics.recordLookup(existing != null);
+            if (existing == null) {
+                return BookResult.notFound();
+            }
+            
+            // Nilai kelompok lama disalin sebelum atribut baru diterapkan
+            Book previous = new Book(existing);
+            unindexDuplicate(existing.getBookId());
+            existing.assignAttributes(book);
+            books.update(existing);
+            statistics.onUpdate(previous, existing);
+            indexDuplicate(existing);
+            indexSorted(existing);
+            events.publish(MutationType.UPDATE, existing.getBookId(), existing, null, 0, clock.millis());
+            return BookResult.of(OperationStatus.OK, existing);
+        } finally {
+            metrics.record(LibraryOperation.UPDATE_BOOK, start);
         }
-        
-        book.returnBook();
-        return book;
     }
     
     /**
@@ -316,16 +1121,120 @@ public class Library {
      * @throws IllegalStateException jika buku sedang dipinjam
      */
     public boolean removeBook(int bookId) throws BookNotFoundException {
-        Book book = findBookById(bookId);
-        if (book == null) {
-            throw new BookNotFoundException("Buku dengan ID " + bookId + " tidak ditemukan");
+        unwrap(tryRemoveBook(bookId), bookId);
+        return true;
+    }
+    
+    /**
+     * Menghapus buku berdasarkan ID tanpa melempar exception.
+     * 
+     * @param bookId ID buku yang akan dihapus
+     * @return hasil dengan status OK (berisi buku yang dihapus), NOT_FOUND, atau BORROWED
+     */
+    public BookResult tryRemoveBook(int bookId) {
+        long start = System.nanoTime();
+        try {
+            Book book = lookup(LibraryOperation.REMOVE, bookId);
+            metrics.recordLookup(book != null);
+            if (book == null) {
+                return BookResult.notFound();
+            }
+            if (!book.isAvailable()) {
+                return BookResult.of(OperationStatus.BORROWED, book);
+            }
+            
+            books.delete(bookId);
+            book.setOwner(null);
+            statistics.onRemove(book);
+            popularity.remove(bookId);
+            unindexDuplicate(bookId);
+            unindexSorted(bookId);
+            events.publish(MutationType.REMOVE, bookId, book, null, 0, clock.millis());
+            reservations.discard(bookId, () -> newBookNotFoundException(bookId));
+            return BookResult.of(OperationStatus.OK, book);
+        } finally {
+            metrics.record(LibraryOperation.REMOVE, start);
         }
-        
-        if (!book.isAvailable()) {
-            throw new IllegalStateException("Tidak dapat menghapus buku yang sedang dipinjam");
+    }
+    
+    /**
+     * Mencatat perubahan yang dilakukan langsung lewat mutator publik
+     * {@link Book} pada buku yang disimpan perpustakaan ini. Peminjaman dan
+     * pengembalian dicatat seperti lewat Library dengan peminjam tidak
+     * diketahui, dan perubahan atribut dicatat seperti {@link #tryUpdateBook(Book)}.
+     * 
+     * @param previous salinan buku sebelum diubah
+     * @param book buku yang sudah diubah
+     */
+    void onBookChanged(Book previous, Book book) {
+        if (previous.isAvailable() != book.isAvailable()) {
+            if (book.isAvailable()) {
+                recordReturn(book);
+            } else {
+                recordBorrow(book, Loan.UNKNOWN_BORROWER);
+            }
+            return;
         }
         
-        return books.remove(book);
+        unindexDuplicate(book.getBookId());
+        books.update(book);
+        statistics.onUpdate(previous, book);
+        indexDuplicate(book);
+        indexSorted(book);
+        events.publish(MutationType.UPDATE, book.getBookId(), book, null, 0, clock.millis());
+    }
+    
+    /**
+     * Mengubah hasil operasi pinjam, kembali, atau hapus menjadi buku atau exception
+     * dengan pesan yang sama seperti API berbasis exception sebelumnya.
+     * 
+     * @param result hasil operasi
+     * @param bookId ID buku yang diminta
+     * @return buku dari hasil yang berhasil
+     * @throws BookNotFoundException jika status NOT_FOUND
+     * @throws IllegalStateException jika status menunjukkan buku tidak dalam kondisi yang sesuai
+     */
+    private Book unwrap(BookResult result, int bookId) throws BookNotFoundException {
+        Book book = result.getBook();
+        switch (result.getStatus()) {
+            case OK:
+                return book;
+            case NOT_FOUND:
+                metrics.recordBookNotFound();
+                throw newBookNotFoundException(bookId);
+            case NOT_AVAILABLE:
+                throw new IllegalStateException("Buku '" + book.getTitle() + "' sedang dipinjam");
+            case ALREADY_AVAILABLE:
+                throw new IllegalStateException("Buku '" + book.getTitle() + "' sudah dalam status tersedia");
+            default:
+                throw new IllegalStateException(result.getStatus().getDescription());
+        }
+    }
+    
+    /**
+     * Membuat BookNotFoundException sesuai mode exception yang aktif.
+     * 
+     * @param bookId ID buku yang tidak ditemukan
+     * @return exception baru
+     */
+    private BookNotFoundException newBookNotFoundException(int bookId) {
+        if (stacklessExceptions) {
+            return new BookNotFoundException(NOT_FOUND_MESSAGE, bookId, false);
+        }
+        return new BookNotFoundException("Buku dengan ID " + bookId + " tidak ditemukan");
+    }
+    
+    /**
+     * Membuat DuplicateBookException sesuai mode exception yang aktif.
+     * 
+     * @param bookId ID buku yang duplikat
+     * @return exception baru
+     */
+    private DuplicateBookException newDuplicateBookException(int bookId) {
+        if (stacklessExceptions) {
+            return new DuplicateBookException(DUPLICATE_MESSAGE, bookId, false);
+        }
+        return new DuplicateBookException("Buku dengan ID " + bookId + " sudah ada");
     }
     
     /**
@@ -334,7 +1243,189 @@ public class Library {
      * @return List berisi semua buku (copy untuk mencegah modifikasi eksternal)
      */
     public List<Book> getAllBooks() {
-        return new ArrayList<>(books);
+        long start = System.nanoTime();
+        List<Book> result = books.toList();
+        metrics.record(LibraryOperation.LIST_ALL, start);
+        return result;
+    }
+    
+    /**
+     * Mendapatkan halaman pertama buku yang diurutkan berdasarkan atribut
+     * tertentu. Urutan dibaca langsung dari indeks tanpa pengurutan ulang.
+     * 
+     * @param sortKey atribut pengurutan
+     * @param limit jumlah maksimum buku
+     * @param descending true untuk urutan menurun
+     * @return List berisi buku-buku sesuai urutan
+     * @throws IllegalArgumentException jika sortKey null atau limit negatif
+     */
+    public List<Book> getBooksSorted(BookSortKey sortKey, int limit, boolean descending) {
+        SortedBookIndex index = sortedView(sortKey);
+        long start = System.nanoTime();
+        List<Book> result = resolve(index.first(limit, descending));
+        metrics.record(LibraryOperation.LIST_SORTED, start);
+        return result;
+    }
+    
+    /**
+     * Mendapatkan halaman berikutnya dari buku yang diurutkan, yaitu buku-buku
+     * sesudah buku terakhir di halaman sebelumnya.
+     * 
+     * @param sortKey atribut pengurutan
+     * @param afterBookId ID buku terakhir di halaman sebelumnya
+     * @param limit jumlah maksimum buku
+     * @param descending true untuk urutan menurun
+     * @return List berisi buku-buku sesudah buku penanda sesuai urutan
+     * @throws BookNotFoundException jika buku penanda tidak ditemukan
+     * @throws IllegalArgumentException jika sortKey null atau limit negatif
+     */
+    public List<Book> getBooksSortedAfter(BookSortKey sortKey, int afterBookId, int limit,
+                                          boolean descending) throws BookNotFoundException {
+        SortedBookIndex index = sortedView(sortKey);
+        long start = System.nanoTime();
+        try {
+            if (!index.contains(afterBookId)) {
+                metrics.recordBookNotFound();
+                throw newBookNotFoundException(afterBookId);
+            }
+            return resolve(index.after(afterBookId, limit, descending));
+        } finally {
+            metrics.record(LibraryOperation.LIST_SORTED, start);
+        }
+    }
+    
+    /**
+     * Mengambil buku-buku dari penyimpanan sesuai urutan ID.
+     */
+    private List<Book> resolve(int[] bookIds) {
+        List<Book> result = new ArrayList<>(bookIds.length);
+        for (int bookId : bookIds) {
+            result.add(books.get(bookId));
+        }
+        return result;
+    }
+    
+    private SortedBookIndex sortedView(BookSortKey sortKey) {
+        if (sortKey == null) {
+            throw new IllegalArgumentException("Kunci urutan tidak boleh null");
+        }
+        return sortedViews.get(sortKey);
+    }
+    
+    /**
+     * Mendapatkan ID semua buku sesuai urutan atribut, untuk disimpan di image.
+     */
+    int[] getSortedOrder(BookSortKey sortKey) {
+        return sortedView(sortKey).toArray();
+    }
+    
+    /**
+     * Mendapatkan ID pertama yang belum pernah dibagikan, untuk disimpan di image.
+     */
+    long getNextUnleasedId() {
+        return ids.getNextUnleased();
+    }
+    
+    /**
+     * Memuat isi image ke perpustakaan yang masih kosong tanpa membangun ulang
+     * indeks. Urutan yang tersimpan dipakai langsung oleh indeks terurut; urutan
+     * yang null dibangun ulang dengan kolasi. Indeks duplikat baru dibangun saat
+     * pertama kali dibutuhkan, dan perubahan tidak dipublikasikan sebagai event.
+     * Peminjaman aktif dibuka kembali dengan waktu pinjam dan batas kembali
+     * aslinya.
+     * 
+     * @param restored buku-buku hasil pembacaan image
+     * @param nextId ID pertama yang belum pernah dibagikan saat image ditulis
+     * @param orders ID buku terurut per atribut
+     * @param loans peminjaman aktif saat image ditulis
+     * @throws IllegalStateException jika perpustakaan tidak kosong atau kapasitas kurang
+     * @throws IllegalArgumentException jika urutan atau peminjaman tidak cocok dengan buku
+     */
+    void restore(List<Book> restored, long nextId, Map<BookSortKey, int[]> orders, List<Loan> loans) {
+        if (!books.isEmpty()) {
+            throw new IllegalStateException("Image hanya dapat dimuat ke perpustakaan kosong");
+        }
+        if (restored.size() > maxCapacity) {
+            throw new IllegalStateException("Kapasitas " + maxCapacity + " tidak cukup untuk "
+                                          + restored.size() + " buku");
+        }
+        
+        int maxId = 0;
+        for (Book book : restored) {
+            if (books.get(book.getBookId()) != null) {
+                throw new IllegalArgumentException("ID buku " + book.getBookId() + " muncul dua kali");
+            }
+            books.insert(book);
+            book.setOwner(this);
+            statistics.onAdd(book);
+            maxId = Math.max(maxId, book.getBookId());
+        }
+        ids.observe((int) Math.max(maxId, Math.min(nextId - 1, Integer.MAX_VALUE)));
+        
+        for (Loan loan : loans) {
+            Book book = books.get(loan.getBookId());
+            if (book == null || book.isAvailable()) {
+                throw new IllegalArgumentException("Peminjaman buku ID " + loan.getBookId()
+                                                 + " tidak cocok dengan status buku");
+            }
+            loanTracker.open(loan.getBookId(), loan.getBorrower(), loan.getLoanTime(), loan.getDueTime());
+        }
+        
+        for (SortedBookIndex index : sortedViews.values()) {
+            int[] order = orders.get(index.getSortKey());
+            if (order == null) {
+                index.clear();
+                restored.forEach(index::add);
+                continue;
+            }
+            if (order.length != restored.size()) {
+                throw new IllegalArgumentException("Urutan " + index.getSortKey() + " berisi " + order.length
+                                                 + " dari " + restored.size() + " buku");
+            }
+            index.load(resolve(order));
+        }
+        duplicates.clear();
+        duplicatesPending = !restored.isEmpty();
+    }
+    
+    /**
+     * Membangun indeks duplikat yang ditunda oleh {@link #restore}. Aman
+     * dipanggil oleh beberapa pembaca sekaligus di bawah read lock.
+     */
+    private void ensureDuplicates() {
+        if (!duplicatesPending) {
+            return;
+        }
+        synchronized (duplicates) {
+            if (duplicatesPending) {
+                books.scan().forEach(duplicates::add);
+                duplicatesPending = false;
+            }
+        }
+    }
+    
+    private void indexDuplicate(Book book) {
+        if (!duplicatesPending) {
+            duplicates.add(book);
+        }
+    }
+    
+    private void unindexDuplicate(int bookId) {
+        if (!duplicatesPending) {
+            duplicates.remove(bookId);
+        }
+    }
+    
+    private void indexSorted(Book book) {
+        for (SortedBookIndex index : sortedViews.values()) {
+            index.add(book);
+        }
+    }
+    
+    private void unindexSorted(int bookId) {
+        for (SortedBookIndex index : sortedViews.values()) {
+            index.remove(bookId);
+        }
     }
     
     /**
@@ -361,17 +1452,19 @@ public class Library {
      * @return String berisi statistik lengkap perpustakaan
      */
     public String getLibraryStatistics() {
+        long start = System.nanoTime();
         StringBuilder stats = new StringBuilder();
         stats.append("=== STATISTIK PERPUSTAKAAN ===\n");
         stats.append("Nama: ").append(libraryName).append("\n");
         stats.append("Total Buku: ").append(getTotalBooks()).append("/").append(maxCapacity).append("\n");
-        stats.append("Buku Tersedia: ").append(getAvailableBooks()).append("\n");
-        stats.append("Buku Dipinjam: ").append(getTotalBooks() - getAvailableBooks()).append("\n");
-        stats.append("Kapasitas Terpakai: ").append(String.format("%.1f%%", getCapacityUsagePercentage())).append("\n");
+        stats.append("Buku Tersedia: ").append(statistics.getAvailableBooks()).append("\n");
+        stats.append("Buku Dipinjam: ").append(statistics.getBorrowedBooks()).append("\n");
+        stats.append("Kapasitas Terpakai: ");
+        appendPercentage(stats, getCapacityUsagePercentage());
+        stats.append("\n");
         
         // Statistik per kategori
-        var categoryStats = books.stream()
-            .collect(Collectors.groupingBy(Book::getCategory, Collectors.counting()));
+        Map<String, Long> categoryStats = getCategoryCounts();
         
         if (!categoryStats.isEmpty()) {
             stats.append("\n=== BUKU PER KATEGORI ===\n");
@@ -379,9 +1472,34 @@ public class Library {
                 stats.append(category).append(": ").append(count).append(" buku\n"));
         }
         
+        metrics.record(LibraryOperation.STATISTICS, start);
         return stats.toString();
     }
     
+    /**
+     * Menghitung jumlah buku untuk setiap kategori.
+     * 
+     * @return Map berisi nama kategori dan jumlah buku di dalamnya
+     */
+    public Map<String, Long> getCategoryCounts() {
+        return statistics.getCategoryCounts();
+    }
+    
+    /**
+     * Mendapatkan statistik lengkap koleksi: total, ketersediaan, serta jumlah
+     * buku dan rasio peminjaman per kategori, per dekade publikasi, dan per
+     * pengarang. Statistik dipelihara secara inkremental, sehingga biaya
+     * pemanggilan sebanding dengan jumlah kelompok, bukan jumlah buku.
+     * 
+     * @return snapshot statistik yang immutable
+     */
+    public StatisticsSnapshot getStatistics() {
+        long start = System.nanoTime();
+        StatisticsSnapshot snapshot = statistics.snapshot();
+        metrics.record(LibraryOperation.STATISTICS, start);
+        return snapshot;
+    }
+    
     /**
      * Membersihkan semua buku dari perpustakaan.
      * Hanya buku yang tersedia yang akan dihapus, buku yang dipinjam akan tetap ada.
@@ -389,9 +1507,40 @@ public class Library {
      * @return jumlah buku yang berhasil dihapus
      */
     public int clearAvailableBooks() {
-        List<Book> availableBooks = getAvailableBooksList();
-        books.removeIf(Book::isAvailable);
-        return availableBooks.size();
+        long start = System.nanoTime();
+        int scanned = books.getScanCost();
+        int removed = books.removeIf(Book::isAvailable, book -> {
+            book.setOwner(null);
+            statistics.onRemove(book);
+            popularity.remove(book.getBookId());
+            unindexDuplicate(book.getBookId());
+            unindexSorted(book.getBookId());
+            reservations.discard(book.getBookId(), () -> newBookNotFoundException(book.getBookId()));
+        });
+        events.publish(MutationType.CLEAR_AVAILABLE, 0, null, null, removed, clock.millis());
+        metrics.recordScan(LibraryOperation.CLEAR_AVAILABLE, scanned);
+        metrics.record(LibraryOperation.CLEAR_AVAILABLE, start);
+        return removed;
+    }
+    
+    /**
+     * Menulis persentase dengan satu angka desimal tanpa {@link String#format}.
+     * 
+     * @param target tujuan penulisan
+     * @param percentage nilai persentase yang tidak negatif
+     */
+    private static void appendPercentage(StringBuilder target, double percentage) {
+        long tenths = Math.round(percentage * 10.0);
+        target.append(tenths / 10).append('.').append(tenths % 10).append('%');
+    }
+    
+    /**
+     * Menghitung jumlah buku tersedia tanpa mencatat metrik.
+     * 
+     * @return jumlah buku yang statusnya tersedia
+     */
+    private int countAvailable() {
+        return statistics.getAvailableBooks();
     }
     
     /**
@@ -401,7 +1550,10 @@ public class Library {
      */
     @Override
     public String toString() {
-        return String.format("Library{Name='%s', Books=%d/%d, Available=%d}", 
-                           libraryName, getTotalBooks(), maxCapacity, getAvailableBooks());
+        return new StringBuilder(64)
+                .append("Library{Name='").append(libraryName)
+                .append("', Books=").append(getTotalBooks()).append('/').append(maxCapacity)
+                .append(", Available=").append(countAvailable()).append('}')
+                .toString();
     }
 }
\ No newline at end of file
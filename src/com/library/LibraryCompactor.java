@@ -0,0 +1,142 @@
+package com.library;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Kelas LibraryCompactor memadatkan penyimpanan {@link Library} di background.
+ * 
+ * <p>Secara berkala compactor memeriksa {@link Library#getFragmentation()}. Jika
+ * melewati ambang batas, penyimpanan dipadatkan dengan {@link Library#compact(int)}
+ * dalam langkah-langkah kecil. Lock tulis milik pemanggil diambil untuk setiap
+ * langkah dan dilepas di antaranya, sehingga operasi lain tidak tertahan lama.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see Library#compact(int)
+ */
+public class LibraryCompactor implements AutoCloseable {
+    
+    /** Ambang fragmentasi default untuk memulai pemadatan */
+    public static final double DEFAULT_THRESHOLD = 0.25;
+    
+    /** Interval pemeriksaan default */
+    public static final long DEFAULT_INTERVAL_MILLIS = 1000;
+    
+    /** Jumlah buku default yang dipindahkan per langkah */
+    public static final int DEFAULT_STEP = 1024;
+    
+    /** Library yang dipadatkan */
+    private final Library library;
+    
+    /** Lock tulis yang melindungi library */
+    private final Lock lock;
+    
+    /** Ambang fragmentasi */
+    private final double threshold;
+    
+    /** Jumlah buku per langkah */
+    private final int step;
+    
+    /** Scheduler pemeriksaan */
+    private final ScheduledExecutorService scheduler;
+    
+    /** Total buku yang sudah dipindahkan */
+    private final AtomicLong movedCount;
+    
+    /**
+     * Constructor untuk membuat compactor dengan pengaturan default.
+     * 
+     * @param library library yang dipadatkan
+     * @param lock lock tulis yang melindungi library
+     */
+    public LibraryCompactor(Library library, Lock lock) {
+        this(library, lock, DEFAULT_THRESHOLD, DEFAULT_INTERVAL_MILLIS, DEFAULT_STEP);
+    }
+    
+    /**
+     * Constructor untuk membuat compactor dan langsung menjadwalkan pemeriksaan.
+     * 
+     * @param library library yang dipadatkan, tidak boleh null
+     * @param lock lock tulis yang melindungi library, tidak boleh null
+     * @param threshold ambang fragmentasi antara 0.0 dan 1.0
+     * @param intervalMillis interval pemeriksaan dalam milidetik, harus lebih dari 0
+     * @param step jumlah buku per langkah, harus lebih dari 0
+     * @throws IllegalArgumentException jika parameter tidak valid
+     */
+    public LibraryCompactor(Library library, Lock lock, double threshold, long intervalMillis, int step) {
+        if (library == null) {
+            throw new IllegalArgumentException("Objek library tidak boleh null");
+        }
+        if (lock == null) {
+            throw new IllegalArgumentException("Lock tidak boleh null");
+        }
+        if (threshold < 0.0 || threshold > 1.0) {
+            throw new IllegalArgumentException("Ambang fragmentasi harus antara 0.0 dan 1.0");
+        }
+        if (intervalMillis <= 0 || step <= 0) {
+            throw new IllegalArgumentException("Interval dan ukuran langkah harus lebih dari 0");
+        }
+        
+        this.library = library;
+        this.lock = lock;
+        this.threshold = threshold;
+        this.step = step;
+        this.movedCount = new AtomicLong();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "library-compactor-" + library.getLibraryName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::compactIfFragmented, intervalMillis, intervalMillis,
+                                              TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Mendapatkan total buku yang sudah dipindahkan oleh compactor.
+     * 
+     * @return jumlah buku yang dipindahkan
+     */
+    public long getMovedCount() {
+        return movedCount.get();
+    }
+    
+    /**
+     * Menghentikan compactor. Langkah yang sedang berjalan diselesaikan.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+    }
+    
+    /**
+     * Memadatkan library sampai padat jika fragmentasinya melewati ambang batas.
+     */
+    private void compactIfFragmented() {
+        int moved;
+        lock.lock();
+        try {
+            if (library.getFragmentation() < threshold) {
+                return;
+            }
+            moved = library.compact(step);
+        } finally {
+            lock.unlock();
+        }
+        movedCount.addAndGet(moved);
+        
+        while (moved == step && !scheduler.isShutdown()) {
+            lock.lock();
+            try {
+                moved = library.compact(step);
+            } finally {
+                lock.unlock();
+            }
+            movedCount.addAndGet(moved);
+        }
+    }
+}
\ No newline at end of file
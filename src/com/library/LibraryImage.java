@@ -0,0 +1,280 @@
+package com.library;
+
+import com.library.codec.LibrarySnapshot;
+import com.library.index.BookSortKey;
+import com.library.loan.Loan;
+import com.library.metrics.StartupTimings;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Kelas LibraryImage menyimpan {@link Library} beserta indeks yang sudah
+ * dibangun ke satu file image, dan memuatnya kembali tanpa membangun ulang
+ * indeks, sehingga node yang di-restart dapat langsung melayani request.
+ * 
+ * <p>Format file: {@code MAGIC} (4 byte), versi (1 byte), nama perpustakaan,
+ * kapasitas, ID pertama yang belum dibagikan, versi Java penulis, lalu aliran
+ * {@link LibrarySnapshot} berisi semua buku, lalu urutan ID buku untuk setiap
+ * {@link BookSortKey}, lalu peminjaman aktif (ID buku, peminjam, waktu pinjam,
+ * dan batas kembali), dan terakhir CRC32 seluruh isi sebelumnya. Urutan judul
+ * dan pengarang bergantung pada aturan kolasi JDK, sehingga jika image ditulis
+ * oleh versi Java lain, urutan tersebut diabaikan dan dibangun ulang.
+ * 
+ * <p>Statistik dihitung ulang dari buku secara linear, sedangkan indeks
+ * duplikat dibangun saat pertama kali dibutuhkan. Peminjaman aktif dimuat
+ * kembali dengan batas kembali aslinya, sehingga keterlambatan tetap terdeteksi
+ * setelah restart. Antrean reservasi tidak disimpan karena setiap reservasi
+ * adalah permintaan yang sedang ditunggu oleh klien proses penulis, dan
+ * popularitas tidak disimpan karena hanya berupa perkiraan. Image versi 1
+ * yang belum berisi peminjaman masih dapat dibaca.
+ * 
+ * <p>Pemanggil bertanggung jawab atas sinkronisasi, misalnya dengan memegang
+ * read lock saat menulis image.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see LibrarySnapshot
+ * @see StartupTimings
+ */
+public final class LibraryImage {
+    
+    /** Penanda awal image ("LBIM") */
+    public static final int MAGIC = 0x4C42494D;
+    
+    /** Versi format image */
+    public static final int VERSION = 2;
+    
+    /** Versi format image tanpa peminjaman aktif */
+    private static final int VERSION_WITHOUT_LOANS = 1;
+    
+    /** Nama fase pembacaan buku pada {@link StartupTimings} */
+    public static final String READ_PHASE = "baca buku dari image";
+    
+    /** Nama fase pemuatan indeks pada {@link StartupTimings} */
+    public static final String RESTORE_PHASE = "muat indeks dari image";
+    
+    /** Ukuran buffer file */
+    private static final int BUFFER_SIZE = 256 * 1024;
+    
+    private LibraryImage() {
+    }
+    
+    /**
+     * Menulis image perpustakaan. File ditulis ke file sementara lalu
+     * dipindahkan, sehingga image lama tetap utuh jika penulisan gagal.
+     * 
+     * @param library perpustakaan sumber
+     * @param file file image tujuan
+     * @return jumlah buku yang ditulis
+     * @throws IOException jika terjadi kesalahan penulisan
+     */
+    public static long write(Library library, Path file) throws IOException {
+        if (library == null || file == null) {
+            throw new IllegalArgumentException("Library dan file image tidak boleh null");
+        }
+        
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            long count;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporary), BUFFER_SIZE)) {
+                count = write(library, out);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return count;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+    
+    /**
+     * Menulis image perpustakaan ke aliran.
+     * 
+     * @param library perpustakaan sumber
+     * @param out aliran tujuan, tidak ditutup
+     * @return jumlah buku yang ditulis
+     * @throws IOException jika terjadi kesalahan penulisan
+     */
+    public static long write(Library library, OutputStream out) throws IOException {
+        if (library == null || out == null) {
+            throw new IllegalArgumentException("Library dan tujuan image tidak boleh null");
+        }
+        
+        CRC32 crc = new CRC32();
+        DataOutputStream data = new DataOutputStream(new CheckedOutputStream(out, crc));
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeUTF(library.getLibraryName());
+        data.writeInt(library.getMaxCapacity());
+        data.writeLong(library.getNextUnleasedId());
+        data.writeUTF(collationVersion());
+        
+        long count = LibrarySnapshot.write(library.getAllBooks(), data);
+        
+        BookSortKey[] keys = BookSortKey.values();
+        data.writeByte(keys.length);
+        for (BookSortKey key : keys) {
+            int[] order = library.getSortedOrder(key);
+            data.writeUTF(key.name());
+            data.writeInt(order.length);
+            for (int bookId : order) {
+                data.writeInt(bookId);
+            }
+        }
+        
+        List<Loan> loans = library.getLoanTracker().getActiveLoans();
+        data.writeInt(loans.size());
+        for (Loan loan : loans) {
+            data.writeInt(loan.getBookId());
+            data.writeUTF(loan.getBorrower());
+            data.writeLong(loan.getLoanTime());
+            data.writeLong(loan.getDueTime());
+        }
+        data.flush();
+        new DataOutputStream(out).writeLong(crc.getValue());
+        out.flush();
+        return count;
+    }
+    
+    /**
+     * Memuat perpustakaan dari file image.
+     * 
+     * @param file file image
+     * @return perpustakaan dengan indeks yang sudah terisi
+     * @throws IOException jika image rusak atau terjadi kesalahan pembacaan
+     */
+    public static Library read(Path file) throws IOException {
+        return read(file, new StartupTimings());
+    }
+    
+    /**
+     * Memuat perpustakaan dari file image dan mencatat fase
+     * {@link #READ_PHASE} dan {@link #RESTORE_PHASE}.
+     * 
+     * @param file file image
+     * @param timings pencatat fase start
+     * @return perpustakaan dengan indeks yang sudah terisi
+     * @throws IOException jika image rusak atau terjadi kesalahan pembacaan
+     */
+    public static Library read(Path file, StartupTimings timings) throws IOException {
+        if (file == null || timings == null) {
+            throw new IllegalArgumentException("File image dan pencatat waktu tidak boleh null");
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE)) {
+            return read(in, timings);
+        }
+    }
+    
+    /**
+     * Memuat perpustakaan dari aliran image.
+     * 
+     * @param in aliran sumber, tidak ditutup
+     * @param timings pencatat fase start
+     * @return perpustakaan dengan indeks yang sudah terisi
+     * @throws IOException jika image rusak atau terjadi kesalahan pembacaan
+     */
+    public static Library read(InputStream in, StartupTimings timings) throws IOException {
+        if (in == null || timings == null) {
+            throw new IllegalArgumentException("Sumber image dan pencatat waktu tidak boleh null");
+        }
+        
+        CRC32 crc = new CRC32();
+        DataInputStream data = new DataInputStream(new CheckedInputStream(in, crc));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Bukan image perpustakaan");
+        }
+        int version = data.readUnsignedByte();
+        if (version != VERSION && version != VERSION_WITHOUT_LOANS) {
+            throw new IOException("Versi image tidak didukung: " + version);
+        }
+        String libraryName = data.readUTF();
+        int maxCapacity = data.readInt();
+        long nextId = data.readLong();
+        boolean sameCollation = collationVersion().equals(data.readUTF());
+        
+        List<Book> restored = new ArrayList<>();
+        LibrarySnapshot.read(data, restored::add);
+        
+        Map<BookSortKey, int[]> orders = new EnumMap<>(BookSortKey.class);
+        int keyCount = data.readUnsignedByte();
+        for (int i = 0; i < keyCount; i++) {
+            String name = data.readUTF();
+            int length = data.readInt();
+            if (length != restored.size()) {
+                throw new IOException("Urutan " + name + " berisi " + length + " dari " + restored.size() + " buku");
+            }
+            int[] order = new int[length];
+            for (int j = 0; j < length; j++) {
+                order[j] = data.readInt();
+            }
+            BookSortKey key = parseSortKey(name);
+            if (key != null && (key == BookSortKey.YEAR || sameCollation)) {
+                orders.put(key, order);
+            }
+        }
+        
+        List<Loan> loans = new ArrayList<>();
+        int loanCount = version == VERSION_WITHOUT_LOANS ? 0 : data.readInt();
+        if (loanCount < 0 || loanCount > restored.size()) {
+            throw new IOException("Jumlah peminjaman aktif tidak valid: " + loanCount);
+        }
+        for (int i = 0; i < loanCount; i++) {
+            int bookId = data.readInt();
+            String borrower = data.readUTF();
+            long loanTime = data.readLong();
+            long dueTime = data.readLong();
+            try {
+                loans.add(new Loan(bookId, borrower, loanTime, dueTime));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Peminjaman tidak valid: " + e.getMessage(), e);
+            }
+        }
+        long expected = crc.getValue();
+        if (new DataInputStream(in).readLong() != expected) {
+            throw new IOException("Checksum image tidak cocok");
+        }
+        timings.mark(READ_PHASE);
+        
+        Library library;
+        try {
+            library = new Library(libraryName, maxCapacity);
+            library.restore(restored, nextId, orders, loans);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new IOException("Image tidak konsisten: " + e.getMessage(), e);
+        }
+        timings.mark(RESTORE_PHASE);
+        return library;
+    }
+    
+    /**
+     * Identitas aturan kolasi yang menentukan urutan judul dan pengarang.
+     */
+    private static String collationVersion() {
+        return System.getProperty("java.vendor") + " " + System.getProperty("java.version");
+    }
+    
+    private static BookSortKey parseSortKey(String name) {
+        for (BookSortKey key : BookSortKey.values()) {
+            if (key.name().equals(name)) {
+                return key;
+            }
+        }
+        return null;
+    }
+}
\ No newline at end of file
@@ -2,8 +2,28 @@ package com.library;
 
 import com.library.exceptions.BookNotFoundException;
 import com.library.exceptions.DuplicateBookException;
+import com.library.history.CirculationHistory;
+import com.library.history.CirculationRecorder;
+import com.library.id.IdAllocator;
+import com.library.loan.Loan;
+import com.library.metrics.StartupTimings;
+import com.library.replication.ReplicationFollower;
+import com.library.replication.ReplicationLeader;
+import com.library.server.LibraryHttpServer;
+import com.library.storage.CachingBookRepository;
+import com.library.storage.FileBookRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Kelas LibraryManager merupakan kelas utama yang menyediakan interface pengguna
@@ -16,6 +36,7 @@ import java.util.Scanner;
  * <li>Menambahkan buku baru</li>
  * <li>Mencari buku berdasarkan berbagai kriteria</li>
  * <li>Meminjam dan mengembalikan buku</li>
+ * <li>Melihat peminjaman yang terlambat</li>
  * <li>Melihat statistik perpustakaan</li>
  * <li>Mengelola koleksi buku</li>
  * </ul>
@@ -30,6 +51,15 @@ import java.util.Scanner;
  */
 public class LibraryManager {
     
+    /** Nama file high-water mark ID di dalam direktori penyimpanan file */
+    public static final String ID_FILE = "books.ids";
+    
+    /** Nama direktori riwayat sirkulasi di dalam direktori penyimpanan file */
+    public static final String HISTORY_DIRECTORY = "history";
+    
+    /** Jumlah buku yang di-cache di memori di depan penyimpanan file */
+    private static final int STORE_CACHE_SIZE = 10_000;
+    
     /** Objek Library untuk mengelola koleksi buku */
     private Library library;
     
@@ -39,6 +69,18 @@ public class LibraryManager {
     /** Flag untuk mengontrol loop menu utama */
     private boolean isRunning;
     
+    /** Flag untuk memuat data contoh saat aplikasi dimulai */
+    private boolean loadSampleData;
+    
+    /** Server HTTP yang sedang berjalan, atau null pada mode console */
+    private LibraryHttpServer server;
+    
+    /** Leader replikasi yang ditutup bersama server, atau null tanpa replikasi */
+    private ReplicationLeader replicationLeader;
+    
+    /** Penyimpanan file yang ditutup oleh {@link #closeStore()}, atau null di memori */
+    private FileBookRepository store;
+    
     /**
      * Constructor untuk LibraryManager dengan nama perpustakaan kustom.
      * 
@@ -57,6 +99,56 @@ public class LibraryManager {
         this.library = new Library(libraryName, maxCapacity);
         this.scanner = new Scanner(System.in);
         this.isRunning = false;
+        this.loadSampleData = true;
+    }
+    
+    /**
+     * Constructor untuk LibraryManager di atas perpustakaan yang sudah berisi,
+     * misalnya hasil {@link LibraryImage#read(Path)}. Data contoh tidak dimuat.
+     * 
+     * @param library perpustakaan yang akan dikelola
+     * @throws IllegalArgumentException jika library adalah null
+     */
+    public LibraryManager(Library library) {
+        if (library == null) {
+            throw new IllegalArgumentException("Objek library tidak boleh null");
+        }
+        
+        this.library = library;
+        this.scanner = new Scanner(System.in);
+        this.isRunning = false;
+        this.loadSampleData = false;
+    }
+    
+    /**
+     * Membuat manager untuk perpustakaan yang bukunya disimpan di disk. Buku
+     * disimpan di {@link FileBookRepository} dengan {@link CachingBookRepository}
+     * di depannya, dan high-water mark ID disimpan di direktori yang sama agar
+     * ID tidak dipakai ulang setelah restart. Data contoh hanya dimuat jika
+     * penyimpanan masih kosong. Penyimpanan harus ditutup dengan
+     * {@link #closeStore()}.
+     * 
+     * @param libraryName nama perpustakaan
+     * @param maxCapacity kapasitas maksimum buku
+     * @param directory direktori penyimpanan, dibuat jika belum ada
+     * @return manager di atas penyimpanan file
+     * @throws IOException jika penyimpanan rusak atau gagal dibuka
+     */
+    public static LibraryManager openStore(String libraryName, int maxCapacity, Path directory)
+            throws IOException {
+        FileBookRepository repository = FileBookRepository.open(directory);
+        try {
+            IdAllocator ids = IdAllocator.open(directory.resolve(ID_FILE), IdAllocator.DEFAULT_LEASE_SIZE);
+            Library library = new Library(libraryName, maxCapacity, ids,
+                                          new CachingBookRepository(repository, STORE_CACHE_SIZE));
+            LibraryManager manager = new LibraryManager(library);
+            manager.loadSampleData = library.getTotalBooks() == 0;
+            manager.store = repository;
+            return manager;
+        } catch (IOException | RuntimeException e) {
+            repository.close();
+            throw e;
+        }
     }
     
     /**
@@ -75,7 +167,9 @@ public class LibraryManager {
     public void start() {
         isRunning = true;
         printWelcomeMessage();
-        initializeSampleData();
+        if (loadSampleData) {
+            initializeSampleData();
+        }
         
         while (isRunning) {
             try {
@@ -91,6 +185,85 @@ public class LibraryManager {
         cleanup();
     }
     
+    /**
+     * Menjalankan perpustakaan dalam mode server HTTP, bukan menu console.
+     * Data contoh tetap dimuat agar server langsung dapat dicoba.
+     * 
+     * @param port port server HTTP, 0 untuk port acak
+     * @return server yang sudah berjalan
+     * @throws IOException jika server tidak dapat dijalankan
+     */
+    public LibraryHttpServer startServer(int port) throws IOException {
+        return startServer(port, -1);
+    }
+    
+    /**
+     * Menjalankan mode server HTTP sekaligus leader replikasi. Leader dan
+     * pencatat sirkulasi dibuat sebelum server menerima request agar tidak ada
+     * perubahan yang terlewat. Lag setiap follower ditampilkan di
+     * {@code /metrics}, rollup riwayat sirkulasi di {@code /history}, dan
+     * keduanya ditutup saat server dihentikan. Riwayat disimpan di
+     * {@value #HISTORY_DIRECTORY} di dalam direktori penyimpanan file jika
+     * manager dibuat dengan {@link #openStore(String, int, Path)}, dan hanya di
+     * memori jika tidak.
+     * 
+     * @param port port server HTTP, 0 untuk port acak
+     * @param replicationPort port replikasi untuk follower, -1 untuk tanpa replikasi
+     * @return server yang sudah berjalan
+     * @throws IOException jika server atau leader tidak dapat dijalankan
+     */
+    public LibraryHttpServer startServer(int port, int replicationPort) throws IOException {
+        if (loadSampleData) {
+            initializeSampleData();
+        }
+        library.getMetrics().register();
+        CirculationHistory history = store != null
+                ? new CirculationHistory(store.getDirectory().resolve(HISTORY_DIRECTORY))
+                : new CirculationHistory();
+        CirculationRecorder recorder = new CirculationRecorder(library, history);
+        try {
+            if (replicationPort >= 0) {
+                replicationLeader = new ReplicationLeader(library, replicationPort);
+                System.out.println("✓ Leader replikasi menerima follower di port " + replicationLeader.getPort());
+            }
+            server = new LibraryHttpServer(library, port);
+        } catch (IOException | RuntimeException e) {
+            if (replicationLeader != null) {
+                replicationLeader.close();
+            }
+            recorder.close();
+            history.close();
+            throw e;
+        }
+        server.setReplicationLeader(replicationLeader);
+        server.setCirculationRecorder(recorder);
+        server.start();
+        System.out.println("✓ Server perpustakaan berjalan di http://localhost:" + server.getPort());
+        return server;
+    }
+    
+    /**
+     * Menjalankan perpustakaan sebagai replika baca dari leader. Isi perpustakaan
+     * diambil dari snapshot leader dan diperbarui terus dari log perubahannya.
+     * Server replika berjalan dalam mode baca saja, dan kapasitas perpustakaan
+     * harus minimal sama dengan kapasitas leader.
+     * 
+     * @param leaderHost host leader
+     * @param replicationPort port replikasi leader
+     * @param port port server HTTP replika, 0 untuk port acak
+     * @return server yang sudah berjalan
+     * @throws IOException jika server tidak dapat dijalankan
+     */
+    public LibraryHttpServer startFollower(String leaderHost, int replicationPort, int port) throws IOException {
+        server = new LibraryHttpServer(library, port);
+        server.setReadOnly(true);
+        new ReplicationFollower(library, server.getLock(), new InetSocketAddress(leaderHost, replicationPort));
+        server.start();
+        System.out.println("✓ Replika dari " + leaderHost + ":" + replicationPort
+                         + " berjalan di http://localhost:" + server.getPort());
+        return server;
+    }
+    
     /**
      * Menampilkan pesan selamat datang kepada pengguna.
      */
@@ -119,15 +292,16 @@ public class LibraryManager {
         System.out.println("6. Lihat Statistik Perpustakaan");
         System.out.println("7. Hapus Buku");
         System.out.println("8. Lihat Buku yang Dipinjam");
+        System.out.println("9. Lihat Peminjaman Terlambat");
         System.out.println("0. Keluar");
         System.out.println("=".repeat(40));
-        System.out.print("Pilih menu (0-8): ");
+        System.out.print("Pilih menu (0-9): ");
     }
     
     /**
      * Membaca dan memvalidasi pilihan pengguna dari menu.
      * 
-     * @return nomor pilihan menu yang valid (0-8)
+     * @return nomor pilihan menu yang valid (0-9)
      * @throws IllegalArgumentException jika input bukan angka atau di luar range
      */
     private int getUserChoice() {
@@ -135,8 +309,8 @@ public class LibraryManager {
             String input = scanner.nextLine().trim();
             int choice = Integer.parseInt(input);
             
-            if (choice < 0 || choice > 8) {
-                throw new IllegalArgumentException("Pilihan harus antara 0-8");
+            if (choice < 0 || choice > 9) {
+                throw new IllegalArgumentException("Pilihan harus antara 0-9");
             }
             
             return choice;
@@ -178,6 +352,9 @@ public class LibraryManager {
             case 8:
                 showBorrowedBooks();
                 break;
+            case 9:
+                showOverdueLoans();
+                break;
             case 0:
                 exitApplication();
                 break;
@@ -338,10 +515,28 @@ public class LibraryManager {
         } else {
             System.out.println("\n✓ Ditemukan " + books.size() + " buku untuk " + searchCriteria + ":");
             System.out.println("-".repeat(80));
-            for (int i = 0; i < books.size(); i++) {
-                Book book = books.get(i);
-                System.out.printf("%d. %s\n", (i + 1), book.toString());
+            printBookList(books);
+        }
+    }
+    
+    /**
+     * Mencetak daftar buku bernomor ke console. Setiap buku ditulis langsung
+     * ke output dengan {@link Book#appendTo(Appendable)} tanpa membuat String
+     * perantara.
+     * 
+     * @param books list buku yang akan dicetak
+     */
+    private void printBookList(List<Book> books) {
+        StringBuilder line = new StringBuilder(128);
+        for (int i = 0; i < books.size(); i++) {
+            line.setLength(0);
+            line.append(i + 1).append(". ");
+            try {
+                books.get(i).appendTo(line);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
+            System.out.println(line);
         }
     }
     
@@ -354,10 +549,14 @@ public class LibraryManager {
         
         try {
             int bookId = Integer.parseInt(scanner.nextLine().trim());
-            Book book = library.borrowBook(bookId);
+            System.out.print("Masukkan nama peminjam: ");
+            String borrower = scanner.nextLine().trim();
+            Book book = library.borrowBook(bookId, borrower);
+            Loan loan = library.getLoanTracker().getActiveLoan(bookId);
             
             System.out.println("\n✓ Buku berhasil dipinjam!");
             System.out.println("Detail: " + book.toString());
+            System.out.println("Batas Pengembalian: " + Instant.ofEpochMilli(loan.getDueTime()));
             
         } catch (NumberFormatException e) {
             System.err.println("✗ Error: ID buku harus berupa angka");
@@ -403,10 +602,7 @@ public class LibraryManager {
         } else {
             System.out.println("Total: " + allBooks.size() + " buku");
             System.out.println("-".repeat(80));
-            for (int i = 0; i < allBooks.size(); i++) {
-                Book book = allBooks.get(i);
-                System.out.printf("%d. %s\n", (i + 1), book.toString());
-            }
+            printBookList(allBooks);
         }
     }
     
@@ -467,9 +663,24 @@ public class LibraryManager {
         } else {
             System.out.println("Total: " + borrowedBooks.size() + " buku sedang dipinjam");
             System.out.println("-".repeat(80));
-            for (int i = 0; i < borrowedBooks.size(); i++) {
-                Book book = borrowedBooks.get(i);
-                System.out.printf("%d. %s\n", (i + 1), book.toString());
+            printBookList(borrowedBooks);
+        }
+    }
+    
+    /**
+     * Menampilkan semua peminjaman yang sudah melewati batas pengembalian.
+     */
+    private void showOverdueLoans() {
+        System.out.println("=== PEMINJAMAN TERLAMBAT ===");
+        
+        List<Loan> overdueLoans = library.getOverdueLoans();
+        if (overdueLoans.isEmpty()) {
+            System.out.println("Tidak ada peminjaman yang terlambat.");
+        } else {
+            System.out.println("Total: " + overdueLoans.size() + " peminjaman terlambat");
+            System.out.println("-".repeat(80));
+            for (int i = 0; i < overdueLoans.size(); i++) {
+                System.out.println((i + 1) + ". " + overdueLoans.get(i));
             }
         }
     }
@@ -522,6 +733,97 @@ public class LibraryManager {
         }
     }
     
+    /**
+     * Menyimpan perpustakaan beserta indeksnya ke file image agar start
+     * berikutnya tidak perlu membangun ulang indeks. Pada mode server, read
+     * lock server dipegang selama penulisan.
+     * 
+     * @param file file image tujuan
+     * @throws IOException jika image gagal ditulis
+     * @see LibraryImage
+     */
+    public void saveImage(Path file) throws IOException {
+        Lock lock = server != null ? server.getLock().readLock() : null;
+        if (lock != null) {
+            lock.lock();
+        }
+        try {
+            long count = LibraryImage.write(library, file);
+            System.out.println("✓ Image perpustakaan disimpan ke " + file + ": " + count + " buku");
+        } finally {
+            if (lock != null) {
+                lock.unlock();
+            }
+        }
+    }
+    
+    /**
+     * Menutup penyimpanan file dari {@link #openStore(String, int, Path)} setelah
+     * semua perubahan ditulis ke disk. Pada mode server, write lock server
+     * dipegang agar tidak ada perubahan bersamaan. Tidak melakukan apa pun
+     * untuk perpustakaan di memori.
+     * 
+     * @throws IOException jika penyimpanan gagal ditulis atau ditutup
+     */
+    public void closeStore() throws IOException {
+        if (store == null) {
+            return;
+        }
+        Lock lock = server != null ? server.getLock().writeLock() : null;
+        if (lock != null) {
+            lock.lock();
+        }
+        try {
+            store.close();
+            System.out.println("✓ Penyimpanan perpustakaan ditutup: " + store.getDirectory());
+        } finally {
+            if (lock != null) {
+                lock.unlock();
+            }
+        }
+    }
+    
+    /**
+     * Membuat arsip AppCDS untuk kelas-kelas aplikasi dengan menjalankan JVM
+     * latihan yang memulai aplikasi dengan argumen tertentu lalu langsung
+     * berhenti setelah siap ({@code -XX:ArchiveClassesAtExit}). JVM berikutnya
+     * yang dijalankan dengan {@code -XX:SharedArchiveFile} memetakan kelas dari
+     * arsip, bukan memuat dan memverifikasinya ulang. Kelas aplikasi hanya
+     * diarsipkan jika class path berupa file JAR, bukan direktori.
+     * 
+     * @param archive file arsip tujuan
+     * @param trainingArgs argumen aplikasi untuk JVM latihan, misalnya
+     *                     {@code --image perpustakaan.img --server 0}
+     * @return kode keluar JVM latihan, 0 jika berhasil
+     * @throws IOException jika JVM latihan gagal dijalankan
+     * @throws InterruptedException jika thread diinterupsi saat menunggu
+     */
+    public static int createCdsArchive(Path archive, List<String> trainingArgs)
+            throws IOException, InterruptedException {
+        if (archive == null || trainingArgs == null) {
+            throw new IllegalArgumentException("Arsip dan argumen latihan tidak boleh null");
+        }
+        
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        String classPath = System.getProperty("java.class.path");
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.add("-XX:ArchiveClassesAtExit=" + archive.toAbsolutePath());
+        command.add("-cp");
+        command.add(classPath);
+        command.add(LibraryManager.class.getName());
+        command.add("--exit-when-ready");
+        command.addAll(trainingArgs);
+        
+        int exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+        if (exitCode == 0) {
+            System.out.println("✓ Arsip AppCDS dibuat di " + archive + ". Jalankan dengan:");
+            System.out.println("  java -XX:SharedArchiveFile=" + archive.toAbsolutePath() + " -cp " + classPath
+                             + " " + LibraryManager.class.getName() + " " + String.join(" ", trainingArgs));
+        }
+        return exitCode;
+    }
+    
     /**
      * Mendapatkan objek Library yang digunakan oleh manager.
      * 
@@ -531,6 +833,15 @@ public class LibraryManager {
         return library;
     }
     
+    /**
+     * Mendapatkan leader replikasi yang dijalankan oleh {@link #startServer(int, int)}.
+     * 
+     * @return leader replikasi, atau null jika replikasi tidak dijalankan
+     */
+    public ReplicationLeader getReplicationLeader() {
+        return replicationLeader;
+    }
+    
     /**
      * Mengecek apakah aplikasi sedang berjalan.
      * 
@@ -543,14 +854,134 @@ public class LibraryManager {
     /**
      * Metode main untuk menjalankan aplikasi.
      * Entry point dari program sistem manajemen perpustakaan.
+     * Gunakan argumen {@code --server [port] [replicationPort]} untuk menjalankan
+     * mode server HTTP, atau {@code --follower host replicationPort [port] [capacity]}
+     * untuk menjalankan replika baca dengan kapasitas minimal sama dengan leader.
      * 
-     * @param args argumen command line (tidak digunakan)
+     * <p>Opsi berikut dapat diletakkan sebelum mode:
+     * <ul>
+     * <li>{@code --image file}: memuat perpustakaan dari image jika file ada,
+     * lalu menyimpan image saat aplikasi berhenti (tidak berlaku untuk replika)</li>
+     * <li>{@code --store file:direktori}: menyimpan buku di disk dengan
+     * {@link #openStore(String, int, Path)} dan menutupnya saat aplikasi
+     * berhenti (tidak dapat digabung dengan {@code --image} atau replika)</li>
+     * <li>{@code --timings}: menampilkan durasi setiap fase start</li>
+     * <li>{@code --create-cds arsip}: membuat arsip AppCDS dengan menjalankan
+     * argumen berikutnya sebagai JVM latihan, lalu keluar</li>
+     * <li>{@code --exit-when-ready}: berhenti segera setelah aplikasi siap</li>
+     * </ul>
+     * 
+     * @param args argumen command line
      */
     public static void main(String[] args) {
+        StartupTimings timings = new StartupTimings();
         try {
             System.out.println("Memulai Sistem Manajemen Perpustakaan...\n");
             
-            LibraryManager manager = new LibraryManager();
+            Path image = null;
+            Path storeDirectory = null;
+            boolean printTimings = false;
+            boolean exitWhenReady = false;
+            int next = 0;
+            while (next < args.length && args[next].startsWith("--") && !"--server".equals(args[next])
+                    && !"--follower".equals(args[next])) {
+                String option = args[next++];
+                if ("--create-cds".equals(option) && next < args.length) {
+                    Path archive = Paths.get(args[next++]);
+                    List<String> trainingArgs = Arrays.asList(Arrays.copyOfRange(args, next, args.length));
+                    System.exit(createCdsArchive(archive, trainingArgs.isEmpty() ? List.of("--server", "0")
+                                                                                 : trainingArgs));
+                } else if ("--image".equals(option) && next < args.length) {
+                    image = Paths.get(args[next++]);
+                } else if ("--store".equals(option) && next < args.length) {
+                    String store = args[next++];
+                    if (!store.startsWith("file:") || store.length() == "file:".length()) {
+                        throw new IllegalArgumentException("Penyimpanan tidak dikenal: " + store);
+                    }
+                    storeDirectory = Paths.get(store.substring("file:".length()));
+                } else if ("--timings".equals(option)) {
+                    printTimings = true;
+                } else if ("--exit-when-ready".equals(option)) {
+                    exitWhenReady = true;
+                } else {
+                    throw new IllegalArgumentException("Opsi tidak dikenal: " + option);
+                }
+            }
+            args = Arrays.copyOfRange(args, next, args.length);
+            boolean follower = args.length > 2 && "--follower".equals(args[0]);
+            if (storeDirectory != null && (image != null || follower)) {
+                throw new IllegalArgumentException("--store tidak dapat digabung dengan --image atau --follower");
+            }
+            
+            LibraryManager manager;
+            if (storeDirectory != null) {
+                manager = openStore("Perpustakaan Digital", 1000, storeDirectory);
+                System.out.println("✓ Penyimpanan perpustakaan dibuka di " + storeDirectory + ": "
+                                 + manager.getLibrary().getTotalBooks() + " buku");
+                timings.mark("buka penyimpanan");
+                LibraryManager storeManager = manager;
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        storeManager.closeStore();
+                    } catch (IOException e) {
+                        System.err.println("Warning: Gagal menutup penyimpanan - " + e.getMessage());
+                    }
+                }, "library-store-closer"));
+            } else if (image != null && !follower && Files.exists(image)) {
+                manager = new LibraryManager(LibraryImage.read(image, timings));
+                System.out.println("✓ Image perpustakaan dimuat dari " + image + ": "
+                                 + manager.getLibrary().getTotalBooks() + " buku");
+            } else if (follower && args.length > 4) {
+                manager = new LibraryManager("Perpustakaan Digital", Integer.parseInt(args[4]));
+                timings.mark("buat perpustakaan");
+            } else {
+                manager = new LibraryManager();
+                timings.mark("buat perpustakaan");
+            }
+            if (image != null && !follower) {
+                Path imageFile = image;
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        manager.saveImage(imageFile);
+                    } catch (IOException e) {
+                        System.err.println("Warning: Gagal menyimpan image - " + e.getMessage());
+                    }
+                }, "library-image-writer"));
+            }
+            
+            if (args.length > 0 && "--server".equals(args[0])) {
+                int port = args.length > 1 ? Integer.parseInt(args[1]) : LibraryHttpServer.DEFAULT_PORT;
+                int replicationPort = args.length > 2 ? Integer.parseInt(args[2]) : -1;
+                LibraryHttpServer server = manager.startServer(port, replicationPort);
+                timings.mark("server siap");
+                if (printTimings) {
+                    System.out.print(timings.format());
+                }
+                if (exitWhenReady) {
+                    server.stop(0);
+                    System.exit(0);
+                }
+                return;
+            }
+            if (follower) {
+                int port = args.length > 3 ? Integer.parseInt(args[3]) : LibraryHttpServer.DEFAULT_PORT;
+                LibraryHttpServer server = manager.startFollower(args[1], Integer.parseInt(args[2]), port);
+                timings.mark("replika siap");
+                if (printTimings) {
+                    System.out.print(timings.format());
+                }
+                if (exitWhenReady) {
+                    server.stop(0);
+                    System.exit(0);
+                }
+                return;
+            }
+            if (printTimings) {
+                System.out.print(timings.format());
+            }
+            if (exitWhenReady) {
+                return;
+            }
             manager.start();
             
             System.out.println("\nAplikasi berakhir. Sampai jumpa!");
@@ -0,0 +1,56 @@
+package com.library;
+
+/**
+ * Enum OperationStatus menyatakan hasil operasi perpustakaan pada API tanpa
+ * exception seperti {@link Library#tryBorrowBook(int)}.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see BookResult
+ * @see Library
+ */
+public enum OperationStatus {
+    
+    /** Operasi berhasil */
+    OK("Berhasil"),
+    
+    /** Buku dengan ID yang diminta tidak ditemukan */
+    NOT_FOUND("Buku tidak ditemukan"),
+    
+    /** Buku sedang dipinjam sehingga tidak dapat dipinjam lagi */
+    NOT_AVAILABLE("Buku sedang dipinjam"),
+    
+    /** Buku sudah dalam status tersedia sehingga tidak dapat dikembalikan */
+    ALREADY_AVAILABLE("Buku sudah dalam status tersedia"),
+    
+    /** Buku sedang dipinjam sehingga tidak dapat dihapus */
+    BORROWED("Tidak dapat menghapus buku yang sedang dipinjam"),
+    
+    /** Buku dengan ID yang sama sudah ada */
+    DUPLICATE("Buku dengan ID yang sama sudah ada"),
+    
+    /** Perpustakaan sudah mencapai kapasitas maksimum */
+    FULL("Perpustakaan sudah mencapai kapasitas maksimum");
+    
+    /** Deskripsi status yang dapat ditampilkan ke pengguna */
+    private final String description;
+    
+    /**
+     * Constructor untuk enum OperationStatus.
+     * 
+     * @param description deskripsi status
+     */
+    OperationStatus(String description) {
+        this.description = description;
+    }
+    
+    /**
+     * Mendapatkan deskripsi status yang dapat ditampilkan ke pengguna.
+     * 
+     * @return deskripsi status
+     */
+    public String getDescription() {
+        return description;
+    }
+}
\ No newline at end of file
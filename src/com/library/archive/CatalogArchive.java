@@ -0,0 +1,573 @@
+package com.library.archive;
+
+import com.library.Book;
+import com.library.Library;
+import com.library.codec.BookCodec;
+import com.library.dictionary.Term;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Kelas CatalogArchive menyimpan katalog buku yang jarang berubah di disk
+ * dalam blok-blok terkompresi yang tetap dapat dicari.
+ * 
+ * <p>Buku diurutkan berdasarkan ID lalu dikelompokkan ke blok dengan ukuran
+ * tak terkompresi sekitar {@link #DEFAULT_BLOCK_SIZE}. Setiap blok berisi
+ * record {@link BookCodec} dengan kamus aliran sendiri dan dikompresi dengan
+ * {@link Deflater}, sehingga satu blok dapat dibaca tanpa blok lain. Indeks
+ * blok di akhir file menyimpan ID pertama dan terakhir setiap blok, sehingga
+ * {@link #findBookById(int)} cukup mendekompresi satu blok. Pencarian yang
+ * memindai seluruh arsip mendekompresi blok secara paralel dengan parallel
+ * stream.
+ * 
+ * <p>Format file:
+ * <pre>
+ * MAGIC (4 byte), versi (1 byte)
+ * blok terkompresi ...
+ * indeks, per blok: ID pertama, ID terakhir, jumlah buku, panjang
+ *         tak terkompresi, panjang terkompresi (masing-masing 4 byte),
+ *         offset (8 byte)
+ * trailer: offset indeks (8 byte), jumlah blok (4 byte), jumlah buku
+ *          (8 byte), MAGIC (4 byte)
+ * </pre>
+ * 
+ * <p>Arsip bersifat read-only setelah ditulis. Objek yang sudah dibuka
+ * thread-safe karena pembacaan memakai posisi eksplisit pada FileChannel
+ * dan setiap pembacaan blok memakai decoder sendiri.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see BookCodec
+ */
+public final class CatalogArchive implements Closeable {
+    
+    /** Penanda arsip katalog ("LBAR") */
+    public static final int MAGIC = 0x4C424152;
+    
+    /** Versi format arsip */
+    public static final int VERSION = 1;
+    
+    /** Ukuran blok tak terkompresi default */
+    public static final int DEFAULT_BLOCK_SIZE = 16 * 1024;
+    
+    /** Ukuran header: MAGIC dan versi */
+    private static final int HEADER_BYTES = Integer.BYTES + 1;
+    
+    /** Ukuran satu entri indeks blok */
+    private static final int INDEX_ENTRY_BYTES = 5 * Integer.BYTES + Long.BYTES;
+    
+    /** Ukuran trailer di akhir file */
+    private static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES;
+    
+    /** File arsip */
+    private final Path file;
+    
+    /** Channel untuk pembacaan posisi eksplisit */
+    private final FileChannel channel;
+    
+    /** ID buku pertama per blok */
+    private final int[] firstIds;
+    
+    /** ID buku terakhir per blok */
+    private final int[] lastIds;
+    
+    /** Jumlah buku per blok */
+    private final int[] counts;
+    
+    /** Panjang tak terkompresi per blok */
+    private final int[] rawLengths;
+    
+    /** Panjang terkompresi per blok */
+    private final int[] compressedLengths;
+    
+    /** Offset blok di file */
+    private final long[] offsets;
+    
+    /** Jumlah seluruh buku */
+    private final long bookCount;
+    
+    private CatalogArchive(Path file, FileChannel channel, int blockCount, long bookCount) {
+        this.file = file;
+        this.channel = channel;
+        this.firstIds = new int[blockCount];
+        this.lastIds = new int[blockCount];
+        this.counts = new int[blockCount];
+        this.rawLengths = new int[blockCount];
+        this.compressedLengths = new int[blockCount];
+        this.offsets = new long[blockCount];
+        this.bookCount = bookCount;
+    }
+    
+    /**
+     * Menulis semua buku di perpustakaan ke arsip dengan ukuran blok default.
+     * 
+     * <p>Pemanggil bertanggung jawab atas sinkronisasi Library, misalnya
+     * dengan memegang read lock selama penulisan.
+     * 
+     * @param library perpustakaan sumber
+     * @param file file tujuan, diganti secara atomik jika sudah ada
+     * @return jumlah buku yang ditulis
+     * @throws IOException jika terjadi kesalahan penulisan
+     */
+    public static long write(Library library, Path file) throws IOException {
+        if (library == null) {
+            throw new IllegalArgumentException("Objek library tidak boleh null");
+        }
+        return write(library.getAllBooks(), file, DEFAULT_BLOCK_SIZE);
+    }
+    
+    /**
+     * Menulis sekumpulan buku ke arsip.
+     * 
+     * @param books buku yang ditulis, urutan bebas
+     * @param file file tujuan, diganti secara atomik jika sudah ada
+     * @param blockSize ukuran blok tak terkompresi dalam byte; record yang
+     *                  lebih besar ditulis dalam blok sendiri
+     * @return jumlah buku yang ditulis
+     * @throws IllegalArgumentException jika ada buku null atau ID buku ganda
+     * @throws IOException jika terjadi kesalahan penulisan
+     */
+    public static long write(Collection<Book> books, Path file, int blockSize) throws IOException {
+        if (books == null || file == null) {
+            throw new IllegalArgumentException("Sumber dan file arsip tidak boleh null");
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Ukuran blok harus lebih dari 0");
+        }
+        
+        Book[] sorted = books.toArray(new Book[0]);
+        for (Book book : sorted) {
+            if (book == null) {
+                throw new IllegalArgumentException("Buku di arsip tidak boleh null");
+            }
+        }
+        Arrays.sort(sorted, Comparator.comparingInt(Book::getBookId));
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i].getBookId() == sorted[i - 1].getBookId()) {
+                throw new IllegalArgumentException("ID buku ganda di arsip: " + sorted[i].getBookId());
+            }
+        }
+        
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(out, ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).put((byte) VERSION).flip());
+            
+            BookCodec codec = new BookCodec(true);
+            Deflater deflater = new Deflater();
+            ByteBuffer block = ByteBuffer.allocate(blockSize);
+            byte[] compressed = new byte[blockSize + 64];
+            ByteBuffer index = ByteBuffer.allocate(16 * INDEX_ENTRY_BYTES);
+            long offset = HEADER_BYTES;
+            int blockCount = 0;
+            try {
+                int start = 0;
+                while (start < sorted.length) {
+                    // Isi satu blok sampai penuh; record pertama selalu masuk
+                    codec.reset();
+                    block.clear();
+                    int first = codec.encodedSize(sorted[start]);
+                    if (first > block.capacity()) {
+                        block = ByteBuffer.allocate(first);
+                    }
+                    int end = start;
+                    while (end < sorted.length) {
+                        if (codec.encodedSize(sorted[end]) > block.remaining()) {
+                            break;
+                        }
+                        codec.encode(sorted[end], block);
+                        end++;
+                    }
+                    
+                    int rawLength = block.position();
+                    deflater.reset();
+                    deflater.setInput(block.array(), 0, rawLength);
+                    deflater.finish();
+                    int compressedLength = 0;
+                    while (!deflater.finished()) {
+                        if (compressedLength == compressed.length) {
+                            compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                        }
+                        compressedLength += deflater.deflate(compressed, compressedLength,
+                                compressed.length - compressedLength);
+                    }
+                    writeFully(out, ByteBuffer.wrap(compressed, 0, compressedLength));
+                    
+                    if (index.remaining() < INDEX_ENTRY_BYTES) {
+                        index = ByteBuffer.allocate(index.capacity() * 2).put(index.flip());
+                    }
+                    index.putInt(sorted[start].getBookId()).putInt(sorted[end - 1].getBookId())
+                         .putInt(end - start).putInt(rawLength).putInt(compressedLength)
+                         .putLong(offset);
+                    offset += compressedLength;
+                    blockCount++;
+                    if (block.capacity() != blockSize) {
+                        block = ByteBuffer.allocate(blockSize);
+                    }
+                    start = end;
+                }
+            } finally {
+                deflater.end();
+            }
+            
+            writeFully(out, index.flip());
+            ByteBuffer trailer = ByteBuffer.allocate(TRAILER_BYTES);
+            trailer.putLong(offset).putInt(blockCount).putLong(sorted.length).putInt(MAGIC);
+            writeFully(out, trailer.flip());
+            out.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return sorted.length;
+    }
+    
+    /**
+     * Membuka arsip untuk dibaca. Hanya indeks blok yang dimuat ke memori.
+     * 
+     * @param file file arsip
+     * @return arsip yang sudah dibuka, harus ditutup setelah selesai
+     * @throws IOException jika file bukan arsip yang valid atau gagal dibaca
+     */
+    public static CatalogArchive open(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("File arsip tidak boleh null");
+        }
+        
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < HEADER_BYTES + TRAILER_BYTES) {
+                throw new IOException("File arsip katalog tidak valid: " + file);
+            }
+            ByteBuffer header = readFully(channel, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Bukan arsip katalog: " + file);
+            }
+            int version = header.get() & 0xFF;
+            if (version != VERSION) {
+                throw new IOException("Versi arsip katalog tidak didukung: " + version);
+            }
+            
+            ByteBuffer trailer = readFully(channel, size - TRAILER_BYTES, TRAILER_BYTES);
+            long indexOffset = trailer.getLong();
+            int blockCount = trailer.getInt();
+            long bookCount = trailer.getLong();
+            if (trailer.getInt() != MAGIC || blockCount < 0 || indexOffset < HEADER_BYTES
+                    || indexOffset + (long) blockCount * INDEX_ENTRY_BYTES != size - TRAILER_BYTES) {
+                throw new IOException("Trailer arsip katalog rusak: " + file);
+            }
+            
+            CatalogArchive archive = new CatalogArchive(file, channel, blockCount, bookCount);
+            ByteBuffer index = readFully(channel, indexOffset, blockCount * INDEX_ENTRY_BYTES);
+            long total = 0;
+            long expectedOffset = HEADER_BYTES;
+            for (int i = 0; i < blockCount; i++) {
+                archive.firstIds[i] = index.getInt();
+                archive.lastIds[i] = index.getInt();
+                archive.counts[i] = index.getInt();
+                archive.rawLengths[i] = index.getInt();
+                archive.compressedLengths[i] = index.getInt();
+                archive.offsets[i] = index.getLong();
+                if (archive.counts[i] <= 0 || archive.rawLengths[i] <= 0
+                        || archive.compressedLengths[i] <= 0 || archive.offsets[i] != expectedOffset
+                        || archive.firstIds[i] > archive.lastIds[i]
+                        || (i > 0 && archive.firstIds[i] <= archive.lastIds[i - 1])) {
+                    throw new IOException("Indeks blok ke-" + i + " arsip katalog rusak: " + file);
+                }
+                expectedOffset += archive.compressedLengths[i];
+                total += archive.counts[i];
+            }
+            if (expectedOffset != indexOffset || total != bookCount) {
+                throw new IOException("Indeks arsip katalog tidak sesuai: " + file);
+            }
+            return archive;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Mendapatkan file arsip.
+     * 
+     * @return path file
+     */
+    public Path getFile() {
+        return file;
+    }
+    
+    /**
+     * Mendapatkan jumlah buku di arsip.
+     * 
+     * @return jumlah buku
+     */
+    public long getBookCount() {
+        return bookCount;
+    }
+    
+    /**
+     * Mendapatkan jumlah blok di arsip.
+     * 
+     * @return jumlah blok
+     */
+    public int getBlockCount() {
+        return offsets.length;
+    }
+    
+    /**
+     * Mendapatkan total ukuran blok sebelum dikompresi.
+     * 
+     * @return ukuran dalam byte
+     */
+    public long getRawSize() {
+        long total = 0;
+        for (int length : rawLengths) {
+            total += length;
+        }
+        return total;
+    }
+    
+    /**
+     * Mendapatkan total ukuran blok setelah dikompresi.
+     * 
+     * @return ukuran dalam byte
+     */
+    public long getCompressedSize() {
+        long total = 0;
+        for (int length : compressedLengths) {
+            total += length;
+        }
+        return total;
+    }
+    
+    /**
+     * Mencari buku berdasarkan ID dengan mendekompresi paling banyak satu blok.
+     * 
+     * @param bookId ID buku yang dicari
+     * @return buku yang ditemukan, atau null jika tidak ada di arsip
+     * @throws IOException jika blok rusak atau gagal dibaca
+     */
+    public Book findBookById(int bookId) throws IOException {
+        int block = findBlock(bookId);
+        if (block < 0) {
+            return null;
+        }
+        // Record di dalam blok urut ID, jadi decode berhenti begitu ID terlewati
+        BookCodec codec = new BookCodec(true);
+        ByteBuffer buffer = inflateBlock(block);
+        try {
+            for (int i = 0; i < counts[block]; i++) {
+                Book book = codec.decode(buffer);
+                if (book.getBookId() >= bookId) {
+                    return book.getBookId() == bookId ? book : null;
+                }
+            }
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            throw new IOException("Record di blok ke-" + block + " arsip katalog rusak", e);
+        }
+        return null;
+    }
+    
+    /**
+     * Mencari buku berdasarkan judul (pencarian tidak case-sensitive).
+     * 
+     * @param title judul buku yang dicari (sebagian atau lengkap)
+     * @return List berisi buku-buku yang judulnya mengandung kata kunci, urut ID
+     * @throws IllegalArgumentException jika title null atau kosong
+     * @throws IOException jika blok rusak atau gagal dibaca
+     */
+    public List<Book> findBooksByTitle(String title) throws IOException {
+        if (title == null || title.trim().isEmpty()) {
+            throw new IllegalArgumentException("Judul pencarian tidak boleh kosong");
+        }
+        String searchTitle = title.trim().toLowerCase();
+        return scan(book -> book.getTitle().toLowerCase().contains(searchTitle));
+    }
+    
+    /**
+     * Mencari buku berdasarkan pengarang (pencarian tidak case-sensitive).
+     * 
+     * @param author nama pengarang yang dicari (sebagian atau lengkap)
+     * @return List berisi buku-buku karya pengarang tersebut, urut ID
+     * @throws IllegalArgumentException jika author null atau kosong
+     * @throws IOException jika blok rusak atau gagal dibaca
+     */
+    public List<Book> findBooksByAuthor(String author) throws IOException {
+        if (author == null || author.trim().isEmpty()) {
+            throw new IllegalArgumentException("Nama pengarang tidak boleh kosong");
+        }
+        String searchAuthor = author.trim().toLowerCase();
+        return scan(book -> book.getAuthorTerm().getFolded().contains(searchAuthor));
+    }
+    
+    /**
+     * Mencari buku berdasarkan kategori (tidak case-sensitive).
+     * 
+     * @param category kategori buku yang dicari
+     * @return List berisi buku-buku dalam kategori tersebut, urut ID
+     * @throws IllegalArgumentException jika category null atau kosong
+     * @throws IOException jika blok rusak atau gagal dibaca
+     */
+    public List<Book> findBooksByCategory(String category) throws IOException {
+        if (category == null || category.trim().isEmpty()) {
+            throw new IllegalArgumentException("Kategori tidak boleh kosong");
+        }
+        String searchCategory = category.trim().toLowerCase();
+        return scan(book -> {
+            Term term = book.getCategoryTerm();
+            return term != null && term.getFolded().equals(searchCategory);
+        });
+    }
+    
+    /**
+     * Mendapatkan semua buku di arsip.
+     * 
+     * @return List berisi semua buku, urut ID
+     * @throws IOException jika blok rusak atau gagal dibaca
+     */
+    public List<Book> getAllBooks() throws IOException {
+        return scan(book -> true);
+    }
+    
+    /**
+     * Memindai seluruh arsip dengan mendekompresi blok secara paralel.
+     * 
+     * @param filter kondisi buku yang diambil
+     * @return List berisi buku yang memenuhi kondisi, urut ID
+     * @throws IOException jika blok rusak atau gagal dibaca
+     */
+    public List<Book> scan(Predicate<? super Book> filter) throws IOException {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter tidak boleh null");
+        }
+        try {
+            return IntStream.range(0, offsets.length).parallel()
+                    .mapToObj(block -> {
+                        try {
+                            return readBlock(block);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .flatMap(List::stream)
+                    .filter(filter)
+                    .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+    
+    /**
+     * Menutup file arsip.
+     * 
+     * @throws IOException jika gagal menutup file
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+    
+    @Override
+    public String toString() {
+        return "CatalogArchive{file=" + file + ", buku=" + bookCount + ", blok=" + offsets.length + "}";
+    }
+    
+    /**
+     * Mencari blok yang rentang ID-nya memuat ID tertentu.
+     * 
+     * @return indeks blok, atau -1 jika tidak ada
+     */
+    private int findBlock(int bookId) {
+        int low = 0;
+        int high = offsets.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (lastIds[mid] < bookId) {
+                low = mid + 1;
+            } else if (firstIds[mid] > bookId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Membaca, mendekompresi, dan men-decode satu blok.
+     */
+    private List<Book> readBlock(int block) throws IOException {
+        BookCodec codec = new BookCodec(true);
+        ByteBuffer buffer = inflateBlock(block);
+        List<Book> books = new ArrayList<>(counts[block]);
+        try {
+            for (int i = 0; i < counts[block]; i++) {
+                books.add(codec.decode(buffer));
+            }
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            throw new IOException("Record di blok ke-" + block + " arsip katalog rusak", e);
+        }
+        if (buffer.hasRemaining()) {
+            throw new IOException("Blok ke-" + block + " arsip katalog berisi data berlebih");
+        }
+        return books;
+    }
+    
+    /**
+     * Membaca dan mendekompresi satu blok.
+     * 
+     * @return buffer berisi record blok tak terkompresi
+     */
+    private ByteBuffer inflateBlock(int block) throws IOException {
+        ByteBuffer compressed = readFully(channel, offsets[block], compressedLengths[block]);
+        byte[] raw = new byte[rawLengths[block]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed.array(), 0, compressedLengths[block]);
+            int length = inflater.inflate(raw);
+            if (length != raw.length || !inflater.finished()) {
+                throw new IOException("Panjang blok ke-" + block + " arsip katalog tidak sesuai");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Blok ke-" + block + " arsip katalog rusak", e);
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(raw);
+    }
+    
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Arsip katalog terpotong");
+            }
+        }
+        return buffer.flip();
+    }
+    
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,439 @@
+package com.library.codec;
+
+import com.library.Book;
+import com.library.dictionary.Term;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Kelas BookCodec meng-encode dan men-decode {@link Book} dalam format biner
+ * yang ringkas, untuk snapshot, replikasi, dan transfer jaringan.
+ * 
+ * <p>Format satu record:
+ * <pre>
+ * flags        1 byte  bit 0 tersedia, bit 1 ada ISBN, bit 2 ada kategori
+ * bookId       varint
+ * tahun        varint
+ * judul        varint panjang + UTF-8
+ * pengarang    string atau referensi kamus
+ * ISBN         varint panjang + UTF-8, jika bit 1
+ * kategori     string atau referensi kamus, jika bit 2
+ * </pre>
+ * Varint memakai 7 bit per byte dengan bit tertinggi sebagai penanda lanjutan.
+ * 
+ * <p>Jika mode kamus aktif, pengarang dan kategori ditulis sebagai varint
+ * {@code (indeks << 1) | 1} untuk nilai yang sudah pernah muncul di aliran
+ * yang sama, atau {@code (panjang << 1)} diikuti UTF-8 untuk nilai baru, yang
+ * sekaligus didaftarkan di indeks berikutnya pada kedua sisi. Kamus ini milik
+ * aliran, bukan kode {@link Term} milik proses, sehingga data dapat dibaca oleh
+ * proses lain. Karena itu satu objek BookCodec hanya boleh dipakai untuk satu
+ * arah (encode atau decode) pada satu aliran, dan kedua sisi harus memakai
+ * mode yang sama.
+ * 
+ * <p>Encode menulis langsung ke ByteBuffer tanpa alokasi objek, kecuali saat
+ * tabel kamus aliran perlu diperbesar. Decode hanya mengalokasikan Book yang
+ * dihasilkan beserta String-nya; nilai yang diambil dari kamus tidak
+ * dialokasikan ulang. Kelas ini tidak thread-safe.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see LibrarySnapshot
+ */
+public final class BookCodec {
+    
+    /** Flag buku tersedia */
+    private static final int FLAG_AVAILABLE = 1;
+    
+    /** Flag ISBN tidak null */
+    private static final int FLAG_ISBN = 1 << 1;
+    
+    /** Flag kategori tidak null */
+    private static final int FLAG_CATEGORY = 1 << 2;
+    
+    /** Semua flag yang dikenal */
+    private static final int KNOWN_FLAGS = FLAG_AVAILABLE | FLAG_ISBN | FLAG_CATEGORY;
+    
+    /** Penanda belum ada di kamus aliran */
+    private static final int ABSENT = -1;
+    
+    /** Apakah pengarang dan kategori memakai referensi kamus */
+    private final boolean useDictionary;
+    
+    /** Sisi encode: kode Term pengarang ke indeks kamus aliran */
+    private int[] authorIndexes;
+    
+    /** Sisi encode: kode Term kategori ke indeks kamus aliran */
+    private int[] categoryIndexes;
+    
+    /** Sisi encode: Term pengarang per indeks kamus aliran */
+    private Term[] authorTerms;
+    
+    /** Sisi encode: Term kategori per indeks kamus aliran */
+    private Term[] categoryTerms;
+    
+    /** Sisi decode: nilai pengarang per indeks kamus aliran */
+    private String[] authors;
+    
+    /** Sisi decode: nilai kategori per indeks kamus aliran */
+    private String[] categories;
+    
+    /** Jumlah pengarang di kamus aliran */
+    private int authorCount;
+    
+    /** Jumlah kategori di kamus aliran */
+    private int categoryCount;
+    
+    /** Buffer sementara untuk decode dari ByteBuffer tanpa array */
+    private byte[] scratch;
+    
+    /**
+     * Constructor untuk membuat codec.
+     * 
+     * @param useDictionary true untuk menulis pengarang dan kategori yang
+     *                      berulang sebagai referensi kamus
+     */
+    public BookCodec(boolean useDictionary) {
+        this.useDictionary = useDictionary;
+        this.authorIndexes = emptyIndexes();
+        this.categoryIndexes = emptyIndexes();
+        this.authorTerms = new Term[16];
+        this.categoryTerms = new Term[16];
+        this.authors = new String[16];
+        this.categories = new String[16];
+        this.scratch = new byte[256];
+    }
+    
+    /**
+     * Mengecek apakah codec memakai referensi kamus.
+     * 
+     * @return true jika mode kamus aktif
+     */
+    public boolean isUsingDictionary() {
+        return useDictionary;
+    }
+    
+    /**
+     * Mengosongkan kamus aliran, misalnya sebelum memulai aliran baru.
+     */
+    public void reset() {
+        Arrays.fill(authorIndexes, ABSENT);
+        Arrays.fill(categoryIndexes, ABSENT);
+        Arrays.fill(authorTerms, null);
+        Arrays.fill(categoryTerms, null);
+        Arrays.fill(authors, null);
+        Arrays.fill(categories, null);
+        authorCount = 0;
+        categoryCount = 0;
+    }
+    
+    /**
+     * Menghitung jumlah byte yang akan ditulis {@link #encode(Book, ByteBuffer)}
+     * untuk buku ini pada keadaan kamus saat ini.
+     * 
+     * @param book buku yang akan di-encode
+     * @return jumlah byte
+     */
+    public int encodedSize(Book book) {
+        int size = 1 + varintSize(book.getBookId()) + varintSize(book.getPublicationYear())
+                + stringSize(book.getTitle());
+        size += termSize(book.getAuthorTerm(), authorIndexes, authorTerms);
+        if (book.getIsbn() != null) {
+            size += stringSize(book.getIsbn());
+        }
+        if (book.getCategoryTerm() != null) {
+            size += termSize(book.getCategoryTerm(), categoryIndexes, categoryTerms);
+        }
+        return size;
+    }
+    
+    /**
+     * Menulis satu buku ke buffer. Jika sisa ruang tidak cukup, buffer dan
+     * kamus aliran tidak berubah.
+     * 
+     * @param book buku yang akan di-encode
+     * @param out buffer tujuan
+     * @throws BufferOverflowException jika sisa ruang buffer tidak cukup
+     * @throws IllegalArgumentException jika book adalah null
+     */
+    public void encode(Book book, ByteBuffer out) {
+        if (book == null) {
+            throw new IllegalArgumentException("Objek book tidak boleh null");
+        }
+        if (out.remaining() < encodedSize(book)) {
+            throw new BufferOverflowException();
+        }
+        
+        Term category = book.getCategoryTerm();
+        int flags = (book.isAvailable() ? FLAG_AVAILABLE : 0)
+                | (book.getIsbn() != null ? FLAG_ISBN : 0)
+                | (category != null ? FLAG_CATEGORY : 0);
+        out.put((byte) flags);
+        writeVarint(out, book.getBookId());
+        writeVarint(out, book.getPublicationYear());
+        writeString(out, book.getTitle());
+        authorIndexes = writeTerm(out, book.getAuthorTerm(), authorIndexes, true);
+        if (book.getIsbn() != null) {
+            writeString(out, book.getIsbn());
+        }
+        if (category != null) {
+            categoryIndexes = writeTerm(out, category, categoryIndexes, false);
+        }
+    }
+    
+    /**
+     * Membaca satu buku dari buffer.
+     * 
+     * @param in buffer sumber
+     * @return buku baru dengan status ketersediaan sesuai data
+     * @throws BufferUnderflowException jika record terpotong
+     * @throws IllegalArgumentException jika data tidak valid
+     */
+    public Book decode(ByteBuffer in) {
+        int flags = in.get() & 0xFF;
+        if ((flags & ~KNOWN_FLAGS) != 0) {
+            throw new IllegalArgumentException("Flag record buku tidak dikenal: " + flags);
+        }
+        int bookId = readVarint(in);
+        int publicationYear = readVarint(in);
+        String title = readString(in, readVarint(in));
+        String author = readTerm(in, true);
+        String isbn = (flags & FLAG_ISBN) != 0 ? readString(in, readVarint(in)) : null;
+        String category = (flags & FLAG_CATEGORY) != 0 ? readTerm(in, false) : null;
+        
+        Book book = new Book(bookId, title, author, isbn, publicationYear, category);
+        if ((flags & FLAG_AVAILABLE) == 0) {
+            book.setAvailable(false);
+        }
+        return book;
+    }
+    
+    /**
+     * Menulis bilangan bulat tidak negatif sebagai varint.
+     * 
+     * @param out buffer tujuan
+     * @param value nilai, diperlakukan sebagai unsigned
+     */
+    static void writeVarint(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+    
+    /**
+     * Membaca varint yang ditulis {@link #writeVarint(ByteBuffer, int)}.
+     * 
+     * @param in buffer sumber
+     * @return nilai
+     * @throws IllegalArgumentException jika varint lebih dari lima byte
+     */
+    static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint terlalu panjang");
+    }
+    
+    /**
+     * Jumlah byte varint untuk sebuah nilai.
+     */
+    static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+    
+    private int termSize(Term term, int[] indexes, Term[] terms) {
+        if (!useDictionary) {
+            return stringSize(term.getValue());
+        }
+        int index = streamIndex(term, indexes, terms);
+        if (index != ABSENT) {
+            return varintSize((index << 1) | 1);
+        }
+        int length = utf8Length(term.getValue());
+        return varintSize(length << 1) + length;
+    }
+    
+    private int[] writeTerm(ByteBuffer out, Term term, int[] indexes, boolean author) {
+        if (!useDictionary) {
+            writeString(out, term.getValue());
+            return indexes;
+        }
+        
+        Term[] terms = author ? authorTerms : categoryTerms;
+        int index = streamIndex(term, indexes, terms);
+        if (index != ABSENT) {
+            writeVarint(out, (index << 1) | 1);
+            return indexes;
+        }
+        String value = term.getValue();
+        writeVarint(out, utf8Length(value) << 1);
+        writeUtf8(out, value);
+        
+        int code = term.getCode();
+        if (code >= indexes.length) {
+            int oldLength = indexes.length;
+            indexes = Arrays.copyOf(indexes, Math.max(code + 1, oldLength * 2));
+            Arrays.fill(indexes, oldLength, indexes.length, ABSENT);
+        }
+        index = author ? authorCount++ : categoryCount++;
+        if (index == terms.length) {
+            terms = Arrays.copyOf(terms, terms.length * 2);
+            if (author) {
+                authorTerms = terms;
+            } else {
+                categoryTerms = terms;
+            }
+        }
+        terms[index] = term;
+        indexes[code] = index;
+        return indexes;
+    }
+    
+    /**
+     * Mencari indeks kamus aliran untuk sebuah Term. Kode Term dapat dipakai
+     * ulang oleh kamus proses setelah Term-nya dibuang, sehingga indeks hanya
+     * berlaku jika Term yang tercatat di indeks itu adalah instance yang sama.
+     * Array terms sekaligus menahan Term tersebut selama aliran berjalan.
+     */
+    private static int streamIndex(Term term, int[] indexes, Term[] terms) {
+        int code = term.getCode();
+        int index = code < indexes.length ? indexes[code] : ABSENT;
+        return index != ABSENT && terms[index] == term ? index : ABSENT;
+    }
+    
+    private String readTerm(ByteBuffer in, boolean author) {
+        if (!useDictionary) {
+            return readString(in, readVarint(in));
+        }
+        
+        int header = readVarint(in);
+        int count = author ? authorCount : categoryCount;
+        if ((header & 1) != 0) {
+            int index = header >>> 1;
+            if (index >= count) {
+                throw new IllegalArgumentException("Referensi kamus tidak dikenal: " + index);
+            }
+            return author ? authors[index] : categories[index];
+        }
+        
+        String value = readString(in, header >>> 1);
+        if (author) {
+            if (authorCount == authors.length) {
+                authors = Arrays.copyOf(authors, authors.length * 2);
+            }
+            authors[authorCount++] = value;
+        } else {
+            if (categoryCount == categories.length) {
+                categories = Arrays.copyOf(categories, categories.length * 2);
+            }
+            categories[categoryCount++] = value;
+        }
+        return value;
+    }
+    
+    private static int stringSize(String value) {
+        int length = utf8Length(value);
+        return varintSize(length) + length;
+    }
+    
+    private static void writeString(ByteBuffer out, String value) {
+        writeVarint(out, utf8Length(value));
+        writeUtf8(out, value);
+    }
+    
+    private String readString(ByteBuffer in, int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Panjang string tidak valid: " + length);
+        }
+        if (length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value;
+        if (in.hasArray()) {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        } else {
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            in.get(scratch, 0, length);
+            value = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+    
+    /**
+     * Panjang UTF-8 sebuah String, dengan surrogate tunggal dihitung sebagai
+     * satu byte pengganti seperti {@link String#getBytes(java.nio.charset.Charset)}.
+     */
+    static int utf8Length(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                bytes += 2;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                // Surrogate tunggal diganti '?'
+                continue;
+            } else {
+                bytes += 2;
+            }
+        }
+        return bytes;
+    }
+    
+    private static void writeUtf8(ByteBuffer out, String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | (c >> 6)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out.put((byte) (0xF0 | (codePoint >> 18)));
+                out.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                out.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                out.put((byte) '?');
+            } else {
+                out.put((byte) (0xE0 | (c >> 12)));
+                out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+    
+    private static int[] emptyIndexes() {
+        int[] indexes = new int[64];
+        Arrays.fill(indexes, ABSENT);
+        return indexes;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,192 @@
+package com.library.codec;
+
+import com.library.Book;
+import com.library.Library;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+/**
+ * Kelas LibrarySnapshot menulis dan membaca snapshot koleksi buku dalam format
+ * biner {@link BookCodec} dengan referensi kamus.
+ * 
+ * <p>Format aliran: {@code MAGIC} (4 byte), versi (1 byte), lalu frame-frame
+ * berisi record buku yang masing-masing diawali panjang 4 byte. Frame dengan
+ * panjang 0 menandai akhir aliran dan diikuti jumlah buku (8 byte) untuk
+ * verifikasi. Record tidak pernah terpotong di antara dua frame, sehingga
+ * setiap frame dapat di-decode langsung dari satu buffer. Panjang frame
+ * dibatasi {@code MAX_FRAME_SIZE}, sehingga aliran yang rusak tidak dapat
+ * memaksa pembaca mengalokasikan buffer sebesar panjang yang tertulis.
+ * 
+ * <p>Pemanggil bertanggung jawab atas sinkronisasi Library, misalnya dengan
+ * memegang read lock saat menulis dan write lock saat membaca ke Library.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see BookCodec
+ */
+public final class LibrarySnapshot {
+    
+    /** Penanda awal snapshot ("LBSN") */
+    public static final int MAGIC = 0x4C42534E;
+    
+    /** Versi format snapshot */
+    public static final int VERSION = 1;
+    
+    /** Ukuran frame normal */
+    private static final int FRAME_SIZE = 64 * 1024;
+    
+    /** Panjang maksimum satu frame, termasuk frame untuk satu record besar */
+    private static final int MAX_FRAME_SIZE = 1 << 24;
+    
+    private LibrarySnapshot() {
+    }
+    
+    /**
+     * Menulis semua buku di perpustakaan.
+     * 
+     * @param library perpustakaan sumber
+     * @param out aliran tujuan, tidak ditutup
+     * @return jumlah buku yang ditulis
+     * @throws IOException jika terjadi kesalahan penulisan
+     */
+    public static long write(Library library, OutputStream out) throws IOException {
+        if (library == null) {
+            throw new IllegalArgumentException("Objek library tidak boleh null");
+        }
+        return write(library.getAllBooks(), out);
+    }
+    
+    /**
+     * Menulis sekumpulan buku.
+     * 
+     * @param books buku yang ditulis
+     * @param out aliran tujuan, tidak ditutup
+     * @return jumlah buku yang ditulis
+     * @throws IOException jika terjadi kesalahan penulisan
+     * @throws IllegalArgumentException jika record sebuah buku lebih besar dari
+     *                                  panjang frame maksimum
+     */
+    public static long write(Iterable<Book> books, OutputStream out) throws IOException {
+        if (books == null || out == null) {
+            throw new IllegalArgumentException("Sumber dan tujuan snapshot tidak boleh null");
+        }
+        
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        
+        BookCodec codec = new BookCodec(true);
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_SIZE);
+        long count = 0;
+        for (Book book : books) {
+            int size = codec.encodedSize(book);
+            if (size > MAX_FRAME_SIZE) {
+                throw new IllegalArgumentException("Record buku " + book.getBookId() + " terlalu besar");
+            }
+            if (size > frame.remaining()) {
+                flush(data, frame);
+            }
+            if (size > frame.capacity()) {
+                // Record lebih besar dari frame normal dikirim dalam frame sendiri
+                ByteBuffer large = ByteBuffer.allocate(size);
+                codec.encode(book, large);
+                flush(data, large);
+            } else {
+                codec.encode(book, frame);
+            }
+            count++;
+        }
+        flush(data, frame);
+        data.writeInt(0);
+        data.writeLong(count);
+        data.flush();
+        return count;
+    }
+    
+    /**
+     * Membaca snapshot dan menambahkan setiap buku ke perpustakaan.
+     * 
+     * @param in aliran sumber, tidak ditutup
+     * @param library perpustakaan tujuan
+     * @return jumlah buku yang dibaca
+     * @throws IOException jika snapshot rusak atau terjadi kesalahan pembacaan
+     * @throws IllegalStateException jika perpustakaan penuh
+     * @throws com.library.exceptions.DuplicateBookException jika ID buku sudah ada
+     */
+    public static long read(InputStream in, Library library) throws IOException {
+        if (library == null) {
+            throw new IllegalArgumentException("Objek library tidak boleh null");
+        }
+        return read(in, library::addBook);
+    }
+    
+    /**
+     * Membaca snapshot dan memberikan setiap buku ke consumer sesuai urutan.
+     * 
+     * @param in aliran sumber, tidak ditutup
+     * @param consumer penerima buku
+     * @return jumlah buku yang dibaca
+     * @throws IOException jika snapshot rusak atau terjadi kesalahan pembacaan
+     */
+    public static long read(InputStream in, Consumer<? super Book> consumer) throws IOException {
+        if (in == null || consumer == null) {
+            throw new IllegalArgumentException("Sumber dan penerima snapshot tidak boleh null");
+        }
+        
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Bukan snapshot perpustakaan");
+        }
+        int version = data.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Versi snapshot tidak didukung: " + version);
+        }
+        
+        BookCodec codec = new BookCodec(true);
+        byte[] bytes = new byte[FRAME_SIZE];
+        long count = 0;
+        int length;
+        while ((length = data.readInt()) != 0) {
+            if (length < 0 || length > MAX_FRAME_SIZE) {
+                throw new IOException("Panjang frame tidak valid: " + length);
+            }
+            if (length > bytes.length) {
+                bytes = new byte[length];
+            }
+            data.readFully(bytes, 0, length);
+            ByteBuffer frame = ByteBuffer.wrap(bytes, 0, length);
+            while (frame.hasRemaining()) {
+                Book book;
+                try {
+                    book = codec.decode(frame);
+                } catch (IllegalArgumentException | BufferUnderflowException e) {
+                    throw new IOException("Record buku ke-" + (count + 1) + " rusak", e);
+                }
+                consumer.accept(book);
+                count++;
+            }
+        }
+        
+        long expected = data.readLong();
+        if (expected != count) {
+            throw new IOException("Snapshot tidak lengkap: " + count + " dari " + expected + " buku");
+        }
+        return count;
+    }
+    
+    private static void flush(DataOutputStream out, ByteBuffer frame) throws IOException {
+        if (frame.position() == 0) {
+            return;
+        }
+        out.writeInt(frame.position());
+        out.write(frame.array(), frame.arrayOffset(), frame.position());
+        frame.clear();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.library.dedup;
+
+/**
+ * Kelas DuplicateCandidate berisi satu buku yang kemungkinan merupakan duplikat
+ * dari buku lain beserta perkiraan kemiripannya. Objek ini immutable.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see DuplicateDetector#findDuplicates(com.library.Book)
+ */
+public final class DuplicateCandidate {
+    
+    /** ID buku yang mirip */
+    private final int bookId;
+    
+    /** Perkiraan kemiripan Jaccard antara 0.0 dan 1.0 */
+    private final double similarity;
+    
+    DuplicateCandidate(int bookId, double similarity) {
+        this.bookId = bookId;
+        this.similarity = similarity;
+    }
+    
+    /**
+     * Mendapatkan ID buku yang mirip.
+     * 
+     * @return ID buku
+     */
+    public int getBookId() {
+        return bookId;
+    }
+    
+    /**
+     * Mendapatkan perkiraan kemiripan judul dan pengarang.
+     * 
+     * @return perkiraan kemiripan Jaccard antara 0.0 dan 1.0
+     */
+    public double getSimilarity() {
+        return similarity;
+    }
+    
+    @Override
+    public String toString() {
+        return "DuplicateCandidate{ID=" + bookId + ", Similarity=" + similarity + '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,492 @@
+package com.library.dedup;
+
+import com.library.Book;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Kelas DuplicateDetector mendeteksi buku yang kemungkinan merupakan duplikat
+ * berdasarkan kemiripan judul dan pengarang, bukan hanya kesamaan ID.
+ * 
+ * <p>Judul dan pengarang dinormalisasi terlebih dahulu: huruf kecil, tanpa
+ * aksen dan tanda baca, subjudul setelah {@code ':'}, {@code " - "}, atau
+ * {@code '('} diabaikan, dan nama pengarang diurutkan per kata tanpa inisial, sehingga
+ * "Martin, Robert C." dan "Robert C. Martin" menjadi sama. Hasilnya dipecah
+ * menjadi shingle tiga karakter dan diringkas menjadi signature MinHash.
+ * 
+ * <p>Signature dibagi menjadi beberapa band (LSH banding) dan setiap band
+ * diindeks di tabel hash. Hanya buku yang berbagi minimal satu band yang
+ * dibandingkan, sehingga pencarian duplikat untuk satu buku tidak memindai
+ * seluruh katalog dan laporan duplikat seluruh katalog berjalan mendekati
+ * linear, bukan O(n²). Kandidat dari band diverifikasi dengan perkiraan
+ * kemiripan Jaccard dari signature.
+ * 
+ * <p>Detektor ini diperbarui oleh {@link com.library.Library} dan tidak
+ * thread-safe, sama seperti Library. Judul dan pengarang buku tidak boleh
+ * diubah selama buku ada di detektor.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see DuplicateCandidate
+ * @see DuplicateGroup
+ */
+public class DuplicateDetector {
+    
+    /** Batas kemiripan default untuk dianggap duplikat */
+    public static final double DEFAULT_THRESHOLD = 0.5;
+    
+    /** Jumlah band LSH */
+    private static final int BANDS = 20;
+    
+    /** Jumlah baris signature per band */
+    private static final int ROWS = 5;
+    
+    /** Panjang signature MinHash */
+    private static final int SIGNATURE_SIZE = BANDS * ROWS;
+    
+    /** Panjang shingle dalam karakter */
+    private static final int SHINGLE_LENGTH = 3;
+    
+    /** Jumlah maksimum wakil per bucket yang dibandingkan saat membuat laporan */
+    private static final int MAX_REPRESENTATIVES = 8;
+    
+    /** Jumlah maksimum anggota bucket yang diverifikasi saat mencari duplikat */
+    private static final int MAX_BUCKET_SCAN = 256;
+    
+    /** Seed fungsi hash MinHash, tetap agar signature stabil antar proses */
+    private static final long[] SEEDS = new long[SIGNATURE_SIZE];
+    
+    /** Pemisah antara judul utama dan subjudul atau keterangan edisi */
+    private static final String[] SUBTITLE_SEPARATORS = {":", " - ", "("};
+    
+    static {
+        SplittableRandom random = new SplittableRandom(0x4C4942524152594CL);
+        for (int i = 0; i < SEEDS.length; i++) {
+            SEEDS[i] = random.nextLong();
+        }
+    }
+    
+    /** Batas kemiripan untuk dianggap duplikat */
+    private final double threshold;
+    
+    /** Signature setiap buku yang diindeks */
+    private final Map<Integer, int[]> signatures;
+    
+    /** Bucket LSH, dari kunci band ke ID buku */
+    private final Map<Long, List<Integer>> buckets;
+    
+    /**
+     * Constructor untuk membuat detektor dengan batas kemiripan default.
+     */
+    public DuplicateDetector() {
+        this(DEFAULT_THRESHOLD);
+    }
+    
+    /**
+     * Constructor untuk membuat detektor dengan batas kemiripan tertentu.
+     * 
+     * @param threshold batas kemiripan Jaccard, antara 0.0 (eksklusif) dan 1.0
+     * @throws IllegalArgumentException jika threshold di luar rentang
+     */
+    public DuplicateDetector(double threshold) {
+        if (!(threshold > 0.0 && threshold <= 1.0)) {
+            throw new IllegalArgumentException("Batas kemiripan harus antara 0.0 dan 1.0");
+        }
+        
+        this.threshold = threshold;
+        this.signatures = new HashMap<>();
+        this.buckets = new HashMap<>();
+    }
+    
+    /**
+     * Membuat laporan duplikat untuk sekumpulan buku tanpa mengubah detektor lain.
+     * 
+     * @param books buku yang diperiksa
+     * @param threshold batas kemiripan Jaccard
+     * @return kelompok duplikat
+     */
+    public static List<DuplicateGroup> report(Collection<Book> books, double threshold) {
+        DuplicateDetector detector = new DuplicateDetector(threshold);
+        for (Book book : books) {
+            detector.add(book);
+        }
+        return detector.report();
+    }
+    
+    /**
+     * Mendapatkan batas kemiripan.
+     * 
+     * @return batas kemiripan Jaccard
+     */
+    public double getThreshold() {
+        return threshold;
+    }
+    
+    /**
+     * Jumlah buku yang diindeks.
+     * 
+     * @return jumlah buku
+     */
+    public int size() {
+        return signatures.size();
+    }
+    
+    /**
+     * Mengindeks buku tanpa mencari duplikatnya, sehingga biayanya tidak
+     * bergantung pada jumlah buku yang mirip. Buku dengan ID yang sama diganti.
+     * Duplikat dicari dengan {@link #findDuplicates(int)} bila diperlukan.
+     * 
+     * @param book buku yang ditambahkan
+     * @throws IllegalArgumentException jika book adalah null
+     */
+    public void add(Book book) {
+        if (book == null) {
+            throw new IllegalArgumentException("Objek book tidak boleh null");
+        }
+        remove(book.getBookId());
+        int[] signature = signature(book);
+        if (signature == null) {
+            return;
+        }
+        
+        signatures.put(book.getBookId(), signature);
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bandKey(signature, band), key -> new ArrayList<>(2))
+                   .add(book.getBookId());
+        }
+    }
+    
+    /**
+     * Mengeluarkan buku dari indeks.
+     * 
+     * @param bookId ID buku
+     */
+    public void remove(int bookId) {
+        int[] signature = signatures.remove(bookId);
+        if (signature == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            Long key = bandKey(signature, band);
+            List<Integer> bucket = buckets.get(key);
+            bucket.remove(Integer.valueOf(bookId));
+            if (bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+    
+    /**
+     * Mencari buku yang diindeks dan mirip dengan sebuah buku, tanpa mengindeksnya.
+     * 
+     * @param book buku yang diperiksa
+     * @return kandidat duplikat selain buku dengan ID yang sama, terurut dari
+     *         kemiripan tertinggi
+     * @throws IllegalArgumentException jika book adalah null
+     */
+    public List<DuplicateCandidate> findDuplicates(Book book) {
+        if (book == null) {
+            throw new IllegalArgumentException("Objek book tidak boleh null");
+        }
+        int[] signature = signature(book);
+        return signature == null ? new ArrayList<>() : find(book.getBookId(), signature);
+    }
+    
+    /**
+     * Mencari buku yang mirip dengan buku yang sudah diindeks.
+     * 
+     * @param bookId ID buku yang sudah diindeks
+     * @return kandidat duplikat, kosong jika buku tidak diindeks
+     */
+    public List<DuplicateCandidate> findDuplicates(int bookId) {
+        int[] signature = signatures.get(bookId);
+        return signature == null ? new ArrayList<>() : find(bookId, signature);
+    }
+    
+    /**
+     * Membuat laporan kelompok duplikat untuk semua buku yang diindeks.
+     * 
+     * <p>Setiap bucket dibandingkan dengan paling banyak beberapa wakil, lalu
+     * buku yang mirip digabung dengan union-find. Biayanya sebanding dengan
+     * jumlah buku dikali jumlah band, bukan dengan jumlah pasangan buku.
+     * 
+     * @return kelompok duplikat dengan minimal dua buku, terurut berdasarkan ID terkecil
+     */
+    public List<DuplicateGroup> report() {
+        Map<Integer, Integer> parents = new HashMap<>();
+        int[] representatives = new int[MAX_REPRESENTATIVES];
+        for (List<Integer> bucket : buckets.values()) {
+            if (bucket.size() < 2) {
+                continue;
+            }
+            int count = 0;
+            for (int bookId : bucket) {
+                int[] signature = signatures.get(bookId);
+                boolean matched = false;
+                for (int i = 0; i < count && !matched; i++) {
+                    if (similarity(signature, signatures.get(representatives[i])) >= threshold) {
+                        union(parents, representatives[i], bookId);
+                        matched = true;
+                    }
+                }
+                if (!matched && count < MAX_REPRESENTATIVES) {
+                    representatives[count++] = bookId;
+                }
+            }
+        }
+        
+        Map<Integer, List<Integer>> groups = new HashMap<>();
+        for (Integer bookId : parents.keySet()) {
+            groups.computeIfAbsent(root(parents, bookId), key -> new ArrayList<>()).add(bookId);
+        }
+        List<DuplicateGroup> result = new ArrayList<>();
+        for (List<Integer> members : groups.values()) {
+            if (members.size() > 1) {
+                members.sort(null);
+                result.add(new DuplicateGroup(members));
+            }
+        }
+        result.sort((a, b) -> Integer.compare(a.getBookIds().get(0), b.getBookIds().get(0)));
+        return result;
+    }
+    
+    /**
+     * Mengosongkan indeks.
+     */
+    public void clear() {
+        signatures.clear();
+        buckets.clear();
+    }
+    
+    /**
+     * Menormalisasi judul: hanya judul utama sebelum subjudul, huruf kecil,
+     * tanpa aksen dan tanda baca.
+     * 
+     * @param title judul buku
+     * @return judul yang dinormalisasi, bisa kosong
+     */
+    static String normalizeTitle(String title) {
+        if (title == null) {
+            return "";
+        }
+        String normalized = clean(title);
+        int cut = indexOfSubtitle(title);
+        if (cut > 0) {
+            String main = clean(title.substring(0, cut));
+            if (!main.isEmpty()) {
+                normalized = main;
+            }
+        }
+        return normalized;
+    }
+    
+    /**
+     * Menormalisasi nama pengarang: kata-kata diurutkan dan inisial satu huruf
+     * dibuang, sehingga urutan "Nama Belakang, Nama Depan" tidak berpengaruh.
+     * 
+     * @param author nama pengarang
+     * @return nama yang dinormalisasi, bisa kosong
+     */
+    static String normalizeAuthor(String author) {
+        if (author == null) {
+            return "";
+        }
+        String cleaned = clean(author);
+        if (cleaned.isEmpty()) {
+            return cleaned;
+        }
+        String[] words = cleaned.split(" ");
+        Arrays.sort(words);
+        StringBuilder result = new StringBuilder(cleaned.length());
+        for (String word : words) {
+            if (word.length() > 1) {
+                if (result.length() > 0) {
+                    result.append(' ');
+                }
+                result.append(word);
+            }
+        }
+        return result.length() > 0 ? result.toString() : cleaned;
+    }
+    
+    private List<DuplicateCandidate> find(int bookId, int[] signature) {
+        Set<Integer> seen = new HashSet<>();
+        List<DuplicateCandidate> result = new ArrayList<>();
+        for (int band = 0; band < BANDS; band++) {
+            List<Integer> bucket = buckets.get(bandKey(signature, band));
+            if (bucket == null) {
+                continue;
+            }
+            // Bucket yang sangat besar berasal dari band yang umum; sebagian anggota sudah cukup
+            int scanned = Math.min(bucket.size(), MAX_BUCKET_SCAN);
+            for (int i = 0; i < scanned; i++) {
+                int other = bucket.get(i);
+                if (other != bookId && seen.add(other)) {
+                    double similarity = similarity(signature, signatures.get(other));
+                    if (similarity >= threshold) {
+                        result.add(new DuplicateCandidate(other, similarity));
+                    }
+                }
+            }
+        }
+        result.sort((a, b) -> a.getSimilarity() != b.getSimilarity()
+                ? Double.compare(b.getSimilarity(), a.getSimilarity())
+                : Integer.compare(a.getBookId(), b.getBookId()));
+        return result;
+    }
+    
+    /**
+     * Membuat signature MinHash dari judul dan pengarang.
+     * 
+     * @return signature, atau null jika judul dan pengarang kosong setelah normalisasi
+     */
+    private static int[] signature(Book book) {
+        String key = normalizeTitle(book.getTitle()) + "  " + normalizeAuthor(book.getAuthor());
+        key = key.trim();
+        if (key.isEmpty()) {
+            return null;
+        }
+        
+        int[] signature = new int[SIGNATURE_SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, key.length() - SHINGLE_LENGTH + 1);
+        for (int i = 0; i < shingles; i++) {
+            long shingle = 0;
+            for (int j = i; j < Math.min(i + SHINGLE_LENGTH, key.length()); j++) {
+                shingle = (shingle << 16) | key.charAt(j);
+            }
+            long base = mix(shingle);
+            for (int k = 0; k < SIGNATURE_SIZE; k++) {
+                int value = (int) (((base ^ SEEDS[k]) * 0x9E3779B97F4A7C15L) >>> 32);
+                if (value < signature[k]) {
+                    signature[k] = value;
+                }
+            }
+        }
+        return signature;
+    }
+    
+    /**
+     * Perkiraan kemiripan Jaccard: proporsi posisi signature yang sama.
+     */
+    private static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIGNATURE_SIZE;
+    }
+    
+    private static long bandKey(int[] signature, int band) {
+        long hash = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            hash = mix(hash * 31 + signature[i]);
+        }
+        return hash;
+    }
+    
+    /**
+     * Mengubah teks menjadi huruf kecil tanpa aksen, dengan setiap deret
+     * karakter selain huruf dan angka diganti satu spasi. Karakter ASCII
+     * diproses langsung; hanya karakter lain yang didekomposisi.
+     */
+    private static String clean(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            
+            if (codePoint < 128) {
+                if ((codePoint >= 'a' && codePoint <= 'z') || (codePoint >= '0' && codePoint <= '9')) {
+                    pendingSpace = appendWord(result, (char) codePoint, pendingSpace);
+                } else if (codePoint >= 'A' && codePoint <= 'Z') {
+                    pendingSpace = appendWord(result, (char) (codePoint + ('a' - 'A')), pendingSpace);
+                } else {
+                    pendingSpace = true;
+                }
+                continue;
+            }
+            
+            String decomposed = Normalizer.normalize(new String(Character.toChars(codePoint)), Normalizer.Form.NFD);
+            for (int j = 0; j < decomposed.length(); ) {
+                int part = decomposed.codePointAt(j);
+                j += Character.charCount(part);
+                int type = Character.getType(part);
+                if (type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                        || type == Character.ENCLOSING_MARK) {
+                    continue;
+                }
+                if (Character.isLetterOrDigit(part)) {
+                    if (pendingSpace && result.length() > 0) {
+                        result.append(' ');
+                    }
+                    pendingSpace = false;
+                    result.appendCodePoint(Character.toLowerCase(part));
+                } else {
+                    pendingSpace = true;
+                }
+            }
+        }
+        return result.toString();
+    }
+    
+    private static boolean appendWord(StringBuilder result, char c, boolean pendingSpace) {
+        if (pendingSpace && result.length() > 0) {
+            result.append(' ');
+        }
+        result.append(c);
+        return false;
+    }
+    
+    private static int indexOfSubtitle(String title) {
+        int cut = -1;
+        for (String separator : SUBTITLE_SEPARATORS) {
+            int index = title.indexOf(separator);
+            if (index >= 0 && (cut < 0 || index < cut)) {
+                cut = index;
+            }
+        }
+        return cut;
+    }
+    
+    private static Integer root(Map<Integer, Integer> parents, Integer bookId) {
+        Integer current = bookId;
+        Integer parent;
+        while ((parent = parents.get(current)) != null && !parent.equals(current)) {
+            Integer grandparent = parents.get(parent);
+            parents.put(current, grandparent);
+            current = grandparent;
+        }
+        return current;
+    }
+    
+    private static void union(Map<Integer, Integer> parents, int a, int b) {
+        parents.putIfAbsent(a, a);
+        parents.putIfAbsent(b, b);
+        Integer rootA = root(parents, a);
+        Integer rootB = root(parents, b);
+        if (!rootA.equals(rootB)) {
+            parents.put(rootA.compareTo(rootB) < 0 ? rootB : rootA,
+                        rootA.compareTo(rootB) < 0 ? rootA : rootB);
+        }
+    }
+    
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
\ No newline at end of file
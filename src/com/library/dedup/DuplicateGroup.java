@@ -0,0 +1,46 @@
+package com.library.dedup;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Kelas DuplicateGroup berisi sekelompok buku yang kemungkinan merupakan
+ * duplikat satu sama lain, hasil dari {@link DuplicateDetector#report()}.
+ * Objek ini immutable.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ */
+public final class DuplicateGroup {
+    
+    /** ID buku dalam kelompok, terurut menaik */
+    private final List<Integer> bookIds;
+    
+    DuplicateGroup(List<Integer> bookIds) {
+        this.bookIds = Collections.unmodifiableList(bookIds);
+    }
+    
+    /**
+     * Mendapatkan ID buku dalam kelompok.
+     * 
+     * @return list ID buku yang tidak dapat diubah, terurut menaik
+     */
+    public List<Integer> getBookIds() {
+        return bookIds;
+    }
+    
+    /**
+     * Mendapatkan jumlah buku dalam kelompok.
+     * 
+     * @return jumlah buku, minimal 2
+     */
+    public int size() {
+        return bookIds.size();
+    }
+    
+    @Override
+    public String toString() {
+        return "DuplicateGroup" + bookIds;
+    }
+}
\ No newline at end of file
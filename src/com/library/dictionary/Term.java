@@ -0,0 +1,83 @@
+package com.library.dictionary;
+
+/**
+ * Kelas Term adalah nilai teks kanonik di dalam {@link TermDictionary}, misalnya
+ * satu nama pengarang atau satu kategori yang dipakai bersama oleh banyak buku.
+ * 
+ * <p>Setiap nilai yang sama hanya memiliki satu objek Term, sehingga buku-buku
+ * berbagi instance String yang sama dan perbandingan cukup berdasarkan kode.
+ * Bentuk huruf kecil ({@link #getFolded()}) dan kodenya dihitung sekali saat
+ * Term dibuat, sehingga pencarian tidak perlu mengubah huruf per buku. Nilai
+ * yang hanya berbeda huruf besar-kecil memiliki kode berbeda tetapi kode
+ * bentuk huruf kecil yang sama. Objek ini immutable.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see TermDictionary
+ */
+public final class Term {
+    
+    /** Kode unik nilai di dalam kamusnya */
+    private final int code;
+    
+    /** Nilai asli */
+    private final String value;
+    
+    /** Nilai dalam huruf kecil */
+    private final String folded;
+    
+    /** Kode unik bentuk huruf kecil di dalam kamusnya */
+    private final int foldedCode;
+    
+    Term(int code, String value, String folded, int foldedCode) {
+        this.code = code;
+        this.value = value;
+        this.folded = folded;
+        this.foldedCode = foldedCode;
+    }
+    
+    /**
+     * Mendapatkan kode unik nilai. Kode hanya unik di antara Term yang masih
+     * hidup; setelah Term dibuang, kamusnya dapat memberikan kode yang sama
+     * ke nilai lain.
+     * 
+     * @return kode, dimulai dari 0
+     */
+    public int getCode() {
+        return code;
+    }
+    
+    /**
+     * Mendapatkan nilai asli.
+     * 
+     * @return nilai kanonik yang dipakai bersama
+     */
+    public String getValue() {
+        return value;
+    }
+    
+    /**
+     * Mendapatkan nilai dalam huruf kecil.
+     * 
+     * @return nilai huruf kecil yang dipakai bersama
+     */
+    public String getFolded() {
+        return folded;
+    }
+    
+    /**
+     * Mendapatkan kode bentuk huruf kecil, sama untuk semua nilai yang hanya
+     * berbeda huruf besar-kecil.
+     * 
+     * @return kode bentuk huruf kecil, dimulai dari 0
+     */
+    public int getFoldedCode() {
+        return foldedCode;
+    }
+    
+    @Override
+    public String toString() {
+        return value;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,228 @@
+package com.library.dictionary;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kelas TermDictionary memetakan nilai teks ke {@link Term} kanonik dengan kode
+ * bilangan bulat (dictionary encoding).
+ * 
+ * <p>Ribuan buku sering berbagi pengarang atau kategori yang sama. Dengan
+ * kamus ini setiap nilai berbeda hanya disimpan sekali beserta bentuk huruf
+ * kecilnya, dan filter kesamaan dapat dilakukan dengan membandingkan kode.
+ * Kamus {@link #AUTHORS} dan {@link #CATEGORIES} dipakai bersama oleh semua
+ * objek {@link com.library.Book}.
+ * 
+ * <p>Kamus hanya memegang Term lewat {@link WeakReference}, sehingga yang
+ * menahan Term adalah buku yang memakainya. Setelah buku terakhir dengan nilai
+ * tertentu dihapus dan dibuang oleh garbage collector, entrinya dikeluarkan
+ * dari kamus pada pembuatan Term berikutnya dan kodenya dapat dipakai ulang.
+ * Ukuran kamus karena itu mengikuti jumlah nilai yang masih dipakai, bukan
+ * jumlah nilai yang pernah muncul. Kode bentuk huruf kecil tidak dipakai
+ * ulang, sehingga kode yang sudah didapat dari {@link #getFoldedCode(String)}
+ * tidak pernah tertukar dengan nilai lain.
+ * 
+ * <p>Kelas ini thread-safe. Pencarian nilai yang sudah ada tidak memakai lock;
+ * hanya pembuatan Term baru dan pengeluaran entri yang disinkronkan.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see Term
+ */
+public final class TermDictionary {
+    
+    /** Kamus nama pengarang */
+    public static final TermDictionary AUTHORS = new TermDictionary();
+    
+    /** Kamus kategori */
+    public static final TermDictionary CATEGORIES = new TermDictionary();
+    
+    /** Referensi Term berdasarkan nilai asli */
+    private final ConcurrentHashMap<String, TermReference> terms;
+    
+    /** Kelompok bentuk huruf kecil berdasarkan nilainya */
+    private final ConcurrentHashMap<String, Folded> foldedCodes;
+    
+    /** Antrean Term yang sudah dibuang garbage collector */
+    private final ReferenceQueue<Term> collected;
+    
+    /** Referensi Term berdasarkan kode; array diganti saat tumbuh agar aman dibaca tanpa lock */
+    private volatile TermReference[] byCode;
+    
+    /** Kode yang sudah dilepas dan dapat dipakai ulang */
+    private int[] freeCodes;
+    
+    /** Jumlah kode di freeCodes */
+    private int freeCount;
+    
+    /** Kode berikutnya yang belum pernah diberikan */
+    private int nextCode;
+    
+    /** Kode bentuk huruf kecil berikutnya */
+    private int nextFoldedCode;
+    
+    /**
+     * Constructor untuk membuat kamus kosong.
+     */
+    public TermDictionary() {
+        this.terms = new ConcurrentHashMap<>();
+        this.foldedCodes = new ConcurrentHashMap<>();
+        this.collected = new ReferenceQueue<>();
+        this.byCode = new TermReference[64];
+        this.freeCodes = new int[16];
+    }
+    
+    /**
+     * Mendapatkan Term kanonik untuk sebuah nilai, membuatnya jika belum ada.
+     * 
+     * @param value nilai teks
+     * @return Term kanonik, atau null jika value adalah null
+     */
+    public Term intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        Term term = find(value);
+        return term != null ? term : create(value);
+    }
+    
+    /**
+     * Mendapatkan Term berdasarkan kodenya.
+     * 
+     * @param code kode Term
+     * @return Term dengan kode tersebut
+     * @throws IndexOutOfBoundsException jika kode belum diberikan atau Term-nya
+     *                                   sudah dikeluarkan dari kamus
+     */
+    public Term get(int code) {
+        TermReference[] table = byCode;
+        Term term = code >= 0 && code < table.length && table[code] != null ? table[code].get() : null;
+        if (term == null) {
+            throw new IndexOutOfBoundsException("Kode tidak dikenal: " + code);
+        }
+        return term;
+    }
+    
+    /**
+     * Mencari Term untuk sebuah nilai tanpa membuatnya.
+     * 
+     * @param value nilai teks
+     * @return Term kanonik, atau null jika nilai belum ada di kamus
+     */
+    public Term find(String value) {
+        TermReference reference = value == null ? null : terms.get(value);
+        return reference != null ? reference.get() : null;
+    }
+    
+    /**
+     * Mencari kode bentuk huruf kecil, misalnya untuk filter kategori yang
+     * tidak case-sensitive.
+     * 
+     * @param folded nilai dalam huruf kecil
+     * @return kode bentuk huruf kecil, atau -1 jika tidak ada nilai yang cocok
+     */
+    public int getFoldedCode(String folded) {
+        Folded group = folded == null ? null : foldedCodes.get(folded);
+        return group != null ? group.code : -1;
+    }
+    
+    /**
+     * Jumlah nilai berbeda di kamus, termasuk nilai yang Term-nya sudah dibuang
+     * tetapi entrinya belum dikeluarkan.
+     * 
+     * @return jumlah Term
+     */
+    public int size() {
+        return terms.size();
+    }
+    
+    private synchronized Term create(String value) {
+        expungeCollected();
+        Term term = find(value);
+        if (term != null) {
+            return term;
+        }
+        
+        String folded = value.toLowerCase();
+        Folded group = foldedCodes.get(folded);
+        if (group == null) {
+            // Pakai instance yang sama jika nilainya sudah dalam huruf kecil
+            group = new Folded(folded.equals(value) ? value : folded, nextFoldedCode++);
+            foldedCodes.put(group.value, group);
+        }
+        group.references++;
+        
+        int code = freeCount > 0 ? freeCodes[--freeCount] : nextCode++;
+        TermReference[] table = byCode;
+        if (code == table.length) {
+            table = Arrays.copyOf(table, table.length * 2);
+        }
+        term = new Term(code, value, group.value, group.code);
+        TermReference reference = new TermReference(term, group, collected);
+        table[code] = reference;
+        byCode = table;
+        terms.put(value, reference);
+        return term;
+    }
+    
+    /**
+     * Mengeluarkan entri Term yang sudah dibuang garbage collector dan melepas
+     * kodenya. Dipanggil dengan lock kamus.
+     */
+    private void expungeCollected() {
+        TermReference reference;
+        while ((reference = (TermReference) collected.poll()) != null) {
+            terms.remove(reference.value, reference);
+            TermReference[] table = byCode;
+            if (table[reference.code] == reference) {
+                table[reference.code] = null;
+                if (freeCount == freeCodes.length) {
+                    freeCodes = Arrays.copyOf(freeCodes, freeCount * 2);
+                }
+                freeCodes[freeCount++] = reference.code;
+            }
+            Folded group = reference.group;
+            if (--group.references == 0) {
+                foldedCodes.remove(group.value, group);
+            }
+        }
+    }
+    
+    /**
+     * Referensi lemah ke Term beserta data yang dibutuhkan untuk mengeluarkan
+     * entrinya setelah Term dibuang.
+     */
+    private static final class TermReference extends WeakReference<Term> {
+        
+        private final String value;
+        private final int code;
+        private final Folded group;
+        
+        TermReference(Term term, Folded group, ReferenceQueue<Term> queue) {
+            super(term, queue);
+            this.value = term.getValue();
+            this.code = term.getCode();
+            this.group = group;
+        }
+    }
+    
+    /**
+     * Bentuk huruf kecil bersama dengan jumlah Term yang masih memakainya.
+     */
+    private static final class Folded {
+        
+        private final String value;
+        private final int code;
+        
+        /** Jumlah Term yang belum dikeluarkan, diubah dengan lock kamus */
+        private int references;
+        
+        Folded(String value, int code) {
+            this.value = value;
+            this.code = code;
+        }
+    }
+}
\ No newline at end of file
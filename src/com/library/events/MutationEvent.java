@@ -0,0 +1,189 @@
+package com.library.events;
+
+import com.library.Book;
+
+/**
+ * Kelas MutationEvent adalah slot event di dalam {@link MutationRingBuffer}.
+ * 
+ * <p>Objek ini dialokasikan sekali saat ring buffer dibuat lalu dipakai ulang
+ * untuk setiap event berikutnya, sehingga jalur mutasi tidak melakukan alokasi.
+ * Akibatnya, isi event hanya valid selama handler yang menerimanya berjalan;
+ * konsumen yang perlu menyimpan event harus menyalin field yang dibutuhkan.
+ * 
+ * <p>Atribut buku ditangkap ke slot saat event dipublikasikan, di bawah
+ * sinkronisasi penulis Library. Konsumen yang berjalan di thread lain membaca
+ * atribut tersebut lewat {@link #copyBook()}, bukan dari buku milik Library
+ * yang mungkin sudah diubah lagi sejak event dipublikasikan.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see MutationRingBuffer
+ */
+public final class MutationEvent {
+    
+    /** Nomor urut event, dimulai dari 0 */
+    private long sequence;
+    
+    /** Jenis perubahan */
+    private MutationType type;
+    
+    /** ID buku yang berubah, 0 untuk CLEAR_AVAILABLE */
+    private int bookId;
+    
+    /** Buku yang berubah, null untuk CLEAR_AVAILABLE */
+    private Book book;
+    
+    /** Nama peminjam untuk BORROW, null untuk jenis lain */
+    private String borrower;
+    
+    /** Judul buku saat event dipublikasikan */
+    private String title;
+    
+    /** Pengarang buku saat event dipublikasikan */
+    private String author;
+    
+    /** ISBN buku saat event dipublikasikan */
+    private String isbn;
+    
+    /** Tahun publikasi buku saat event dipublikasikan */
+    private int publicationYear;
+    
+    /** Kategori buku saat event dipublikasikan */
+    private String category;
+    
+    /** Status ketersediaan buku saat event dipublikasikan */
+    private boolean available;
+    
+    /** Nilai tambahan, misalnya jumlah buku yang dihapus oleh CLEAR_AVAILABLE */
+    private long value;
+    
+    /** Waktu perubahan dalam milidetik epoch */
+    private long timestamp;
+    
+    /**
+     * Constructor package-private, slot hanya dibuat oleh ring buffer.
+     */
+    MutationEvent() {
+    }
+    
+    /**
+     * Mengisi ulang slot dengan data event baru dan menangkap atribut buku.
+     * Hanya referensi dan nilai primitif yang disalin, sehingga tidak ada alokasi.
+     */
+    void set(long sequence, MutationType type, int bookId, Book book, String borrower,
+             long value, long timestamp) {
+        this.sequence = sequence;
+        this.type = type;
+        this.bookId = bookId;
+        this.book = book;
+        this.borrower = borrower;
+        this.value = value;
+        this.timestamp = timestamp;
+        if (book != null) {
+            this.title = book.getTitle();
+            this.author = book.getAuthor();
+            this.isbn = book.getIsbn();
+            this.publicationYear = book.getPublicationYear();
+            this.category = book.getCategory();
+            this.available = book.isAvailable();
+        } else {
+            this.title = null;
+            this.author = null;
+            this.isbn = null;
+            this.publicationYear = 0;
+            this.category = null;
+            this.available = false;
+        }
+    }
+    
+    /**
+     * Mendapatkan nomor urut event.
+     * 
+     * @return nomor urut, dimulai dari 0 dan naik satu per event
+     */
+    public long getSequence() {
+        return sequence;
+    }
+    
+    /**
+     * Mendapatkan jenis perubahan.
+     * 
+     * @return jenis perubahan
+     */
+    public MutationType getType() {
+        return type;
+    }
+    
+    /**
+     * Mendapatkan ID buku yang berubah.
+     * 
+     * @return ID buku, 0 untuk CLEAR_AVAILABLE
+     */
+    public int getBookId() {
+        return bookId;
+    }
+    
+    /**
+     * Mendapatkan buku yang berubah. Objek ini adalah buku milik Library,
+     * bukan salinan, sehingga hanya aman dibaca di bawah sinkronisasi penulis
+     * Library; konsumen di thread lain memakai {@link #copyBook()}.
+     * 
+     * @return buku yang berubah, null untuk CLEAR_AVAILABLE
+     */
+    public Book getBook() {
+        return book;
+    }
+    
+    /**
+     * Membuat salinan buku dari atribut yang ditangkap saat event
+     * dipublikasikan, termasuk status ketersediaannya.
+     * 
+     * @return salinan buku, null jika event tidak membawa buku
+     */
+    public Book copyBook() {
+        if (title == null) {
+            return null;
+        }
+        Book copy = new Book(bookId, title, author, isbn, publicationYear, category);
+        copy.setAvailable(available);
+        return copy;
+    }
+    
+    /**
+     * Mendapatkan nama peminjam untuk event BORROW.
+     * 
+     * @return nama peminjam, null untuk jenis lain
+     */
+    public String getBorrower() {
+        return borrower;
+    }
+    
+    /**
+     * Mendapatkan nilai tambahan event.
+     * 
+     * @return jumlah buku yang dihapus untuk CLEAR_AVAILABLE, 0 untuk jenis lain
+     */
+    public long getValue() {
+        return value;
+    }
+    
+    /**
+     * Mendapatkan waktu perubahan.
+     * 
+     * @return waktu dalam milidetik epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    /**
+     * Menghasilkan representasi string dari event.
+     * 
+     * @return String berisi informasi singkat event
+     */
+    @Override
+    public String toString() {
+        return "MutationEvent{Seq=" + sequence + ", Type=" + type + ", BookID=" + bookId + "}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.library.events;
+
+/**
+ * Interface MutationHandler menerima event dari {@link MutationSubscription}
+ * secara batch.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see MutationSubscription#poll(MutationHandler, int)
+ */
+@FunctionalInterface
+public interface MutationHandler {
+    
+    /**
+     * Memproses satu event. Objek event dipakai ulang oleh ring buffer, jadi
+     * jangan disimpan setelah metode ini selesai.
+     * 
+     * @param event event yang diproses
+     * @param endOfBatch true jika event ini adalah yang terakhir dalam batch
+     */
+    void onEvent(MutationEvent event, boolean endOfBatch);
+}
\ No newline at end of file
@@ -0,0 +1,214 @@
+package com.library.events;
+
+import com.library.Book;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Kelas MutationRingBuffer menyalurkan event perubahan data perpustakaan dari
+ * satu produsen ke banyak konsumen, dengan gaya Disruptor.
+ * 
+ * <p>Semua slot {@link MutationEvent} dialokasikan di awal dan dipakai ulang,
+ * sehingga {@link #publish} tidak melakukan alokasi. Produsen menulis slot lalu
+ * memajukan cursor; setiap konsumen ({@link MutationSubscription}) membaca dari
+ * posisinya sendiri secara batch. Sebelum menimpa slot, produsen memastikan
+ * semua konsumen sudah melewatinya: konsumen BLOCK ditunggu, konsumen DROP
+ * yang tertinggal diputus.
+ * 
+ * <p>Hanya boleh ada satu thread produsen pada satu waktu. Di dalam
+ * {@link com.library.Library}, hal ini dijamin oleh sinkronisasi penulis
+ * Library itu sendiri.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see MutationSubscription
+ * @see MutationEvent
+ */
+public class MutationRingBuffer {
+    
+    /** Kapasitas default ring buffer */
+    public static final int DEFAULT_CAPACITY = 4096;
+    
+    /** Slot event yang dipakai ulang */
+    private final MutationEvent[] slots;
+    
+    /** Mask untuk menghitung indeks slot dari nomor urut */
+    private final int mask;
+    
+    /** Nomor urut event terakhir yang sudah dipublikasikan */
+    private final AtomicLong cursor;
+    
+    /** Nomor urut event berikutnya, hanya diakses oleh produsen */
+    private long nextSequence;
+    
+    /** Posisi konsumen paling lambat yang terakhir diketahui produsen */
+    private long gatingSequence;
+    
+    /** Konsumen aktif, diganti seluruhnya setiap kali berubah */
+    private volatile MutationSubscription[] subscriptions;
+    
+    /** Jumlah konsumen yang diputus karena terlalu lambat */
+    private final AtomicLong droppedCount;
+    
+    /**
+     * Constructor untuk membuat ring buffer dengan kapasitas default.
+     */
+    public MutationRingBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Constructor untuk membuat ring buffer dengan kapasitas tertentu.
+     * 
+     * @param capacity kapasitas, harus pangkat dua dan lebih dari 0
+     * @throws IllegalArgumentException jika kapasitas tidak valid
+     */
+    public MutationRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Kapasitas ring buffer harus pangkat dua");
+        }
+        this.slots = new MutationEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new MutationEvent();
+        }
+        this.mask = capacity - 1;
+        this.cursor = new AtomicLong(-1);
+        this.nextSequence = 0;
+        this.gatingSequence = -1;
+        this.subscriptions = new MutationSubscription[0];
+        this.droppedCount = new AtomicLong();
+    }
+    
+    /**
+     * Mempublikasikan satu event perubahan.
+     * 
+     * @param type jenis perubahan
+     * @param bookId ID buku yang berubah
+     * @param book buku yang berubah, boleh null
+     * @param borrower nama peminjam untuk BORROW, boleh null
+     * @param value nilai tambahan
+     * @param timestamp waktu perubahan dalam milidetik epoch
+     * @return nomor urut event yang dipublikasikan
+     */
+    public long publish(MutationType type, int bookId, Book book, String borrower,
+                        long value, long timestamp) {
+        long seq = nextSequence;
+        long wrapPoint = seq - slots.length;
+        if (wrapPoint > gatingSequence) {
+            awaitCapacity(wrapPoint);
+        }
+        
+        slots[(int) seq & mask].set(seq, type, bookId, book, borrower, value, timestamp);
+        nextSequence = seq + 1;
+        cursor.set(seq);
+        return seq;
+    }
+    
+    /**
+     * Mendaftarkan konsumen baru yang mulai membaca dari event berikutnya.
+     * 
+     * @param policy kebijakan ketika konsumen tertinggal
+     * @return langganan baru
+     * @throws IllegalArgumentException jika policy adalah null
+     */
+    public synchronized MutationSubscription subscribe(MutationSubscription.OverflowPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Kebijakan overflow tidak boleh null");
+        }
+        MutationSubscription subscription = new MutationSubscription(this, policy, cursor.get());
+        MutationSubscription[] current = subscriptions;
+        MutationSubscription[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = subscription;
+        subscriptions = updated;
+        return subscription;
+    }
+    
+    /**
+     * Menghapus konsumen dari daftar konsumen aktif.
+     */
+    synchronized void unsubscribe(MutationSubscription subscription) {
+        MutationSubscription[] current = subscriptions;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == subscription) {
+                MutationSubscription[] updated = new MutationSubscription[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                subscriptions = updated;
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Mendapatkan nomor urut event terakhir yang sudah dipublikasikan.
+     * 
+     * @return nomor urut terakhir, -1 jika belum ada event
+     */
+    public long getCursor() {
+        return cursor.get();
+    }
+    
+    /**
+     * Mendapatkan kapasitas ring buffer.
+     * 
+     * @return jumlah slot
+     */
+    public int getCapacity() {
+        return slots.length;
+    }
+    
+    /**
+     * Mendapatkan jumlah konsumen aktif.
+     * 
+     * @return jumlah konsumen
+     */
+    public int getSubscriberCount() {
+        return subscriptions.length;
+    }
+    
+    /**
+     * Mendapatkan jumlah konsumen yang diputus karena terlalu lambat.
+     * 
+     * @return jumlah konsumen yang diputus
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+    
+    /**
+     * Mendapatkan slot untuk nomor urut tertentu.
+     */
+    MutationEvent slot(long sequence) {
+        return slots[(int) sequence & mask];
+    }
+    
+    /**
+     * Menunggu sampai semua konsumen sudah membaca event pada wrapPoint,
+     * memutus konsumen DROP yang tertinggal.
+     */
+    private void awaitCapacity(long wrapPoint) {
+        while (true) {
+            long minimum = Long.MAX_VALUE;
+            boolean blocked = false;
+            for (MutationSubscription subscription : subscriptions) {
+                long position = subscription.getSequence();
+                if (position < wrapPoint) {
+                    if (subscription.getPolicy() == MutationSubscription.OverflowPolicy.DROP) {
+                        subscription.drop();
+                        droppedCount.incrementAndGet();
+                        continue;
+                    }
+                    blocked = true;
+                }
+                minimum = Math.min(minimum, position);
+            }
+            if (!blocked) {
+                gatingSequence = minimum == Long.MAX_VALUE ? wrapPoint : minimum;
+                return;
+            }
+            LockSupport.parkNanos(1_000L);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.library.events;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Kelas MutationSubscription adalah posisi baca seorang konsumen pada
+ * {@link MutationRingBuffer}.
+ * 
+ * <p>Konsumen membaca event secara batch dengan {@link #poll(MutationHandler, int)}
+ * dari thread miliknya sendiri. Konsumen dengan kebijakan
+ * {@link OverflowPolicy#BLOCK} menahan produsen ketika tertinggal sejauh
+ * kapasitas buffer, sedangkan konsumen dengan kebijakan
+ * {@link OverflowPolicy#DROP} diputus agar produsen tetap berjalan.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see MutationRingBuffer
+ */
+public class MutationSubscription implements AutoCloseable {
+    
+    /**
+     * Kebijakan ketika konsumen tertinggal sejauh kapasitas ring buffer.
+     */
+    public enum OverflowPolicy {
+        
+        /** Produsen menunggu sampai konsumen membaca (backpressure) */
+        BLOCK,
+        
+        /** Konsumen diputus dan produsen melanjutkan */
+        DROP
+    }
+    
+    /** Ring buffer yang dibaca */
+    private final MutationRingBuffer ring;
+    
+    /** Kebijakan saat tertinggal */
+    private final OverflowPolicy policy;
+    
+    /** Nomor urut event terakhir yang sudah diproses */
+    private final AtomicLong sequence;
+    
+    /** Penanda bahwa konsumen diputus karena terlalu lambat */
+    private volatile boolean dropped;
+    
+    /** Penanda bahwa konsumen sudah ditutup */
+    private volatile boolean closed;
+    
+    /**
+     * Constructor package-private, gunakan {@link MutationRingBuffer#subscribe(OverflowPolicy)}.
+     */
+    MutationSubscription(MutationRingBuffer ring, OverflowPolicy policy, long startSequence) {
+        this.ring = ring;
+        this.policy = policy;
+        this.sequence = new AtomicLong(startSequence);
+    }
+    
+    /**
+     * Membaca event yang tersedia dalam satu batch.
+     * 
+     * @param handler penerima event
+     * @param maxBatch jumlah maksimum event dalam batch, harus lebih dari 0
+     * @return jumlah event yang diproses, 0 jika belum ada event baru, atau -1
+     *         jika konsumen sudah diputus atau ditutup (batch terakhir tidak valid)
+     * @throws IllegalArgumentException jika maxBatch tidak valid
+     */
+    public int poll(MutationHandler handler, int maxBatch) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("Ukuran batch harus lebih dari 0");
+        }
+        if (dropped || closed) {
+            return -1;
+        }
+        
+        long next = sequence.get() + 1;
+        long available = ring.getCursor();
+        if (available < next) {
+            return 0;
+        }
+        
+        long end = Math.min(available, next + maxBatch - 1);
+        for (long seq = next; seq <= end; seq++) {
+            handler.onEvent(ring.slot(seq), seq == end);
+        }
+        if (dropped) {
+            return -1;
+        }
+        sequence.lazySet(end);
+        return (int) (end - next + 1);
+    }
+    
+    /**
+     * Mendapatkan nomor urut event terakhir yang sudah diproses.
+     * 
+     * @return nomor urut terakhir, -1 jika belum ada
+     */
+    public long getSequence() {
+        return sequence.get();
+    }
+    
+    /**
+     * Menghitung ketertinggalan konsumen terhadap produsen.
+     * 
+     * @return jumlah event yang belum dibaca
+     */
+    public long getLag() {
+        return ring.getCursor() - sequence.get();
+    }
+    
+    /**
+     * Mendapatkan kebijakan saat konsumen tertinggal.
+     * 
+     * @return kebijakan overflow
+     */
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+    
+    /**
+     * Mengecek apakah konsumen diputus karena terlalu lambat.
+     * 
+     * @return true jika konsumen sudah diputus
+     */
+    public boolean isDropped() {
+        return dropped;
+    }
+    
+    /**
+     * Mengecek apakah konsumen masih aktif.
+     * 
+     * @return true jika belum ditutup maupun diputus
+     */
+    public boolean isActive() {
+        return !dropped && !closed;
+    }
+    
+    /**
+     * Menutup langganan sehingga tidak lagi menahan produsen.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        ring.unsubscribe(this);
+    }
+    
+    /**
+     * Menandai konsumen sebagai diputus; dipanggil oleh produsen.
+     */
+    void drop() {
+        dropped = true;
+        ring.unsubscribe(this);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.library.events;
+
+/**
+ * Enum MutationType mendaftar jenis perubahan data {@link com.library.Library}
+ * yang dipublikasikan ke {@link MutationRingBuffer}.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see MutationEvent
+ */
+public enum MutationType {
+    
+    /** Buku baru ditambahkan */
+    ADD,
+    
+    /** Buku dihapus */
+    REMOVE,
+    
+    /** Buku dipinjam, termasuk penyerahan ke pemegang reservasi */
+    BORROW,
+    
+    /** Buku dikembalikan */
+    RETURN,
+    
+    /** Semua buku yang tersedia dihapus sekaligus */
+    CLEAR_AVAILABLE,
+    
+    /** Atribut buku diubah */
+    UPDATE
+}
\ No newline at end of file
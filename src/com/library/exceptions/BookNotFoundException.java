@@ -50,6 +50,21 @@ public class BookNotFoundException extends Exception {
         this.bookId = bookId;
     }
     
+    /**
+     * Constructor untuk BookNotFoundException dengan opsi tanpa stack trace.
+     * Dengan writableStackTrace bernilai false, pembuatan exception tidak
+     * memanggil {@code fillInStackTrace} sehingga jauh lebih murah ketika
+     * exception dipakai sebagai alur kontrol pada trafik tinggi.
+     * 
+     * @param message pesan error yang akan ditampilkan
+     * @param bookId ID buku yang tidak ditemukan
+     * @param writableStackTrace false untuk membuat exception tanpa stack trace
+     */
+    public BookNotFoundException(String message, int bookId, boolean writableStackTrace) {
+        super(message, null, writableStackTrace, writableStackTrace);
+        this.bookId = bookId;
+    }
+    
     /**
      * Constructor untuk BookNotFoundException dengan pesan dan cause.
      * 
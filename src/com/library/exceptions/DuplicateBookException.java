@@ -50,6 +50,21 @@ public class DuplicateBookException extends RuntimeException {
         this.duplicateBookId = duplicateBookId;
     }
     
+    /**
+     * Constructor untuk DuplicateBookException dengan opsi tanpa stack trace.
+     * Dengan writableStackTrace bernilai false, pembuatan exception tidak
+     * memanggil {@code fillInStackTrace} sehingga jauh lebih murah ketika
+     * exception dipakai sebagai alur kontrol pada trafik tinggi.
+     * 
+     * @param message pesan error yang akan ditampilkan
+     * @param duplicateBookId ID buku yang menyebabkan duplikasi
+     * @param writableStackTrace false untuk membuat exception tanpa stack trace
+     */
+    public DuplicateBookException(String message, int duplicateBookId, boolean writableStackTrace) {
+        super(message, null, writableStackTrace, writableStackTrace);
+        this.duplicateBookId = duplicateBookId;
+    }
+    
     /**
      * Constructor untuk DuplicateBookException dengan pesan dan cause.
      * 
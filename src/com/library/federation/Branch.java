@@ -0,0 +1,92 @@
+package com.library.federation;
+
+import com.library.Library;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Kelas Branch adalah satu cabang perpustakaan di dalam {@link LibraryFederation}.
+ * 
+ * <p>Setiap cabang memiliki {@link Library} dan lock baca/tulisnya sendiri,
+ * sehingga cabang yang sedang sibuk tidak menahan operasi di cabang lain.
+ * Library milik cabang hanya boleh diakses dengan memegang lock tersebut.
+ * Library tidak dibuka ke luar paket, sehingga penambahan dan penghapusan
+ * buku selalu lewat federasi yang memperbarui pembagi ID dan direktori ID.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see LibraryFederation
+ */
+public final class Branch {
+    
+    /** Nama cabang */
+    private final String name;
+    
+    /** Urutan pendaftaran, dipakai sebagai urutan pengambilan lock */
+    private final int order;
+    
+    /** Library milik cabang */
+    private final Library library;
+    
+    /** Lock yang melindungi library */
+    private final ReadWriteLock lock;
+    
+    Branch(String name, int order, Library library) {
+        this.name = name;
+        this.order = order;
+        this.library = library;
+        this.lock = new ReentrantReadWriteLock();
+    }
+    
+    /**
+     * Mendapatkan nama cabang.
+     * 
+     * @return nama cabang
+     */
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Mendapatkan Library milik cabang. Akses harus dilakukan dengan memegang
+     * {@link #getLock()}.
+     */
+    Library getLibrary() {
+        return library;
+    }
+    
+    /**
+     * Mendapatkan lock yang melindungi Library milik cabang.
+     * 
+     * @return lock baca/tulis
+     */
+    public ReadWriteLock getLock() {
+        return lock;
+    }
+    
+    /**
+     * Urutan pendaftaran cabang.
+     */
+    int getOrder() {
+        return order;
+    }
+    
+    /**
+     * Menjalankan operasi baca dengan read lock.
+     */
+    <T> T read(Function<Library, T> operation) {
+        lock.readLock().lock();
+        try {
+            return operation.apply(library);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "Branch{" + name + "}";
+    }
+}
\ No newline at end of file
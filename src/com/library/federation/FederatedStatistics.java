@@ -0,0 +1,131 @@
+package com.library.federation;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Kelas FederatedStatistics berisi statistik gabungan seluruh cabang dalam
+ * {@link LibraryFederation}. Objek ini immutable.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see LibraryFederation#getStatistics()
+ */
+public final class FederatedStatistics {
+    
+    /** Total buku di semua cabang */
+    private final int totalBooks;
+    
+    /** Total buku tersedia di semua cabang */
+    private final int availableBooks;
+    
+    /** Total kapasitas semua cabang */
+    private final long totalCapacity;
+    
+    /** Jumlah buku per cabang */
+    private final Map<String, Integer> booksPerBranch;
+    
+    /** Jumlah buku per kategori */
+    private final Map<String, Long> categoryCounts;
+    
+    FederatedStatistics(int totalBooks, int availableBooks, long totalCapacity,
+                        Map<String, Integer> booksPerBranch, Map<String, Long> categoryCounts) {
+        this.totalBooks = totalBooks;
+        this.availableBooks = availableBooks;
+        this.totalCapacity = totalCapacity;
+        this.booksPerBranch = Collections.unmodifiableMap(booksPerBranch);
+        this.categoryCounts = Collections.unmodifiableMap(new TreeMap<>(categoryCounts));
+    }
+    
+    /**
+     * Mendapatkan total buku di semua cabang.
+     * 
+     * @return jumlah buku
+     */
+    public int getTotalBooks() {
+        return totalBooks;
+    }
+    
+    /**
+     * Mendapatkan total buku tersedia di semua cabang.
+     * 
+     * @return jumlah buku tersedia
+     */
+    public int getAvailableBooks() {
+        return availableBooks;
+    }
+    
+    /**
+     * Mendapatkan total buku yang sedang dipinjam di semua cabang.
+     * 
+     * @return jumlah buku dipinjam
+     */
+    public int getBorrowedBooks() {
+        return totalBooks - availableBooks;
+    }
+    
+    /**
+     * Mendapatkan total kapasitas semua cabang.
+     * 
+     * @return jumlah kapasitas
+     */
+    public long getTotalCapacity() {
+        return totalCapacity;
+    }
+    
+    /**
+     * Menghitung persentase kapasitas gabungan yang telah terpakai.
+     * 
+     * @return persentase kapasitas terpakai (0.0 - 100.0)
+     */
+    public double getCapacityUsagePercentage() {
+        return totalCapacity == 0 ? 0.0 : (double) totalBooks / totalCapacity * 100.0;
+    }
+    
+    /**
+     * Mendapatkan jumlah buku per cabang sesuai urutan pendaftaran cabang.
+     * 
+     * @return map nama cabang ke jumlah buku
+     */
+    public Map<String, Integer> getBooksPerBranch() {
+        return booksPerBranch;
+    }
+    
+    /**
+     * Mendapatkan jumlah buku per kategori di semua cabang.
+     * 
+     * @return map kategori ke jumlah buku, terurut berdasarkan nama kategori
+     */
+    public Map<String, Long> getCategoryCounts() {
+        return categoryCounts;
+    }
+    
+    /**
+     * Menghasilkan laporan statistik gabungan dalam format yang mudah dibaca.
+     * 
+     * @return String berisi statistik gabungan
+     */
+    @Override
+    public String toString() {
+        StringBuilder stats = new StringBuilder();
+        stats.append("=== STATISTIK GABUNGAN CABANG ===\n");
+        stats.append("Jumlah Cabang: ").append(booksPerBranch.size()).append("\n");
+        stats.append("Total Buku: ").append(totalBooks).append("/").append(totalCapacity).append("\n");
+        stats.append("Buku Tersedia: ").append(availableBooks).append("\n");
+        stats.append("Buku Dipinjam: ").append(getBorrowedBooks()).append("\n");
+        stats.append("Kapasitas Terpakai: ").append(String.format("%.1f%%", getCapacityUsagePercentage())).append("\n");
+        
+        stats.append("\n=== BUKU PER CABANG ===\n");
+        booksPerBranch.forEach((branch, count) ->
+            stats.append(branch).append(": ").append(count).append(" buku\n"));
+            
+        if (!categoryCounts.isEmpty()) {
+            stats.append("\n=== BUKU PER KATEGORI ===\n");
+            categoryCounts.forEach((category, count) ->
+                stats.append(category).append(": ").append(count).append(" buku\n"));
+        }
+        return stats.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,548 @@
+package com.library.federation;
+
+import com.library.Book;
+import com.library.BookResult;
+import com.library.Library;
+import com.library.exceptions.BookNotFoundException;
+import com.library.id.IdAllocator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+
+/**
+ * Kelas LibraryFederation menampung banyak cabang perpustakaan dalam satu proses.
+ * 
+ * <p>Semua cabang berbagi satu ruang ID buku global: ID dibagikan oleh federasi
+ * dan direktori ID menunjuk ke cabang yang sedang menyimpan buku tersebut,
+ * sehingga operasi berdasarkan ID langsung diarahkan ke satu cabang tanpa
+ * memindai cabang lain. Pencarian dan statistik lintas cabang dijalankan paralel,
+ * satu tugas per cabang, masing-masing hanya memegang read lock cabangnya.
+ * 
+ * <p>Perpindahan buku antar cabang bersifat atomik: write lock kedua cabang
+ * diambil dalam urutan pendaftaran cabang untuk mencegah deadlock, lalu
+ * kapasitas tujuan dan status buku diperiksa sebelum buku dipindahkan.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see Branch
+ * @see FederatedStatistics
+ */
+public class LibraryFederation implements AutoCloseable {
+    
+    /** Cabang berdasarkan nama */
+    private final Map<String, Branch> branches;
+    
+    /** Cabang sesuai urutan pendaftaran */
+    private final List<Branch> branchList;
+    
+    /** Direktori ID buku global ke cabang yang menyimpannya */
+    private final Map<Integer, Branch> directory;
+    
+    /** Pembagi ID buku global, satu lease per thread penulis */
+    private final IdAllocator ids;
+    
+    /** Executor untuk pencarian paralel */
+    private final ExecutorService executor;
+    
+    /** Penanda bahwa executor dibuat sendiri dan harus dimatikan saat close */
+    private final boolean ownsExecutor;
+    
+    /**
+     * Constructor untuk membuat federasi dengan executor sebanyak jumlah prosesor.
+     */
+    public LibraryFederation() {
+        this(newSearchExecutor(), true, new IdAllocator(IdAllocator.DEFAULT_LEASE_SIZE));
+    }
+    
+    /**
+     * Constructor untuk membuat federasi dengan executor dari pemanggil.
+     * Executor tidak dimatikan ketika federasi ditutup.
+     * 
+     * @param executor executor untuk pencarian paralel, tidak boleh null
+     * @throws IllegalArgumentException jika executor adalah null
+     */
+    public LibraryFederation(ExecutorService executor) {
+        this(executor, false, new IdAllocator(IdAllocator.DEFAULT_LEASE_SIZE));
+    }
+    
+    /**
+     * Constructor untuk membuat federasi dengan executor dan pembagi ID dari
+     * pemanggil, misalnya allocator dengan high-water mark di file. Executor
+     * tidak dimatikan ketika federasi ditutup.
+     * 
+     * @param executor executor untuk pencarian paralel, tidak boleh null
+     * @param ids pembagi ID buku global, tidak boleh null
+     * @throws IllegalArgumentException jika executor atau ids adalah null
+     */
+    public LibraryFederation(ExecutorService executor, IdAllocator ids) {
+        this(executor, false, ids);
+    }
+    
+    private LibraryFederation(ExecutorService executor, boolean ownsExecutor, IdAllocator ids) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor tidak boleh null");
+        }
+        if (ids == null) {
+            throw new IllegalArgumentException("Pembagi ID tidak boleh null");
+        }
+        this.branches = new ConcurrentHashMap<>();
+        this.branchList = new CopyOnWriteArrayList<>();
+        this.directory = new ConcurrentHashMap<>();
+        this.ids = ids;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+    
+    /**
+     * Membuat cabang baru yang kosong.
+     * 
+     * @param name nama cabang, harus unik
+     * @param maxCapacity kapasitas maksimum cabang
+     * @return cabang yang dibuat
+     * @throws IllegalArgumentException jika nama sudah dipakai atau parameter tidak valid
+     */
+    public Branch addBranch(String name, int maxCapacity) {
+        return addBranch(new Library(name, maxCapacity));
+    }
+    
+    /**
+     * Mendaftarkan Library yang sudah ada sebagai cabang. ID buku di dalamnya
+     * masuk ke ruang ID global, sehingga tidak boleh bentrok dengan cabang lain.
+     * Library tidak boleh lagi diakses tanpa lock cabang setelah didaftarkan.
+     * 
+     * @param library library yang didaftarkan, namanya menjadi nama cabang
+     * @return cabang yang dibuat
+     * @throws IllegalArgumentException jika nama cabang sudah dipakai atau ada ID buku yang bentrok
+     */
+    public synchronized Branch addBranch(Library library) {
+        if (library == null) {
+            throw new IllegalArgumentException("Objek library tidak boleh null");
+        }
+        String name = library.getLibraryName();
+        if (branches.containsKey(name)) {
+            throw new IllegalArgumentException("Cabang '" + name + "' sudah ada");
+        }
+        
+        List<Book> books = library.getAllBooks();
+        for (Book book : books) {
+            if (directory.containsKey(book.getBookId())) {
+                throw new IllegalArgumentException("ID buku " + book.getBookId() + " sudah dipakai cabang lain");
+            }
+        }
+        
+        Branch branch = new Branch(name, branchList.size(), library);
+        for (Book book : books) {
+            directory.put(book.getBookId(), branch);
+            ids.observe(book.getBookId());
+        }
+        branches.put(name, branch);
+        branchList.add(branch);
+        return branch;
+    }
+    
+    /**
+     * Mendapatkan cabang berdasarkan nama.
+     * 
+     * @param name nama cabang
+     * @return cabang, atau null jika tidak ada
+     */
+    public Branch getBranch(String name) {
+        return branches.get(name);
+    }
+    
+    /**
+     * Mendapatkan semua cabang sesuai urutan pendaftaran.
+     * 
+     * @return list cabang
+     */
+    public List<Branch> getBranches() {
+        return new ArrayList<>(branchList);
+    }
+    
+    /**
+     * Mendapatkan cabang yang sedang menyimpan buku dengan ID tertentu.
+     * 
+     * @param bookId ID buku global
+     * @return cabang, atau null jika buku tidak ada
+     */
+    public Branch getBranchOf(int bookId) {
+        return directory.get(bookId);
+    }
+    
+    /**
+     * Mendapatkan total buku di semua cabang.
+     * 
+     * @return jumlah buku
+     */
+    public int getTotalBooks() {
+        return directory.size();
+    }
+    
+    /**
+     * Menambahkan buku baru ke sebuah cabang dengan ID global baru dari lease
+     * thread pemanggil, sehingga ID tidak selalu berurutan antar thread.
+     * 
+     * @param branchName nama cabang tujuan
+     * @param title judul buku
+     * @param author pengarang buku
+     * @param isbn nomor ISBN buku
+     * @param publicationYear tahun publikasi
+     * @param category kategori buku
+     * @return salinan buku yang ditambahkan
+     * @throws IllegalArgumentException jika cabang tidak ada atau parameter buku tidak valid
+     * @throws IllegalStateException jika cabang sudah penuh
+     */
+    public Book addBook(String branchName, String title, String author, String isbn,
+                        int publicationYear, String category) {
+        Branch branch = requireBranch(branchName);
+        Book book = new Book(ids.nextId(), title, author, isbn, publicationYear, category);
+        
+        Lock lock = branch.getLock().writeLock();
+        lock.lock();
+        try {
+            BookResult result = branch.getLibrary().tryAddBook(book);
+            if (!result.isOk()) {
+                throw new IllegalStateException("Cabang '" + branchName + "': "
+                                                + result.getStatus().getDescription());
+            }
+            directory.put(book.getBookId(), branch);
+            return new Book(book);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Mencari buku berdasarkan ID global.
+     * 
+     * @param bookId ID buku global
+     * @return salinan buku, atau null jika tidak ditemukan
+     */
+    public Book findBookById(int bookId) {
+        while (true) {
+            Branch branch = directory.get(bookId);
+            if (branch == null) {
+                return null;
+            }
+            Book book = branch.read(library -> copyOf(library.findBookById(bookId)));
+            if (book != null || directory.get(bookId) == branch) {
+                return book;
+            }
+            // Buku baru saja dipindahkan ke cabang lain, ulangi pencarian
+        }
+    }
+    
+    /**
+     * Meminjam buku berdasarkan ID global di cabang mana pun buku berada.
+     * 
+     * @param bookId ID buku global
+     * @param borrower nama peminjam, boleh null
+     * @return salinan buku yang dipinjam
+     * @throws BookNotFoundException jika buku tidak ditemukan
+     * @throws IllegalStateException jika buku sedang dipinjam
+     */
+    public Book borrowBook(int bookId, String borrower) throws BookNotFoundException {
+        return write(bookId, library -> library.tryBorrowBook(bookId, borrower));
+    }
+    
+    /**
+     * Mengembalikan buku berdasarkan ID global.
+     * 
+     * @param bookId ID buku global
+     * @return salinan buku yang dikembalikan
+     * @throws BookNotFoundException jika buku tidak ditemukan
+     * @throws IllegalStateException jika buku sudah dalam status tersedia
+     */
+    public Book returnBook(int bookId) throws BookNotFoundException {
+        return write(bookId, library -> library.tryReturnBook(bookId));
+    }
+    
+    /**
+     * Menghapus buku berdasarkan ID global.
+     * 
+     * @param bookId ID buku global
+     * @return salinan buku yang dihapus
+     * @throws BookNotFoundException jika buku tidak ditemukan
+     * @throws IllegalStateException jika buku sedang dipinjam
+     */
+    public Book removeBook(int bookId) throws BookNotFoundException {
+        return write(bookId, library -> {
+            BookResult result = library.tryRemoveBook(bookId);
+            if (result.isOk()) {
+                directory.remove(bookId);
+            }
+            return result;
+        });
+    }
+    
+    /**
+     * Memindahkan buku ke cabang lain secara atomik. Buku tetap memakai ID
+     * global yang sama. Pembaca tidak pernah melihat buku di kedua cabang
+     * sekaligus ataupun tidak di cabang mana pun.
+     * 
+     * @param bookId ID buku global
+     * @param targetBranch nama cabang tujuan
+     * @return salinan buku yang dipindahkan
+     * @throws BookNotFoundException jika buku tidak ditemukan
+     * @throws IllegalArgumentException jika cabang tujuan tidak ada atau sama dengan cabang asal
+     * @throws IllegalStateException jika buku sedang dipinjam atau direservasi, atau cabang tujuan penuh
+     */
+    public Book transferBook(int bookId, String targetBranch) throws BookNotFoundException {
+        Branch target = requireBranch(targetBranch);
+        while (true) {
+            Branch source = directory.get(bookId);
+            if (source == null) {
+                throw new BookNotFoundException("Buku dengan ID " + bookId + " tidak ditemukan", bookId);
+            }
+            if (source == target) {
+                throw new IllegalArgumentException("Buku sudah berada di cabang '" + targetBranch + "'");
+            }
+            
+            // Ambil lock sesuai urutan pendaftaran agar dua perpindahan berlawanan arah tidak deadlock
+            Branch first = source.getOrder() < target.getOrder() ? source : target;
+            Branch second = first == source ? target : source;
+            first.getLock().writeLock().lock();
+            try {
+                second.getLock().writeLock().lock();
+                try {
+                    if (directory.get(bookId) != source) {
+                        continue;
+                    }
+                    return move(bookId, source, target);
+                } finally {
+                    second.getLock().writeLock().unlock();
+                }
+            } finally {
+                first.getLock().writeLock().unlock();
+            }
+        }
+    }
+    
+    /**
+     * Mencari buku berdasarkan judul di semua cabang secara paralel.
+     * 
+     * @param title judul buku yang dicari
+     * @return map nama cabang ke salinan buku yang ditemukan, tanpa cabang yang kosong
+     * @throws IllegalArgumentException jika title null atau kosong
+     */
+    public Map<String, List<Book>> findBooksByTitle(String title) {
+        return search(library -> library.findBooksByTitle(title));
+    }
+    
+    /**
+     * Mencari buku berdasarkan pengarang di semua cabang secara paralel.
+     * 
+     * @param author nama pengarang yang dicari
+     * @return map nama cabang ke salinan buku yang ditemukan, tanpa cabang yang kosong
+     * @throws IllegalArgumentException jika author null atau kosong
+     */
+    public Map<String, List<Book>> findBooksByAuthor(String author) {
+        return search(library -> library.findBooksByAuthor(author));
+    }
+    
+    /**
+     * Mencari buku berdasarkan kategori di semua cabang secara paralel.
+     * 
+     * @param category kategori yang dicari
+     * @return map nama cabang ke salinan buku yang ditemukan, tanpa cabang yang kosong
+     * @throws IllegalArgumentException jika category null atau kosong
+     */
+    public Map<String, List<Book>> findBooksByCategory(String category) {
+        return search(library -> library.findBooksByCategory(category));
+    }
+    
+    /**
+     * Menghitung statistik gabungan semua cabang. Setiap cabang dihitung paralel
+     * dengan read lock miliknya sendiri.
+     * 
+     * @return statistik gabungan
+     */
+    public FederatedStatistics getStatistics() {
+        List<Branch> snapshot = getBranches();
+        List<CompletableFuture<Object[]>> futures = new ArrayList<>(snapshot.size());
+        for (Branch branch : snapshot) {
+            futures.add(CompletableFuture.supplyAsync(() -> branch.read(library -> new Object[] {
+                library.getTotalBooks(), library.getAvailableBooks(),
+                library.getMaxCapacity(), library.getCategoryCounts()
+            }), executor));
+        }
+        
+        int totalBooks = 0;
+        int availableBooks = 0;
+        long totalCapacity = 0;
+        Map<String, Integer> booksPerBranch = new LinkedHashMap<>();
+        Map<String, Long> categoryCounts = new HashMap<>();
+        for (int i = 0; i < snapshot.size(); i++) {
+            Object[] stats = join(futures.get(i));
+            int branchBooks = (Integer) stats[0];
+            totalBooks += branchBooks;
+            availableBooks += (Integer) stats[1];
+            totalCapacity += (Integer) stats[2];
+            booksPerBranch.put(snapshot.get(i).getName(), branchBooks);
+            @SuppressWarnings("unchecked")
+            Map<String, Long> categories = (Map<String, Long>) stats[3];
+            categories.forEach((category, count) -> categoryCounts.merge(category, count, Long::sum));
+        }
+        return new FederatedStatistics(totalBooks, availableBooks, totalCapacity, booksPerBranch, categoryCounts);
+    }
+    
+    /**
+     * Mematikan executor pencarian jika dibuat oleh federasi ini.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+    
+    /**
+     * Memindahkan buku antar cabang. Dipanggil dengan write lock kedua cabang.
+     */
+    private Book move(int bookId, Branch source, Branch target) throws BookNotFoundException {
+        Library from = source.getLibrary();
+        Library to = target.getLibrary();
+        Book book = from.findBookById(bookId);
+        if (book == null) {
+            throw new BookNotFoundException("Buku dengan ID " + bookId + " tidak ditemukan", bookId);
+        }
+        if (!book.isAvailable()) {
+            throw new IllegalStateException("Buku '" + book.getTitle() + "' sedang dipinjam");
+        }
+        if (from.getReservationCount(bookId) > 0) {
+            throw new IllegalStateException("Buku '" + book.getTitle() + "' masih memiliki antrean reservasi");
+        }
+        if (to.isFull()) {
+            throw new IllegalStateException("Cabang '" + target.getName() + "' sudah mencapai kapasitas maksimum");
+        }
+        
+        from.tryRemoveBook(bookId);
+        BookResult added = to.tryAddBook(book);
+        if (!added.isOk()) {
+            // Tidak seharusnya terjadi setelah pemeriksaan di atas, kembalikan ke cabang asal
+            from.tryAddBook(book);
+            throw new IllegalStateException("Cabang '" + target.getName() + "': "
+                                            + added.getStatus().getDescription());
+        }
+        directory.put(bookId, target);
+        return new Book(book);
+    }
+    
+    /**
+     * Menjalankan operasi tulis di cabang yang menyimpan buku, lalu mengubah
+     * hasilnya menjadi salinan buku atau exception.
+     */
+    private Book write(int bookId, Function<Library, BookResult> operation) throws BookNotFoundException {
+        while (true) {
+            Branch branch = directory.get(bookId);
+            if (branch == null) {
+                throw new BookNotFoundException("Buku dengan ID " + bookId + " tidak ditemukan", bookId);
+            }
+            BookResult result;
+            Lock lock = branch.getLock().writeLock();
+            lock.lock();
+            try {
+                if (directory.get(bookId) != branch) {
+                    continue;
+                }
+                result = operation.apply(branch.getLibrary());
+                if (result.isOk()) {
+                    return new Book(result.getBook());
+                }
+            } finally {
+                lock.unlock();
+            }
+            
+            switch (result.getStatus()) {
+                case NOT_FOUND:
+                    throw new BookNotFoundException("Buku dengan ID " + bookId + " tidak ditemukan", bookId);
+                case NOT_AVAILABLE:
+                    throw new IllegalStateException("Buku '" + result.getBook().getTitle() + "' sedang dipinjam");
+                case ALREADY_AVAILABLE:
+                    throw new IllegalStateException("Buku '" + result.getBook().getTitle()
+                                                    + "' sudah dalam status tersedia");
+                default:
+                    throw new IllegalStateException(result.getStatus().getDescription());
+            }
+        }
+    }
+    
+    /**
+     * Menjalankan query di semua cabang secara paralel dan menggabungkan hasilnya.
+     */
+    private Map<String, List<Book>> search(Function<Library, List<Book>> query) {
+        List<Branch> snapshot = getBranches();
+        List<CompletableFuture<List<Book>>> futures = new ArrayList<>(snapshot.size());
+        for (Branch branch : snapshot) {
+            futures.add(CompletableFuture.supplyAsync(
+                () -> branch.read(library -> copyOf(query.apply(library))), executor));
+        }
+        
+        Map<String, List<Book>> results = new LinkedHashMap<>();
+        for (int i = 0; i < snapshot.size(); i++) {
+            List<Book> found = join(futures.get(i));
+            if (!found.isEmpty()) {
+                results.put(snapshot.get(i).getName(), found);
+            }
+        }
+        return results;
+    }
+    
+    private Branch requireBranch(String name) {
+        Branch branch = name != null ? branches.get(name) : null;
+        if (branch == null) {
+            throw new IllegalArgumentException("Cabang '" + name + "' tidak ditemukan");
+        }
+        return branch;
+    }
+    
+    /**
+     * Menunggu hasil tugas paralel dan meneruskan RuntimeException aslinya.
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+    
+    private static Book copyOf(Book book) {
+        return book != null ? new Book(book) : null;
+    }
+    
+    private static List<Book> copyOf(List<Book> books) {
+        List<Book> copies = new ArrayList<>(books.size());
+        for (Book book : books) {
+            copies.add(new Book(book));
+        }
+        return copies;
+    }
+    
+    /**
+     * Membuat executor daemon untuk pencarian paralel sebanyak jumlah prosesor.
+     */
+    private static ExecutorService newSearchExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), task -> {
+            Thread thread = new Thread(task, "federation-search-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.library.history;
+
+/**
+ * Kelas BookCount berisi jumlah kejadian sirkulasi untuk satu buku, dipakai
+ * sebagai hasil query top-N. Objek ini immutable.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see CirculationHistory#topBooks(long, long, CirculationAction, int)
+ */
+public final class BookCount {
+    
+    /** ID buku */
+    private final int bookId;
+    
+    /** Jumlah kejadian */
+    private final long count;
+    
+    BookCount(int bookId, long count) {
+        this.bookId = bookId;
+        this.count = count;
+    }
+    
+    /**
+     * Mendapatkan ID buku.
+     * 
+     * @return ID buku
+     */
+    public int getBookId() {
+        return bookId;
+    }
+    
+    /**
+     * Mendapatkan jumlah kejadian.
+     * 
+     * @return jumlah kejadian
+     */
+    public long getCount() {
+        return count;
+    }
+    
+    @Override
+    public String toString() {
+        return "BookCount{ID=" + bookId + ", Count=" + count + "}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.library.history;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Kelas BookCounter adalah map ID buku ke jumlah dengan open addressing, tanpa
+ * boxing, untuk agregasi riwayat yang berisi jutaan entri.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ */
+final class BookCounter {
+    
+    /** Penanda slot kosong; ID buku selalu positif */
+    private static final int EMPTY = 0;
+    
+    /** Kunci ID buku */
+    private int[] keys;
+    
+    /** Jumlah per kunci */
+    private long[] counts;
+    
+    /** Jumlah kunci yang terisi */
+    private int size;
+    
+    BookCounter() {
+        this.keys = new int[64];
+        this.counts = new long[64];
+    }
+    
+    void increment(int bookId) {
+        add(bookId, 1);
+    }
+    
+    void add(int bookId, long delta) {
+        if (size * 2 >= keys.length) {
+            grow();
+        }
+        int mask = keys.length - 1;
+        int index = mix(bookId) & mask;
+        while (keys[index] != EMPTY && keys[index] != bookId) {
+            index = (index + 1) & mask;
+        }
+        if (keys[index] == EMPTY) {
+            keys[index] = bookId;
+            size++;
+        }
+        counts[index] += delta;
+    }
+    
+    /**
+     * Menambahkan seluruh isi counter lain ke counter ini.
+     * 
+     * @return counter ini, untuk dipakai sebagai fungsi reduce
+     */
+    BookCounter merge(BookCounter other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != EMPTY) {
+                add(other.keys[i], other.counts[i]);
+            }
+        }
+        return this;
+    }
+    
+    /**
+     * Mengambil n buku dengan jumlah terbesar, terurut menurun.
+     */
+    List<BookCount> top(int n) {
+        PriorityQueue<BookCount> heap = new PriorityQueue<>(n + 1,
+            (a, b) -> a.getCount() != b.getCount() ? Long.compare(a.getCount(), b.getCount())
+                                                   : Integer.compare(b.getBookId(), a.getBookId()));
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == EMPTY) {
+                continue;
+            }
+            if (heap.size() < n) {
+                heap.add(new BookCount(keys[i], counts[i]));
+            } else if (counts[i] > heap.peek().getCount()) {
+                heap.poll();
+                heap.add(new BookCount(keys[i], counts[i]));
+            }
+        }
+        
+        List<BookCount> result = new ArrayList<>(heap);
+        result.sort(heap.comparator().reversed());
+        return result;
+    }
+    
+    private void grow() {
+        int[] oldKeys = keys;
+        long[] oldCounts = counts;
+        keys = new int[oldKeys.length * 2];
+        counts = new long[oldKeys.length * 2];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                add(oldKeys[i], oldCounts[i]);
+            }
+        }
+    }
+    
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.library.history;
+
+/**
+ * Enum CirculationAction berisi jenis kejadian sirkulasi yang dicatat di
+ * {@link CirculationHistory}.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ */
+public enum CirculationAction {
+    
+    /** Buku dipinjam */
+    BORROW,
+    
+    /** Buku dikembalikan */
+    RETURN;
+    
+    /** Daftar nilai untuk decoding kode */
+    private static final CirculationAction[] VALUES = values();
+    
+    /**
+     * Mendapatkan kode satu byte untuk penyimpanan kolom.
+     * 
+     * @return kode aksi
+     */
+    public byte getCode() {
+        return (byte) ordinal();
+    }
+    
+    /**
+     * Mendapatkan aksi berdasarkan kode satu byte.
+     * 
+     * @param code kode aksi
+     * @return aksi yang sesuai
+     * @throws IllegalArgumentException jika kode tidak dikenal
+     */
+    public static CirculationAction fromCode(byte code) {
+        if (code < 0 || code >= VALUES.length) {
+            throw new IllegalArgumentException("Kode aksi sirkulasi tidak dikenal: " + code);
+        }
+        return VALUES[code];
+    }
+}
\ No newline at end of file
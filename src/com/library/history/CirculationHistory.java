@@ -0,0 +1,441 @@
+package com.library.history;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kelas CirculationHistory adalah penyimpanan riwayat sirkulasi (pinjam dan
+ * kembali) yang hanya bisa ditambah, dengan format kolom.
+ * 
+ * <p>Setiap kejadian disimpan sebagai waktu, ID buku, dan kode aksi di tiga array
+ * primitif, dikelompokkan dalam segmen berukuran tetap. Segmen yang penuh
+ * disegel dan, jika direktori diberikan, ditulis ke disk oleh thread background
+ * sehingga pencatatan tidak menunggu I/O. Segmen aktif yang belum penuh juga
+ * ditulis ke file miliknya setiap {@value #CHECKPOINT_INTERVAL_MILLIS} ms,
+ * sehingga crash paling banyak menghilangkan kejadian selama satu interval
+ * tersebut. Saat dibuka kembali, segmen yang ada di direktori dimuat ulang,
+ * termasuk segmen aktif yang belum penuh.
+ * 
+ * <p>Query rollup waktu dan top-N dijalankan dengan parallel stream, satu tugas
+ * per segmen, langsung di atas array kolom tanpa menyentuh struktur Library.
+ * Segmen yang rentang waktunya tidak beririsan dengan query dilewati.
+ * 
+ * <p>Pencatatan dilakukan oleh satu penulis, misalnya {@link CirculationRecorder};
+ * query aman dijalankan dari thread mana pun secara bersamaan.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see CirculationRecorder
+ */
+public class CirculationHistory implements AutoCloseable {
+    
+    /** Jumlah entri default per segmen */
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 16;
+    
+    /** Satu jam dalam milidetik */
+    public static final long HOUR_MILLIS = TimeUnit.HOURS.toMillis(1);
+    
+    /** Satu hari dalam milidetik */
+    public static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+    
+    /** Satu minggu dalam milidetik */
+    public static final long WEEK_MILLIS = TimeUnit.DAYS.toMillis(7);
+    
+    /** Interval penulisan segmen aktif ke disk */
+    public static final long CHECKPOINT_INTERVAL_MILLIS = 1000;
+    
+    /** Senin pertama setelah epoch (5 Januari 1970) dalam milidetik */
+    private static final long FIRST_MONDAY_MILLIS = 4 * DAY_MILLIS;
+    
+    /** Jumlah bucket maksimum per query rollup */
+    private static final int MAX_BUCKETS = 10_000_000;
+    
+    /** Pola nama file segmen */
+    private static final String SEGMENT_FILE_FORMAT = "segment-%08d.col";
+    
+    /** Direktori penyimpanan, null untuk riwayat di memori saja */
+    private final Path directory;
+    
+    /** Jumlah entri per segmen */
+    private final int segmentSize;
+    
+    /** Segmen yang sudah disegel */
+    private final List<HistorySegment> sealed;
+    
+    /** Thread penulis segmen ke disk, null untuk riwayat di memori saja */
+    private final ScheduledExecutorService flusher;
+    
+    /** File tujuan segmen aktif dan segmen yang belum selesai ditulis */
+    private final Map<HistorySegment, Path> files;
+    
+    /** Segmen yang sedang ditambah */
+    private volatile HistorySegment active;
+    
+    // Segmen aktif dan ukurannya saat terakhir ditulis; hanya dipakai thread penulis
+    private HistorySegment checkpointed;
+    private int checkpointedSize;
+    
+    /** Nomor file segmen berikutnya */
+    private int nextSegmentNumber;
+    
+    /** Error penulisan terakhir, null jika belum ada */
+    private volatile IOException lastFlushError;
+    
+    /**
+     * Constructor untuk membuat riwayat di memori saja.
+     */
+    public CirculationHistory() {
+        this(null, DEFAULT_SEGMENT_SIZE, Collections.emptyList(), 0);
+    }
+    
+    /**
+     * Constructor untuk membuat riwayat yang disimpan di direktori dengan
+     * ukuran segmen default.
+     * 
+     * @param directory direktori penyimpanan
+     * @throws IOException jika direktori atau segmen lama tidak dapat dibaca
+     */
+    public CirculationHistory(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+    
+    /**
+     * Constructor untuk membuat riwayat dan memuat segmen yang sudah ada.
+     * 
+     * @param directory direktori penyimpanan, tidak boleh null
+     * @param segmentSize jumlah entri per segmen, harus lebih dari 0
+     * @throws IOException jika direktori atau segmen lama tidak dapat dibaca
+     * @throws IllegalArgumentException jika parameter tidak valid
+     */
+    public CirculationHistory(Path directory, int segmentSize) throws IOException {
+        this(requireDirectory(directory), segmentSize, loadSegments(directory), nextSegmentNumber(directory));
+    }
+    
+    private CirculationHistory(Path directory, int segmentSize, List<HistorySegment> loaded,
+                               int nextSegmentNumber) {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("Ukuran segmen harus lebih dari 0");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.sealed = new CopyOnWriteArrayList<>(loaded);
+        this.files = new ConcurrentHashMap<>();
+        this.nextSegmentNumber = nextSegmentNumber;
+        this.active = newSegment();
+        if (directory == null) {
+            this.flusher = null;
+        } else {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "history-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.flusher.scheduleWithFixedDelay(this::checkpoint, CHECKPOINT_INTERVAL_MILLIS,
+                                                CHECKPOINT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * Mencatat satu kejadian sirkulasi. Hanya boleh dipanggil oleh satu thread.
+     * 
+     * @param timestamp waktu kejadian dalam milidetik epoch
+     * @param bookId ID buku
+     * @param action jenis kejadian
+     */
+    public void record(long timestamp, int bookId, CirculationAction action) {
+        HistorySegment segment = active;
+        segment.append(timestamp, bookId, action.getCode());
+        if (segment.isFull()) {
+            seal(segment);
+        }
+    }
+    
+    /**
+     * Mendapatkan jumlah seluruh kejadian yang tercatat.
+     * 
+     * @return jumlah kejadian
+     */
+    public long size() {
+        long total = 0;
+        for (HistorySegment segment : segments()) {
+            total += segment.size();
+        }
+        return total;
+    }
+    
+    /**
+     * Mendapatkan jumlah segmen, termasuk segmen yang sedang ditambah.
+     * 
+     * @return jumlah segmen
+     */
+    public int getSegmentCount() {
+        return segments().size();
+    }
+    
+    /**
+     * Mendapatkan error penulisan segmen terakhir.
+     * 
+     * @return error terakhir, null jika semua segmen berhasil ditulis
+     */
+    public IOException getLastFlushError() {
+        return lastFlushError;
+    }
+    
+    /**
+     * Menghitung kejadian per bucket waktu dalam rentang {@code [from, to)}.
+     * Bucket ke-i mencakup {@code [from + i * bucketMillis, from + (i + 1) * bucketMillis)}.
+     * 
+     * @param from awal rentang dalam milidetik epoch, inklusif
+     * @param to akhir rentang dalam milidetik epoch, eksklusif
+     * @param bucketMillis lebar bucket dalam milidetik
+     * @param action jenis kejadian yang dihitung
+     * @return jumlah kejadian per bucket
+     * @throws IllegalArgumentException jika rentang atau lebar bucket tidak valid
+     */
+    public long[] countByBucket(long from, long to, long bucketMillis, CirculationAction action) {
+        if (to <= from || bucketMillis <= 0) {
+            throw new IllegalArgumentException("Rentang waktu atau lebar bucket tidak valid");
+        }
+        long buckets = (to - from + bucketMillis - 1) / bucketMillis;
+        if (buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Jumlah bucket terlalu banyak: " + buckets);
+        }
+        int bucketCount = (int) buckets;
+        byte code = action.getCode();
+        return segments().parallelStream()
+                         .map(segment -> segment.countBuckets(from, to, bucketMillis, bucketCount, code))
+                         .reduce(new long[bucketCount], CirculationHistory::sum);
+    }
+    
+    /**
+     * Menghitung kejadian per jam dalam sehari, misalnya untuk mencari jam tersibuk.
+     * 
+     * @param from awal rentang dalam milidetik epoch, inklusif
+     * @param to akhir rentang dalam milidetik epoch, eksklusif
+     * @param action jenis kejadian yang dihitung
+     * @param offset offset zona waktu untuk menentukan jam
+     * @return array 24 elemen, elemen ke-h berisi jumlah kejadian pada jam h
+     */
+    public long[] countByHourOfDay(long from, long to, CirculationAction action, ZoneOffset offset) {
+        long offsetMillis = offset.getTotalSeconds() * 1000L;
+        byte code = action.getCode();
+        return segments().parallelStream()
+                         .map(segment -> segment.countHoursOfDay(from, to, offsetMillis, code))
+                         .reduce(new long[24], CirculationHistory::sum);
+    }
+    
+    /**
+     * Mencari buku dengan kejadian terbanyak dalam rentang waktu.
+     * 
+     * @param from awal rentang dalam milidetik epoch, inklusif
+     * @param to akhir rentang dalam milidetik epoch, eksklusif
+     * @param action jenis kejadian yang dihitung
+     * @param n jumlah buku maksimum
+     * @return buku terurut dari jumlah kejadian terbanyak
+     */
+    public List<BookCount> topBooks(long from, long to, CirculationAction action, int n) {
+        if (n <= 0) {
+            return Collections.emptyList();
+        }
+        byte code = action.getCode();
+        return segments().parallelStream()
+                         .map(segment -> segment.countBooks(from, to, code))
+                         .reduce(BookCounter::merge)
+                         .map(counter -> counter.top(n))
+                         .orElse(Collections.emptyList());
+    }
+    
+    /**
+     * Mencari buku yang paling sering dipinjam untuk setiap minggu dalam rentang
+     * waktu. Minggu dimulai hari Senin pukul 00:00 pada offset zona waktu.
+     * 
+     * @param from awal rentang dalam milidetik epoch, inklusif
+     * @param to akhir rentang dalam milidetik epoch, eksklusif
+     * @param n jumlah buku maksimum per minggu
+     * @param offset offset zona waktu untuk menentukan awal minggu
+     * @return map awal minggu (milidetik epoch) ke buku terpopuler minggu itu
+     */
+    public SortedMap<Long, List<BookCount>> topBooksPerWeek(long from, long to, int n, ZoneOffset offset) {
+        SortedMap<Long, List<BookCount>> result = new TreeMap<>();
+        if (n <= 0) {
+            return result;
+        }
+        long origin = FIRST_MONDAY_MILLIS - offset.getTotalSeconds() * 1000L;
+        byte code = CirculationAction.BORROW.getCode();
+        Map<Long, BookCounter> weeks = segments().parallelStream()
+            .map(segment -> {
+                Map<Long, BookCounter> partial = new HashMap<>();
+                segment.countBooksPerBucket(from, to, origin, WEEK_MILLIS, code, partial);
+                return partial;
+            })
+            .reduce(new HashMap<>(), CirculationHistory::merge);
+        weeks.forEach((week, counter) -> result.put(week, counter.top(n)));
+        return result;
+    }
+    
+    /**
+     * Menyegel segmen aktif yang belum kosong, menunggu semua segmen tertulis
+     * ke disk, lalu menghentikan thread penulis. Penulisan berkala segmen
+     * aktif ikut berhenti.
+     */
+    @Override
+    public void close() {
+        HistorySegment segment = active;
+        if (segment.size() > 0) {
+            seal(segment);
+        }
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    /**
+     * Memindahkan segmen aktif ke daftar segmen tersegel dan menjadwalkan penulisannya.
+     */
+    private void seal(HistorySegment segment) {
+        // Tambahkan ke daftar tersegel sebelum mengganti segmen aktif, agar pembaca tidak melewatkannya
+        sealed.add(segment);
+        active = newSegment();
+        if (flusher != null) {
+            flusher.execute(() -> {
+                try {
+                    segment.writeTo(files.get(segment));
+                } catch (IOException e) {
+                    lastFlushError = e;
+                } finally {
+                    files.remove(segment);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Membuat segmen aktif baru beserta file tujuannya jika riwayat disimpan di disk.
+     */
+    private HistorySegment newSegment() {
+        HistorySegment segment = new HistorySegment(segmentSize);
+        if (directory != null) {
+            files.put(segment, directory.resolve(String.format(SEGMENT_FILE_FORMAT, nextSegmentNumber++)));
+        }
+        return segment;
+    }
+    
+    /**
+     * Menulis segmen aktif ke file miliknya jika bertambah sejak penulisan
+     * terakhir. Dijalankan berkala di thread penulis; jika segmen itu disegel
+     * bersamaan, penulisan lengkapnya diantrikan setelah tugas ini sehingga
+     * file akhirnya berisi segmen lengkap.
+     */
+    private void checkpoint() {
+        HistorySegment segment = active;
+        int size = segment.size();
+        Path file = files.get(segment);
+        if (file == null || size == 0 || (segment == checkpointed && size == checkpointedSize)) {
+            return;
+        }
+        try {
+            segment.writeTo(file);
+            checkpointed = segment;
+            checkpointedSize = size;
+        } catch (IOException e) {
+            lastFlushError = e;
+        }
+    }
+    
+    /**
+     * Mengambil daftar segmen saat ini tanpa duplikat.
+     */
+    private List<HistorySegment> segments() {
+        HistorySegment current = active;
+        List<HistorySegment> all = new ArrayList<>(sealed);
+        if (!all.contains(current)) {
+            all.add(current);
+        }
+        return all;
+    }
+    
+    private static Path requireDirectory(Path directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Direktori riwayat tidak boleh null");
+        }
+        return directory;
+    }
+    
+    /**
+     * Memuat semua segmen di direktori sesuai urutan nama file.
+     */
+    private static List<HistorySegment> loadSegments(Path directory) throws IOException {
+        Files.createDirectories(requireDirectory(directory));
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "segment-*.col")) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files);
+        List<HistorySegment> loaded = new ArrayList<>(files.size());
+        for (Path file : files) {
+            loaded.add(HistorySegment.readFrom(file));
+        }
+        return loaded;
+    }
+    
+    /**
+     * Mencari nomor file segmen berikutnya, yaitu nomor terbesar yang sudah ada
+     * ditambah satu. Jumlah file tidak dipakai karena nomor bisa berlubang
+     * setelah penulisan gagal atau file dihapus, dan file yang ada tidak boleh
+     * ditimpa.
+     */
+    private static int nextSegmentNumber(Path directory) throws IOException {
+        String prefix = SEGMENT_FILE_FORMAT.substring(0, SEGMENT_FILE_FORMAT.indexOf('%'));
+        String suffix = SEGMENT_FILE_FORMAT.substring(SEGMENT_FILE_FORMAT.lastIndexOf('.'));
+        int next = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "segment-*.col")) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                try {
+                    int number = Integer.parseInt(name.substring(prefix.length(), name.length() - suffix.length()));
+                    next = Math.max(next, number + 1);
+                } catch (NumberFormatException e) {
+                    // Nama file tidak bernomor, tidak memengaruhi penomoran
+                }
+            }
+        }
+        return next;
+    }
+    
+    private static long[] sum(long[] a, long[] b) {
+        long[] result = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i] + b[i];
+        }
+        return result;
+    }
+    
+    private static Map<Long, BookCounter> merge(Map<Long, BookCounter> a, Map<Long, BookCounter> b) {
+        Map<Long, BookCounter> result = new HashMap<>(a);
+        b.forEach((week, counter) -> result.merge(week, counter, (x, y) -> new BookCounter().merge(x).merge(y)));
+        return result;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.library.history;
+
+import com.library.Library;
+import com.library.events.MutationEvent;
+import com.library.events.MutationSubscription;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Kelas CirculationRecorder mencatat setiap peminjaman dan pengembalian buku
+ * dari sebuah {@link Library} ke {@link CirculationHistory}.
+ * 
+ * <p>Recorder membaca event dari {@link Library#getMutationEvents()} di thread
+ * miliknya sendiri dengan kebijakan
+ * {@link MutationSubscription.OverflowPolicy#BLOCK}, sehingga tidak ada kejadian
+ * yang hilang dan jalur pinjam/kembali hanya membayar biaya publikasi event.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see CirculationHistory
+ */
+public class CirculationRecorder implements AutoCloseable {
+    
+    /** Jumlah maksimum event per batch */
+    private static final int MAX_BATCH = 1024;
+    
+    /** Lama thread menunggu ketika tidak ada event */
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+    
+    /** Riwayat tujuan */
+    private final CirculationHistory history;
+    
+    /** Langganan event mutasi */
+    private final MutationSubscription subscription;
+    
+    /** Thread pencatat */
+    private final Thread thread;
+    
+    /** Penanda bahwa recorder sedang ditutup */
+    private volatile boolean closed;
+    
+    /**
+     * Constructor untuk membuat recorder dan langsung mulai mencatat.
+     * 
+     * @param library library yang dicatat, tidak boleh null
+     * @param history riwayat tujuan, tidak boleh null
+     * @throws IllegalArgumentException jika parameter adalah null
+     */
+    public CirculationRecorder(Library library, CirculationHistory history) {
+        if (library == null) {
+            throw new IllegalArgumentException("Objek library tidak boleh null");
+        }
+        if (history == null) {
+            throw new IllegalArgumentException("Riwayat sirkulasi tidak boleh null");
+        }
+        
+        this.history = history;
+        this.subscription = library.getMutationEvents().subscribe(MutationSubscription.OverflowPolicy.BLOCK);
+        this.thread = new Thread(this::run, "circulation-recorder-" + library.getLibraryName());
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+    
+    /**
+     * Mendapatkan riwayat tujuan.
+     * 
+     * @return riwayat sirkulasi
+     */
+    public CirculationHistory getHistory() {
+        return history;
+    }
+    
+    /**
+     * Menghentikan pencatatan setelah semua event yang sudah dipublikasikan
+     * dicatat. Riwayat tidak ikut ditutup.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        subscription.close();
+    }
+    
+    /**
+     * Loop thread pencatat.
+     */
+    private void run() {
+        while (true) {
+            int polled = subscription.poll(this::onEvent, MAX_BATCH);
+            if (polled < 0 || (polled == 0 && closed)) {
+                return;
+            }
+            if (polled == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+    
+    private void onEvent(MutationEvent event, boolean endOfBatch) {
+        switch (event.getType()) {
+            case BORROW:
+                history.record(event.getTimestamp(), event.getBookId(), CirculationAction.BORROW);
+                break;
+            case RETURN:
+                history.record(event.getTimestamp(), event.getBookId(), CirculationAction.RETURN);
+                break;
+            default:
+                break;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,221 @@
+package com.library.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Kelas HistorySegment adalah satu segmen kolom di {@link CirculationHistory}:
+ * waktu, ID buku, dan kode aksi disimpan di tiga array primitif terpisah.
+ * 
+ * <p>Segmen hanya ditambah oleh satu penulis. Jumlah entri diterbitkan melalui
+ * field volatile setelah isi array ditulis, sehingga pembaca yang membaca
+ * {@link #size()} terlebih dahulu selalu melihat prefiks yang konsisten.
+ * 
+ * <p>Format file: magic, jumlah entri, lalu kolom waktu, kolom ID buku, dan
+ * kolom aksi secara berurutan dalam big-endian.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ */
+final class HistorySegment {
+    
+    /** Penanda awal file segmen ("CIRC") */
+    private static final int MAGIC = 0x43495243;
+    
+    /** Ukuran header file dalam byte */
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    
+    /** Kolom waktu dalam milidetik epoch */
+    private final long[] timestamps;
+    
+    /** Kolom ID buku */
+    private final int[] bookIds;
+    
+    /** Kolom kode aksi */
+    private final byte[] actions;
+    
+    /** Waktu terkecil di segmen */
+    private long minTimestamp;
+    
+    /** Waktu terbesar di segmen */
+    private long maxTimestamp;
+    
+    /** Jumlah entri yang sudah diterbitkan */
+    private volatile int size;
+    
+    HistorySegment(int capacity) {
+        this.timestamps = new long[capacity];
+        this.bookIds = new int[capacity];
+        this.actions = new byte[capacity];
+        this.minTimestamp = Long.MAX_VALUE;
+        this.maxTimestamp = Long.MIN_VALUE;
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    boolean isFull() {
+        return size == timestamps.length;
+    }
+    
+    /**
+     * Menambahkan satu entri. Pemanggil harus memastikan segmen belum penuh.
+     */
+    void append(long timestamp, int bookId, byte action) {
+        int index = size;
+        timestamps[index] = timestamp;
+        bookIds[index] = bookId;
+        actions[index] = action;
+        minTimestamp = Math.min(minTimestamp, timestamp);
+        maxTimestamp = Math.max(maxTimestamp, timestamp);
+        size = index + 1;
+    }
+    
+    /**
+     * Memeriksa apakah segmen mungkin berisi entri dalam rentang waktu.
+     */
+    private boolean overlaps(int count, long from, long to) {
+        return count > 0 && minTimestamp < to && maxTimestamp >= from;
+    }
+    
+    /**
+     * Menghitung entri per bucket waktu yang dimulai dari {@code from}.
+     */
+    long[] countBuckets(long from, long to, long bucketMillis, int bucketCount, byte action) {
+        long[] counts = new long[bucketCount];
+        int count = size;
+        if (!overlaps(count, from, to)) {
+            return counts;
+        }
+        for (int i = 0; i < count; i++) {
+            long timestamp = timestamps[i];
+            if (actions[i] == action && timestamp >= from && timestamp < to) {
+                counts[(int) ((timestamp - from) / bucketMillis)]++;
+            }
+        }
+        return counts;
+    }
+    
+    /**
+     * Menghitung entri per jam dalam sehari dengan offset zona waktu tertentu.
+     */
+    long[] countHoursOfDay(long from, long to, long offsetMillis, byte action) {
+        long[] counts = new long[24];
+        int count = size;
+        if (!overlaps(count, from, to)) {
+            return counts;
+        }
+        for (int i = 0; i < count; i++) {
+            long timestamp = timestamps[i];
+            if (actions[i] == action && timestamp >= from && timestamp < to) {
+                long millisOfDay = Math.floorMod(timestamp + offsetMillis, CirculationHistory.DAY_MILLIS);
+                counts[(int) (millisOfDay / CirculationHistory.HOUR_MILLIS)]++;
+            }
+        }
+        return counts;
+    }
+    
+    /**
+     * Menghitung entri per buku.
+     */
+    BookCounter countBooks(long from, long to, byte action) {
+        BookCounter counter = new BookCounter();
+        int count = size;
+        if (!overlaps(count, from, to)) {
+            return counter;
+        }
+        for (int i = 0; i < count; i++) {
+            long timestamp = timestamps[i];
+            if (actions[i] == action && timestamp >= from && timestamp < to) {
+                counter.increment(bookIds[i]);
+            }
+        }
+        return counter;
+    }
+    
+    /**
+     * Menghitung entri per buku untuk setiap bucket waktu, dengan awal bucket
+     * sebagai kunci map.
+     */
+    void countBooksPerBucket(long from, long to, long origin, long bucketMillis, byte action,
+                             Map<Long, BookCounter> target) {
+        int count = size;
+        if (!overlaps(count, from, to)) {
+            return;
+        }
+        long currentBucket = Long.MIN_VALUE;
+        BookCounter current = null;
+        for (int i = 0; i < count; i++) {
+            long timestamp = timestamps[i];
+            if (actions[i] == action && timestamp >= from && timestamp < to) {
+                long bucket = Math.floorDiv(timestamp - origin, bucketMillis) * bucketMillis + origin;
+                if (bucket != currentBucket) {
+                    // Entri hampir selalu berurutan waktu, jadi lookup map jarang terjadi
+                    currentBucket = bucket;
+                    current = target.computeIfAbsent(bucket, key -> new BookCounter());
+                }
+                current.increment(bookIds[i]);
+            }
+        }
+    }
+    
+    /**
+     * Menulis isi segmen ke file secara atomik melalui file sementara.
+     */
+    void writeTo(Path file) throws IOException {
+        int count = size;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + count * (Long.BYTES + Integer.BYTES + 1));
+        buffer.putInt(MAGIC).putInt(count);
+        buffer.asLongBuffer().put(timestamps, 0, count);
+        buffer.position(buffer.position() + count * Long.BYTES);
+        buffer.asIntBuffer().put(bookIds, 0, count);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        buffer.put(actions, 0, count);
+        buffer.flip();
+        
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    /**
+     * Membaca segmen dari file.
+     */
+    static HistorySegment readFrom(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("File segmen riwayat tidak valid: " + file);
+        }
+        int count = buffer.getInt();
+        if (count < 0 || buffer.remaining() != (long) count * (Long.BYTES + Integer.BYTES + 1)) {
+            throw new IOException("Ukuran file segmen riwayat tidak sesuai: " + file);
+        }
+        
+        HistorySegment segment = new HistorySegment(count);
+        buffer.asLongBuffer().get(segment.timestamps);
+        buffer.position(buffer.position() + count * Long.BYTES);
+        buffer.asIntBuffer().get(segment.bookIds);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        buffer.get(segment.actions);
+        for (long timestamp : segment.timestamps) {
+            segment.minTimestamp = Math.min(segment.minTimestamp, timestamp);
+            segment.maxTimestamp = Math.max(segment.maxTimestamp, timestamp);
+        }
+        segment.size = count;
+        return segment;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,261 @@
+package com.library.id;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Kelas IdAllocator membagikan ID buku yang unik kepada banyak penulis
+ * sekaligus dengan meminjamkan rentang ID berurutan ({@link IdLease}).
+ * 
+ * <p>{@link #nextId()} mengambil ID dari lease milik thread pemanggil, sehingga
+ * sebagian besar alokasi tidak menyentuh state bersama. Counter bersama hanya
+ * dinaikkan sekali per {@code leaseSize} ID. Shard yang ingin mengatur
+ * lease-nya sendiri dapat memanggil {@link #lease()} secara langsung.
+ * 
+ * <p>Jika dibuka dari file, allocator menyimpan high-water mark: batas ID yang
+ * sudah dicadangkan. Batas ini selalu ditulis (dengan fsync) sebelum ID di
+ * bawahnya dibagikan dan dinaikkan beberapa lease sekaligus, sehingga setelah
+ * restart allocator mulai dari batas tersebut dan tidak pernah membagikan ulang
+ * ID lama. ID yang dicadangkan tetapi belum terpakai saat proses berhenti
+ * dilewati.
+ * 
+ * <p>ID eksplisit, misalnya dari {@code Library.addBook(Book)}, dilaporkan
+ * lewat {@link #observe(int)}. ID di atas counter menaikkan counter; ID yang
+ * mungkin berada di lease yang sedang berjalan membuat lease milik thread
+ * ditinggalkan pada alokasi berikutnya. Lease dari {@link #lease()} tidak ikut
+ * ditinggalkan, sehingga pemiliknya harus memakai rentang ID yang tidak
+ * diberikan secara eksplisit. Kelas ini thread-safe.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see IdLease
+ */
+public final class IdAllocator {
+    
+    /** Ukuran lease default untuk penulis paralel */
+    public static final int DEFAULT_LEASE_SIZE = 256;
+    
+    /** Jumlah ID minimum yang dicadangkan setiap kali high-water mark ditulis */
+    private static final int MIN_RESERVATION = 4096;
+    
+    /** Jumlah lease yang dicadangkan setiap kali high-water mark ditulis */
+    private static final int LEASES_PER_RESERVATION = 64;
+    
+    /** Penanda file high-water mark ("LBID") */
+    private static final int MAGIC = 0x4C424944;
+    
+    /** Batas ID yang dapat dibagikan */
+    private static final long LIMIT = (long) Integer.MAX_VALUE + 1;
+    
+    /** File high-water mark, atau null jika hanya di memori */
+    private final Path file;
+    
+    /** Jumlah ID per lease */
+    private final int leaseSize;
+    
+    /** ID pertama yang belum pernah dipinjamkan */
+    private final AtomicLong next;
+    
+    /** Batas ID yang sudah dicadangkan di file (eksklusif) */
+    private volatile long reserved;
+    
+    /** Naik setiap kali ID eksplisit mungkin jatuh di lease thread */
+    private final AtomicInteger epoch;
+    
+    /** Lease milik masing-masing thread */
+    private final ThreadLocal<IdLease> leases;
+    
+    /**
+     * Constructor untuk allocator di memori yang membagikan ID berurutan mulai
+     * dari 1, satu per satu.
+     */
+    public IdAllocator() {
+        this(1);
+    }
+    
+    /**
+     * Constructor untuk allocator di memori dengan ukuran lease tertentu.
+     * 
+     * @param leaseSize jumlah ID per lease, 1 untuk ID yang benar-benar berurutan
+     * @throws IllegalArgumentException jika leaseSize kurang dari 1
+     */
+    public IdAllocator(int leaseSize) {
+        this(null, leaseSize, 1);
+    }
+    
+    private IdAllocator(Path file, int leaseSize, long start) {
+        if (leaseSize <= 0) {
+            throw new IllegalArgumentException("Ukuran lease harus lebih dari 0");
+        }
+        this.file = file;
+        this.leaseSize = leaseSize;
+        this.next = new AtomicLong(start);
+        this.reserved = file == null ? LIMIT : start;
+        this.epoch = new AtomicInteger();
+        this.leases = new ThreadLocal<>();
+    }
+    
+    /**
+     * Membuka allocator yang menyimpan high-water mark di file. Jika file belum
+     * ada, ID dimulai dari 1.
+     * 
+     * @param file file high-water mark
+     * @param leaseSize jumlah ID per lease
+     * @return allocator yang melanjutkan dari high-water mark terakhir
+     * @throws IOException jika file rusak atau gagal dibaca
+     * @throws IllegalArgumentException jika file null atau leaseSize kurang dari 1
+     */
+    public static IdAllocator open(Path file, int leaseSize) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("File high-water mark tidak boleh null");
+        }
+        long start = 1;
+        if (Files.exists(file)) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (buffer.remaining() != Integer.BYTES + Long.BYTES || buffer.getInt() != MAGIC) {
+                throw new IOException("File high-water mark ID tidak valid: " + file);
+            }
+            start = buffer.getLong();
+            if (start < 1 || start > LIMIT) {
+                throw new IOException("High-water mark ID tidak valid: " + start);
+            }
+        }
+        return new IdAllocator(file, leaseSize, start);
+    }
+    
+    /**
+     * Mengambil ID berikutnya dari lease milik thread pemanggil. Lease baru
+     * diambil jika lease lama habis atau ditinggalkan karena {@link #observe(int)}.
+     * 
+     * @return ID buku yang belum pernah dibagikan
+     * @throws IllegalStateException jika ruang ID habis
+     * @throws UncheckedIOException jika high-water mark gagal ditulis
+     */
+    public int nextId() {
+        IdLease lease = leases.get();
+        if (lease == null || !lease.hasNext() || lease.epoch != epoch.get()) {
+            lease = lease();
+            leases.set(lease);
+        }
+        return lease.nextId();
+    }
+    
+    /**
+     * Meminjamkan rentang ID baru sebanyak ukuran lease.
+     * 
+     * @return lease baru
+     * @throws IllegalStateException jika ruang ID habis
+     * @throws UncheckedIOException jika high-water mark gagal ditulis
+     */
+    public IdLease lease() {
+        int currentEpoch = epoch.get();
+        long start = next.getAndAdd(leaseSize);
+        if (start >= LIMIT) {
+            throw new IllegalStateException("Ruang ID buku sudah habis");
+        }
+        long end = Math.min(start + leaseSize, LIMIT);
+        reserve(end);
+        return new IdLease((int) start, end, currentEpoch);
+    }
+    
+    /**
+     * Melaporkan ID yang dipakai secara eksplisit agar tidak dibagikan lagi.
+     * Counter dinaikkan secara atomik; jika counter sudah melewati ID tersebut,
+     * termasuk oleh {@link #lease()} yang berjalan bersamaan, lease thread
+     * ditinggalkan.
+     * 
+     * @param bookId ID buku yang dipakai
+     * @throws UncheckedIOException jika high-water mark gagal ditulis
+     */
+    public void observe(int bookId) {
+        if (bookId <= 0) {
+            return;
+        }
+        long prior = next.getAndAccumulate(bookId + 1L, Math::max);
+        if (prior > bookId) {
+            // ID mungkin berada di lease thread yang masih berjalan
+            epoch.incrementAndGet();
+        } else {
+            reserve(bookId + 1L);
+        }
+    }
+    
+    /**
+     * Mendapatkan ID pertama yang belum pernah dipinjamkan.
+     * 
+     * @return ID berikutnya untuk lease baru
+     */
+    public long getNextUnleased() {
+        return next.get();
+    }
+    
+    /**
+     * Mendapatkan high-water mark yang sudah tersimpan di file.
+     * 
+     * @return batas ID yang dicadangkan (eksklusif), atau -1 jika allocator
+     *         hanya di memori
+     */
+    public long getHighWaterMark() {
+        return file == null ? -1 : reserved;
+    }
+    
+    /**
+     * Mendapatkan jumlah ID per lease.
+     * 
+     * @return ukuran lease
+     */
+    public int getLeaseSize() {
+        return leaseSize;
+    }
+    
+    @Override
+    public String toString() {
+        return "IdAllocator{berikutnya=" + next.get() + ", lease=" + leaseSize
+               + (file == null ? "" : ", highWater=" + reserved) + "}";
+    }
+    
+    /**
+     * Memastikan high-water mark di file mencakup ID di bawah batas tertentu.
+     */
+    private void reserve(long end) {
+        if (end <= reserved) {
+            return;
+        }
+        synchronized (this) {
+            if (end <= reserved) {
+                return;
+            }
+            long step = Math.max(MIN_RESERVATION, (long) leaseSize * LEASES_PER_RESERVATION);
+            long mark = Math.min(Math.max(end, next.get()) + step, LIMIT);
+            try {
+                persist(mark);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Gagal menyimpan high-water mark ID", e);
+            }
+            reserved = mark;
+        }
+    }
+    
+    private void persist(long mark) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + Long.BYTES);
+        buffer.putInt(MAGIC).putLong(mark).flip();
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
\ No newline at end of file
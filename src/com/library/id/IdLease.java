@@ -0,0 +1,93 @@
+package com.library.id;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Kelas IdLease adalah rentang ID buku berurutan yang dipinjamkan oleh
+ * {@link IdAllocator} kepada satu penulis, misalnya satu thread atau satu
+ * shard, sehingga ID dapat dibagikan tanpa koordinasi dengan penulis lain.
+ * 
+ * <p>ID yang tidak terpakai saat lease ditinggalkan tidak pernah dibagikan
+ * lagi. Kelas ini tidak thread-safe; satu lease hanya dipakai oleh satu
+ * penulis.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see IdAllocator
+ */
+public final class IdLease {
+    
+    /** ID pertama di rentang */
+    private final int start;
+    
+    /** Batas akhir rentang (eksklusif) */
+    private final long end;
+    
+    /** Versi allocator saat lease dibuat */
+    final int epoch;
+    
+    /** ID berikutnya yang akan dibagikan */
+    private long next;
+    
+    IdLease(int start, long end, int epoch) {
+        this.start = start;
+        this.end = end;
+        this.epoch = epoch;
+        this.next = start;
+    }
+    
+    /**
+     * Mengecek apakah masih ada ID di lease.
+     * 
+     * @return true jika {@link #nextId()} masih dapat dipanggil
+     */
+    public boolean hasNext() {
+        return next < end;
+    }
+    
+    /**
+     * Mengambil ID berikutnya dari lease.
+     * 
+     * @return ID buku
+     * @throws NoSuchElementException jika lease sudah habis
+     */
+    public int nextId() {
+        if (next >= end) {
+            throw new NoSuchElementException("Lease ID sudah habis");
+        }
+        return (int) next++;
+    }
+    
+    /**
+     * Mendapatkan ID pertama di rentang.
+     * 
+     * @return ID pertama
+     */
+    public int getStart() {
+        return start;
+    }
+    
+    /**
+     * Mendapatkan ID terakhir di rentang.
+     * 
+     * @return ID terakhir (inklusif)
+     */
+    public int getEnd() {
+        return (int) (end - 1);
+    }
+    
+    /**
+     * Mendapatkan jumlah ID yang belum dibagikan.
+     * 
+     * @return sisa ID
+     */
+    public int getRemaining() {
+        return (int) (end - next);
+    }
+    
+    @Override
+    public String toString() {
+        return "IdLease{" + start + ".." + (end - 1) + ", sisa=" + (end - next) + "}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.library.index;
+
+/**
+ * Enum BookSortKey mendaftar atribut buku yang memiliki urutan terpelihara
+ * di {@link SortedBookIndex}.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see SortedBookIndex
+ */
+public enum BookSortKey {
+    
+    /** Urut judul sesuai kolasi bahasa Indonesia */
+    TITLE("title"),
+    
+    /** Urut pengarang sesuai kolasi bahasa Indonesia */
+    AUTHOR("author"),
+    
+    /** Urut tahun publikasi */
+    YEAR("year");
+    
+    /** Nama atribut pada parameter request */
+    private final String parameterName;
+    
+    /**
+     * Constructor untuk enum BookSortKey.
+     * 
+     * @param parameterName nama atribut pada parameter request
+     */
+    BookSortKey(String parameterName) {
+        this.parameterName = parameterName;
+    }
+    
+    /**
+     * Mendapatkan nama atribut pada parameter request.
+     * 
+     * @return nama atribut, misalnya "title"
+     */
+    public String getParameterName() {
+        return parameterName;
+    }
+    
+    /**
+     * Mencari kunci urutan berdasarkan nama atribut.
+     * 
+     * @param name nama atribut, tidak case-sensitive
+     * @return kunci urutan, atau null jika tidak dikenal
+     */
+    public static BookSortKey fromParameterName(String name) {
+        for (BookSortKey key : values()) {
+            if (key.parameterName.equalsIgnoreCase(name)) {
+                return key;
+            }
+        }
+        return null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,387 @@
+package com.library.index;
+
+import com.library.Book;
+import com.library.dictionary.Term;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+
+/**
+ * Kelas SortedBookIndex adalah indeks sekunder terurut atas satu atribut buku
+ * ({@link BookSortKey}) yang diperbarui setiap kali buku ditambah, dihapus,
+ * atau diubah.
+ * 
+ * <p>Judul dan pengarang dibandingkan dengan {@link CollationKey} dari
+ * {@link Collator} bahasa Indonesia yang mengabaikan huruf besar-kecil.
+ * Kunci kolasi buku yang ditambahkan dengan {@link #add(Book)} dihitung sekali
+ * saat buku diindeks, sehingga perbandingan di pohon hanya membandingkan byte. Kunci pengarang disimpan per {@link Term},
+ * sehingga buku-buku dari pengarang yang sama memakai satu kunci. Kunci
+ * dipegang secara lemah agar tidak menahan Term pengarang yang sudah tidak
+ * dipakai buku mana pun di {@link com.library.dictionary.TermDictionary}. Buku dengan
+ * nilai yang sama diurutkan berdasarkan ID.
+ * 
+ * <p>Urutan indeks dapat disimpan dengan {@link #toArray()} dan dimuat kembali
+ * dengan {@link #load(List)} dalam waktu linear, misalnya dari image
+ * perpustakaan saat start. Entri hasil pemuatan belum memiliki kunci kolasi;
+ * kunci dihitung saat entri pertama kali dibandingkan, sehingga hanya entri di
+ * jalur pencarian yang membayar biaya kolasi.
+ * 
+ * <p>Entri disimpan di {@link TreeSet}, sehingga halaman pertama dan halaman
+ * sesudah buku tertentu dibaca dalam O(log n + k) tanpa mengurutkan ulang.
+ * Indeks hanya menyimpan ID buku, bukan objek Book, sehingga pemakai mengambil
+ * buku dari penyimpanannya sendiri dan tidak pernah melihat salinan basi.
+ * Kelas ini tidak thread-safe; pembacaan dari banyak thread aman selama tidak
+ * ada perubahan bersamaan, misalnya di bawah read lock Library.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see BookSortKey
+ */
+public final class SortedBookIndex {
+    
+    /** Locale kolasi judul dan pengarang */
+    private static final Locale COLLATION_LOCALE = Locale.forLanguageTag("id-ID");
+    
+    /** Atribut yang diurutkan */
+    private final BookSortKey sortKey;
+    
+    /** Collator untuk menghitung kunci kolasi */
+    private final Collator collator;
+    
+    /** Entri terurut */
+    private TreeSet<Entry> entries;
+    
+    /** ID buku ke entrinya, untuk penghapusan dan penanda halaman */
+    private Map<Integer, Entry> entriesById;
+    
+    /** Kunci kolasi per pengarang dengan kunci lemah, dapat diisi saat pembacaan bersamaan */
+    private final Map<Term, CollationKey> authorKeys;
+    
+    /**
+     * Constructor untuk membuat indeks kosong.
+     * 
+     * @param sortKey atribut yang diurutkan, tidak boleh null
+     * @throws IllegalArgumentException jika sortKey adalah null
+     */
+    public SortedBookIndex(BookSortKey sortKey) {
+        if (sortKey == null) {
+            throw new IllegalArgumentException("Kunci urutan tidak boleh null");
+        }
+        this.sortKey = sortKey;
+        this.collator = Collator.getInstance(COLLATION_LOCALE);
+        this.collator.setStrength(Collator.SECONDARY);
+        this.collator.setDecomposition(Collator.CANONICAL_DECOMPOSITION);
+        this.entries = new TreeSet<>();
+        this.entriesById = new HashMap<>();
+        this.authorKeys = Collections.synchronizedMap(new WeakHashMap<>());
+    }
+    
+    /**
+     * Mendapatkan atribut yang diurutkan.
+     * 
+     * @return kunci urutan
+     */
+    public BookSortKey getSortKey() {
+        return sortKey;
+    }
+    
+    /**
+     * Menambahkan buku ke indeks. Buku dengan ID yang sudah ada diindeks ulang.
+     * 
+     * @param book buku yang ditambahkan
+     */
+    public void add(Book book) {
+        remove(book.getBookId());
+        Entry entry = entryOf(book);
+        entry.key();
+        entries.add(entry);
+        entriesById.put(book.getBookId(), entry);
+    }
+    
+    /**
+     * Menghapus buku dari indeks.
+     * 
+     * @param bookId ID buku yang dihapus
+     * @return true jika buku ada di indeks
+     */
+    public boolean remove(int bookId) {
+        Entry entry = entriesById.remove(bookId);
+        if (entry == null) {
+            return false;
+        }
+        entries.remove(entry);
+        return true;
+    }
+    
+    /**
+     * Mengecek apakah buku ada di indeks.
+     * 
+     * @param bookId ID buku
+     * @return true jika buku diindeks
+     */
+    public boolean contains(int bookId) {
+        return entriesById.containsKey(bookId);
+    }
+    
+    /**
+     * Mendapatkan halaman pertama.
+     * 
+     * @param limit jumlah maksimum buku
+     * @param descending true untuk urutan menurun
+     * @return ID buku-buku sesuai urutan
+     * @throws IllegalArgumentException jika limit negatif
+     */
+    public int[] first(int limit, boolean descending) {
+        return collect(descending ? entries.descendingSet() : entries, limit);
+    }
+    
+    /**
+     * Mendapatkan halaman sesudah buku tertentu, yaitu buku terakhir dari
+     * halaman sebelumnya.
+     * 
+     * @param bookId ID buku penanda halaman, harus ada di indeks
+     * @param limit jumlah maksimum buku
+     * @param descending true untuk urutan menurun
+     * @return ID buku-buku sesudah buku penanda sesuai urutan
+     * @throws IllegalArgumentException jika buku penanda tidak diindeks atau limit negatif
+     */
+    public int[] after(int bookId, int limit, boolean descending) {
+        Entry entry = entriesById.get(bookId);
+        if (entry == null) {
+            throw new IllegalArgumentException("Buku penanda halaman dengan ID " + bookId + " tidak diindeks");
+        }
+        NavigableSet<Entry> tail = descending ? entries.headSet(entry, false).descendingSet()
+                                              : entries.tailSet(entry, false);
+        return collect(tail, limit);
+    }
+    
+    /**
+     * Mendapatkan ID semua buku sesuai urutan menaik, misalnya untuk disimpan
+     * dan dimuat kembali dengan {@link #load(List)}.
+     * 
+     * @return ID buku-buku terurut
+     */
+    public int[] toArray() {
+        return collect(entries, entries.size());
+    }
+    
+    /**
+     * Mengganti isi indeks dengan buku-buku yang sudah terurut, tanpa
+     * membandingkan entri. Urutan harus sama dengan urutan indeks ini, misalnya
+     * hasil {@link #toArray()} dari indeks dengan atribut yang sama; urutan
+     * judul dan pengarang tidak diperiksa ulang.
+     * 
+     * @param ordered buku-buku sesuai urutan menaik
+     * @throws IllegalArgumentException jika ada buku null, ID ganda, atau tahun
+     *                                  yang tidak terurut pada indeks tahun
+     */
+    public void load(List<Book> ordered) {
+        Map<Integer, Entry> loaded = new HashMap<>(Math.max(16, ordered.size() * 4 / 3 + 1));
+        Entry[] run = new Entry[ordered.size()];
+        for (int i = 0; i < run.length; i++) {
+            Book book = ordered.get(i);
+            if (book == null) {
+                throw new IllegalArgumentException("Buku ke-" + (i + 1) + " tidak ada di penyimpanan");
+            }
+            run[i] = entryOf(book);
+            if (loaded.put(book.getBookId(), run[i]) != null) {
+                throw new IllegalArgumentException("ID buku " + book.getBookId() + " muncul dua kali");
+            }
+            if (sortKey == BookSortKey.YEAR && i > 0 && run[i - 1].compareTo(run[i]) >= 0) {
+                throw new IllegalArgumentException("Urutan tahun tidak valid pada buku ke-" + (i + 1));
+            }
+        }
+        entries = new TreeSet<>(new SortedRun(run));
+        entriesById = loaded;
+    }
+    
+    /**
+     * Menghapus semua buku dari indeks. Kunci pengarang tetap disimpan.
+     */
+    public void clear() {
+        entries.clear();
+        entriesById.clear();
+    }
+    
+    /**
+     * Mendapatkan jumlah buku di indeks.
+     * 
+     * @return jumlah buku
+     */
+    public int size() {
+        return entriesById.size();
+    }
+    
+    private static int[] collect(NavigableSet<Entry> set, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Batas jumlah hasil tidak boleh negatif");
+        }
+        int[] result = new int[Math.min(limit, set.size())];
+        Iterator<Entry> iterator = set.iterator();
+        for (int i = 0; i < result.length; i++) {
+            result[i] = iterator.next().bookId;
+        }
+        return result;
+    }
+    
+    /**
+     * Membuat entri buku tanpa menghitung kunci kolasinya.
+     */
+    private Entry entryOf(Book book) {
+        switch (sortKey) {
+            case TITLE:
+                return new Entry(book.getTitle(), null, 0, book.getBookId());
+            case AUTHOR:
+                return new Entry(null, book.getAuthorTerm(), 0, book.getBookId());
+            default:
+                return new Entry(null, null, book.getPublicationYear(), book.getBookId());
+        }
+    }
+    
+    /**
+     * Kunci entri: kunci kolasi atau tahun, lalu ID buku.
+     */
+    private final class Entry implements Comparable<Entry> {
+        
+        private final String title;
+        private final Term author;
+        private final int year;
+        private final int bookId;
+        
+        /** Kunci kolasi yang dihitung saat pertama dibutuhkan */
+        private volatile CollationKey key;
+        
+        Entry(String title, Term author, int year, int bookId) {
+            this.title = title;
+            this.author = author;
+            this.year = year;
+            this.bookId = bookId;
+        }
+        
+        /**
+         * Mendapatkan kunci kolasi. Collator bawaan JDK tersinkronisasi,
+         * sehingga kunci aman dihitung dari beberapa pembaca sekaligus.
+         * 
+         * @return kunci kolasi, atau null untuk indeks tahun
+         */
+        CollationKey key() {
+            CollationKey result = key;
+            if (result == null && sortKey != BookSortKey.YEAR) {
+                result = author != null
+                         ? authorKeys.computeIfAbsent(author, term -> collator.getCollationKey(term.getValue()))
+                         : collator.getCollationKey(title);
+                key = result;
+            }
+            return result;
+        }
+        
+        @Override
+        public int compareTo(Entry other) {
+            int result = sortKey != BookSortKey.YEAR ? key().compareTo(other.key())
+                                                     : Integer.compare(year, other.year);
+            return result != 0 ? result : Integer.compare(bookId, other.bookId);
+        }
+    }
+    
+    /**
+     * Deret entri yang sudah terurut, dibungkus sebagai {@link SortedSet} agar
+     * {@link TreeSet} dapat dibangun darinya dalam waktu linear tanpa
+     * perbandingan. Rentang dibaca langsung dari array dengan pencarian biner.
+     */
+    private static final class SortedRun extends AbstractSet<Entry> implements SortedSet<Entry> {
+        
+        private final Entry[] run;
+        
+        /** Indeks awal rentang, inklusif */
+        private final int from;
+        
+        /** Indeks akhir rentang, eksklusif */
+        private final int to;
+        
+        SortedRun(Entry[] run) {
+            this(run, 0, run.length);
+        }
+        
+        private SortedRun(Entry[] run, int from, int to) {
+            this.run = run;
+            this.from = from;
+            this.to = to;
+        }
+        
+        /**
+         * Mencari posisi pertama di rentang yang tidak lebih kecil dari entri.
+         */
+        private int lowerBound(Entry element) {
+            int index = Arrays.binarySearch(run, from, to, element);
+            return index >= 0 ? index : -index - 1;
+        }
+        
+        @Override
+        public Iterator<Entry> iterator() {
+            return Arrays.asList(run).subList(from, to).iterator();
+        }
+        
+        @Override
+        public int size() {
+            return to - from;
+        }
+        
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Entry && Arrays.binarySearch(run, from, to, o) >= 0;
+        }
+        
+        @Override
+        public Comparator<? super Entry> comparator() {
+            return null;
+        }
+        
+        @Override
+        public SortedSet<Entry> subSet(Entry fromElement, Entry toElement) {
+            if (fromElement.compareTo(toElement) > 0) {
+                throw new IllegalArgumentException("Batas awal rentang lebih besar dari batas akhir");
+            }
+            return new SortedRun(run, lowerBound(fromElement), lowerBound(toElement));
+        }
+        
+        @Override
+        public SortedSet<Entry> headSet(Entry toElement) {
+            return new SortedRun(run, from, lowerBound(toElement));
+        }
+        
+        @Override
+        public SortedSet<Entry> tailSet(Entry fromElement) {
+            return new SortedRun(run, lowerBound(fromElement), to);
+        }
+        
+        @Override
+        public Entry first() {
+            if (from == to) {
+                throw new NoSuchElementException();
+            }
+            return run[from];
+        }
+        
+        @Override
+        public Entry last() {
+            if (from == to) {
+                throw new NoSuchElementException();
+            }
+            return run[to - 1];
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,159 @@
+package com.library.loan;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Kelas DueDateWheel mengelompokkan peminjaman aktif ke dalam bucket waktu
+ * berdasarkan batas pengembaliannya, mirip timing wheel dengan granularitas
+ * tetap.
+ * 
+ * <p>Hanya bucket yang berisi peminjaman yang disimpan, diurutkan dalam
+ * {@link TreeMap}. Menyisipkan dan menghapus peminjaman membutuhkan O(log B)
+ * dengan B adalah jumlah bucket yang terisi, sedangkan {@link #advance(long, List)}
+ * hanya menyentuh bucket yang sudah jatuh tempo sehingga biayanya sebanding
+ * dengan jumlah peminjaman yang kedaluwarsa, bukan dengan ukuran katalog.
+ * 
+ * <p>Kelas ini tidak thread-safe; sinkronisasi menjadi tanggung jawab pemilik.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see LoanTracker
+ */
+public class DueDateWheel {
+    
+    /** Lebar setiap bucket dalam milidetik */
+    private final long tickMillis;
+    
+    /** Bucket berdasarkan nomor tick, berisi peminjaman yang jatuh tempo di tick tersebut */
+    private final TreeMap<Long, Set<Loan>> buckets;
+    
+    /** Jumlah peminjaman dalam wheel */
+    private int size;
+    
+    /**
+     * Constructor untuk membuat wheel dengan lebar bucket tertentu.
+     * 
+     * @param tickMillis lebar bucket dalam milidetik, harus lebih dari 0
+     * @throws IllegalArgumentException jika tickMillis tidak valid
+     */
+    public DueDateWheel(long tickMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Lebar bucket harus lebih dari 0");
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = new TreeMap<>();
+        this.size = 0;
+    }
+    
+    /**
+     * Menambahkan peminjaman ke bucket sesuai batas pengembaliannya.
+     * 
+     * @param loan peminjaman yang akan dijadwalkan
+     */
+    public void schedule(Loan loan) {
+        if (buckets.computeIfAbsent(tick(loan.getDueTime()), key -> new LinkedHashSet<>()).add(loan)) {
+            size++;
+        }
+    }
+    
+    /**
+     * Menghapus peminjaman dari wheel, misalnya ketika buku dikembalikan.
+     * 
+     * @param loan peminjaman yang akan dihapus
+     * @return true jika peminjaman ada dan berhasil dihapus
+     */
+    public boolean cancel(Loan loan) {
+        Long key = tick(loan.getDueTime());
+        Set<Loan> bucket = buckets.get(key);
+        if (bucket == null || !bucket.remove(loan)) {
+            return false;
+        }
+        if (bucket.isEmpty()) {
+            buckets.remove(key);
+        }
+        size--;
+        return true;
+    }
+    
+    /**
+     * Mengeluarkan semua peminjaman yang batas pengembaliannya sudah lewat
+     * pada waktu tertentu.
+     * 
+     * @param now waktu acuan dalam milidetik epoch
+     * @param expired list tujuan untuk peminjaman yang dikeluarkan
+     * @return jumlah peminjaman yang dikeluarkan
+     */
+    public int advance(long now, List<Loan> expired) {
+        int before = expired.size();
+        long currentTick = tick(now);
+        
+        Iterator<Map.Entry<Long, Set<Loan>>> it = buckets.headMap(currentTick, true).entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, Set<Loan>> entry = it.next();
+            Set<Loan> bucket = entry.getValue();
+            if (entry.getKey() < currentTick) {
+                expired.addAll(bucket);
+                it.remove();
+                continue;
+            }
+            // Bucket saat ini hanya sebagian yang sudah lewat
+            Iterator<Loan> loans = bucket.iterator();
+            while (loans.hasNext()) {
+                Loan loan = loans.next();
+                if (loan.getDueTime() < now) {
+                    expired.add(loan);
+                    loans.remove();
+                }
+            }
+            if (bucket.isEmpty()) {
+                it.remove();
+            }
+        }
+        
+        int count = expired.size() - before;
+        size -= count;
+        return count;
+    }
+    
+    /**
+     * Mendapatkan peminjaman yang jatuh tempo dalam rentang waktu tertentu.
+     * 
+     * @param from awal rentang (inklusif) dalam milidetik epoch
+     * @param to akhir rentang (eksklusif) dalam milidetik epoch
+     * @return list peminjaman dalam rentang tersebut
+     */
+    public List<Loan> dueBetween(long from, long to) {
+        List<Loan> result = new ArrayList<>();
+        for (Set<Loan> bucket : buckets.subMap(tick(from), true, tick(to), true).values()) {
+            for (Loan loan : bucket) {
+                if (loan.getDueTime() >= from && loan.getDueTime() < to) {
+                    result.add(loan);
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Mendapatkan jumlah peminjaman dalam wheel.
+     * 
+     * @return jumlah peminjaman yang belum jatuh tempo
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Menghitung nomor tick untuk sebuah waktu.
+     */
+    private long tick(long time) {
+        return Math.floorDiv(time, tickMillis);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,149 @@
+package com.library.loan;
+
+import java.time.Instant;
+
+/**
+ * Kelas Loan merepresentasikan satu catatan peminjaman buku: siapa peminjamnya,
+ * kapan buku dipinjam, kapan harus dikembalikan, dan kapan benar-benar
+ * dikembalikan.
+ * 
+ * <p>Catatan peminjaman dibuat oleh {@link com.library.Library#borrowBook(int, String)}
+ * dan ditutup oleh {@link com.library.Library#returnBook(int)}.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see LoanTracker
+ */
+public class Loan {
+    
+    /** Nama peminjam yang dipakai jika peminjam tidak disebutkan */
+    public static final String UNKNOWN_BORROWER = "Tidak diketahui";
+    
+    /** ID buku yang dipinjam */
+    private final int bookId;
+    
+    /** Nama atau ID anggota peminjam */
+    private final String borrower;
+    
+    /** Waktu peminjaman dalam milidetik epoch */
+    private final long loanTime;
+    
+    /** Batas waktu pengembalian dalam milidetik epoch */
+    private final long dueTime;
+    
+    /** Waktu pengembalian dalam milidetik epoch, 0 jika masih dipinjam */
+    private long returnTime;
+    
+    /**
+     * Constructor untuk membuat catatan peminjaman baru.
+     * 
+     * @param bookId ID buku yang dipinjam, harus berupa angka positif
+     * @param borrower nama peminjam, null atau kosong berarti tidak diketahui
+     * @param loanTime waktu peminjaman dalam milidetik epoch
+     * @param dueTime batas pengembalian dalam milidetik epoch, tidak boleh sebelum loanTime
+     * @throws IllegalArgumentException jika parameter tidak valid
+     */
+    public Loan(int bookId, String borrower, long loanTime, long dueTime) {
+        if (bookId <= 0) {
+            throw new IllegalArgumentException("Book ID harus berupa angka positif");
+        }
+        if (dueTime < loanTime) {
+            throw new IllegalArgumentException("Batas pengembalian tidak boleh sebelum waktu peminjaman");
+        }
+        
+        this.bookId = bookId;
+        this.borrower = borrower == null || borrower.trim().isEmpty() ? UNKNOWN_BORROWER : borrower.trim();
+        this.loanTime = loanTime;
+        this.dueTime = dueTime;
+        this.returnTime = 0;
+    }
+    
+    /**
+     * Mendapatkan ID buku yang dipinjam.
+     * 
+     * @return ID buku
+     */
+    public int getBookId() {
+        return bookId;
+    }
+    
+    /**
+     * Mendapatkan nama peminjam.
+     * 
+     * @return nama peminjam
+     */
+    public String getBorrower() {
+        return borrower;
+    }
+    
+    /**
+     * Mendapatkan waktu peminjaman.
+     * 
+     * @return waktu peminjaman dalam milidetik epoch
+     */
+    public long getLoanTime() {
+        return loanTime;
+    }
+    
+    /**
+     * Mendapatkan batas waktu pengembalian.
+     * 
+     * @return batas pengembalian dalam milidetik epoch
+     */
+    public long getDueTime() {
+        return dueTime;
+    }
+    
+    /**
+     * Mendapatkan waktu pengembalian.
+     * 
+     * @return waktu pengembalian dalam milidetik epoch, 0 jika masih dipinjam
+     */
+    public long getReturnTime() {
+        return returnTime;
+    }
+    
+    /**
+     * Mengecek apakah peminjaman masih aktif (buku belum dikembalikan).
+     * 
+     * @return true jika buku belum dikembalikan
+     */
+    public boolean isActive() {
+        return returnTime == 0;
+    }
+    
+    /**
+     * Mengecek apakah peminjaman terlambat pada waktu tertentu.
+     * 
+     * @param now waktu acuan dalam milidetik epoch
+     * @return true jika masih aktif dan batas pengembalian sudah lewat
+     */
+    public boolean isOverdue(long now) {
+        return isActive() && now > dueTime;
+    }
+    
+    /**
+     * Menutup peminjaman pada waktu tertentu.
+     * 
+     * @param returnTime waktu pengembalian dalam milidetik epoch
+     * @throws IllegalStateException jika peminjaman sudah ditutup
+     */
+    void close(long returnTime) {
+        if (!isActive()) {
+            throw new IllegalStateException("Peminjaman buku ID " + bookId + " sudah ditutup");
+        }
+        this.returnTime = Math.max(returnTime, 1);
+    }
+    
+    /**
+     * Menghasilkan representasi string dari catatan peminjaman.
+     * 
+     * @return String berisi informasi singkat peminjaman
+     */
+    @Override
+    public String toString() {
+        return "Loan{BookID=" + bookId + ", Borrower='" + borrower + "', Due="
+                + Instant.ofEpochMilli(dueTime) + ", Active=" + (isActive() ? "Ya" : "Tidak") + "}";
+    }
+}
\ No newline at end of file
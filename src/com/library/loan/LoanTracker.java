@@ -0,0 +1,228 @@
+package com.library.loan;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Kelas LoanTracker menyimpan semua peminjaman aktif sebuah perpustakaan dan
+ * mengindeksnya berdasarkan buku, peminjam, dan batas pengembalian.
+ * 
+ * <p>Peminjaman yang belum jatuh tempo disimpan dalam {@link DueDateWheel}.
+ * Ketika waktu berjalan, {@link #processOverdue(long)} memindahkan peminjaman
+ * yang sudah lewat batas ke himpunan peminjaman terlambat dan memberi tahu
+ * listener tepat satu kali per peminjaman. Pertanyaan seperti "apa yang
+ * terlambat sekarang" dan "pinjaman per peminjam" sebanding dengan jumlah
+ * peminjaman yang terpengaruh, bukan ukuran katalog.
+ * 
+ * <p>Kelas ini tidak thread-safe; aksesnya mengikuti sinkronisasi
+ * {@link com.library.Library} pemiliknya.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see Loan
+ * @see DueDateWheel
+ */
+public class LoanTracker {
+    
+    /** Lebar bucket default untuk wheel: satu jam */
+    public static final long DEFAULT_TICK_MILLIS = TimeUnit.HOURS.toMillis(1);
+    
+    /** Peminjaman aktif berdasarkan ID buku */
+    private final Map<Integer, Loan> activeByBook;
+    
+    /** Peminjaman aktif berdasarkan peminjam */
+    private final Map<String, Set<Loan>> activeByBorrower;
+    
+    /** Peminjaman aktif yang belum jatuh tempo */
+    private final DueDateWheel wheel;
+    
+    /** Peminjaman aktif yang sudah terlambat, urut sesuai waktu kedaluwarsa */
+    private final Set<Loan> overdue;
+    
+    /** Listener yang dipanggil ketika peminjaman menjadi terlambat */
+    private final List<Consumer<Loan>> overdueListeners;
+    
+    /**
+     * Constructor untuk membuat tracker dengan lebar bucket default.
+     */
+    public LoanTracker() {
+        this(DEFAULT_TICK_MILLIS);
+    }
+    
+    /**
+     * Constructor untuk membuat tracker dengan lebar bucket tertentu.
+     * 
+     * @param tickMillis lebar bucket wheel dalam milidetik
+     */
+    public LoanTracker(long tickMillis) {
+        this.activeByBook = new HashMap<>();
+        this.activeByBorrower = new HashMap<>();
+        this.wheel = new DueDateWheel(tickMillis);
+        this.overdue = new LinkedHashSet<>();
+        this.overdueListeners = new CopyOnWriteArrayList<>();
+    }
+    
+    /**
+     * Membuka peminjaman baru untuk sebuah buku.
+     * 
+     * @param bookId ID buku yang dipinjam
+     * @param borrower nama peminjam
+     * @param loanTime waktu peminjaman dalam milidetik epoch
+     * @param dueTime batas pengembalian dalam milidetik epoch
+     * @return catatan peminjaman yang dibuat
+     * @throws IllegalStateException jika buku masih memiliki peminjaman aktif
+     */
+    public Loan open(int bookId, String borrower, long loanTime, long dueTime) {
+        if (activeByBook.containsKey(bookId)) {
+            throw new IllegalStateException("Buku ID " + bookId + " masih memiliki peminjaman aktif");
+        }
+        
+        Loan loan = new Loan(bookId, borrower, loanTime, dueTime);
+        activeByBook.put(bookId, loan);
+        activeByBorrower.computeIfAbsent(loan.getBorrower(), key -> new LinkedHashSet<>()).add(loan);
+        wheel.schedule(loan);
+        return loan;
+    }
+    
+    /**
+     * Menutup peminjaman aktif sebuah buku.
+     * 
+     * @param bookId ID buku yang dikembalikan
+     * @param returnTime waktu pengembalian dalam milidetik epoch
+     * @return catatan peminjaman yang ditutup, atau null jika tidak ada peminjaman aktif
+     */
+    public Loan close(int bookId, long returnTime) {
+        Loan loan = activeByBook.remove(bookId);
+        if (loan == null) {
+            return null;
+        }
+        
+        if (!wheel.cancel(loan)) {
+            overdue.remove(loan);
+        }
+        Set<Loan> borrowerLoans = activeByBorrower.get(loan.getBorrower());
+        if (borrowerLoans != null) {
+            borrowerLoans.remove(loan);
+            if (borrowerLoans.isEmpty()) {
+                activeByBorrower.remove(loan.getBorrower());
+            }
+        }
+        loan.close(returnTime);
+        return loan;
+    }
+    
+    /**
+     * Mendapatkan peminjaman aktif sebuah buku.
+     * 
+     * @param bookId ID buku
+     * @return peminjaman aktif, atau null jika buku tidak sedang dipinjam
+     */
+    public Loan getActiveLoan(int bookId) {
+        return activeByBook.get(bookId);
+    }
+    
+    /**
+     * Mendapatkan semua peminjaman aktif, misalnya untuk disimpan di image
+     * perpustakaan.
+     * 
+     * @return list peminjaman aktif
+     */
+    public List<Loan> getActiveLoans() {
+        return new ArrayList<>(activeByBook.values());
+    }
+    
+    /**
+     * Mendapatkan semua peminjaman aktif milik seorang peminjam.
+     * 
+     * @param borrower nama peminjam
+     * @return list peminjaman aktif, kosong jika tidak ada
+     */
+    public List<Loan> getLoansByBorrower(String borrower) {
+        if (borrower == null) {
+            return Collections.emptyList();
+        }
+        Set<Loan> loans = activeByBorrower.get(borrower.trim());
+        return loans == null ? Collections.emptyList() : new ArrayList<>(loans);
+    }
+    
+    /**
+     * Memproses peminjaman yang jatuh tempo sampai waktu tertentu: memindahkannya
+     * ke daftar terlambat dan memanggil listener untuk setiap peminjaman.
+     * 
+     * @param now waktu acuan dalam milidetik epoch
+     * @return peminjaman yang baru menjadi terlambat pada pemanggilan ini
+     */
+    public List<Loan> processOverdue(long now) {
+        List<Loan> expired = new ArrayList<>();
+        wheel.advance(now, expired);
+        for (Loan loan : expired) {
+            overdue.add(loan);
+            for (Consumer<Loan> listener : overdueListeners) {
+                listener.accept(loan);
+            }
+        }
+        return expired;
+    }
+    
+    /**
+     * Mendapatkan semua peminjaman yang terlambat pada waktu tertentu.
+     * 
+     * @param now waktu acuan dalam milidetik epoch
+     * @return list peminjaman terlambat, urut sesuai waktu kedaluwarsa
+     */
+    public List<Loan> getOverdueLoans(long now) {
+        processOverdue(now);
+        return new ArrayList<>(overdue);
+    }
+    
+    /**
+     * Mendapatkan peminjaman yang jatuh tempo dalam rentang waktu tertentu.
+     * 
+     * @param from awal rentang (inklusif) dalam milidetik epoch
+     * @param to akhir rentang (eksklusif) dalam milidetik epoch
+     * @return list peminjaman yang akan jatuh tempo
+     */
+    public List<Loan> getLoansDueBetween(long from, long to) {
+        return wheel.dueBetween(from, to);
+    }
+    
+    /**
+     * Mendapatkan jumlah peminjaman aktif.
+     * 
+     * @return jumlah peminjaman aktif
+     */
+    public int getActiveLoanCount() {
+        return activeByBook.size();
+    }
+    
+    /**
+     * Mendaftarkan listener yang dipanggil ketika peminjaman menjadi terlambat.
+     * 
+     * @param listener listener yang menerima peminjaman terlambat
+     * @throws IllegalArgumentException jika listener adalah null
+     */
+    public void addOverdueListener(Consumer<Loan> listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener tidak boleh null");
+        }
+        overdueListeners.add(listener);
+    }
+    
+    /**
+     * Menghapus listener peminjaman terlambat.
+     * 
+     * @param listener listener yang akan dihapus
+     */
+    public void removeOverdueListener(Consumer<Loan> listener) {
+        overdueListeners.remove(listener);
+    }
+}
\ No newline at end of file
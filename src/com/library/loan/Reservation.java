@@ -0,0 +1,142 @@
+package com.library.loan;
+
+import com.library.Book;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Kelas Reservation merepresentasikan satu antrean tunggu (hold) seorang
+ * peminjam untuk buku yang sedang dipinjam orang lain.
+ * 
+ * <p>Future milik reservasi diselesaikan dengan objek {@link Book} ketika buku
+ * dikembalikan dan langsung dipinjamkan kepada peminjam ini. Peminjam dapat
+ * membatalkan reservasi dengan membatalkan future tersebut.
+ * 
+ * <p>Penyerahan dan pembatalan berebut satu status atomik: perpustakaan
+ * mengklaim reservasi dengan {@link #claim()} sebelum meminjamkan buku, dan
+ * pembatalan future hanya berhasil selama reservasi belum diklaim. Reservasi
+ * yang sudah dibatalkan dilewati tanpa peminjaman sama sekali.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see ReservationQueues
+ */
+public class Reservation {
+    
+    /** Status reservasi yang masih menunggu */
+    private static final int WAITING = 0;
+    
+    /** Status reservasi yang sudah diklaim untuk diserahi buku */
+    private static final int CLAIMED = 1;
+    
+    /** Status reservasi yang dibatalkan */
+    private static final int CANCELLED = 2;
+    
+    /** ID buku yang direservasi */
+    private final int bookId;
+    
+    /** Nama peminjam yang menunggu */
+    private final String borrower;
+    
+    /** Waktu reservasi dibuat dalam milidetik epoch */
+    private final long reservedAt;
+    
+    /** Status reservasi: menunggu, diklaim, atau dibatalkan */
+    private final AtomicInteger state;
+    
+    /** Future yang diselesaikan ketika buku diserahkan */
+    private final CompletableFuture<Book> future;
+    
+    /**
+     * Constructor untuk membuat reservasi baru.
+     * 
+     * @param bookId ID buku yang direservasi
+     * @param borrower nama peminjam yang menunggu
+     * @param reservedAt waktu reservasi dalam milidetik epoch
+     */
+    Reservation(int bookId, String borrower, long reservedAt) {
+        this.bookId = bookId;
+        this.borrower = borrower;
+        this.reservedAt = reservedAt;
+        this.state = new AtomicInteger(WAITING);
+        this.future = new HoldFuture();
+    }
+    
+    /**
+     * Mendapatkan ID buku yang direservasi.
+     * 
+     * @return ID buku
+     */
+    public int getBookId() {
+        return bookId;
+    }
+    
+    /**
+     * Mendapatkan nama peminjam yang menunggu.
+     * 
+     * @return nama peminjam
+     */
+    public String getBorrower() {
+        return borrower;
+    }
+    
+    /**
+     * Mendapatkan waktu reservasi dibuat.
+     * 
+     * @return waktu reservasi dalam milidetik epoch
+     */
+    public long getReservedAt() {
+        return reservedAt;
+    }
+    
+    /**
+     * Mendapatkan future yang diselesaikan ketika buku diserahkan.
+     * 
+     * @return future berisi buku yang dipinjamkan
+     */
+    public CompletableFuture<Book> getFuture() {
+        return future;
+    }
+    
+    /**
+     * Mengecek apakah reservasi masih menunggu.
+     * 
+     * @return true jika reservasi belum diklaim, dibatalkan, atau digagalkan
+     */
+    public boolean isWaiting() {
+        return state.get() == WAITING && !future.isDone();
+    }
+    
+    /**
+     * Mengklaim reservasi untuk diserahi buku. Setelah berhasil diklaim,
+     * future tidak dapat dibatalkan lagi.
+     * 
+     * @return true jika reservasi masih menunggu dan berhasil diklaim
+     */
+    public boolean claim() {
+        return !future.isDone() && state.compareAndSet(WAITING, CLAIMED);
+    }
+    
+    /**
+     * Menghasilkan representasi string dari reservasi.
+     * 
+     * @return String berisi informasi singkat reservasi
+     */
+    @Override
+    public String toString() {
+        return "Reservation{BookID=" + bookId + ", Borrower='" + borrower + "', Waiting="
+                + (isWaiting() ? "Ya" : "Tidak") + "}";
+    }
+    
+    /**
+     * Future reservasi yang hanya dapat dibatalkan selama reservasi belum diklaim.
+     */
+    private final class HoldFuture extends CompletableFuture<Book> {
+        
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return state.compareAndSet(WAITING, CANCELLED) && super.cancel(mayInterruptIfRunning);
+        }
+    }
+}
\ No newline at end of file
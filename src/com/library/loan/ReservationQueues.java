@@ -0,0 +1,191 @@
+package com.library.loan;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Kelas ReservationQueues mengelola antrean reservasi FIFO untuk setiap buku.
+ * 
+ * <p>Setiap judul memiliki batas jumlah reservasi sehingga memori per judul
+ * terbatas. Reservasi yang dibatalkan (future-nya dibatalkan) tidak langsung
+ * dihapus, tetapi dilewati saat giliran berikutnya diambil dan dibersihkan
+ * ketika antrean penuh.
+ * 
+ * <p>Kelas ini tidak thread-safe; aksesnya mengikuti sinkronisasi
+ * {@link com.library.Library} pemiliknya.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see Reservation
+ */
+public class ReservationQueues {
+    
+    /** Batas default jumlah reservasi per judul */
+    public static final int DEFAULT_MAX_HOLDS_PER_TITLE = 64;
+    
+    /** Antrean reservasi per ID buku */
+    private final Map<Integer, ArrayDeque<Reservation>> queues;
+    
+    /** Batas jumlah reservasi per judul */
+    private final int maxHoldsPerTitle;
+    
+    /**
+     * Constructor untuk membuat antrean dengan batas default.
+     */
+    public ReservationQueues() {
+        this(DEFAULT_MAX_HOLDS_PER_TITLE);
+    }
+    
+    /**
+     * Constructor untuk membuat antrean dengan batas tertentu.
+     * 
+     * @param maxHoldsPerTitle batas jumlah reservasi per judul, harus lebih dari 0
+     * @throws IllegalArgumentException jika batas tidak valid
+     */
+    public ReservationQueues(int maxHoldsPerTitle) {
+        if (maxHoldsPerTitle <= 0) {
+            throw new IllegalArgumentException("Batas reservasi harus lebih dari 0");
+        }
+        this.queues = new HashMap<>();
+        this.maxHoldsPerTitle = maxHoldsPerTitle;
+    }
+    
+    /**
+     * Menambahkan reservasi di akhir antrean sebuah buku. Jika peminjam yang sama
+     * sudah menunggu, reservasi yang sudah ada dikembalikan.
+     * 
+     * @param bookId ID buku yang direservasi
+     * @param borrower nama peminjam
+     * @param now waktu reservasi dalam milidetik epoch
+     * @return reservasi milik peminjam tersebut
+     * @throws IllegalStateException jika antrean buku sudah penuh
+     */
+    public Reservation enqueue(int bookId, String borrower, long now) {
+        ArrayDeque<Reservation> queue = queues.computeIfAbsent(bookId, key -> new ArrayDeque<>());
+        for (Reservation reservation : queue) {
+            if (reservation.isWaiting() && reservation.getBorrower().equals(borrower)) {
+                return reservation;
+            }
+        }
+        if (queue.size() >= maxHoldsPerTitle) {
+            queue.removeIf(reservation -> !reservation.isWaiting());
+            if (queue.size() >= maxHoldsPerTitle) {
+                throw new IllegalStateException("Antrean reservasi buku ID " + bookId + " sudah penuh");
+            }
+        }
+        
+        Reservation reservation = new Reservation(bookId, borrower, now);
+        queue.addLast(reservation);
+        return reservation;
+    }
+    
+    /**
+     * Mengambil reservasi berikutnya yang masih menunggu untuk sebuah buku.
+     * 
+     * @param bookId ID buku
+     * @return reservasi berikutnya, atau null jika tidak ada yang menunggu
+     */
+    public Reservation poll(int bookId) {
+        ArrayDeque<Reservation> queue = queues.get(bookId);
+        if (queue == null) {
+            return null;
+        }
+        
+        Reservation next = null;
+        while (next == null && !queue.isEmpty()) {
+            Reservation candidate = queue.pollFirst();
+            if (candidate.isWaiting()) {
+                next = candidate;
+            }
+        }
+        if (queue.isEmpty()) {
+            queues.remove(bookId);
+        }
+        return next;
+    }
+    
+    /**
+     * Membatalkan reservasi seorang peminjam untuk sebuah buku.
+     * 
+     * @param bookId ID buku
+     * @param borrower nama peminjam
+     * @return true jika ada reservasi yang dibatalkan
+     */
+    public boolean cancel(int bookId, String borrower) {
+        ArrayDeque<Reservation> queue = queues.get(bookId);
+        if (queue == null) {
+            return false;
+        }
+        
+        Iterator<Reservation> it = queue.iterator();
+        while (it.hasNext()) {
+            Reservation reservation = it.next();
+            if (reservation.isWaiting() && reservation.getBorrower().equals(borrower)) {
+                it.remove();
+                reservation.getFuture().cancel(false);
+                if (queue.isEmpty()) {
+                    queues.remove(bookId);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Membuang seluruh antrean sebuah buku, misalnya ketika buku dihapus.
+     * Semua reservasi yang masih menunggu diselesaikan dengan exception.
+     * 
+     * @param bookId ID buku
+     * @param reason pembuat penyebab yang diteruskan ke setiap reservasi, hanya
+     *               dipanggil jika buku memiliki antrean
+     * @return jumlah reservasi yang masih menunggu dan digagalkan
+     */
+    public int discard(int bookId, Supplier<? extends Throwable> reason) {
+        ArrayDeque<Reservation> queue = queues.remove(bookId);
+        if (queue == null) {
+            return 0;
+        }
+        Throwable cause = reason.get();
+        int failed = 0;
+        for (Reservation reservation : queue) {
+            if (reservation.getFuture().completeExceptionally(cause)) {
+                failed++;
+            }
+        }
+        return failed;
+    }
+    
+    /**
+     * Menghitung jumlah reservasi yang masih menunggu untuk sebuah buku.
+     * 
+     * @param bookId ID buku
+     * @return jumlah reservasi yang menunggu
+     */
+    public int getQueueLength(int bookId) {
+        ArrayDeque<Reservation> queue = queues.get(bookId);
+        if (queue == null) {
+            return 0;
+        }
+        int waiting = 0;
+        for (Reservation reservation : queue) {
+            if (reservation.isWaiting()) {
+                waiting++;
+            }
+        }
+        return waiting;
+    }
+    
+    /**
+     * Mendapatkan batas jumlah reservasi per judul.
+     * 
+     * @return batas reservasi per judul
+     */
+    public int getMaxHoldsPerTitle() {
+        return maxHoldsPerTitle;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,176 @@
+package com.library.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Kelas LatencyHistogram mencatat distribusi latensi dalam nanodetik dengan
+ * bucket log-linear ala HdrHistogram.
+ * 
+ * <p>Nilai di bawah 128 ns dicatat apa adanya, sedangkan nilai yang lebih besar
+ * dikelompokkan ke 64 sub-bucket per pangkat dua sehingga galat relatifnya
+ * paling besar sekitar 1,6%. Pencatatan ({@link #record(long)}) tidak melakukan
+ * alokasi objek dan aman dipanggil dari banyak thread sekaligus.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see LibraryMetrics
+ */
+public class LatencyHistogram {
+    
+    /** Jumlah bit presisi untuk sub-bucket */
+    private static final int SUB_BUCKET_BITS = 7;
+    
+    /** Jumlah bucket linear untuk nilai kecil */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    
+    /** Jumlah sub-bucket untuk setiap pangkat dua berikutnya */
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2;
+    
+    /** Nilai terbesar yang dapat dicatat (sekitar 73 menit), nilai di atasnya dipotong */
+    private static final long MAX_TRACKABLE = (1L << 42) - 1;
+    
+    /** Jumlah kejadian per bucket */
+    private final AtomicLongArray counts;
+    
+    /** Total jumlah nilai yang dicatat */
+    private final LongAdder totalCount;
+    
+    /** Total seluruh nilai yang dicatat, untuk menghitung rata-rata */
+    private final LongAdder totalSum;
+    
+    /** Nilai terbesar yang pernah dicatat */
+    private final AtomicLong maxValue;
+    
+    /**
+     * Constructor untuk membuat histogram kosong.
+     */
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(bucketIndex(MAX_TRACKABLE) + 1);
+        this.totalCount = new LongAdder();
+        this.totalSum = new LongAdder();
+        this.maxValue = new AtomicLong();
+    }
+    
+    /**
+     * Mencatat satu nilai latensi. Nilai negatif dianggap 0.
+     * 
+     * @param nanos latensi dalam nanodetik
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0L), MAX_TRACKABLE);
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.increment();
+        totalSum.add(value);
+        long current = maxValue.get();
+        while (value > current && !maxValue.compareAndSet(current, value)) {
+            current = maxValue.get();
+        }
+    }
+    
+    /**
+     * Mendapatkan jumlah nilai yang sudah dicatat.
+     * 
+     * @return jumlah pencatatan
+     */
+    public long getCount() {
+        return totalCount.sum();
+    }
+    
+    /**
+     * Mendapatkan nilai terbesar yang pernah dicatat.
+     * 
+     * @return latensi maksimum dalam nanodetik
+     */
+    public long getMax() {
+        return maxValue.get();
+    }
+    
+    /**
+     * Menghitung rata-rata latensi.
+     * 
+     * @return rata-rata dalam nanodetik, 0 jika belum ada data
+     */
+    public double getMean() {
+        long count = totalCount.sum();
+        return count == 0 ? 0.0 : (double) totalSum.sum() / count;
+    }
+    
+    /**
+     * Menghitung nilai pada persentil tertentu.
+     * 
+     * @param percentile persentil antara 0.0 dan 100.0
+     * @return batas atas bucket yang memuat persentil tersebut dalam nanodetik
+     * @throws IllegalArgumentException jika persentil di luar rentang
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0.0 || percentile > 100.0) {
+            throw new IllegalArgumentException("Persentil harus antara 0-100");
+        }
+        
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), getMax());
+            }
+        }
+        return getMax();
+    }
+    
+    /**
+     * Mengosongkan semua data histogram.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        totalCount.reset();
+        totalSum.reset();
+        maxValue.set(0);
+    }
+    
+    /**
+     * Menghitung indeks bucket untuk sebuah nilai.
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - (SUB_BUCKET_BITS - 1);
+        int subBucket = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (subBucket - SUB_BUCKET_HALF);
+    }
+    
+    /**
+     * Menghitung nilai terkecil yang masuk ke bucket tertentu.
+     */
+    static long lowestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / SUB_BUCKET_HALF + 1;
+        long subBucket = offset % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return subBucket << shift;
+    }
+    
+    /**
+     * Menghitung nilai terbesar yang masuk ke bucket tertentu.
+     */
+    static long highestEquivalentValue(int index) {
+        return lowestEquivalentValue(index + 1) - 1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,306 @@
+package com.library.metrics;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Kelas LibraryMetrics mengumpulkan instrumentasi untuk sebuah
+ * {@link com.library.Library}: histogram latensi per operasi, counter hit/miss
+ * dan exception, serta gauge ukuran dan ketersediaan koleksi.
+ * 
+ * <p>Semua pencatatan bebas alokasi dan thread-safe sehingga dapat dibiarkan
+ * aktif di production. Selain counter standar, kelas ini juga mencatat berapa
+ * banyak buku yang dipindai oleh setiap operasi untuk membantu menemukan
+ * pemanggil yang terlalu sering melakukan pemindaian penuh.
+ * 
+ * <p>Metrik dapat dibaca melalui JMX (lihat {@link #register()}) atau sebagai
+ * laporan teks melalui {@link #dump()}.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see LatencyHistogram
+ * @see LibraryOperation
+ */
+public class LibraryMetrics implements LibraryMetricsMBean {
+    
+    /** Nama perpustakaan yang diinstrumentasi */
+    private final String libraryName;
+    
+    /** Histogram latensi per operasi */
+    private final Map<LibraryOperation, LatencyHistogram> latencies;
+    
+    /** Jumlah buku yang dipindai per operasi */
+    private final Map<LibraryOperation, LongAdder> scanned;
+    
+    /** Counter pencarian berdasarkan ID yang berhasil */
+    private final LongAdder hits;
+    
+    /** Counter pencarian berdasarkan ID yang gagal */
+    private final LongAdder misses;
+    
+    /** Counter BookNotFoundException */
+    private final LongAdder bookNotFound;
+    
+    /** Counter DuplicateBookException */
+    private final LongAdder duplicateBook;
+    
+    /** Gauge jumlah total buku */
+    private final IntSupplier totalBooksGauge;
+    
+    /** Gauge jumlah buku tersedia */
+    private final IntSupplier availableBooksGauge;
+    
+    /** Gauge persentase kapasitas terpakai */
+    private final DoubleSupplier capacityUsageGauge;
+    
+    /** Nama JMX jika sudah didaftarkan */
+    private ObjectName objectName;
+    
+    /**
+     * Constructor untuk membuat kumpulan metrik sebuah perpustakaan.
+     * 
+     * @param libraryName nama perpustakaan, dipakai untuk nama JMX
+     * @param totalBooksGauge sumber nilai jumlah total buku
+     * @param availableBooksGauge sumber nilai jumlah buku tersedia
+     * @param capacityUsageGauge sumber nilai persentase kapasitas terpakai
+     */
+    public LibraryMetrics(String libraryName, IntSupplier totalBooksGauge,
+                          IntSupplier availableBooksGauge, DoubleSupplier capacityUsageGauge) {
+        this.libraryName = libraryName;
+        this.totalBooksGauge = totalBooksGauge;
+        this.availableBooksGauge = availableBooksGauge;
+        this.capacityUsageGauge = capacityUsageGauge;
+        this.latencies = new EnumMap<>(LibraryOperation.class);
+        this.scanned = new EnumMap<>(LibraryOperation.class);
+        for (LibraryOperation operation : LibraryOperation.values()) {
+            latencies.put(operation, new LatencyHistogram());
+            scanned.put(operation, new LongAdder());
+        }
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.bookNotFound = new LongAdder();
+        this.duplicateBook = new LongAdder();
+    }
+    
+    /**
+     * Mencatat latensi sebuah operasi yang dimulai pada waktu tertentu.
+     * 
+     * @param operation operasi yang dicatat
+     * @param startNanos hasil {@link System#nanoTime()} saat operasi dimulai
+     */
+    public void record(LibraryOperation operation, long startNanos) {
+        latencies.get(operation).record(System.nanoTime() - startNanos);
+    }
+    
+    /**
+     * Mencatat jumlah buku yang dipindai oleh sebuah operasi.
+     * 
+     * @param operation operasi yang melakukan pemindaian
+     * @param count jumlah buku yang dipindai
+     */
+    public void recordScan(LibraryOperation operation, int count) {
+        scanned.get(operation).add(count);
+    }
+    
+    /**
+     * Mencatat hasil pencarian buku berdasarkan ID.
+     * 
+     * @param found true jika buku ditemukan
+     */
+    public void recordLookup(boolean found) {
+        if (found) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+    }
+    
+    /**
+     * Mencatat bahwa BookNotFoundException akan dilempar.
+     */
+    public void recordBookNotFound() {
+        bookNotFound.increment();
+    }
+    
+    /**
+     * Mencatat bahwa DuplicateBookException akan dilempar.
+     */
+    public void recordDuplicateBook() {
+        duplicateBook.increment();
+    }
+    
+    /**
+     * Mendapatkan histogram latensi untuk sebuah operasi.
+     * 
+     * @param operation operasi yang diinginkan
+     * @return histogram latensi operasi tersebut
+     */
+    public LatencyHistogram getLatency(LibraryOperation operation) {
+        return latencies.get(operation);
+    }
+    
+    @Override
+    public int getTotalBooks() {
+        return totalBooksGauge.getAsInt();
+    }
+    
+    @Override
+    public int getAvailableBooks() {
+        return availableBooksGauge.getAsInt();
+    }
+    
+    @Override
+    public double getCapacityUsagePercentage() {
+        return capacityUsageGauge.getAsDouble();
+    }
+    
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+    
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+    
+    @Override
+    public long getBookNotFoundCount() {
+        return bookNotFound.sum();
+    }
+    
+    @Override
+    public long getDuplicateBookCount() {
+        return duplicateBook.sum();
+    }
+    
+    @Override
+    public double getLatencyMicros(String operation, double percentile) {
+        return latencies.get(parseOperation(operation)).getValueAtPercentile(percentile) / 1000.0;
+    }
+    
+    @Override
+    public double getAverageScanLength(String operation) {
+        LibraryOperation op = parseOperation(operation);
+        long count = latencies.get(op).getCount();
+        return count == 0 ? 0.0 : (double) scanned.get(op).sum() / count;
+    }
+    
+    @Override
+    public String dump() {
+        StringBuilder out = new StringBuilder();
+        try {
+            dump(out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toString();
+    }
+    
+    /**
+     * Menulis laporan teks dari semua metrik ke sebuah Appendable.
+     * 
+     * @param out tujuan penulisan laporan
+     * @throws IOException jika terjadi kesalahan penulisan
+     */
+    public void dump(Appendable out) throws IOException {
+        out.append("=== METRIK PERPUSTAKAAN: ").append(libraryName).append(" ===\n");
+        out.append("Total Buku: ").append(String.valueOf(getTotalBooks())).append("\n");
+        out.append("Buku Tersedia: ").append(String.valueOf(getAvailableBooks())).append("\n");
+        out.append("Kapasitas Terpakai: ")
+           .append(String.format("%.1f%%", getCapacityUsagePercentage())).append("\n");
+        out.append("Hit: ").append(String.valueOf(getHits()))
+           .append(", Miss: ").append(String.valueOf(getMisses())).append("\n");
+        out.append("BookNotFoundException: ").append(String.valueOf(getBookNotFoundCount()))
+           .append(", DuplicateBookException: ").append(String.valueOf(getDuplicateBookCount()))
+           .append("\n\n");
+        out.append(String.format("%-22s %10s %10s %10s %10s %10s %10s %10s%n",
+                "operasi", "jumlah", "mean(us)", "p50(us)", "p99(us)", "p99.9(us)", "max(us)", "scan/op"));
+                
+        for (LibraryOperation operation : LibraryOperation.values()) {
+            LatencyHistogram histogram = latencies.get(operation);
+            long count = histogram.getCount();
+            if (count == 0) {
+                continue;
+            }
+            out.append(String.format("%-22s %10d %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    operation.getMethodName(), count,
+                    histogram.getMean() / 1000.0,
+                    histogram.getValueAtPercentile(50.0) / 1000.0,
+                    histogram.getValueAtPercentile(99.0) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMax() / 1000.0,
+                    (double) scanned.get(operation).sum() / count));
+        }
+    }
+    
+    @Override
+    public void reset() {
+        for (LibraryOperation operation : LibraryOperation.values()) {
+            latencies.get(operation).reset();
+            scanned.get(operation).reset();
+        }
+        hits.reset();
+        misses.reset();
+        bookNotFound.reset();
+        duplicateBook.reset();
+    }
+    
+    /**
+     * Mendaftarkan metrik ini ke platform MBean server.
+     * 
+     * @return nama JMX yang dipakai untuk pendaftaran
+     * @throws IllegalStateException jika pendaftaran gagal
+     */
+    public synchronized ObjectName register() {
+        if (objectName != null) {
+            return objectName;
+        }
+        try {
+            ObjectName name = new ObjectName("com.library:type=LibraryMetrics,name="
+                    + ObjectName.quote(libraryName));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(this, name);
+            objectName = name;
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Gagal mendaftarkan MBean metrik perpustakaan", e);
+        }
+    }
+    
+    /**
+     * Menghapus pendaftaran metrik ini dari platform MBean server.
+     */
+    public synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            // Sudah tidak terdaftar, tidak ada yang perlu dilakukan
+        }
+        objectName = null;
+    }
+    
+    /**
+     * Mengubah nama operasi (nama enum atau nama metode) menjadi LibraryOperation.
+     */
+    private static LibraryOperation parseOperation(String operation) {
+        for (LibraryOperation op : LibraryOperation.values()) {
+            if (op.name().equalsIgnoreCase(operation) || op.getMethodName().equals(operation)) {
+                return op;
+            }
+        }
+        throw new IllegalArgumentException("Operasi tidak dikenal: " + operation);
+    }
+}
\ No newline at end of file
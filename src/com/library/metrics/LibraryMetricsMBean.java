@@ -0,0 +1,91 @@
+package com.library.metrics;
+
+/**
+ * Interface LibraryMetricsMBean mendefinisikan atribut dan operasi yang
+ * diekspos oleh {@link LibraryMetrics} melalui JMX.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see LibraryMetrics
+ */
+public interface LibraryMetricsMBean {
+    
+    /**
+     * Mendapatkan jumlah buku dalam perpustakaan.
+     * 
+     * @return jumlah total buku
+     */
+    int getTotalBooks();
+    
+    /**
+     * Mendapatkan jumlah buku yang tersedia untuk dipinjam.
+     * 
+     * @return jumlah buku tersedia
+     */
+    int getAvailableBooks();
+    
+    /**
+     * Mendapatkan persentase kapasitas yang terpakai.
+     * 
+     * @return persentase kapasitas (0.0 - 100.0)
+     */
+    double getCapacityUsagePercentage();
+    
+    /**
+     * Mendapatkan jumlah pencarian buku berdasarkan ID yang berhasil.
+     * 
+     * @return jumlah hit
+     */
+    long getHits();
+    
+    /**
+     * Mendapatkan jumlah pencarian buku berdasarkan ID yang gagal.
+     * 
+     * @return jumlah miss
+     */
+    long getMisses();
+    
+    /**
+     * Mendapatkan jumlah BookNotFoundException yang dilempar.
+     * 
+     * @return jumlah exception buku tidak ditemukan
+     */
+    long getBookNotFoundCount();
+    
+    /**
+     * Mendapatkan jumlah DuplicateBookException yang dilempar.
+     * 
+     * @return jumlah exception buku duplikat
+     */
+    long getDuplicateBookCount();
+    
+    /**
+     * Mendapatkan latensi operasi pada persentil tertentu.
+     * 
+     * @param operation nama operasi, misalnya {@code "borrowBook"} atau {@code "BORROW"}
+     * @param percentile persentil antara 0.0 dan 100.0
+     * @return latensi dalam mikrodetik
+     */
+    double getLatencyMicros(String operation, double percentile);
+    
+    /**
+     * Mendapatkan rata-rata jumlah buku yang dipindai per pemanggilan operasi.
+     * 
+     * @param operation nama operasi
+     * @return rata-rata buku yang dipindai
+     */
+    double getAverageScanLength(String operation);
+    
+    /**
+     * Menghasilkan laporan teks dari semua metrik.
+     * 
+     * @return laporan metrik
+     */
+    String dump();
+    
+    /**
+     * Mengosongkan semua histogram dan counter.
+     */
+    void reset();
+}
\ No newline at end of file
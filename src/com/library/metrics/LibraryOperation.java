@@ -0,0 +1,85 @@
+package com.library.metrics;
+
+/**
+ * Enum LibraryOperation mendaftar operasi publik {@link com.library.Library}
+ * yang latensinya dicatat oleh {@link LibraryMetrics}.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see LibraryMetrics
+ */
+public enum LibraryOperation {
+    
+    /** Menambahkan buku, baik dengan ID otomatis maupun objek Book */
+    ADD_BOOK("addBook"),
+    
+    /** Mengubah atribut buku */
+    UPDATE_BOOK("updateBook"),
+    
+    /** Mencari buku berdasarkan ID */
+    FIND_BY_ID("findBookById"),
+    
+    /** Mencari buku berdasarkan judul */
+    FIND_BY_TITLE("findBooksByTitle"),
+    
+    /** Mencari buku berdasarkan pengarang */
+    FIND_BY_AUTHOR("findBooksByAuthor"),
+    
+    /** Mencari buku berdasarkan kategori */
+    FIND_BY_CATEGORY("findBooksByCategory"),
+    
+    /** Mendaftar buku yang tersedia */
+    LIST_AVAILABLE("getAvailableBooksList"),
+    
+    /** Mendaftar buku yang sedang dipinjam */
+    LIST_BORROWED("getBorrowedBooks"),
+    
+    /** Mendaftar semua buku */
+    LIST_ALL("getAllBooks"),
+    
+    /** Mendaftar buku sesuai urutan atribut */
+    LIST_SORTED("getBooksSorted"),
+    
+    /** Menghitung buku yang tersedia */
+    COUNT_AVAILABLE("getAvailableBooks"),
+    
+    /** Meminjam buku */
+    BORROW("borrowBook"),
+    
+    /** Mengembalikan buku */
+    RETURN("returnBook"),
+    
+    /** Mereservasi buku yang sedang dipinjam */
+    RESERVE("reserveBook"),
+    
+    /** Menghapus buku */
+    REMOVE("removeBook"),
+    
+    /** Menghapus semua buku yang tersedia */
+    CLEAR_AVAILABLE("clearAvailableBooks"),
+    
+    /** Membuat laporan statistik */
+    STATISTICS("getLibraryStatistics");
+    
+    /** Nama metode Library yang diwakili */
+    private final String methodName;
+    
+    /**
+     * Constructor untuk enum LibraryOperation.
+     * 
+     * @param methodName nama metode Library
+     */
+    LibraryOperation(String methodName) {
+        this.methodName = methodName;
+    }
+    
+    /**
+     * Mendapatkan nama metode Library yang diwakili operasi ini.
+     * 
+     * @return nama metode
+     */
+    public String getMethodName() {
+        return methodName;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.library.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kelas StartupTimings mencatat durasi setiap fase start aplikasi, misalnya
+ * pemuatan image, pembuatan data contoh, dan server siap menerima request.
+ * 
+ * <p>Waktu sejak JVM mulai berjalan ({@code RuntimeMXBean#getStartTime()})
+ * sampai objek ini dibuat dilaporkan sebagai fase pertama. Fase ini mencakup inisialisasi JVM dan pemuatan kelas, bagian yang
+ * dipercepat oleh arsip AppCDS. Setiap fase berikutnya diukur dari akhir fase
+ * sebelumnya dengan {@link System#nanoTime()}.
+ * 
+ * <p>Kelas ini tidak thread-safe; fase start dicatat oleh satu thread.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see com.library.LibraryImage
+ */
+public final class StartupTimings {
+    
+    /** Nama fase sejak proses dibuat sampai pencatatan dimulai */
+    public static final String JVM_PHASE = "JVM dan pemuatan kelas";
+    
+    /** Nama fase yang sudah dicatat */
+    private final List<String> phases;
+    
+    /** Durasi setiap fase dalam nanodetik */
+    private final List<Long> durations;
+    
+    /** Akhir fase terakhir */
+    private long lastMark;
+    
+    /**
+     * Constructor untuk memulai pencatatan. Sebaiknya dibuat di awal main.
+     */
+    public StartupTimings() {
+        this.phases = new ArrayList<>();
+        this.durations = new ArrayList<>();
+        long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+        this.lastMark = System.nanoTime();
+        phases.add(JVM_PHASE);
+        durations.add(Math.max(0, System.currentTimeMillis() - jvmStart) * 1_000_000L);
+    }
+    
+    /**
+     * Menutup fase yang sedang berjalan, yaitu waktu sejak fase sebelumnya.
+     * 
+     * @param phase nama fase
+     * @return durasi fase dalam nanodetik
+     * @throws IllegalArgumentException jika nama fase kosong
+     */
+    public long mark(String phase) {
+        if (phase == null || phase.trim().isEmpty()) {
+            throw new IllegalArgumentException("Nama fase tidak boleh kosong");
+        }
+        long now = System.nanoTime();
+        long duration = now - lastMark;
+        lastMark = now;
+        phases.add(phase);
+        durations.add(duration);
+        return duration;
+    }
+    
+    /**
+     * Mendapatkan nama fase yang sudah dicatat sesuai urutan.
+     * 
+     * @return salinan daftar nama fase
+     */
+    public List<String> getPhases() {
+        return new ArrayList<>(phases);
+    }
+    
+    /**
+     * Mendapatkan durasi satu fase.
+     * 
+     * @param phase nama fase
+     * @return durasi dalam nanodetik, atau -1 jika fase belum dicatat
+     */
+    public long getDuration(String phase) {
+        int index = phases.indexOf(phase);
+        return index < 0 ? -1 : durations.get(index);
+    }
+    
+    /**
+     * Mendapatkan total durasi semua fase yang sudah dicatat.
+     * 
+     * @return total durasi dalam nanodetik
+     */
+    public long getTotal() {
+        long total = 0;
+        for (long duration : durations) {
+            total += duration;
+        }
+        return total;
+    }
+    
+    /**
+     * Membuat laporan fase start dalam bentuk teks.
+     * 
+     * @return satu baris per fase diikuti total
+     */
+    public String format() {
+        StringBuilder result = new StringBuilder("Waktu start:\n");
+        for (int i = 0; i < phases.size(); i++) {
+            result.append(String.format("  %-32s %9.1f ms%n", phases.get(i), durations.get(i) / 1e6));
+        }
+        result.append(String.format("  %-32s %9.1f ms%n", "total", getTotal() / 1e6));
+        return result.toString();
+    }
+}
\ No newline at end of file
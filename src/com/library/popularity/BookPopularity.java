@@ -0,0 +1,47 @@
+package com.library.popularity;
+
+/**
+ * Kelas BookPopularity berisi perkiraan skor popularitas satu buku, dipakai
+ * sebagai hasil daftar buku terpopuler. Objek ini immutable.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see PopularityTracker#top(int)
+ */
+public final class BookPopularity {
+    
+    /** ID buku */
+    private final int bookId;
+    
+    /** Skor popularitas, yaitu perkiraan jumlah peminjaman setelah peluruhan */
+    private final long score;
+    
+    BookPopularity(int bookId, long score) {
+        this.bookId = bookId;
+        this.score = score;
+    }
+    
+    /**
+     * Mendapatkan ID buku.
+     * 
+     * @return ID buku
+     */
+    public int getBookId() {
+        return bookId;
+    }
+    
+    /**
+     * Mendapatkan skor popularitas.
+     * 
+     * @return perkiraan jumlah peminjaman setelah peluruhan
+     */
+    public long getScore() {
+        return score;
+    }
+    
+    @Override
+    public String toString() {
+        return "BookPopularity{ID=" + bookId + ", Score=" + score + '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.library.popularity;
+
+import java.util.Arrays;
+
+/**
+ * Kelas CountMinSketch memperkirakan frekuensi ID buku dengan memori tetap.
+ * 
+ * <p>Sketch terdiri dari beberapa baris counter; setiap ID dipetakan ke satu
+ * counter per baris dengan fungsi hash yang berbeda, dan perkiraan frekuensi
+ * adalah nilai minimum dari counter-counter tersebut. Perkiraan tidak pernah
+ * lebih kecil dari frekuensi sebenarnya dan hanya bisa lebih besar karena
+ * tabrakan hash. Penambahan memakai conservative update (hanya counter yang
+ * bernilai minimum yang dinaikkan) untuk mengurangi kelebihan perkiraan.
+ * 
+ * <p>{@link #halve()} membagi dua semua counter sehingga kejadian lama
+ * berbobot semakin kecil. Kelas ini tidak thread-safe.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see PopularityTracker
+ */
+public class CountMinSketch {
+    
+    /** Jumlah baris counter */
+    private static final int DEPTH = 4;
+    
+    /** Seed hash per baris */
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+    
+    /** Counter semua baris, baris demi baris */
+    private final int[] table;
+    
+    /** Mask untuk memetakan hash ke kolom */
+    private final int mask;
+    
+    /**
+     * Constructor untuk membuat sketch dengan lebar baris tertentu.
+     * 
+     * @param width jumlah counter per baris, dibulatkan ke atas menjadi pangkat dua
+     * @throws IllegalArgumentException jika width tidak lebih dari 0
+     */
+    public CountMinSketch(int width) {
+        if (width <= 0 || width > (1 << 26)) {
+            throw new IllegalArgumentException("Lebar sketch harus antara 1 dan 2^26");
+        }
+        int columns = Integer.highestOneBit(width);
+        if (columns < width) {
+            columns <<= 1;
+        }
+        this.mask = columns - 1;
+        this.table = new int[DEPTH * columns];
+    }
+    
+    /**
+     * Menambah frekuensi sebuah ID sebanyak satu.
+     * 
+     * @param key ID buku
+     * @return perkiraan frekuensi setelah penambahan
+     */
+    public int increment(int key) {
+        int estimate = estimate(key);
+        if (estimate == Integer.MAX_VALUE) {
+            return estimate;
+        }
+        int width = mask + 1;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = row * width + column(key, row);
+            if (table[index] == estimate) {
+                table[index] = estimate + 1;
+            }
+        }
+        return estimate + 1;
+    }
+    
+    /**
+     * Memperkirakan frekuensi sebuah ID.
+     * 
+     * @param key ID buku
+     * @return perkiraan frekuensi, tidak pernah lebih kecil dari frekuensi sebenarnya
+     */
+    public int estimate(int key) {
+        int width = mask + 1;
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, table[row * width + column(key, row)]);
+        }
+        return min;
+    }
+    
+    /**
+     * Membagi dua semua counter untuk meluruhkan kejadian lama.
+     */
+    public void halve() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] >>>= 1;
+        }
+    }
+    
+    /**
+     * Mengosongkan semua counter.
+     */
+    public void clear() {
+        Arrays.fill(table, 0);
+    }
+    
+    private int column(int key, int row) {
+        int h = (key ^ (key >>> 16)) * SEEDS[row];
+        return (h ^ (h >>> 15)) & mask;
+    }
+}
\ No newline at end of file
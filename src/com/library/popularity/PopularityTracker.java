@@ -0,0 +1,343 @@
+package com.library.popularity;
+
+import com.library.Book;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Kelas PopularityTracker melacak popularitas buku berdasarkan frekuensi
+ * peminjaman dengan memori yang tidak bergantung pada jumlah buku.
+ * 
+ * <p>Frekuensi setiap buku diperkirakan oleh {@link CountMinSketch}, sedangkan
+ * kandidat buku terpopuler disimpan di min-heap berindeks berukuran tetap:
+ * buku yang perkiraannya melampaui skor terendah di heap menggantikan buku
+ * tersebut. Setiap kali satu paruh waktu berlalu, semua counter dan skor
+ * dibagi dua sehingga peminjaman lama berbobot semakin kecil dan buku yang
+ * baru ramai dapat menyalip buku yang dulu populer.
+ * 
+ * <p>Pembacaan skor juga meluruhkan counter sampai waktu saat ini menurut
+ * {@link #setClock(Clock)}, sehingga skor buku yang lama tidak dipinjam ikut
+ * turun meskipun belum ada peminjaman baru. Karena pembacaan dapat mengubah
+ * counter, semua metode publik memakai monitor tracker ini, sehingga tracker
+ * aman dibaca dari banyak thread yang memegang read lock Library.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see CountMinSketch
+ */
+public class PopularityTracker {
+    
+    /** Jumlah kandidat buku terpopuler default */
+    public static final int DEFAULT_CAPACITY = 100;
+    
+    /** Paruh waktu peluruhan default */
+    public static final Duration DEFAULT_HALF_LIFE = Duration.ofDays(7);
+    
+    /** Lebar baris sketch default */
+    private static final int SKETCH_WIDTH = 1 << 16;
+    
+    /** Jumlah pembagian dua yang membuat semua counter pasti nol */
+    private static final int MAX_HALVINGS = 32;
+    
+    /** Urutan skor menurun, ID menaik untuk skor yang sama */
+    private static final Comparator<BookPopularity> BY_SCORE =
+        Comparator.comparingLong(BookPopularity::getScore).reversed()
+                  .thenComparingInt(BookPopularity::getBookId);
+                  
+    /** Perkiraan frekuensi semua buku */
+    private final CountMinSketch sketch;
+    
+    /** Paruh waktu dalam milidetik */
+    private final long halfLifeMillis;
+    
+    /** ID buku di min-heap kandidat */
+    private final int[] heapIds;
+    
+    /** Skor buku di min-heap kandidat, sejajar dengan heapIds */
+    private final long[] heapScores;
+    
+    /** Posisi setiap kandidat di heap */
+    private final Map<Integer, Integer> positions;
+    
+    /** Jumlah kandidat di heap */
+    private int heapSize;
+    
+    /** Awal periode peluruhan yang sedang berjalan, -1 jika belum ada peminjaman */
+    private long periodStart;
+    
+    /** Sumber waktu untuk peluruhan saat pembacaan */
+    private Clock clock;
+    
+    /**
+     * Constructor untuk membuat tracker dengan kapasitas dan paruh waktu default.
+     */
+    public PopularityTracker() {
+        this(DEFAULT_CAPACITY, DEFAULT_HALF_LIFE);
+    }
+    
+    /**
+     * Constructor untuk membuat tracker.
+     * 
+     * @param capacity jumlah maksimum kandidat buku terpopuler, harus lebih dari 0
+     * @param halfLife lama hingga bobot peminjaman berkurang setengah, harus positif
+     * @throws IllegalArgumentException jika parameter tidak valid
+     */
+    public PopularityTracker(int capacity, Duration halfLife) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Kapasitas kandidat harus lebih dari 0");
+        }
+        if (halfLife == null || halfLife.isNegative() || halfLife.isZero()) {
+            throw new IllegalArgumentException("Paruh waktu harus positif");
+        }
+        
+        this.sketch = new CountMinSketch(SKETCH_WIDTH);
+        this.halfLifeMillis = halfLife.toMillis();
+        this.heapIds = new int[capacity];
+        this.heapScores = new long[capacity];
+        this.positions = new HashMap<>(capacity * 2);
+        this.periodStart = -1;
+        this.clock = Clock.systemUTC();
+    }
+    
+    /**
+     * Mengatur sumber waktu untuk peluruhan saat pembacaan, sebaiknya sama
+     * dengan sumber waktu peminjaman.
+     * 
+     * @param clock sumber waktu, tidak boleh null
+     * @throws IllegalArgumentException jika clock adalah null
+     */
+    public synchronized void setClock(Clock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock tidak boleh null");
+        }
+        this.clock = clock;
+    }
+    
+    /**
+     * Mencatat satu peminjaman buku.
+     * 
+     * @param bookId ID buku yang dipinjam
+     * @param timestamp waktu peminjaman dalam milidetik epoch
+     */
+    public synchronized void recordBorrow(int bookId, long timestamp) {
+        decay(timestamp);
+        long score = sketch.increment(bookId);
+        
+        Integer position = positions.get(bookId);
+        if (position != null) {
+            heapScores[position] = score;
+            siftDown(position);
+        } else if (heapSize < heapIds.length) {
+            heapIds[heapSize] = bookId;
+            heapScores[heapSize] = score;
+            positions.put(bookId, heapSize);
+            siftUp(heapSize++);
+        } else if (score > heapScores[0]) {
+            positions.remove(heapIds[0]);
+            heapIds[0] = bookId;
+            heapScores[0] = score;
+            positions.put(bookId, 0);
+            siftDown(0);
+        }
+    }
+    
+    /**
+     * Mengeluarkan buku dari daftar kandidat, misalnya karena buku dihapus dari
+     * koleksi. Perkiraan di sketch tetap ada dan meluruh seiring waktu.
+     * 
+     * @param bookId ID buku
+     */
+    public synchronized void remove(int bookId) {
+        Integer position = positions.remove(bookId);
+        if (position == null) {
+            return;
+        }
+        int last = --heapSize;
+        if (position != last) {
+            move(last, position);
+            siftDown(position);
+            siftUp(position);
+        }
+    }
+    
+    /**
+     * Memperkirakan skor popularitas sebuah buku.
+     * 
+     * @param bookId ID buku
+     * @return perkiraan jumlah peminjaman setelah peluruhan
+     */
+    public synchronized long getScore(int bookId) {
+        decayToNow();
+        return sketch.estimate(bookId);
+    }
+    
+    /**
+     * Mendapatkan buku terpopuler dari daftar kandidat.
+     * 
+     * @param limit jumlah maksimum buku, paling banyak sebesar kapasitas kandidat
+     * @return buku terurut dari skor tertinggi
+     */
+    public synchronized List<BookPopularity> top(int limit) {
+        decayToNow();
+        List<BookPopularity> result = new ArrayList<>(heapSize);
+        for (int i = 0; i < heapSize; i++) {
+            result.add(new BookPopularity(heapIds[i], heapScores[i]));
+        }
+        result.sort(BY_SCORE);
+        return limit < result.size() ? result.subList(0, Math.max(limit, 0)) : result;
+    }
+    
+    /**
+     * Memilih buku paling populer dari sekumpulan buku tanpa mengurutkan
+     * seluruhnya. Pemilihan memakai heap berukuran limit, sehingga biayanya
+     * O(n log limit) untuk n buku.
+     * 
+     * @param books buku yang dipilih
+     * @param limit jumlah maksimum buku yang dikembalikan
+     * @return buku terurut dari skor tertinggi, ID terkecil lebih dulu untuk skor sama
+     */
+    public synchronized List<Book> selectMostPopular(Iterator<Book> books, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        decayToNow();
+        Comparator<Ranked> order = (a, b) -> a.score != b.score
+                ? Long.compare(a.score, b.score)
+                : Integer.compare(b.book.getBookId(), a.book.getBookId());
+        PriorityQueue<Ranked> heap = new PriorityQueue<>(Math.min(limit, 1024) + 1, order);
+        while (books.hasNext()) {
+            Book book = books.next();
+            Ranked candidate = new Ranked(book, sketch.estimate(book.getBookId()));
+            if (heap.size() < limit) {
+                heap.add(candidate);
+            } else if (order.compare(candidate, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        }
+        
+        Ranked[] ranked = heap.toArray(new Ranked[0]);
+        Arrays.sort(ranked, order.reversed());
+        List<Book> result = new ArrayList<>(ranked.length);
+        for (Ranked entry : ranked) {
+            result.add(entry.book);
+        }
+        return result;
+    }
+    
+    /**
+     * Mengosongkan semua catatan popularitas.
+     */
+    public synchronized void clear() {
+        sketch.clear();
+        positions.clear();
+        heapSize = 0;
+        periodStart = -1;
+    }
+    
+    /**
+     * Meluruhkan counter sampai waktu saat ini sebelum pembacaan. Tidak
+     * memulai periode baru jika belum ada peminjaman.
+     */
+    private void decayToNow() {
+        if (periodStart >= 0) {
+            decay(clock.millis());
+        }
+    }
+    
+    /**
+     * Membagi dua counter dan skor untuk setiap paruh waktu yang sudah berlalu.
+     * Pembagian seragam tidak mengubah urutan heap.
+     */
+    private void decay(long timestamp) {
+        if (periodStart < 0) {
+            periodStart = timestamp;
+            return;
+        }
+        long periods = (timestamp - periodStart) / halfLifeMillis;
+        if (periods <= 0) {
+            return;
+        }
+        periodStart += periods * halfLifeMillis;
+        if (periods >= MAX_HALVINGS) {
+            sketch.clear();
+            Arrays.fill(heapScores, 0, heapSize, 0);
+            return;
+        }
+        for (long i = 0; i < periods; i++) {
+            sketch.halve();
+        }
+        for (int i = 0; i < heapSize; i++) {
+            heapScores[i] >>>= periods;
+        }
+    }
+    
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heapScores[parent] <= heapScores[index]) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+    
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < heapSize && heapScores[left] < heapScores[smallest]) {
+                smallest = left;
+            }
+            if (right < heapSize && heapScores[right] < heapScores[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+    
+    private void swap(int a, int b) {
+        int id = heapIds[a];
+        long score = heapScores[a];
+        move(b, a);
+        heapIds[b] = id;
+        heapScores[b] = score;
+        positions.put(id, b);
+    }
+    
+    private void move(int from, int to) {
+        heapIds[to] = heapIds[from];
+        heapScores[to] = heapScores[from];
+        positions.put(heapIds[to], to);
+    }
+    
+    /**
+     * Pasangan buku dan skor untuk pemilihan tanpa menghitung ulang perkiraan.
+     */
+    private static final class Ranked {
+        
+        private final Book book;
+        
+        private final long score;
+        
+        Ranked(Book book, long score) {
+            this.book = book;
+            this.score = score;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,503 @@
+package com.library.replication;
+
+import com.library.Book;
+import com.library.BookResult;
+import com.library.Library;
+import com.library.OperationStatus;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Kelas ReplicationFollower menerima log perubahan dari {@link ReplicationLeader}
+ * dan menerapkannya ke {@link Library} replika miliknya sendiri.
+ * 
+ * <p>Replika dilindungi oleh {@link ReadWriteLock}: perubahan dari leader
+ * diterapkan dengan write lock, sedangkan pencarian memakai read lock sehingga
+ * banyak pembaca dapat berjalan bersamaan. Lock yang sama dapat dibagikan dengan
+ * komponen lain, misalnya server HTTP yang melayani replika.
+ * 
+ * <p>Setiap perubahan membawa nomor urut dari leader. Pembaca yang membutuhkan
+ * read-your-writes dapat meminta nomor urut minimum, dan pembacaan menunggu
+ * sampai replika sudah menerapkan perubahan tersebut. Jika koneksi terputus,
+ * follower menyambung ulang dan melanjutkan dari nomor urut terakhirnya, tetapi
+ * hanya jika leader masih leader yang sama dengan pengirim snapshot terakhir;
+ * leader yang berbeda atau sudah dimulai ulang mengirim snapshot baru.
+ * 
+ * <p>Replika harus berkapasitas minimal sama dengan leader; snapshot dari
+ * leader yang lebih besar ditolak. Setiap record yang tidak dapat diterapkan
+ * dengan hasil {@link OperationStatus#OK} berarti replika sudah menyimpang
+ * dari leader, sehingga koneksi diputus dan follower meminta snapshot baru.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see ReplicationLeader
+ */
+public class ReplicationFollower implements AutoCloseable {
+    
+    /** Jeda sebelum menyambung ulang ke leader */
+    public static final long RECONNECT_DELAY_MILLIS = 1000;
+    
+    /** Library replika */
+    private final Library library;
+    
+    /** Lock yang melindungi Library replika */
+    private final ReadWriteLock lock;
+    
+    /** Alamat leader */
+    private final InetSocketAddress leaderAddress;
+    
+    /** Thread penerima log */
+    private final Thread receiver;
+    
+    /** Monitor untuk pembaca yang menunggu nomor urut tertentu */
+    private final Object progress;
+    
+    /** Socket yang sedang dipakai */
+    private volatile Socket socket;
+    
+    /** Nomor urut terakhir yang sudah diterapkan */
+    private volatile long appliedSequence;
+    
+    /** Nomor urut terakhir yang diketahui dari leader */
+    private volatile long leaderSequence;
+    
+    /** ID leader pengirim snapshot terakhir */
+    private volatile long leaderId;
+    
+    /** Penanda bahwa follower sedang terhubung */
+    private volatile boolean connected;
+    
+    /** Penanda bahwa replika menyimpang dan harus dimuat ulang dari snapshot */
+    private volatile boolean diverged;
+    
+    /** Error koneksi terakhir, null jika belum ada */
+    private volatile IOException lastError;
+    
+    /** Penanda bahwa follower sudah ditutup */
+    private volatile boolean closed;
+    
+    /**
+     * Constructor untuk membuat follower dengan lock sendiri.
+     * 
+     * @param library library replika
+     * @param host host leader
+     * @param port port replikasi leader
+     */
+    public ReplicationFollower(Library library, String host, int port) {
+        this(library, new ReentrantReadWriteLock(), new InetSocketAddress(host, port));
+    }
+    
+    /**
+     * Constructor untuk membuat follower dan langsung menyambung ke leader.
+     * Isi Library replika akan diganti dengan snapshot dari leader.
+     * 
+     * @param library library replika, tidak boleh null
+     * @param lock lock yang melindungi library, tidak boleh null
+     * @param leaderAddress alamat replikasi leader, tidak boleh null
+     * @throws IllegalArgumentException jika parameter tidak valid
+     */
+    public ReplicationFollower(Library library, ReadWriteLock lock, InetSocketAddress leaderAddress) {
+        if (library == null) {
+            throw new IllegalArgumentException("Objek library tidak boleh null");
+        }
+        if (lock == null) {
+            throw new IllegalArgumentException("Lock tidak boleh null");
+        }
+        if (leaderAddress == null) {
+            throw new IllegalArgumentException("Alamat leader tidak boleh null");
+        }
+        
+        this.library = library;
+        this.lock = lock;
+        this.leaderAddress = leaderAddress;
+        this.progress = new Object();
+        this.appliedSequence = ReplicationProtocol.NO_SEQUENCE;
+        this.leaderSequence = ReplicationProtocol.NO_SEQUENCE;
+        this.leaderId = ReplicationProtocol.NO_LEADER;
+        this.receiver = new Thread(this::runReceiver, "replication-receiver");
+        this.receiver.setDaemon(true);
+        this.receiver.start();
+    }
+    
+    /**
+     * Mendapatkan lock yang melindungi Library replika.
+     * 
+     * @return lock baca/tulis
+     */
+    public ReadWriteLock getLock() {
+        return lock;
+    }
+    
+    /**
+     * Mendapatkan nomor urut terakhir yang sudah diterapkan ke replika.
+     * 
+     * @return nomor urut terakhir, -1 jika snapshot belum diterima
+     */
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+    
+    /**
+     * Mendapatkan jumlah perubahan yang diketahui ada di leader tetapi belum
+     * diterapkan ke replika.
+     * 
+     * @return lag dalam jumlah record
+     */
+    public long getLag() {
+        return Math.max(0, leaderSequence - appliedSequence);
+    }
+    
+    /**
+     * Memeriksa apakah follower sedang terhubung ke leader.
+     * 
+     * @return true jika terhubung
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+    
+    /**
+     * Mendapatkan error koneksi terakhir.
+     * 
+     * @return error terakhir, null jika belum ada
+     */
+    public IOException getLastError() {
+        return lastError;
+    }
+    
+    /**
+     * Menunggu sampai replika sudah menerapkan nomor urut tertentu.
+     * 
+     * @param minSequence nomor urut minimum
+     * @param timeout batas waktu menunggu
+     * @param unit satuan batas waktu
+     * @return true jika nomor urut sudah tercapai, false jika waktu habis
+     * @throws InterruptedException jika thread diinterupsi saat menunggu
+     */
+    public boolean awaitSequence(long minSequence, long timeout, TimeUnit unit) throws InterruptedException {
+        if (appliedSequence >= minSequence) {
+            return true;
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (progress) {
+            while (appliedSequence < minSequence) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || closed) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(progress, remaining);
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Menjalankan query terhadap replika setelah replika mencapai nomor urut
+     * minimum. Query dijalankan dengan read lock dan tidak boleh mengubah Library.
+     * 
+     * @param <T> tipe hasil query
+     * @param minSequence nomor urut minimum, -1 untuk membaca apa adanya
+     * @param timeout batas waktu menunggu
+     * @param unit satuan batas waktu
+     * @param query query yang dijalankan
+     * @return hasil query
+     * @throws TimeoutException jika replika belum mencapai nomor urut sebelum waktu habis
+     * @throws InterruptedException jika thread diinterupsi saat menunggu
+     */
+    public <T> T read(long minSequence, long timeout, TimeUnit unit, Function<Library, T> query)
+            throws TimeoutException, InterruptedException {
+        if (!awaitSequence(minSequence, timeout, unit)) {
+            throw new TimeoutException("Replika belum mencapai nomor urut " + minSequence);
+        }
+        return read(query);
+    }
+    
+    /**
+     * Mencari buku berdasarkan ID di replika.
+     * 
+     * @param bookId ID buku yang dicari
+     * @return salinan buku, atau null jika tidak ditemukan
+     */
+    public Book findBookById(int bookId) {
+        return read(library -> copyOf(library.findBookById(bookId)));
+    }
+    
+    /**
+     * Mencari buku berdasarkan ID setelah replika mencapai nomor urut minimum.
+     * 
+     * @param bookId ID buku yang dicari
+     * @param minSequence nomor urut minimum
+     * @param timeout batas waktu menunggu
+     * @param unit satuan batas waktu
+     * @return salinan buku, atau null jika tidak ditemukan
+     * @throws TimeoutException jika replika belum mencapai nomor urut sebelum waktu habis
+     * @throws InterruptedException jika thread diinterupsi saat menunggu
+     */
+    public Book findBookById(int bookId, long minSequence, long timeout, TimeUnit unit)
+            throws TimeoutException, InterruptedException {
+        return read(minSequence, timeout, unit, library -> copyOf(library.findBookById(bookId)));
+    }
+    
+    /**
+     * Mencari buku berdasarkan judul di replika.
+     * 
+     * @param title judul buku yang dicari
+     * @return list salinan buku yang ditemukan
+     */
+    public List<Book> findBooksByTitle(String title) {
+        return read(library -> copyOf(library.findBooksByTitle(title)));
+    }
+    
+    /**
+     * Mencari buku berdasarkan pengarang di replika.
+     * 
+     * @param author nama pengarang yang dicari
+     * @return list salinan buku yang ditemukan
+     */
+    public List<Book> findBooksByAuthor(String author) {
+        return read(library -> copyOf(library.findBooksByAuthor(author)));
+    }
+    
+    /**
+     * Mencari buku berdasarkan kategori di replika.
+     * 
+     * @param category kategori yang dicari
+     * @return list salinan buku yang ditemukan
+     */
+    public List<Book> findBooksByCategory(String category) {
+        return read(library -> copyOf(library.findBooksByCategory(category)));
+    }
+    
+    /**
+     * Menghentikan follower. Isi replika tetap dapat dibaca.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                // Sudah tertutup
+            }
+        }
+        receiver.interrupt();
+        try {
+            receiver.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (progress) {
+            progress.notifyAll();
+        }
+    }
+    
+    /**
+     * Menjalankan query dengan read lock.
+     */
+    private <T> T read(Function<Library, T> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(library);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Loop thread penerima: menyambung ke leader dan menyambung ulang jika terputus.
+     */
+    private void runReceiver() {
+        while (!closed) {
+            try (Socket s = new Socket()) {
+                socket = s;
+                s.connect(leaderAddress);
+                s.setTcpNoDelay(true);
+                connected = true;
+                receive(new DataInputStream(new BufferedInputStream(s.getInputStream())),
+                        new DataOutputStream(new BufferedOutputStream(s.getOutputStream())));
+            } catch (IOException e) {
+                if (!closed) {
+                    IOException previous = lastError;
+                    if (previous == null || !String.valueOf(previous.getMessage()).equals(e.getMessage())) {
+                        System.err.println("Replikasi: " + e.getMessage());
+                    }
+                    lastError = e;
+                }
+            } finally {
+                connected = false;
+            }
+            
+            if (!closed) {
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Mengirim handshake lalu menerapkan frame dari leader sampai koneksi terputus.
+     * Replika yang menyimpang meminta snapshot dengan nomor urut kosong.
+     */
+    private void receive(DataInputStream in, DataOutputStream out) throws IOException {
+        out.writeInt(ReplicationProtocol.MAGIC);
+        out.writeLong(leaderId);
+        out.writeLong(diverged ? ReplicationProtocol.NO_SEQUENCE : appliedSequence);
+        out.flush();
+        
+        while (!closed) {
+            byte tag = in.readByte();
+            switch (tag) {
+                case ReplicationProtocol.SNAPSHOT:
+                    long snapshotLeader = in.readLong();
+                    long sequence = in.readLong();
+                    int capacity = in.readInt();
+                    int count = in.readInt();
+                    if (capacity > library.getMaxCapacity()) {
+                        throw new IOException("Kapasitas replika " + library.getMaxCapacity()
+                                            + " lebih kecil dari kapasitas leader " + capacity);
+                    }
+                    List<Book> books = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        books.add(ReplicationProtocol.readBook(in));
+                    }
+                    applySnapshot(books, snapshotLeader, sequence);
+                    break;
+                case ReplicationProtocol.RECORD:
+                    applyRecord(ReplicationProtocol.readRecord(in));
+                    break;
+                case ReplicationProtocol.HEARTBEAT:
+                    leaderSequence = Math.max(leaderSequence, in.readLong());
+                    break;
+                default:
+                    throw new IOException("Frame replikasi tidak dikenal: " + tag);
+            }
+            
+            if (in.available() == 0) {
+                // Konfirmasi satu kali per batch yang sudah terbaca habis
+                out.writeLong(appliedSequence);
+                out.flush();
+                synchronized (progress) {
+                    progress.notifyAll();
+                }
+            }
+        }
+    }
+    
+    /**
+     * Mengganti seluruh isi replika dengan snapshot dari leader dan mencatat
+     * ID leader tersebut untuk handshake berikutnya.
+     */
+    private void applySnapshot(List<Book> books, long snapshotLeader, long sequence) throws IOException {
+        if (books.size() > library.getMaxCapacity()) {
+            throw new IOException("Kapasitas replika tidak cukup untuk " + books.size() + " buku");
+        }
+        
+        boolean sameLeader = snapshotLeader == leaderId;
+        lock.writeLock().lock();
+        try {
+            for (Book book : library.getAllBooks()) {
+                if (!book.isAvailable()) {
+                    library.tryReturnBook(book.getBookId());
+                }
+                library.tryRemoveBook(book.getBookId());
+            }
+            for (Book book : books) {
+                BookResult result = library.tryAddBook(book);
+                if (!result.isOk()) {
+                    diverged = true;
+                    throw new IOException("Snapshot tidak dapat dimuat pada buku " + book.getBookId()
+                                        + ": " + result.getStatus().getDescription());
+                }
+            }
+            appliedSequence = sequence;
+            leaderId = snapshotLeader;
+            diverged = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // Nomor urut leader lain tidak sebanding dengan nomor urut leader ini
+        leaderSequence = sameLeader ? Math.max(leaderSequence, sequence) : sequence;
+    }
+    
+    /**
+     * Menerapkan satu record perubahan ke replika. Record yang tidak berhasil
+     * diterapkan menandai replika menyimpang dan memutus koneksi.
+     */
+    private void applyRecord(ReplicationRecord record) throws IOException {
+        leaderSequence = Math.max(leaderSequence, record.sequence);
+        if (record.sequence <= appliedSequence) {
+            return;
+        }
+        if (appliedSequence == ReplicationProtocol.NO_SEQUENCE || record.sequence != appliedSequence + 1) {
+            throw new IOException("Log replikasi tidak berurutan pada nomor urut " + record.sequence);
+        }
+        
+        BookResult result;
+        lock.writeLock().lock();
+        try {
+            switch (record.type) {
+                case ADD:
+                    result = library.tryAddBook(record.book);
+                    break;
+                case BORROW:
+                    result = library.tryBorrowBook(record.bookId, record.borrower);
+                    break;
+                case RETURN:
+                    result = library.tryReturnBook(record.bookId);
+                    break;
+                case REMOVE:
+                    result = library.tryRemoveBook(record.bookId);
+                    break;
+                case UPDATE:
+                    result = library.tryUpdateBook(record.book);
+                    break;
+                case CLEAR_AVAILABLE:
+                    library.clearAvailableBooks();
+                    result = null;
+                    break;
+                default:
+                    result = null;
+                    break;
+            }
+            if (result != null && !result.isOk()) {
+                diverged = true;
+                throw new IOException("Replika menyimpang dari leader pada nomor urut " + record.sequence
+                                    + " (" + record.type + " buku " + record.bookId + "): "
+                                    + result.getStatus().getDescription());
+            }
+            appliedSequence = record.sequence;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private static Book copyOf(Book book) {
+        return book != null ? new Book(book) : null;
+    }
+    
+    private static List<Book> copyOf(List<Book> books) {
+        List<Book> copies = new ArrayList<>(books.size());
+        for (Book book : books) {
+            copies.add(new Book(book));
+        }
+        return copies;
+    }
+}
\ No newline at end of file
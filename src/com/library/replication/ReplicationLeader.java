@@ -0,0 +1,476 @@
+package com.library.replication;
+
+import com.library.Book;
+import com.library.Library;
+import com.library.events.MutationEvent;
+import com.library.events.MutationSubscription;
+import com.library.events.MutationType;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Kelas ReplicationLeader mengirim log perubahan sebuah {@link Library} secara
+ * berurutan kepada follower melalui socket TCP.
+ * 
+ * <p>Satu thread pump membaca event dari {@link Library#getMutationEvents()} dengan
+ * kebijakan {@link MutationSubscription.OverflowPolicy#BLOCK}, sehingga tidak ada
+ * perubahan yang hilang. Setiap event disalin menjadi record immutable di log
+ * melingkar berukuran tetap, dan sekaligus diterapkan ke salinan isi perpustakaan
+ * yang dipakai sebagai snapshot. Follower yang baru terhubung, atau yang sudah
+ * tertinggal lebih jauh dari isi log, menerima snapshot lebih dulu lalu
+ * melanjutkan dari log.
+ * 
+ * <p>Setiap leader memiliki ID acak yang dikirim bersama snapshot. Follower yang
+ * menyambung dengan ID leader lain, misalnya setelah leader dimulai ulang dan
+ * nomor urutnya kembali dari awal, selalu menerima snapshot baru.
+ * 
+ * <p>Leader harus dibuat sebelum Library mulai diubah oleh thread lain, karena
+ * snapshot awal dibaca langsung dari Library. Jika thread pump berhenti karena
+ * error, langganan event ditutup agar penulis Library tidak tertahan, dan
+ * leader berhenti melayani follower.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see ReplicationFollower
+ */
+public class ReplicationLeader implements AutoCloseable {
+    
+    /** Port default untuk replikasi */
+    public static final int DEFAULT_PORT = 9090;
+    
+    /** Jumlah record default yang disimpan di log */
+    public static final int DEFAULT_LOG_RETENTION = 65536;
+    
+    /** Interval heartbeat ketika tidak ada perubahan */
+    public static final long HEARTBEAT_INTERVAL_MILLIS = 1000;
+    
+    /** Jumlah maksimum record per pengiriman */
+    private static final int SEND_BATCH = 512;
+    
+    /** Lama thread pump menunggu ketika tidak ada event */
+    private static final long IDLE_PARK_NANOS = 200_000;
+    
+    /** Library yang direplikasi */
+    private final Library library;
+    
+    /** ID acak leader ini, dikirim bersama snapshot */
+    private final long leaderId;
+    
+    /** Socket server untuk follower */
+    private final ServerSocket serverSocket;
+    
+    /** Langganan event mutasi */
+    private final MutationSubscription subscription;
+    
+    /** Log melingkar, dijaga oleh monitor log itu sendiri */
+    private final ReplicationRecord[] log;
+    
+    /** Salinan isi perpustakaan untuk snapshot, dijaga oleh monitor log */
+    private final LinkedHashMap<Integer, Book> state;
+    
+    /** Nomor urut snapshot awal */
+    private final long baseSequence;
+    
+    /** Nomor urut record terakhir di log */
+    private volatile long sequence;
+    
+    /** Koneksi follower yang aktif */
+    private final List<FollowerSession> followers;
+    
+    /** Thread pembaca event */
+    private final Thread pump;
+    
+    /** Thread penerima koneksi */
+    private final Thread acceptor;
+    
+    /** Penanda bahwa leader sudah ditutup */
+    private volatile boolean closed;
+    
+    /**
+     * Constructor untuk membuat leader pada port tertentu dengan retensi log default.
+     * 
+     * @param library library yang direplikasi
+     * @param port port TCP, 0 untuk port acak
+     * @throws IOException jika port tidak dapat dibuka
+     */
+    public ReplicationLeader(Library library, int port) throws IOException {
+        this(library, new InetSocketAddress(port), DEFAULT_LOG_RETENTION);
+    }
+    
+    /**
+     * Constructor untuk membuat leader dan langsung menerima follower.
+     * 
+     * @param library library yang direplikasi, tidak boleh null
+     * @param address alamat yang akan di-bind
+     * @param logRetention jumlah record yang disimpan di log, harus lebih dari 0
+     * @throws IOException jika alamat tidak dapat dibuka
+     * @throws IllegalArgumentException jika parameter tidak valid
+     */
+    public ReplicationLeader(Library library, InetSocketAddress address, int logRetention) throws IOException {
+        if (library == null) {
+            throw new IllegalArgumentException("Objek library tidak boleh null");
+        }
+        if (logRetention <= 0) {
+            throw new IllegalArgumentException("Retensi log harus lebih dari 0");
+        }
+        
+        this.library = library;
+        this.leaderId = newLeaderId();
+        this.log = new ReplicationRecord[logRetention];
+        this.state = new LinkedHashMap<>();
+        this.followers = new CopyOnWriteArrayList<>();
+        this.subscription = library.getMutationEvents().subscribe(MutationSubscription.OverflowPolicy.BLOCK);
+        this.baseSequence = subscription.getSequence();
+        this.sequence = baseSequence;
+        for (Book book : library.getAllBooks()) {
+            state.put(book.getBookId(), new Book(book));
+        }
+        
+        this.serverSocket = new ServerSocket();
+        try {
+            serverSocket.bind(address);
+        } catch (IOException e) {
+            subscription.close();
+            throw e;
+        }
+        
+        this.pump = new Thread(this::runPump, "replication-pump");
+        this.pump.setDaemon(true);
+        this.pump.start();
+        this.acceptor = new Thread(this::runAcceptor, "replication-acceptor");
+        this.acceptor.setDaemon(true);
+        this.acceptor.start();
+    }
+    
+    /**
+     * Mendapatkan port tempat leader menerima follower.
+     * 
+     * @return port TCP
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+    
+    /**
+     * Mendapatkan nomor urut perubahan terakhir pada Library. Untuk
+     * read-your-writes, ambil nilai ini setelah menulis ke leader lalu baca dari
+     * follower dengan nomor urut minimum tersebut.
+     * 
+     * @return nomor urut terakhir, -1 jika belum ada perubahan
+     */
+    public long getCurrentSequence() {
+        return library.getMutationEvents().getCursor();
+    }
+    
+    /**
+     * Mendapatkan nomor urut record terakhir yang sudah masuk log replikasi.
+     * 
+     * @return nomor urut terakhir di log
+     */
+    public long getLoggedSequence() {
+        return sequence;
+    }
+    
+    /**
+     * Mendapatkan jumlah follower yang sedang terhubung.
+     * 
+     * @return jumlah follower
+     */
+    public int getFollowerCount() {
+        return followers.size();
+    }
+    
+    /**
+     * Mendapatkan ID acak leader ini.
+     * 
+     * @return ID leader, tidak pernah sama dengan ID kosong protokol
+     */
+    public long getLeaderId() {
+        return leaderId;
+    }
+    
+    /**
+     * Mendapatkan lag setiap follower, yaitu selisih nomor urut terakhir di log
+     * dengan nomor urut terakhir yang sudah dikonfirmasi follower.
+     * 
+     * @return map alamat follower ke jumlah record yang tertinggal
+     */
+    public Map<String, Long> getFollowerLag() {
+        long current = sequence;
+        Map<String, Long> lag = new LinkedHashMap<>();
+        for (FollowerSession follower : followers) {
+            lag.put(follower.name, Math.max(0, current - follower.ackedSequence));
+        }
+        return lag;
+    }
+    
+    /**
+     * Menghentikan leader dan memutus semua follower. Library tetap dapat dipakai.
+     */
+    @Override
+    public void close() {
+        shutdown();
+        try {
+            pump.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Menutup langganan, socket server, dan semua follower tanpa menunggu
+     * thread pump, sehingga dapat dipanggil dari thread pump sendiri.
+     */
+    private void shutdown() {
+        closed = true;
+        subscription.close();
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // Socket server tetap dianggap tertutup
+        }
+        for (FollowerSession follower : followers) {
+            follower.disconnect();
+        }
+        synchronized (log) {
+            log.notifyAll();
+        }
+    }
+    
+    /**
+     * Loop thread pump: memindahkan event dari ring buffer ke log replikasi.
+     * Langganan selalu ditutup saat loop berakhir, karena langganan BLOCK yang
+     * tidak dibaca lagi akan menahan semua penulis Library.
+     */
+    private void runPump() {
+        try {
+            while (!closed) {
+                int polled = subscription.poll(this::append, SEND_BATCH);
+                if (polled < 0) {
+                    return;
+                }
+                if (polled == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            if (!closed) {
+                System.err.println("Replikasi: thread pump berhenti: " + e);
+            }
+            throw e;
+        } finally {
+            if (!closed) {
+                shutdown();
+            }
+        }
+    }
+    
+    private static long newLeaderId() {
+        SecureRandom random = new SecureRandom();
+        long id;
+        do {
+            id = random.nextLong();
+        } while (id == ReplicationProtocol.NO_LEADER);
+        return id;
+    }
+    
+    /**
+     * Menyalin satu event ke log dan menerapkannya ke salinan isi perpustakaan.
+     * Buku dibangun dari atribut yang ditangkap slot saat publikasi, karena
+     * thread pump tidak memegang lock Library.
+     */
+    private void append(MutationEvent event, boolean endOfBatch) {
+        Book book = null;
+        if (event.getType() == MutationType.ADD || event.getType() == MutationType.UPDATE) {
+            book = event.copyBook();
+        }
+        ReplicationRecord record = new ReplicationRecord(event.getSequence(), event.getType(),
+                event.getBookId(), book, event.getBorrower());
+                
+        synchronized (log) {
+            log[(int) (record.sequence % log.length)] = record;
+            apply(record);
+            sequence = record.sequence;
+            if (endOfBatch) {
+                log.notifyAll();
+            }
+        }
+    }
+    
+    /**
+     * Menerapkan record ke salinan isi perpustakaan. Dipanggil dengan monitor log.
+     */
+    private void apply(ReplicationRecord record) {
+        Book book;
+        switch (record.type) {
+            case ADD:
+            case UPDATE:
+                state.put(record.bookId, new Book(record.book));
+                break;
+            case BORROW:
+            case RETURN:
+                book = state.get(record.bookId);
+                if (book != null) {
+                    book.setAvailable(record.type == MutationType.RETURN);
+                }
+                break;
+            case REMOVE:
+                state.remove(record.bookId);
+                break;
+            case CLEAR_AVAILABLE:
+                state.values().removeIf(Book::isAvailable);
+                break;
+            default:
+                break;
+        }
+    }
+    
+    /**
+     * Nomor urut record tertua yang masih ada di log. Dipanggil dengan monitor log.
+     */
+    private long firstLoggedSequence() {
+        return Math.max(baseSequence + 1, sequence - log.length + 1);
+    }
+    
+    /**
+     * Loop thread penerima koneksi follower.
+     */
+    private void runAcceptor() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                FollowerSession follower = new FollowerSession(socket);
+                followers.add(follower);
+                Thread thread = new Thread(follower, "replication-follower-" + follower.name);
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Replikasi: gagal menerima follower: " + e.getMessage());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Satu koneksi follower dengan posisi kirimnya sendiri.
+     */
+    private final class FollowerSession implements Runnable {
+        
+        /** Socket follower */
+        final Socket socket;
+        
+        /** Alamat follower untuk metrik */
+        final String name;
+        
+        /** Nomor urut terakhir yang dikonfirmasi follower */
+        volatile long ackedSequence;
+        
+        FollowerSession(Socket socket) {
+            this.socket = socket;
+            this.name = socket.getRemoteSocketAddress().toString();
+            this.ackedSequence = ReplicationProtocol.NO_SEQUENCE;
+        }
+        
+        @Override
+        public void run() {
+            try (Socket s = socket) {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+                if (in.readInt() != ReplicationProtocol.MAGIC) {
+                    throw new IOException("Handshake follower tidak valid");
+                }
+                long knownLeader = in.readLong();
+                long position = in.readLong();
+                ackedSequence = position;
+                stream(in, out, position, knownLeader != leaderId);
+            } catch (IOException | InterruptedException e) {
+                // Follower terputus, follower akan menyambung ulang sendiri
+            } finally {
+                followers.remove(this);
+            }
+        }
+        
+        /**
+         * Mengirim snapshot, record, atau heartbeat sampai koneksi terputus.
+         * Snapshot dikirim lebih dulu jika follower belum punya data atau
+         * datanya berasal dari leader lain.
+         */
+        private void stream(DataInputStream in, DataOutputStream out, long position, boolean otherLeader)
+                throws IOException, InterruptedException {
+            List<ReplicationRecord> batch = new ArrayList<>(SEND_BATCH);
+            List<Book> snapshot = null;
+            boolean needSnapshot = otherLeader || position == ReplicationProtocol.NO_SEQUENCE;
+            
+            while (!closed) {
+                long snapshotSequence = 0;
+                synchronized (log) {
+                    if (!needSnapshot && sequence <= position) {
+                        log.wait(HEARTBEAT_INTERVAL_MILLIS);
+                    }
+                    long current = sequence;
+                    if (needSnapshot || position > current || position + 1 < firstLoggedSequence()) {
+                        snapshot = new ArrayList<>(state.size());
+                        for (Book book : state.values()) {
+                            snapshot.add(new Book(book));
+                        }
+                        snapshotSequence = current;
+                    } else {
+                        long end = Math.min(current, position + SEND_BATCH);
+                        for (long seq = position + 1; seq <= end; seq++) {
+                            batch.add(log[(int) (seq % log.length)]);
+                        }
+                    }
+                }
+                
+                if (snapshot != null) {
+                    ReplicationProtocol.writeSnapshotHeader(out, leaderId, snapshotSequence,
+                                                             library.getMaxCapacity(), snapshot.size());
+                    for (Book book : snapshot) {
+                        ReplicationProtocol.writeBook(out, book);
+                    }
+                    position = snapshotSequence;
+                    snapshot = null;
+                    needSnapshot = false;
+                } else if (batch.isEmpty()) {
+                    out.writeByte(ReplicationProtocol.HEARTBEAT);
+                    out.writeLong(position);
+                } else {
+                    for (ReplicationRecord record : batch) {
+                        ReplicationProtocol.writeRecord(out, record);
+                    }
+                    position = batch.get(batch.size() - 1).sequence;
+                    batch.clear();
+                }
+                out.flush();
+                
+                while (in.available() >= Long.BYTES) {
+                    ackedSequence = in.readLong();
+                }
+            }
+        }
+        
+        void disconnect() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Sudah tertutup
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.library.replication;
+
+import com.library.Book;
+import com.library.events.MutationType;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Kelas ReplicationProtocol berisi format biner yang dipakai leader dan follower.
+ * 
+ * <p>Follower membuka koneksi dengan {@code MAGIC}, ID leader dari snapshot
+ * terakhirnya, dan nomor urut terakhir yang sudah diterapkannya, lalu mengirim
+ * acknowledgement berupa nomor urut setiap kali selesai menerapkan satu batch.
+ * Leader mengirim frame yang diawali satu byte tag: snapshot, record perubahan,
+ * atau heartbeat. ID leader dipilih acak setiap kali leader dibuat, sehingga
+ * nomor urut dari leader lain atau dari leader yang sudah dimulai ulang tidak
+ * pernah dilanjutkan; follower dengan ID leader berbeda selalu menerima
+ * snapshot baru.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ */
+final class ReplicationProtocol {
+    
+    /** Penanda awal koneksi follower ("LIBR") */
+    static final int MAGIC = 0x4C494252;
+    
+    /** Nomor urut yang dikirim follower jika belum punya data */
+    static final long NO_SEQUENCE = -1;
+    
+    /** ID leader yang dikirim follower jika belum pernah menerima snapshot */
+    static final long NO_LEADER = 0;
+    
+    /** Tag frame snapshot */
+    static final byte SNAPSHOT = 'S';
+    
+    /** Tag frame record perubahan */
+    static final byte RECORD = 'R';
+    
+    /** Tag frame heartbeat */
+    static final byte HEARTBEAT = 'H';
+    
+    /** Daftar jenis perubahan untuk decoding ordinal */
+    private static final MutationType[] TYPES = MutationType.values();
+    
+    private ReplicationProtocol() {
+    }
+    
+    /**
+     * Menulis header snapshot berisi ID leader, nomor urut, kapasitas
+     * perpustakaan leader, dan jumlah buku. Sebanyak {@code count} buku harus
+     * ditulis setelahnya dengan {@link #writeBook(DataOutputStream, Book)}.
+     */
+    static void writeSnapshotHeader(DataOutputStream out, long leaderId, long sequence, int capacity, int count)
+            throws IOException {
+        out.writeByte(SNAPSHOT);
+        out.writeLong(leaderId);
+        out.writeLong(sequence);
+        out.writeInt(capacity);
+        out.writeInt(count);
+    }
+    
+    /**
+     * Menulis satu record perubahan.
+     */
+    static void writeRecord(DataOutputStream out, ReplicationRecord record) throws IOException {
+        out.writeByte(RECORD);
+        out.writeLong(record.sequence);
+        out.writeByte(record.type.ordinal());
+        out.writeInt(record.bookId);
+        if (record.type == MutationType.ADD || record.type == MutationType.UPDATE) {
+            writeBook(out, record.book);
+        } else if (record.type == MutationType.BORROW) {
+            writeNullableString(out, record.borrower);
+        }
+    }
+    
+    /**
+     * Membaca isi record setelah tag {@link #RECORD}.
+     */
+    static ReplicationRecord readRecord(DataInputStream in) throws IOException {
+        long sequence = in.readLong();
+        int ordinal = in.readUnsignedByte();
+        if (ordinal >= TYPES.length) {
+            throw new IOException("Jenis perubahan tidak dikenal: " + ordinal);
+        }
+        MutationType type = TYPES[ordinal];
+        int bookId = in.readInt();
+        Book book = null;
+        String borrower = null;
+        if (type == MutationType.ADD || type == MutationType.UPDATE) {
+            book = readBook(in);
+        } else if (type == MutationType.BORROW) {
+            borrower = readNullableString(in);
+        }
+        return new ReplicationRecord(sequence, type, bookId, book, borrower);
+    }
+    
+    /**
+     * Menulis semua atribut buku termasuk status ketersediaan.
+     */
+    static void writeBook(DataOutputStream out, Book book) throws IOException {
+        out.writeInt(book.getBookId());
+        out.writeUTF(book.getTitle());
+        out.writeUTF(book.getAuthor());
+        writeNullableString(out, book.getIsbn());
+        out.writeInt(book.getPublicationYear());
+        writeNullableString(out, book.getCategory());
+        out.writeBoolean(book.isAvailable());
+    }
+    
+    /**
+     * Membaca buku yang ditulis dengan {@link #writeBook(DataOutputStream, Book)}.
+     */
+    static Book readBook(DataInputStream in) throws IOException {
+        int bookId = in.readInt();
+        String title = in.readUTF();
+        String author = in.readUTF();
+        String isbn = readNullableString(in);
+        int publicationYear = in.readInt();
+        String category = readNullableString(in);
+        boolean available = in.readBoolean();
+        
+        Book book;
+        try {
+            book = new Book(bookId, title, author, isbn, publicationYear, category);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Data buku dari leader tidak valid: " + e.getMessage(), e);
+        }
+        book.setAvailable(available);
+        return book;
+    }
+    
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+    
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.library.replication;
+
+import com.library.Book;
+import com.library.events.MutationType;
+
+/**
+ * Kelas ReplicationRecord adalah satu entri immutable di log replikasi leader.
+ * Berbeda dengan slot ring buffer yang dipakai ulang, entri ini menyimpan
+ * salinan buku sehingga aman dikirim dari thread lain.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ */
+final class ReplicationRecord {
+    
+    /** Nomor urut perubahan */
+    final long sequence;
+    
+    /** Jenis perubahan */
+    final MutationType type;
+    
+    /** ID buku yang berubah */
+    final int bookId;
+    
+    /** Salinan buku untuk ADD dan UPDATE, null untuk jenis lain */
+    final Book book;
+    
+    /** Nama peminjam untuk BORROW, null untuk jenis lain */
+    final String borrower;
+    
+    ReplicationRecord(long sequence, MutationType type, int bookId, Book book, String borrower) {
+        this.sequence = sequence;
+        this.type = type;
+        this.bookId = bookId;
+        this.book = book;
+        this.borrower = borrower;
+    }
+}
\ No newline at end of file
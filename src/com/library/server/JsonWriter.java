@@ -0,0 +1,281 @@
+package com.library.server;
+
+import com.library.Book;
+import com.library.loan.Loan;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Kelas JsonWriter menulis dokumen JSON secara streaming langsung ke sebuah
+ * {@link Writer} tanpa membangun struktur objek di memori.
+ * 
+ * <p>Kelas ini sengaja dibuat kecil dan hanya mendukung tipe yang dibutuhkan
+ * oleh {@link LibraryHttpServer}: objek, array, string, angka, dan boolean.
+ * Pemisah koma dikelola otomatis berdasarkan kedalaman struktur.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see LibraryHttpServer
+ */
+public class JsonWriter {
+    
+    /** Kedalaman maksimum objek/array bersarang */
+    private static final int MAX_DEPTH = 32;
+    
+    /** Writer tujuan */
+    private final Writer out;
+    
+    /** Penanda apakah elemen pertama pada setiap level sudah ditulis */
+    private final boolean[] hasElement;
+    
+    /** Kedalaman struktur saat ini */
+    private int depth;
+    
+    /** Penanda bahwa nama field baru saja ditulis dan menunggu nilai */
+    private boolean afterName;
+    
+    /**
+     * Constructor untuk membuat JsonWriter di atas sebuah Writer.
+     * 
+     * @param out writer tujuan, tidak boleh null
+     * @throws IllegalArgumentException jika out adalah null
+     */
+    public JsonWriter(Writer out) {
+        if (out == null) {
+            throw new IllegalArgumentException("Writer tidak boleh null");
+        }
+        this.out = out;
+        this.hasElement = new boolean[MAX_DEPTH];
+        this.depth = 0;
+    }
+    
+    /**
+     * Memulai sebuah objek JSON.
+     * 
+     * @return writer ini untuk chaining
+     * @throws IOException jika terjadi kesalahan penulisan
+     */
+    public JsonWriter beginObject() throws IOException {
+        return open('{');
+    }
+    
+    /**
+     * Mengakhiri objek JSON yang sedang ditulis.
+     * 
+     * @return writer ini untuk chaining
+     * @throws IOException jika terjadi kesalahan penulisan
+     */
+    public JsonWriter endObject() throws IOException {
+        return close('}');
+    }
+    
+    /**
+     * Memulai sebuah array JSON.
+     * 
+     * @return writer ini untuk chaining
+     * @throws IOException jika terjadi kesalahan penulisan
+     */
+    public JsonWriter beginArray() throws IOException {
+        return open('[');
+    }
+    
+    /**
+     * Mengakhiri array JSON yang sedang ditulis.
+     * 
+     * @return writer ini untuk chaining
+     * @throws IOException jika terjadi kesalahan penulisan
+     */
+    public JsonWriter endArray() throws IOException {
+        return close(']');
+    }
+    
+    /**
+     * Menulis nama field di dalam objek.
+     * 
+     * @param name nama field
+     * @return writer ini untuk chaining
+     * @throws IOException jika terjadi kesalahan penulisan
+     */
+    public JsonWriter name(String name) throws IOException {
+        separator();
+        writeString(name);
+        out.write(':');
+        afterName = true;
+        return this;
+    }
+    
+    /**
+     * Menulis nilai string, atau null jika value adalah null.
+     * 
+     * @param value nilai string
+     * @return writer ini untuk chaining
+     * @throws IOException jika terjadi kesalahan penulisan
+     */
+    public JsonWriter value(String value) throws IOException {
+        separator();
+        if (value == null) {
+            out.write("null");
+        } else {
+            writeString(value);
+        }
+        return this;
+    }
+    
+    /**
+     * Menulis nilai bilangan bulat.
+     * 
+     * @param value nilai angka
+     * @return writer ini untuk chaining
+     * @throws IOException jika terjadi kesalahan penulisan
+     */
+    public JsonWriter value(long value) throws IOException {
+        separator();
+        out.write(Long.toString(value));
+        return this;
+    }
+    
+    /**
+     * Menulis nilai bilangan pecahan.
+     * 
+     * @param value nilai angka, NaN dan infinity ditulis sebagai null
+     * @return writer ini untuk chaining
+     * @throws IOException jika terjadi kesalahan penulisan
+     */
+    public JsonWriter value(double value) throws IOException {
+        separator();
+        out.write(Double.isFinite(value) ? Double.toString(value) : "null");
+        return this;
+    }
+    
+    /**
+     * Menulis nilai boolean.
+     * 
+     * @param value nilai boolean
+     * @return writer ini untuk chaining
+     * @throws IOException jika terjadi kesalahan penulisan
+     */
+    public JsonWriter value(boolean value) throws IOException {
+        separator();
+        out.write(value ? "true" : "false");
+        return this;
+    }
+    
+    /**
+     * Menulis sebuah buku sebagai objek JSON.
+     * 
+     * @param book buku yang akan ditulis
+     * @return writer ini untuk chaining
+     * @throws IOException jika terjadi kesalahan penulisan
+     */
+    public JsonWriter book(Book book) throws IOException {
+        beginObject();
+        name("id").value(book.getBookId());
+        name("title").value(book.getTitle());
+        name("author").value(book.getAuthor());
+        name("isbn").value(book.getIsbn());
+        name("publicationYear").value(book.getPublicationYear());
+        name("category").value(book.getCategory());
+        name("available").value(book.isAvailable());
+        return endObject();
+    }
+    
+    /**
+     * Menulis sebuah catatan peminjaman sebagai objek JSON.
+     * 
+     * @param loan catatan peminjaman yang akan ditulis
+     * @return writer ini untuk chaining
+     * @throws IOException jika terjadi kesalahan penulisan
+     */
+    public JsonWriter loan(Loan loan) throws IOException {
+        beginObject();
+        name("bookId").value(loan.getBookId());
+        name("borrower").value(loan.getBorrower());
+        name("loanTime").value(loan.getLoanTime());
+        name("dueTime").value(loan.getDueTime());
+        name("active").value(loan.isActive());
+        return endObject();
+    }
+    
+    /**
+     * Mengirim isi buffer ke writer tujuan.
+     * 
+     * @throws IOException jika terjadi kesalahan penulisan
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+    
+    /**
+     * Membuka objek atau array baru.
+     */
+    private JsonWriter open(char bracket) throws IOException {
+        if (depth + 1 >= MAX_DEPTH) {
+            throw new IllegalStateException("Struktur JSON terlalu dalam");
+        }
+        separator();
+        out.write(bracket);
+        hasElement[++depth] = false;
+        return this;
+    }
+    
+    /**
+     * Menutup objek atau array yang sedang terbuka.
+     */
+    private JsonWriter close(char bracket) throws IOException {
+        if (depth == 0) {
+            throw new IllegalStateException("Tidak ada struktur JSON yang terbuka");
+        }
+        depth--;
+        out.write(bracket);
+        return this;
+    }
+    
+    /**
+     * Menulis koma pemisah jika diperlukan sebelum elemen berikutnya.
+     */
+    private void separator() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (hasElement[depth]) {
+            out.write(',');
+        }
+        hasElement[depth] = true;
+    }
+    
+    /**
+     * Menulis string dengan escaping sesuai spesifikasi JSON.
+     */
+    private void writeString(String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+}
\ No newline at end of file
@@ -0,0 +1,1028 @@
+package com.library.server;
+
+import com.library.Book;
+import com.library.BookResult;
+import com.library.Library;
+import com.library.LibraryCompactor;
+import com.library.dedup.DuplicateCandidate;
+import com.library.dedup.DuplicateGroup;
+import com.library.exceptions.BookNotFoundException;
+import com.library.exceptions.DuplicateBookException;
+import com.library.history.BookCount;
+import com.library.history.CirculationAction;
+import com.library.history.CirculationHistory;
+import com.library.history.CirculationRecorder;
+import com.library.index.BookSortKey;
+import com.library.loan.Loan;
+import com.library.replication.ReplicationLeader;
+import com.library.statistics.GroupStatistics;
+import com.library.statistics.StatisticsSnapshot;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Kelas LibraryHttpServer menyediakan mode server HTTP tertanam untuk sebuah
+ * {@link Library} menggunakan {@code com.sun.net.httpserver} dari JDK.
+ * 
+ * <p>Setiap request dijalankan pada thread tersendiri. Jika JVM mendukung virtual
+ * thread, executor yang dipakai adalah virtual-thread-per-request; jika tidak,
+ * server memakai cached thread pool sehingga tetap dapat berjalan di JDK lama.
+ * Akses ke Library dilindungi oleh {@link ReadWriteLock} karena Library sendiri
+ * tidak thread-safe: operasi pencarian berjalan paralel, sedangkan operasi yang
+ * mengubah data berjalan eksklusif.
+ * 
+ * <p>Endpoint yang tersedia (semua respons dalam format JSON):
+ * <ul>
+ * <li>{@code GET /books} - daftar semua buku, atau pencarian dengan parameter
+ *     {@code title}, {@code author}, atau {@code category} (respons streaming);
+ *     dengan {@code sort=popular} hasil diurutkan dari yang paling sering
+ *     dipinjam dan dibatasi parameter {@code limit}; dengan {@code sort=title},
+ *     {@code author}, atau {@code year} hasil dibaca dari indeks terurut per
+ *     halaman berukuran {@code limit}, dengan {@code order=desc} untuk urutan
+ *     menurun dan {@code after} berisi ID buku terakhir halaman sebelumnya</li>
+ * <li>{@code GET /books/{id}} - mencari buku berdasarkan ID</li>
+ * <li>{@code GET /books/duplicates} - kelompok buku yang kemungkinan duplikat</li>
+ * <li>{@code POST /books} - menambah buku dari parameter form {@code title},
+ *     {@code author}, {@code isbn}, {@code year}, {@code category}, dan
+ *     {@code id} (opsional)</li>
+ * <li>{@code POST /books/{id}/borrow} - meminjam buku, dengan parameter
+ *     {@code borrower} (opsional)</li>
+ * <li>{@code POST /books/{id}/return} - mengembalikan buku</li>
+ * <li>{@code POST /books/{id}/reserve} - mereservasi buku dan menunggu sampai
+ *     buku diserahkan, dengan parameter {@code borrower} dan {@code timeout}</li>
+ * <li>{@code PUT /books/{id}} - mengubah atribut buku dari parameter form
+ *     {@code title}, {@code author}, {@code isbn}, {@code year}, dan
+ *     {@code category}; atribut yang tidak diisi tetap</li>
+ * <li>{@code DELETE /books/{id}} - menghapus buku</li>
+ * <li>{@code GET /loans?borrower=...} - peminjaman aktif seorang peminjam</li>
+ * <li>{@code GET /loans/overdue} - peminjaman yang terlambat</li>
+ * <li>{@code GET /statistics} - statistik perpustakaan</li>
+ * <li>{@code GET /metrics} - laporan teks metrik latensi dan counter, ditambah
+ *     lag setiap follower jika server memiliki leader replikasi</li>
+ * <li>{@code GET /history} - rollup riwayat sirkulasi selama {@code days} hari
+ *     terakhir: peminjaman per jam dalam sehari (UTC) dan {@code limit} buku
+ *     yang paling sering dipinjam, jika server memiliki pencatat sirkulasi</li>
+ * </ul>
+ * 
+ * <p>Dalam mode baca saja ({@link #setReadOnly(boolean)}), misalnya untuk
+ * replika follower, semua request {@code /books} selain {@code GET} ditolak
+ * dengan status 405 sehingga replika hanya berubah melalui log leader.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see Library
+ * @see JsonWriter
+ */
+public class LibraryHttpServer {
+    
+    /** Port default untuk mode server */
+    public static final int DEFAULT_PORT = 8080;
+    
+    /** Panjang antrean koneksi yang belum diterima */
+    private static final int BACKLOG = 4096;
+    
+    /** Jumlah buku yang ditulis sebelum buffer respons di-flush */
+    private static final int FLUSH_INTERVAL = 256;
+    
+    /** Jumlah hasil default untuk pencarian berdasarkan popularitas */
+    private static final int DEFAULT_POPULAR_LIMIT = 10;
+    
+    /** Rentang hari default untuk rollup riwayat sirkulasi */
+    private static final int DEFAULT_HISTORY_DAYS = 7;
+    
+    /** Ukuran halaman default untuk daftar buku terurut */
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    
+    /** Library yang dilayani oleh server */
+    private final Library library;
+    
+    /** Lock untuk mengatur akses baca/tulis ke Library */
+    private final ReadWriteLock lock;
+    
+    /** Server HTTP dari JDK */
+    private final HttpServer server;
+    
+    /** Executor untuk menjalankan setiap request */
+    private final ExecutorService executor;
+    
+    /** Pemadat penyimpanan Library di background, aktif selama server berjalan */
+    private LibraryCompactor compactor;
+    
+    /** Penanda bahwa request yang mengubah data ditolak */
+    private volatile boolean readOnly;
+    
+    /** Leader replikasi yang ditutup bersama server, null jika tidak ada */
+    private volatile ReplicationLeader replicationLeader;
+    
+    /** Pencatat sirkulasi yang ditutup bersama server, null jika tidak ada */
+    private volatile CirculationRecorder circulationRecorder;
+    
+    /**
+     * Constructor untuk membuat server pada alamat tertentu.
+     * Server belum menerima koneksi sampai {@link #start()} dipanggil.
+     * 
+     * @param library library yang akan dilayani, tidak boleh null
+     * @param address alamat dan port tempat server mendengarkan
+     * @throws IOException jika socket server tidak dapat dibuka
+     * @throws IllegalArgumentException jika library atau address adalah null
+     */
+    public LibraryHttpServer(Library library, InetSocketAddress address) throws IOException {
+        if (library == null) {
+            throw new IllegalArgumentException("Objek library tidak boleh null");
+        }
+        if (address == null) {
+            throw new IllegalArgumentException("Alamat server tidak boleh null");
+        }
+        
+        this.library = library;
+        this.lock = new ReentrantReadWriteLock();
+        this.executor = newRequestExecutor();
+        this.server = HttpServer.create(address, BACKLOG);
+        this.server.setExecutor(executor);
+        this.server.createContext("/books", this::handleBooks);
+        this.server.createContext("/loans", this::handleLoans);
+        this.server.createContext("/statistics", this::handleStatistics);
+        this.server.createContext("/metrics", this::handleMetrics);
+        this.server.createContext("/history", this::handleHistory);
+    }
+    
+    /**
+     * Constructor untuk membuat server pada alamat loopback.
+     * Gunakan port 0 untuk memilih port kosong secara otomatis.
+     * 
+     * @param library library yang akan dilayani
+     * @param port port server, 0 untuk port acak
+     * @throws IOException jika socket server tidak dapat dibuka
+     */
+    public LibraryHttpServer(Library library, int port) throws IOException {
+        this(library, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+    
+    /**
+     * Mulai menerima koneksi.
+     */
+    public void start() {
+        compactor = new LibraryCompactor(library, lock.writeLock());
+        server.start();
+    }
+    
+    /**
+     * Menghentikan server dan executor request, lalu menutup leader replikasi
+     * dan pencatat sirkulasi beserta riwayatnya jika ada.
+     * 
+     * @param delaySeconds waktu maksimum menunggu request yang sedang berjalan
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        if (compactor != null) {
+            compactor.close();
+        }
+        ReplicationLeader leader = replicationLeader;
+        if (leader != null) {
+            leader.close();
+        }
+        CirculationRecorder recorder = circulationRecorder;
+        if (recorder != null) {
+            recorder.close();
+            recorder.getHistory().close();
+        }
+    }
+    
+    /**
+     * Mendapatkan port tempat server mendengarkan.
+     * 
+     * @return nomor port yang benar-benar dipakai server
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+    
+    /**
+     * Mendapatkan lock yang melindungi Library milik server ini.
+     * Kode lain yang mengakses Library yang sama secara bersamaan harus
+     * memakai lock ini juga.
+     * 
+     * @return lock baca/tulis untuk Library
+     */
+    public ReadWriteLock getLock() {
+        return lock;
+    }
+    
+    /**
+     * Mengatur mode baca saja. Dalam mode ini request yang mengubah data
+     * ditolak dengan status 405, misalnya pada server replika yang isinya
+     * hanya boleh diubah oleh log leader.
+     * 
+     * @param readOnly true untuk menolak request yang mengubah data
+     */
+    public void setReadOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+    
+    /**
+     * Memasang leader replikasi untuk Library milik server ini. Lag setiap
+     * follower ditampilkan di {@code /metrics}, dan leader ditutup saat
+     * server dihentikan.
+     * 
+     * @param replicationLeader leader replikasi, atau null untuk melepasnya
+     */
+    public void setReplicationLeader(ReplicationLeader replicationLeader) {
+        this.replicationLeader = replicationLeader;
+    }
+    
+    /**
+     * Memasang pencatat sirkulasi untuk Library milik server ini. Riwayatnya
+     * dilayani di {@code /history}, dan pencatat serta riwayatnya ditutup saat
+     * server dihentikan.
+     * 
+     * @param circulationRecorder pencatat sirkulasi, atau null untuk melepasnya
+     */
+    public void setCirculationRecorder(CirculationRecorder circulationRecorder) {
+        this.circulationRecorder = circulationRecorder;
+    }
+    
+    /**
+     * Memeriksa apakah server dalam mode baca saja.
+     * 
+     * @return true jika request yang mengubah data ditolak
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+    
+    /**
+     * Membuat executor virtual-thread-per-request jika tersedia di JVM ini,
+     * atau cached thread pool sebagai gantinya.
+     * 
+     * @return executor untuk request HTTP
+     */
+    static ExecutorService newRequestExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "library-http");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+    
+    /**
+     * Menangani semua request di bawah path {@code /books}.
+     */
+    private void handleBooks(HttpExchange exchange) throws IOException {
+        boolean async = false;
+        try {
+            String method = exchange.getRequestMethod();
+            String[] segments = pathSegments(exchange);
+            
+            if (readOnly && !"GET".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                sendError(exchange, 405, "Server replika hanya melayani pembacaan");
+                return;
+            }
+            
+            if (segments.length == 1) {
+                if ("GET".equals(method)) {
+                    listBooks(exchange);
+                } else if ("POST".equals(method)) {
+                    addBook(exchange);
+                } else {
+                    sendError(exchange, 405, "Method tidak didukung");
+                }
+                return;
+            }
+            
+            if (segments.length == 2 && "GET".equals(method) && "duplicates".equals(segments[1])) {
+                listDuplicates(exchange);
+                return;
+            }
+            
+            int bookId = parseIntParameter("id", segments[1]);
+            if (segments.length == 2 && "GET".equals(method)) {
+                findBook(exchange, bookId);
+            } else if (segments.length == 2 && "PUT".equals(method)) {
+                updateBook(exchange, bookId);
+            } else if (segments.length == 2 && "DELETE".equals(method)) {
+                removeBook(exchange, bookId);
+            } else if (segments.length == 3 && "POST".equals(method) && "borrow".equals(segments[2])) {
+                borrowBook(exchange, bookId);
+            } else if (segments.length == 3 && "POST".equals(method) && "return".equals(segments[2])) {
+                returnBook(exchange, bookId);
+            } else if (segments.length == 3 && "POST".equals(method) && "reserve".equals(segments[2])) {
+                async = reserveBook(exchange, bookId);
+            } else {
+                sendError(exchange, 404, "Endpoint tidak ditemukan");
+            }
+        } catch (DuplicateBookException | IllegalStateException e) {
+            sendError(exchange, 409, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } finally {
+            if (!async) {
+                exchange.close();
+            }
+        }
+    }
+    
+    /**
+     * Menangani request {@code GET /statistics}.
+     */
+    private void handleStatistics(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Method tidak didukung");
+                return;
+            }
+            
+            String name;
+            int maxCapacity;
+            double capacityUsage;
+            StatisticsSnapshot statistics;
+            lock.readLock().lock();
+            try {
+                name = library.getLibraryName();
+                maxCapacity = library.getMaxCapacity();
+                capacityUsage = library.getCapacityUsagePercentage();
+                statistics = library.getStatistics();
+            } finally {
+                lock.readLock().unlock();
+            }
+            
+            // Snapshot statistik immutable, sehingga JSON ditulis setelah lock dilepas
+            StringWriter body = new StringWriter();
+            JsonWriter json = new JsonWriter(body);
+            json.beginObject();
+            json.name("name").value(name);
+            json.name("totalBooks").value(statistics.getTotalBooks());
+            json.name("maxCapacity").value(maxCapacity);
+            json.name("availableBooks").value(statistics.getAvailableBooks());
+            json.name("borrowedBooks").value(statistics.getBorrowedBooks());
+            json.name("capacityUsagePercentage").value(capacityUsage);
+            json.name("borrowRatio").value(statistics.getOverall().getBorrowRatio());
+            json.name("categories").beginObject();
+            for (Map.Entry<String, GroupStatistics> entry : statistics.getByCategory().entrySet()) {
+                json.name(String.valueOf(entry.getKey())).value(entry.getValue().getTotalBooks());
+            }
+            json.endObject();
+            writeGroups(json.name("byCategory"), statistics.getByCategory());
+            writeGroups(json.name("byDecade"), statistics.getByDecade());
+            writeGroups(json.name("byAuthor"), statistics.getByAuthor());
+            json.endObject();
+            sendJson(exchange, 200, body.toString());
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    /**
+     * Menulis statistik per kelompok sebagai objek JSON.
+     */
+    private static void writeGroups(JsonWriter json, Map<?, GroupStatistics> groups) throws IOException {
+        json.beginObject();
+        for (Map.Entry<?, GroupStatistics> entry : groups.entrySet()) {
+            GroupStatistics group = entry.getValue();
+            json.name(String.valueOf(entry.getKey())).beginObject();
+            json.name("total").value(group.getTotalBooks());
+            json.name("available").value(group.getAvailableBooks());
+            json.name("borrowed").value(group.getBorrowedBooks());
+            json.name("borrowCount").value(group.getBorrowCount());
+            json.name("borrowRatio").value(group.getBorrowRatio());
+            json.endObject();
+        }
+        json.endObject();
+    }
+    
+    /**
+     * Menangani request {@code GET /loans} dan {@code GET /loans/overdue}.
+     */
+    private void handleLoans(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Method tidak didukung");
+                return;
+            }
+            
+            String[] segments = pathSegments(exchange);
+            List<Loan> loans;
+            if (segments.length == 2 && "overdue".equals(segments[1])) {
+                // Memproses peminjaman yang jatuh tempo mengubah isi tracker
+                lock.writeLock().lock();
+                try {
+                    loans = library.getOverdueLoans();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } else if (segments.length == 1) {
+                String borrower = parseQuery(exchange.getRequestURI().getRawQuery()).get("borrower");
+                if (borrower == null) {
+                    sendError(exchange, 400, "Parameter borrower wajib diisi");
+                    return;
+                }
+                lock.readLock().lock();
+                try {
+                    loans = library.getLoanTracker().getLoansByBorrower(borrower);
+                } finally {
+                    lock.readLock().unlock();
+                }
+            } else {
+                sendError(exchange, 404, "Endpoint tidak ditemukan");
+                return;
+            }
+            
+            StringWriter body = new StringWriter();
+            JsonWriter json = new JsonWriter(body);
+            json.beginArray();
+            for (Loan loan : loans) {
+                json.loan(loan);
+            }
+            json.endArray();
+            sendJson(exchange, 200, body.toString());
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    /**
+     * Menangani request {@code GET /metrics} dengan laporan teks dari
+     * {@link com.library.metrics.LibraryMetrics#dump()}.
+     */
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Method tidak didukung");
+                return;
+            }
+            
+            StringBuilder report = new StringBuilder(library.getMetrics().dump());
+            ReplicationLeader leader = replicationLeader;
+            if (leader != null) {
+                report.append("\n=== REPLIKASI ===\n");
+                report.append("Nomor Urut Log: ").append(leader.getLoggedSequence()).append("\n");
+                report.append("Follower: ").append(leader.getFollowerCount()).append("\n");
+                for (Map.Entry<String, Long> lag : leader.getFollowerLag().entrySet()) {
+                    report.append("Lag ").append(lag.getKey()).append(": ")
+                          .append(lag.getValue()).append(" record\n");
+                }
+            }
+            byte[] bytes = report.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    /**
+     * Menangani request {@code GET /history}. Query berjalan langsung di atas
+     * segmen riwayat, sehingga lock Library tidak dipegang.
+     */
+    private void handleHistory(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Method tidak didukung");
+                return;
+            }
+            CirculationRecorder recorder = circulationRecorder;
+            if (recorder == null) {
+                sendError(exchange, 404, "Riwayat sirkulasi tidak aktif");
+                return;
+            }
+            
+            Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+            int days = params.containsKey("days") ? parseIntParameter("days", params.get("days"))
+                                                  : DEFAULT_HISTORY_DAYS;
+            int limit = params.containsKey("limit") ? parseIntParameter("limit", params.get("limit"))
+                                                    : DEFAULT_POPULAR_LIMIT;
+            if (days <= 0 || limit < 0) {
+                sendError(exchange, 400, "Parameter days harus positif dan limit tidak boleh negatif");
+                return;
+            }
+            CirculationHistory history = recorder.getHistory();
+            long to = System.currentTimeMillis();
+            long from = to - days * CirculationHistory.DAY_MILLIS;
+            long[] byHour = history.countByHourOfDay(from, to, CirculationAction.BORROW, ZoneOffset.UTC);
+            List<BookCount> top = history.topBooks(from, to, CirculationAction.BORROW, limit);
+            
+            StringWriter body = new StringWriter();
+            JsonWriter json = new JsonWriter(body);
+            json.beginObject();
+            json.name("from").value(from);
+            json.name("to").value(to);
+            json.name("events").value(history.size());
+            json.name("borrowsByHourOfDay").beginArray();
+            for (long count : byHour) {
+                json.value(count);
+            }
+            json.endArray();
+            json.name("mostBorrowed").beginArray();
+            for (BookCount count : top) {
+                json.beginObject();
+                json.name("id").value(count.getBookId());
+                json.name("count").value(count.getCount());
+                json.endObject();
+            }
+            json.endArray();
+            json.endObject();
+            sendJson(exchange, 200, body.toString());
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    /**
+     * Mengirim daftar buku (semua atau hasil pencarian) sebagai array JSON.
+     * Salinan buku diambil di bawah read lock, lalu ditulis secara streaming
+     * dengan chunked transfer encoding setelah lock dilepas.
+     */
+    private void listBooks(HttpExchange exchange) throws IOException {
+        Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+        boolean popular = "popular".equals(params.get("sort"));
+        BookSortKey sortKey = BookSortKey.fromParameterName(params.get("sort"));
+        int limit = params.containsKey("limit") ? parseIntParameter("limit", params.get("limit"))
+                  : sortKey != null ? DEFAULT_PAGE_SIZE : DEFAULT_POPULAR_LIMIT;
+        boolean descending = "desc".equalsIgnoreCase(params.get("order"));
+        List<Book> result;
+        
+        lock.readLock().lock();
+        try {
+            if (sortKey != null && params.containsKey("after")) {
+                try {
+                    result = library.getBooksSortedAfter(sortKey, parseIntParameter("after", params.get("after")),
+                                                         limit, descending);
+                } catch (BookNotFoundException e) {
+                    result = null;
+                }
+            } else if (sortKey != null) {
+                result = library.getBooksSorted(sortKey, limit, descending);
+            } else if (popular && params.containsKey("title")) {
+                result = library.findPopularBooksByTitle(params.get("title"), limit);
+            } else if (popular && params.containsKey("author")) {
+                result = library.findPopularBooksByAuthor(params.get("author"), limit);
+            } else if (popular) {
+                result = library.getMostPopularBooks(limit);
+            } else if (params.containsKey("title")) {
+                result = library.findBooksByTitle(params.get("title"));
+            } else if (params.containsKey("author")) {
+                result = library.findBooksByAuthor(params.get("author"));
+            } else if (params.containsKey("category")) {
+                result = library.findBooksByCategory(params.get("category"));
+            } else {
+                result = library.getAllBooks();
+            }
+            result = copyOf(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (result == null) {
+            sendError(exchange, 404, "Buku penanda halaman dengan ID " + params.get("after").trim()
+                                     + " tidak ditemukan");
+            return;
+        }
+        
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, 0);
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8));
+        JsonWriter json = new JsonWriter(writer);
+        json.beginArray();
+        for (int i = 0; i < result.size(); i++) {
+            json.book(result.get(i));
+            if ((i + 1) % FLUSH_INTERVAL == 0) {
+                json.flush();
+            }
+        }
+        json.endArray();
+        json.flush();
+    }
+    
+    /**
+     * Menangani request {@code GET /books/duplicates}.
+     */
+    private void listDuplicates(HttpExchange exchange) throws IOException {
+        List<DuplicateGroup> groups;
+        lock.readLock().lock();
+        try {
+            groups = library.getDuplicateReport();
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        StringWriter body = new StringWriter();
+        JsonWriter json = new JsonWriter(body);
+        json.beginArray();
+        for (DuplicateGroup group : groups) {
+            json.beginArray();
+            for (int bookId : group.getBookIds()) {
+                json.value(bookId);
+            }
+            json.endArray();
+        }
+        json.endArray();
+        sendJson(exchange, 200, body.toString());
+    }
+    
+    /**
+     * Menangani request {@code GET /books/{id}}.
+     */
+    private void findBook(HttpExchange exchange, int bookId) throws IOException {
+        Book book;
+        lock.readLock().lock();
+        try {
+            book = copyOf(library.findBookById(bookId));
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        if (book == null) {
+            sendError(exchange, 404, "Buku dengan ID " + bookId + " tidak ditemukan");
+        } else {
+            sendBook(exchange, 200, book);
+        }
+    }
+    
+    /**
+     * Menangani request {@code POST /books}.
+     */
+    private void addBook(HttpExchange exchange) throws IOException {
+        Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+        params.putAll(parseQuery(readBody(exchange.getRequestBody())));
+        
+        int publicationYear = parseIntParameter("year", params.getOrDefault("year", "0"));
+        String isbn = params.getOrDefault("isbn", "");
+        String category = params.getOrDefault("category", "Umum");
+        BookResult result;
+        
+        lock.writeLock().lock();
+        try {
+            if (params.containsKey("id")) {
+                Book book = new Book(parseIntParameter("id", params.get("id")), params.get("title"),
+                        params.get("author"), isbn, publicationYear, category);
+                result = copyOf(library.tryAddBook(book));
+            } else {
+                result = copyOf(library.tryAddBook(params.get("title"), params.get("author"), isbn,
+                                                   publicationYear, category));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        if (result.isOk()) {
+            if (!result.getLikelyDuplicates().isEmpty()) {
+                StringBuilder ids = new StringBuilder();
+                for (DuplicateCandidate candidate : result.getLikelyDuplicates()) {
+                    if (ids.length() > 0) {
+                        ids.append(',');
+                    }
+                    ids.append(candidate.getBookId());
+                }
+                exchange.getResponseHeaders().set("X-Likely-Duplicates", ids.toString());
+            }
+            sendBook(exchange, 201, result.getBook());
+        } else {
+            sendResult(exchange, result, result.getBook() == null ? -1 : result.getBook().getBookId());
+        }
+    }
+    
+    /**
+     * Menangani request {@code POST /books/{id}/borrow}.
+     */
+    private void borrowBook(HttpExchange exchange, int bookId) throws IOException {
+        Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+        params.putAll(parseQuery(readBody(exchange.getRequestBody())));
+        BookResult result;
+        lock.writeLock().lock();
+        try {
+            result = copyOf(library.tryBorrowBook(bookId, params.get("borrower")));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        sendResult(exchange, result, bookId);
+    }
+    
+    /**
+     * Menangani request {@code POST /books/{id}/return}.
+     */
+    private void returnBook(HttpExchange exchange, int bookId) throws IOException {
+        BookResult result;
+        lock.writeLock().lock();
+        try {
+            result = copyOf(library.tryReturnBook(bookId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        sendResult(exchange, result, bookId);
+    }
+    
+    /**
+     * Menangani request {@code POST /books/{id}/reserve}. Jika buku belum tersedia,
+     * respons dikirim secara asinkron ketika buku diserahkan kepada peminjam,
+     * tanpa menahan thread selama menunggu. Jika batas waktu {@code timeout}
+     * (detik, default 30) terlewati, server menjawab 202 dan reservasi tetap
+     * berada dalam antrean.
+     * 
+     * @return true jika respons akan dikirim secara asinkron
+     */
+    private boolean reserveBook(HttpExchange exchange, int bookId) throws IOException {
+        Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+        params.putAll(parseQuery(readBody(exchange.getRequestBody())));
+        long timeoutSeconds = parseLongParameter("timeout", params.getOrDefault("timeout", "30"));
+        CompletableFuture<Book> future;
+        
+        lock.writeLock().lock();
+        try {
+            future = library.reserveBook(bookId, params.get("borrower"));
+        } catch (BookNotFoundException e) {
+            sendError(exchange, 404, e.getMessage());
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        if (future.isDone()) {
+            sendBook(exchange, 200, lockedCopyOf(future.join()));
+            return false;
+        }
+        
+        // Salinan terpisah agar timeout tidak membatalkan reservasi aslinya
+        future.copy()
+              .orTimeout(timeoutSeconds, TimeUnit.SECONDS)
+              .whenCompleteAsync((book, error) -> {
+                  try {
+                      if (error == null) {
+                          sendBook(exchange, 200, lockedCopyOf(book));
+                      } else if (error instanceof TimeoutException) {
+                          sendError(exchange, 202, "Reservasi masih dalam antrean");
+                      } else {
+                          Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                          sendError(exchange, 410, String.valueOf(cause.getMessage()));
+                      }
+                  } catch (IOException e) {
+                      // Klien sudah memutus koneksi
+                  } finally {
+                      exchange.close();
+                  }
+              }, executor);
+        return true;
+    }
+    
+    /**
+     * Menangani request {@code PUT /books/{id}}. Atribut yang tidak dikirim
+     * diambil dari buku yang sedang tersimpan.
+     */
+    private void updateBook(HttpExchange exchange, int bookId) throws IOException {
+        Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+        params.putAll(parseQuery(readBody(exchange.getRequestBody())));
+        BookResult result;
+        lock.writeLock().lock();
+        try {
+            Book current = library.findBookById(bookId);
+            if (current == null) {
+                result = BookResult.notFound();
+            } else {
+                int publicationYear = params.containsKey("year")
+                        ? parseIntParameter("year", params.get("year")) : current.getPublicationYear();
+                Book book = new Book(bookId, params.getOrDefault("title", current.getTitle()),
+                        params.getOrDefault("author", current.getAuthor()),
+                        params.getOrDefault("isbn", current.getIsbn()), publicationYear,
+                        params.getOrDefault("category", current.getCategory()));
+                result = copyOf(library.tryUpdateBook(book));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        sendResult(exchange, result, bookId);
+    }
+    
+    /**
+     * Menangani request {@code DELETE /books/{id}}.
+     */
+    private void removeBook(HttpExchange exchange, int bookId) throws IOException {
+        BookResult result;
+        lock.writeLock().lock();
+        try {
+            result = copyOf(library.tryRemoveBook(bookId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        if (!result.isOk()) {
+            sendResult(exchange, result, bookId);
+            return;
+        }
+        StringWriter body = new StringWriter();
+        new JsonWriter(body).beginObject().name("removed").value(true).endObject();
+        sendJson(exchange, 200, body.toString());
+    }
+    
+    /**
+     * Mengirim hasil operasi tanpa exception: buku untuk status OK, atau
+     * error dengan kode HTTP yang sesuai untuk status lainnya.
+     */
+    private void sendResult(HttpExchange exchange, BookResult result, int bookId) throws IOException {
+        switch (result.getStatus()) {
+            case OK:
+                sendBook(exchange, 200, result.getBook());
+                break;
+            case NOT_FOUND:
+                sendError(exchange, 404, "Buku dengan ID " + bookId + " tidak ditemukan");
+                break;
+            default:
+                sendError(exchange, 409, result.getStatus().getDescription());
+        }
+    }
+    
+    /**
+     * Menyalin buku milik Library agar dapat ditulis setelah lock dilepas.
+     * Dipanggil dengan lock dipegang.
+     */
+    private static Book copyOf(Book book) {
+        return book != null ? new Book(book) : null;
+    }
+    
+    private static List<Book> copyOf(List<Book> books) {
+        List<Book> copies = new ArrayList<>(books.size());
+        for (Book book : books) {
+            copies.add(new Book(book));
+        }
+        return copies;
+    }
+    
+    private static BookResult copyOf(BookResult result) {
+        Book book = result.getBook();
+        if (book == null) {
+            return result;
+        }
+        return result.isOk() ? BookResult.added(new Book(book), result.getLikelyDuplicates())
+                             : BookResult.of(result.getStatus(), new Book(book));
+    }
+    
+    /**
+     * Menyalin buku di bawah read lock, untuk buku yang diterima di luar lock,
+     * misalnya hasil reservasi yang diserahkan oleh thread lain.
+     */
+    private Book lockedCopyOf(Book book) {
+        lock.readLock().lock();
+        try {
+            return new Book(book);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Mengirim satu buku sebagai respons JSON.
+     */
+    private void sendBook(HttpExchange exchange, int status, Book book) throws IOException {
+        StringWriter body = new StringWriter();
+        new JsonWriter(body).book(book);
+        sendJson(exchange, status, body.toString());
+    }
+    
+    /**
+     * Mengirim pesan error dalam format {@code {"error": "..."}}.
+     */
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringWriter body = new StringWriter();
+        new JsonWriter(body).beginObject().name("error").value(message).endObject();
+        sendJson(exchange, status, body.toString());
+    }
+    
+    /**
+     * Mengirim body JSON dengan panjang yang sudah diketahui.
+     */
+    private void sendJson(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+    
+    /**
+     * Memecah path request menjadi segmen, misalnya {@code /books/3/borrow}
+     * menjadi {@code ["books", "3", "borrow"]}.
+     */
+    private static String[] pathSegments(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        while (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+        while (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        return path.split("/");
+    }
+    
+    /**
+     * Mengurai parameter bilangan bulat dari path, query, atau body form.
+     * 
+     * @param name nama parameter untuk pesan error
+     * @param value nilai parameter
+     * @return nilai parameter sebagai int
+     * @throws IllegalArgumentException jika nilai bukan angka, dengan pesan
+     *         yang menyebut nama parameter
+     */
+    static int parseIntParameter(String name, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter '" + name + "' harus berupa angka: " + value);
+        }
+    }
+    
+    /**
+     * Mengurai parameter bilangan bulat panjang dari query atau body form.
+     * 
+     * @param name nama parameter untuk pesan error
+     * @param value nilai parameter
+     * @return nilai parameter sebagai long
+     * @throws IllegalArgumentException jika nilai bukan angka, dengan pesan
+     *         yang menyebut nama parameter
+     */
+    static long parseLongParameter(String name, String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter '" + name + "' harus berupa angka: " + value);
+        }
+    }
+    
+    /**
+     * Membaca seluruh body request sebagai string UTF-8.
+     */
+    private static String readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        in.transferTo(buffer);
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Mengurai parameter dalam format {@code application/x-www-form-urlencoded}.
+     * 
+     * @param query string query atau body form, boleh null
+     * @return Map parameter yang sudah di-decode
+     */
+    static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8),
+                       URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+    
+    /**
+     * Menjalankan server HTTP untuk perpustakaan baru pada port tertentu.
+     * 
+     * @param args argumen command line, args[0] adalah port (opsional)
+     * @throws IOException jika server tidak dapat dijalankan
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        LibraryHttpServer server = new LibraryHttpServer(new Library("Perpustakaan Digital"), port);
+        server.start();
+        System.out.println("Server perpustakaan berjalan di http://localhost:" + server.getPort());
+    }
+}
\ No newline at end of file
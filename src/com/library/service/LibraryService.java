@@ -0,0 +1,420 @@
+package com.library.service;
+
+import com.library.Book;
+import com.library.Library;
+import com.library.events.MutationEvent;
+import com.library.events.MutationSubscription;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Kelas LibraryService adalah fasad asinkron untuk sebuah {@link Library} dengan
+ * model satu penulis (single writer), mirip actor atau event loop.
+ * 
+ * <p>Semua mutasi dikirim ke antrean dan dijalankan oleh satu thread penulis yang
+ * mengambil perintah secara batch. Setelah satu batch selesai, penulis membangun
+ * {@link LibraryView} baru dari event mutasi batch tersebut, mempublikasikannya,
+ * lalu menyelesaikan future setiap perintah. View baru berbagi struktur dengan
+ * view sebelumnya, sehingga biaya satu batch sebanding dengan jumlah event di
+ * dalamnya, bukan dengan ukuran katalog. Dengan urutan ini, pemanggil yang
+ * menunggu future mutasi selalu melihat hasilnya pada pembacaan berikutnya.
+ * 
+ * <p>Pembacaan dilayani langsung dari view terakhir tanpa lock dan tanpa melewati
+ * antrean. Library yang dibungkus tidak boleh diakses langsung oleh kode lain
+ * selama service berjalan.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see LibraryView
+ * @see Library
+ */
+public class LibraryService implements AutoCloseable {
+    
+    /** Ukuran batch default */
+    public static final int DEFAULT_MAX_BATCH = 256;
+    
+    /** Library yang hanya diakses oleh thread penulis */
+    private final Library library;
+    
+    /** Antrean perintah mutasi */
+    private final BlockingQueue<Command<?>> commands;
+    
+    /** Jumlah maksimum perintah per batch */
+    private final int maxBatch;
+    
+    /** Thread penulis */
+    private final Thread writer;
+    
+    /** Langganan event mutasi untuk memperbarui view */
+    private MutationSubscription subscription;
+    
+    /** View terakhir yang dipublikasikan */
+    private volatile LibraryView view;
+    
+    /** Penanda bahwa service sedang atau sudah ditutup */
+    private volatile boolean closed;
+    
+    /** Jumlah batch yang sudah diproses */
+    private volatile long batchCount;
+    
+    /**
+     * Constructor untuk membuat service dengan ukuran batch default.
+     * 
+     * @param library library yang akan dibungkus
+     */
+    public LibraryService(Library library) {
+        this(library, DEFAULT_MAX_BATCH);
+    }
+    
+    /**
+     * Constructor untuk membuat service dan langsung menjalankan thread penulis.
+     * 
+     * @param library library yang akan dibungkus, tidak boleh null
+     * @param maxBatch jumlah maksimum perintah per batch, harus lebih dari 0
+     * @throws IllegalArgumentException jika parameter tidak valid
+     */
+    public LibraryService(Library library, int maxBatch) {
+        if (library == null) {
+            throw new IllegalArgumentException("Objek library tidak boleh null");
+        }
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("Ukuran batch harus lebih dari 0");
+        }
+        
+        this.library = library;
+        this.maxBatch = maxBatch;
+        this.commands = new LinkedBlockingQueue<>();
+        this.subscription = library.getMutationEvents().subscribe(MutationSubscription.OverflowPolicy.DROP);
+        this.view = fullView();
+        this.writer = new Thread(this::runWriter, "library-writer-" + library.getLibraryName());
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+    
+    /**
+     * Mendapatkan view terakhir yang dipublikasikan.
+     * 
+     * @return snapshot isi perpustakaan
+     */
+    public LibraryView getView() {
+        return view;
+    }
+    
+    /**
+     * Mencari buku berdasarkan ID dari view terakhir.
+     * 
+     * @param bookId ID buku yang dicari
+     * @return future berisi salinan buku, atau null jika tidak ditemukan
+     */
+    public CompletableFuture<Book> findBookById(int bookId) {
+        return CompletableFuture.completedFuture(view.findBookById(bookId));
+    }
+    
+    /**
+     * Mencari buku berdasarkan judul dari view terakhir.
+     * 
+     * @param title judul buku yang dicari
+     * @return future berisi list salinan buku
+     */
+    public CompletableFuture<List<Book>> findBooksByTitle(String title) {
+        return read(() -> view.findBooksByTitle(title));
+    }
+    
+    /**
+     * Mencari buku berdasarkan pengarang dari view terakhir.
+     * 
+     * @param author nama pengarang yang dicari
+     * @return future berisi list salinan buku
+     */
+    public CompletableFuture<List<Book>> findBooksByAuthor(String author) {
+        return read(() -> view.findBooksByAuthor(author));
+    }
+    
+    /**
+     * Mencari buku berdasarkan kategori dari view terakhir.
+     * 
+     * @param category kategori yang dicari
+     * @return future berisi list salinan buku
+     */
+    public CompletableFuture<List<Book>> findBooksByCategory(String category) {
+        return read(() -> view.findBooksByCategory(category));
+    }
+    
+    /**
+     * Menambahkan buku baru dengan ID otomatis.
+     * 
+     * @param title judul buku
+     * @param author pengarang buku
+     * @param isbn nomor ISBN buku
+     * @param publicationYear tahun publikasi
+     * @param category kategori buku
+     * @return future berisi salinan buku yang ditambahkan
+     */
+    public CompletableFuture<Book> addBook(String title, String author, String isbn,
+                                           int publicationYear, String category) {
+        return submit(library -> library.addBook(title, author, isbn, publicationYear, category));
+    }
+    
+    /**
+     * Menambahkan objek buku. Objek yang diberikan menjadi milik Library dan
+     * tidak boleh diubah lagi oleh pemanggil.
+     * 
+     * @param book buku yang akan ditambahkan
+     * @return future berisi salinan buku yang ditambahkan
+     */
+    public CompletableFuture<Book> addBook(Book book) {
+        return submit(library -> {
+            library.addBook(book);
+            return book;
+        });
+    }
+    
+    /**
+     * Meminjam buku.
+     * 
+     * @param bookId ID buku yang akan dipinjam
+     * @param borrower nama peminjam, boleh null
+     * @return future berisi salinan buku yang dipinjam
+     */
+    public CompletableFuture<Book> borrowBook(int bookId, String borrower) {
+        return submit(library -> library.borrowBook(bookId, borrower));
+    }
+    
+    /**
+     * Mengembalikan buku.
+     * 
+     * @param bookId ID buku yang akan dikembalikan
+     * @return future berisi salinan buku yang dikembalikan
+     */
+    public CompletableFuture<Book> returnBook(int bookId) {
+        return submit(library -> library.returnBook(bookId));
+    }
+    
+    /**
+     * Menghapus buku.
+     * 
+     * @param bookId ID buku yang akan dihapus
+     * @return future berisi true jika buku berhasil dihapus
+     */
+    public CompletableFuture<Boolean> removeBook(int bookId) {
+        return submit(library -> library.removeBook(bookId));
+    }
+    
+    /**
+     * Mendapatkan jumlah batch yang sudah diproses oleh penulis.
+     * 
+     * @return jumlah batch
+     */
+    public long getBatchCount() {
+        return batchCount;
+    }
+    
+    /**
+     * Menghentikan thread penulis. Perintah yang belum dijalankan digagalkan
+     * dengan {@link RejectedExecutionException}.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        writer.interrupt();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failPending();
+    }
+    
+    /**
+     * Menjalankan pembacaan dari view dan membungkus hasilnya dalam future.
+     */
+    private <T> CompletableFuture<T> read(ViewQuery<T> query) {
+        try {
+            return CompletableFuture.completedFuture(query.run());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    /**
+     * Memasukkan perintah mutasi ke antrean penulis.
+     */
+    private <T> CompletableFuture<T> submit(Mutation<T> mutation) {
+        Command<T> command = new Command<>(mutation);
+        if (closed) {
+            command.future.completeExceptionally(new RejectedExecutionException("Service sudah ditutup"));
+            return command.future;
+        }
+        commands.add(command);
+        if (closed) {
+            failPending();
+        }
+        return command.future;
+    }
+    
+    /**
+     * Loop utama thread penulis: ambil batch, jalankan, publikasikan view,
+     * lalu selesaikan future.
+     */
+    private void runWriter() {
+        List<Command<?>> batch = new ArrayList<>(maxBatch);
+        while (!closed) {
+            try {
+                batch.add(commands.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            commands.drainTo(batch, maxBatch - 1);
+            
+            for (Command<?> command : batch) {
+                command.execute(library);
+            }
+            view = nextView();
+            batchCount++;
+            for (Command<?> command : batch) {
+                command.complete(view);
+            }
+            batch.clear();
+        }
+    }
+    
+    /**
+     * Membangun view berikutnya dengan menerapkan event mutasi sejak view
+     * sebelumnya. Jika langganan event terputus, view dibangun ulang penuh.
+     */
+    private LibraryView nextView() {
+        LibraryView previous = view;
+        PersistentBookMap.Editor books = previous.books().edit();
+        long[] lastSequence = {previous.getSequence()};
+        int[] available = {previous.getAvailableBooks()};
+        
+        int polled;
+        do {
+            polled = subscription.poll((event, endOfBatch) -> {
+                available[0] += apply(books, event);
+                lastSequence[0] = event.getSequence();
+            }, maxBatch);
+        } while (polled > 0);
+        
+        if (polled < 0) {
+            subscription = library.getMutationEvents().subscribe(MutationSubscription.OverflowPolicy.DROP);
+            return fullView();
+        }
+        return new LibraryView(books.build(), available[0], lastSequence[0]);
+    }
+    
+    /**
+     * Menerapkan satu event mutasi ke editor salinan buku.
+     * 
+     * @return perubahan jumlah buku yang tersedia akibat event
+     */
+    private static int apply(PersistentBookMap.Editor books, MutationEvent event) {
+        switch (event.getType()) {
+            case ADD:
+            case BORROW:
+            case RETURN:
+            case UPDATE:
+                Book book = event.copyBook();
+                return availability(book) - availability(books.put(book));
+            case REMOVE:
+                return -availability(books.remove(event.getBookId()));
+            case CLEAR_AVAILABLE:
+                return -books.removeIf(Book::isAvailable);
+            default:
+                return 0;
+        }
+    }
+    
+    private static int availability(Book book) {
+        return book != null && book.isAvailable() ? 1 : 0;
+    }
+    
+    /**
+     * Membangun view penuh dari seluruh isi Library.
+     */
+    private LibraryView fullView() {
+        long sequence = library.getMutationEvents().getCursor();
+        PersistentBookMap.Editor books = PersistentBookMap.EMPTY.edit();
+        int available = 0;
+        for (Book book : library.getAllBooks()) {
+            books.put(new Book(book));
+            available += availability(book);
+        }
+        return new LibraryView(books.build(), available, sequence);
+    }
+    
+    /**
+     * Menggagalkan semua perintah yang masih ada di antrean.
+     */
+    private void failPending() {
+        Command<?> command;
+        while ((command = commands.poll()) != null) {
+            command.future.completeExceptionally(new RejectedExecutionException("Service sudah ditutup"));
+        }
+    }
+    
+    /**
+     * Mutasi yang dijalankan di thread penulis.
+     */
+    @FunctionalInterface
+    private interface Mutation<T> {
+        T apply(Library library) throws Exception;
+    }
+    
+    /**
+     * Pembacaan yang dijalankan terhadap view.
+     */
+    @FunctionalInterface
+    private interface ViewQuery<T> {
+        T run();
+    }
+    
+    /**
+     * Perintah mutasi beserta hasil dan future-nya.
+     */
+    private static final class Command<T> {
+        
+        /** Mutasi yang akan dijalankan */
+        final Mutation<T> mutation;
+        
+        /** Future yang diselesaikan setelah view dipublikasikan */
+        final CompletableFuture<T> future;
+        
+        /** Hasil mutasi */
+        T result;
+        
+        /** Error dari mutasi, null jika berhasil */
+        Throwable error;
+        
+        Command(Mutation<T> mutation) {
+            this.mutation = mutation;
+            this.future = new CompletableFuture<>();
+        }
+        
+        void execute(Library library) {
+            try {
+                result = mutation.apply(library);
+            } catch (Exception e) {
+                error = e;
+            }
+        }
+        
+        @SuppressWarnings("unchecked")
+        void complete(LibraryView view) {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else if (result instanceof Book) {
+                // Kembalikan salinan dari view, bukan objek milik Library
+                Book copy = view.findBookById(((Book) result).getBookId());
+                future.complete(copy != null ? (T) copy : (T) new Book((Book) result));
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+}
\ No newline at end of file
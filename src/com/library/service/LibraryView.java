@@ -0,0 +1,172 @@
+package com.library.service;
+
+import com.library.Book;
+import com.library.dictionary.Term;
+import com.library.dictionary.TermDictionary;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kelas LibraryView adalah snapshot tidak berubah (immutable) dari isi
+ * perpustakaan yang dipublikasikan oleh {@link LibraryService} setelah setiap
+ * batch mutasi.
+ * 
+ * <p>Buku di dalam view adalah salinan, bukan objek milik Library, sehingga
+ * view dapat dibaca dari banyak thread tanpa lock. Mengubah objek Book yang
+ * dikembalikan tidak memengaruhi perpustakaan. Buku disimpan di
+ * {@link PersistentBookMap}, sehingga view berikutnya berbagi struktur dengan
+ * view ini dan hanya menyalin jalur buku yang berubah. Hasil daftar buku
+ * diurutkan berdasarkan ID.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see LibraryService
+ */
+public final class LibraryView {
+    
+    /** Salinan buku berdasarkan ID */
+    private final PersistentBookMap books;
+    
+    /** Jumlah buku yang tersedia */
+    private final int availableBooks;
+    
+    /** Nomor urut event mutasi terakhir yang tercermin di view ini */
+    private final long sequence;
+    
+    /**
+     * Constructor package-private, view hanya dibuat oleh LibraryService.
+     * 
+     * @param books salinan buku
+     * @param availableBooks jumlah buku yang tersedia di antara books
+     * @param sequence nomor urut event terakhir yang tercermin
+     */
+    LibraryView(PersistentBookMap books, int availableBooks, long sequence) {
+        this.books = books;
+        this.availableBooks = availableBooks;
+        this.sequence = sequence;
+    }
+    
+    /**
+     * Mencari buku berdasarkan ID.
+     * 
+     * @param bookId ID buku yang dicari
+     * @return salinan buku, atau null jika tidak ditemukan
+     */
+    public Book findBookById(int bookId) {
+        Book book = books.get(bookId);
+        return book == null ? null : new Book(book);
+    }
+    
+    /**
+     * Mencari buku berdasarkan judul (tidak case-sensitive).
+     * 
+     * @param title judul buku yang dicari (sebagian atau lengkap)
+     * @return List berisi salinan buku yang judulnya mengandung kata kunci
+     * @throws IllegalArgumentException jika title null atau kosong
+     */
+    public List<Book> findBooksByTitle(String title) {
+        if (title == null || title.trim().isEmpty()) {
+            throw new IllegalArgumentException("Judul pencarian tidak boleh kosong");
+        }
+        String searchTitle = title.trim().toLowerCase();
+        List<Book> result = new ArrayList<>();
+        books.forEach(book -> {
+            if (book.getTitle().toLowerCase().contains(searchTitle)) {
+                result.add(new Book(book));
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * Mencari buku berdasarkan pengarang (tidak case-sensitive).
+     * 
+     * @param author nama pengarang yang dicari (sebagian atau lengkap)
+     * @return List berisi salinan buku karya pengarang tersebut
+     * @throws IllegalArgumentException jika author null atau kosong
+     */
+    public List<Book> findBooksByAuthor(String author) {
+        if (author == null || author.trim().isEmpty()) {
+            throw new IllegalArgumentException("Nama pengarang tidak boleh kosong");
+        }
+        String searchAuthor = author.trim().toLowerCase();
+        List<Book> result = new ArrayList<>();
+        books.forEach(book -> {
+            if (book.getAuthorTerm().getFolded().contains(searchAuthor)) {
+                result.add(new Book(book));
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * Mencari buku berdasarkan kategori.
+     * 
+     * @param category kategori buku yang dicari
+     * @return List berisi salinan buku dalam kategori tersebut
+     * @throws IllegalArgumentException jika category null atau kosong
+     */
+    public List<Book> findBooksByCategory(String category) {
+        if (category == null || category.trim().isEmpty()) {
+            throw new IllegalArgumentException("Kategori tidak boleh kosong");
+        }
+        int code = TermDictionary.CATEGORIES.getFoldedCode(category.trim().toLowerCase());
+        List<Book> result = new ArrayList<>();
+        if (code < 0) {
+            return result;
+        }
+        books.forEach(book -> {
+            Term term = book.getCategoryTerm();
+            if (term != null && term.getFoldedCode() == code) {
+                result.add(new Book(book));
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * Mendapatkan salinan semua buku.
+     * 
+     * @return List berisi salinan semua buku
+     */
+    public List<Book> getAllBooks() {
+        List<Book> result = new ArrayList<>(books.size());
+        books.forEach(book -> result.add(new Book(book)));
+        return result;
+    }
+    
+    /**
+     * Mendapatkan jumlah buku dalam view.
+     * 
+     * @return jumlah total buku
+     */
+    public int getTotalBooks() {
+        return books.size();
+    }
+    
+    /**
+     * Mendapatkan jumlah buku yang tersedia.
+     * 
+     * @return jumlah buku tersedia
+     */
+    public int getAvailableBooks() {
+        return availableBooks;
+    }
+    
+    /**
+     * Mendapatkan nomor urut event mutasi terakhir yang tercermin di view ini.
+     * 
+     * @return nomor urut event, -1 jika belum ada mutasi
+     */
+    public long getSequence() {
+        return sequence;
+    }
+    
+    /**
+     * Mendapatkan map salinan buku untuk membangun view berikutnya.
+     */
+    PersistentBookMap books() {
+        return books;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,307 @@
+package com.library.service;
+
+import com.library.Book;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Kelas PersistentBookMap adalah map persisten (immutable) dari ID buku ke
+ * buku, berbentuk trie radix 32 cabang atas bit-bit ID.
+ * 
+ * <p>Perubahan tidak menyalin seluruh map: {@link Editor} hanya menyalin node
+ * di jalur dari akar ke ID yang berubah, dan node lain dipakai bersama dengan
+ * versi sebelumnya. Satu perubahan menyalin paling banyak tujuh node, berapa
+ * pun jumlah buku. Node yang sudah disalin oleh editor yang sama diubah di
+ * tempat, sehingga satu batch perubahan pada ID yang berdekatan tidak menyalin
+ * node yang sama berulang kali. Setelah {@link Editor#build()}, node milik
+ * editor tidak pernah diubah lagi.
+ * 
+ * <p>Iterasi berjalan menurut urutan ID buku. Objek ini aman dibaca dari
+ * banyak thread tanpa lock setelah dipublikasikan lewat field volatile.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see LibraryView
+ */
+final class PersistentBookMap {
+    
+    /** Jumlah bit ID per tingkat trie */
+    private static final int BITS = 5;
+    
+    /** Jumlah cabang per node */
+    private static final int WIDTH = 1 << BITS;
+    
+    /** Mask indeks cabang */
+    private static final int MASK = WIDTH - 1;
+    
+    /** Shift terbesar, cukup untuk semua ID int positif */
+    private static final int MAX_SHIFT = 30;
+    
+    /** Map kosong */
+    static final PersistentBookMap EMPTY = new PersistentBookMap(null, 0, 0);
+    
+    /** Akar trie, null jika map kosong */
+    private final Node root;
+    
+    /** Shift bit untuk tingkat akar */
+    private final int shift;
+    
+    /** Jumlah buku */
+    private final int size;
+    
+    private PersistentBookMap(Node root, int shift, int size) {
+        this.root = root;
+        this.shift = shift;
+        this.size = size;
+    }
+    
+    /**
+     * Mencari buku berdasarkan ID.
+     * 
+     * @param bookId ID buku
+     * @return buku, atau null jika tidak ada
+     */
+    Book get(int bookId) {
+        if (bookId < 0 || !fits(bookId, shift)) {
+            return null;
+        }
+        Node node = root;
+        for (int level = shift; node != null; level -= BITS) {
+            Object child = node.array[(bookId >>> level) & MASK];
+            if (level == 0) {
+                return (Book) child;
+            }
+            node = (Node) child;
+        }
+        return null;
+    }
+    
+    /**
+     * Mendapatkan jumlah buku.
+     * 
+     * @return jumlah buku
+     */
+    int size() {
+        return size;
+    }
+    
+    /**
+     * Menjalankan aksi untuk setiap buku menurut urutan ID.
+     * 
+     * @param action aksi yang dijalankan
+     */
+    void forEach(Consumer<? super Book> action) {
+        if (root != null) {
+            forEach(root, shift, action);
+        }
+    }
+    
+    /**
+     * Membuat editor yang dimulai dari isi map ini.
+     * 
+     * @return editor baru
+     */
+    Editor edit() {
+        return new Editor(this);
+    }
+    
+    private static void forEach(Node node, int level, Consumer<? super Book> action) {
+        for (Object child : node.array) {
+            if (child == null) {
+                continue;
+            }
+            if (level == 0) {
+                action.accept((Book) child);
+            } else {
+                forEach((Node) child, level - BITS, action);
+            }
+        }
+    }
+    
+    /**
+     * Mengecek apakah ID masih dapat dijangkau dari akar dengan shift tertentu.
+     */
+    private static boolean fits(int bookId, int shift) {
+        return shift >= MAX_SHIFT || (bookId >>> (shift + BITS)) == 0;
+    }
+    
+    /**
+     * Satu node trie. Anak berupa Node pada tingkat dalam dan Book pada
+     * tingkat daun.
+     */
+    private static final class Node {
+        
+        /** Penanda editor pemilik node, node hanya boleh diubah di tempat oleh editor ini */
+        final Object owner;
+        
+        /** Anak per cabang */
+        final Object[] array;
+        
+        Node(Object owner, Object[] array) {
+            this.owner = owner;
+            this.array = array;
+        }
+    }
+    
+    /**
+     * Editor untuk membangun versi baru dari sebuah map. Editor tidak
+     * thread-safe dan tidak dapat dipakai lagi setelah {@link #build()}.
+     */
+    static final class Editor {
+        
+        /** Penanda node milik editor ini, tidak dirujuk oleh map yang sudah di-build */
+        private final Object token = new Object();
+        
+        private Node root;
+        private int shift;
+        private int size;
+        
+        /** Penanda bahwa hasil editor sudah dipublikasikan */
+        private boolean built;
+        
+        private Editor(PersistentBookMap base) {
+            this.root = base.root;
+            this.shift = base.shift;
+            this.size = base.size;
+        }
+        
+        /**
+         * Menyimpan buku berdasarkan ID-nya, menggantikan buku dengan ID yang sama.
+         * 
+         * @param book buku yang disimpan
+         * @return buku sebelumnya dengan ID yang sama, atau null
+         * @throws IllegalStateException jika editor sudah di-build
+         */
+        Book put(Book book) {
+            ensureOpen();
+            int bookId = book.getBookId();
+            while (!fits(bookId, shift)) {
+                Object[] array = new Object[WIDTH];
+                array[0] = root;
+                root = new Node(token, array);
+                shift += BITS;
+            }
+            
+            root = editable(root);
+            Node node = root;
+            for (int level = shift; level > 0; level -= BITS) {
+                int index = (bookId >>> level) & MASK;
+                Node child = editable((Node) node.array[index]);
+                node.array[index] = child;
+                node = child;
+            }
+            int index = bookId & MASK;
+            Book previous = (Book) node.array[index];
+            node.array[index] = book;
+            if (previous == null) {
+                size++;
+            }
+            return previous;
+        }
+        
+        /**
+         * Menghapus buku berdasarkan ID.
+         * 
+         * @param bookId ID buku
+         * @return buku yang dihapus, atau null jika tidak ada
+         * @throws IllegalStateException jika editor sudah di-build
+         */
+        Book remove(int bookId) {
+            ensureOpen();
+            if (bookId < 0 || root == null || !fits(bookId, shift)) {
+                return null;
+            }
+            Book[] removed = new Book[1];
+            root = remove(root, shift, bookId, removed);
+            if (removed[0] != null) {
+                size--;
+            }
+            return removed[0];
+        }
+        
+        /**
+         * Menghapus semua buku yang memenuhi kondisi.
+         * 
+         * @param filter kondisi buku yang dihapus
+         * @return jumlah buku yang dihapus
+         * @throws IllegalStateException jika editor sudah di-build
+         */
+        int removeIf(Predicate<? super Book> filter) {
+            ensureOpen();
+            if (root == null) {
+                return 0;
+            }
+            List<Integer> matching = new ArrayList<>();
+            forEach(root, shift, book -> {
+                if (filter.test(book)) {
+                    matching.add(book.getBookId());
+                }
+            });
+            for (int bookId : matching) {
+                remove(bookId);
+            }
+            return matching.size();
+        }
+        
+        /**
+         * Mendapatkan versi map dari semua perubahan editor ini.
+         * 
+         * @return map persisten
+         */
+        PersistentBookMap build() {
+            ensureOpen();
+            built = true;
+            return root == null ? EMPTY : new PersistentBookMap(root, shift, size);
+        }
+        
+        /**
+         * Menghapus ID dari subtrie. Node yang menjadi kosong dilepas dari induknya.
+         */
+        private Node remove(Node node, int level, int bookId, Book[] removed) {
+            int index = (bookId >>> level) & MASK;
+            Object child = node.array[index];
+            if (child == null) {
+                return node;
+            }
+            Object replacement;
+            if (level == 0) {
+                removed[0] = (Book) child;
+                replacement = null;
+            } else {
+                replacement = remove((Node) child, level - BITS, bookId, removed);
+                if (replacement == child) {
+                    return node;
+                }
+            }
+            
+            Node result = editable(node);
+            result.array[index] = replacement;
+            for (Object value : result.array) {
+                if (value != null) {
+                    return result;
+                }
+            }
+            return null;
+        }
+        
+        /**
+         * Mendapatkan node yang boleh diubah oleh editor ini, menyalinnya jika
+         * node milik versi lain.
+         */
+        private Node editable(Node node) {
+            if (node == null) {
+                return new Node(token, new Object[WIDTH]);
+            }
+            return node.owner == token ? node : new Node(token, node.array.clone());
+        }
+        
+        private void ensureOpen() {
+            if (built) {
+                throw new IllegalStateException("Editor sudah di-build");
+            }
+        }
+    }
+}
\ No newline at end of file
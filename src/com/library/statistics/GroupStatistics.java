@@ -0,0 +1,89 @@
+package com.library.statistics;
+
+/**
+ * Kelas GroupStatistics berisi statistik satu kelompok buku, misalnya satu
+ * kategori, satu dekade publikasi, atau satu pengarang. Objek ini immutable.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see StatisticsSnapshot
+ */
+public final class GroupStatistics {
+    
+    /** Jumlah buku dalam kelompok */
+    private final int totalBooks;
+    
+    /** Jumlah buku yang sedang dipinjam */
+    private final int borrowedBooks;
+    
+    /** Jumlah peminjaman yang pernah terjadi pada buku kelompok ini */
+    private final long borrowCount;
+    
+    GroupStatistics(int totalBooks, int borrowedBooks, long borrowCount) {
+        this.totalBooks = totalBooks;
+        this.borrowedBooks = borrowedBooks;
+        this.borrowCount = borrowCount;
+    }
+    
+    /**
+     * Mendapatkan jumlah buku dalam kelompok.
+     * 
+     * @return jumlah buku
+     */
+    public int getTotalBooks() {
+        return totalBooks;
+    }
+    
+    /**
+     * Mendapatkan jumlah buku tersedia dalam kelompok.
+     * 
+     * @return jumlah buku tersedia
+     */
+    public int getAvailableBooks() {
+        return totalBooks - borrowedBooks;
+    }
+    
+    /**
+     * Mendapatkan jumlah buku yang sedang dipinjam dalam kelompok.
+     * 
+     * @return jumlah buku dipinjam
+     */
+    public int getBorrowedBooks() {
+        return borrowedBooks;
+    }
+    
+    /**
+     * Mendapatkan jumlah peminjaman kumulatif pada kelompok ini, termasuk buku
+     * yang sudah dihapus. Dihitung ulang dari nol jika kelompok pernah kosong.
+     * 
+     * @return jumlah peminjaman
+     */
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+    
+    /**
+     * Mendapatkan rasio buku yang sedang dipinjam terhadap jumlah buku.
+     * 
+     * @return rasio antara 0.0 dan 1.0
+     */
+    public double getBorrowRatio() {
+        return totalBooks == 0 ? 0.0 : (double) borrowedBooks / totalBooks;
+    }
+    
+    /**
+     * Mendapatkan rata-rata jumlah peminjaman per buku.
+     * 
+     * @return peminjaman per buku
+     */
+    public double getBorrowsPerBook() {
+        return totalBooks == 0 ? 0.0 : (double) borrowCount / totalBooks;
+    }
+    
+    @Override
+    public String toString() {
+        return "GroupStatistics{Total=" + totalBooks + ", Borrowed=" + borrowedBooks
+             + ", Borrows=" + borrowCount + "}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,243 @@
+package com.library.statistics;
+
+import com.library.Book;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Kelas StatisticsAggregator memelihara statistik perpustakaan secara inkremental.
+ * 
+ * <p>Setiap perubahan koleksi (tambah, hapus, pinjam, kembali) memperbarui
+ * counter total, counter per kategori, per dekade publikasi, dan per pengarang
+ * dalam waktu konstan. Membaca statistik tidak lagi memindai koleksi; biayanya
+ * sebanding dengan jumlah kelompok, bukan jumlah buku.
+ * 
+ * <p>Aggregator ini diperbarui oleh {@link com.library.Library} dan tidak
+ * thread-safe, sama seperti Library. Perubahan atribut buku yang menentukan
+ * kelompok (kategori, pengarang, tahun) dicatat dengan {@link #onUpdate(Book, Book)}
+ * berdasarkan salinan buku sebelum diubah. Kelompok yang semua bukunya sudah
+ * dihapus atau dipindah tetap ada selama jumlah peminjaman kumulatifnya belum
+ * nol, agar peminjaman tersebut tidak hilang dari statistik.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see StatisticsSnapshot
+ */
+public class StatisticsAggregator {
+    
+    /** Counter seluruh koleksi */
+    private final Counter overall;
+    
+    /** Counter per kategori */
+    private final Map<String, Counter> byCategory;
+    
+    /** Counter per dekade publikasi */
+    private final Map<Integer, Counter> byDecade;
+    
+    /** Counter per pengarang */
+    private final Map<String, Counter> byAuthor;
+    
+    /**
+     * Constructor untuk membuat aggregator kosong.
+     */
+    public StatisticsAggregator() {
+        this.overall = new Counter();
+        this.byCategory = new HashMap<>();
+        this.byDecade = new HashMap<>();
+        this.byAuthor = new HashMap<>();
+    }
+    
+    /**
+     * Mencatat buku yang ditambahkan ke koleksi.
+     * 
+     * @param book buku yang ditambahkan
+     */
+    public void onAdd(Book book) {
+        int borrowed = book.isAvailable() ? 0 : 1;
+        overall.add(borrowed);
+        group(byCategory, book.getCategory()).add(borrowed);
+        group(byDecade, decadeOf(book)).add(borrowed);
+        group(byAuthor, book.getAuthor()).add(borrowed);
+    }
+    
+    /**
+     * Mencatat buku yang dihapus dari koleksi.
+     * 
+     * @param book buku yang dihapus
+     */
+    public void onRemove(Book book) {
+        int borrowed = book.isAvailable() ? 0 : 1;
+        overall.remove(borrowed);
+        ungroup(byCategory, book.getCategory(), borrowed);
+        ungroup(byDecade, decadeOf(book), borrowed);
+        ungroup(byAuthor, book.getAuthor(), borrowed);
+    }
+    
+    /**
+     * Mencatat perubahan atribut buku yang menentukan kelompok. Buku hanya
+     * dipindahkan jika kunci kelompoknya berubah, sehingga perubahan lain
+     * seperti ISBN tidak menyentuh counter. Status ketersediaan dianggap tidak
+     * berubah.
+     * 
+     * @param previous salinan buku sebelum diubah
+     * @param updated buku sesudah diubah
+     */
+    public void onUpdate(Book previous, Book updated) {
+        int borrowed = updated.isAvailable() ? 0 : 1;
+        move(byCategory, previous.getCategory(), updated.getCategory(), borrowed);
+        move(byDecade, decadeOf(previous), decadeOf(updated), borrowed);
+        move(byAuthor, previous.getAuthor(), updated.getAuthor(), borrowed);
+    }
+    
+    /**
+     * Mencatat buku yang baru dipinjam.
+     * 
+     * @param book buku yang dipinjam
+     */
+    public void onBorrow(Book book) {
+        overall.borrow();
+        group(byCategory, book.getCategory()).borrow();
+        group(byDecade, decadeOf(book)).borrow();
+        group(byAuthor, book.getAuthor()).borrow();
+    }
+    
+    /**
+     * Mencatat buku yang baru dikembalikan.
+     * 
+     * @param book buku yang dikembalikan
+     */
+    public void onReturn(Book book) {
+        overall.borrowed--;
+        group(byCategory, book.getCategory()).borrowed--;
+        group(byDecade, decadeOf(book)).borrowed--;
+        group(byAuthor, book.getAuthor()).borrowed--;
+    }
+    
+    /**
+     * Mendapatkan jumlah buku dalam koleksi.
+     * 
+     * @return jumlah buku
+     */
+    public int getTotalBooks() {
+        return overall.total;
+    }
+    
+    /**
+     * Mendapatkan jumlah buku tersedia.
+     * 
+     * @return jumlah buku tersedia
+     */
+    public int getAvailableBooks() {
+        return overall.total - overall.borrowed;
+    }
+    
+    /**
+     * Mendapatkan jumlah buku yang sedang dipinjam.
+     * 
+     * @return jumlah buku dipinjam
+     */
+    public int getBorrowedBooks() {
+        return overall.borrowed;
+    }
+    
+    /**
+     * Mendapatkan jumlah buku per kategori yang masih memiliki buku.
+     * 
+     * @return map baru berisi kategori dan jumlah bukunya
+     */
+    public Map<String, Long> getCategoryCounts() {
+        Map<String, Long> counts = new HashMap<>(byCategory.size() * 2);
+        byCategory.forEach((category, counter) -> {
+            if (counter.total > 0) {
+                counts.put(category, (long) counter.total);
+            }
+        });
+        return counts;
+    }
+    
+    /**
+     * Membuat salinan immutable seluruh statistik.
+     * 
+     * @return snapshot statistik
+     */
+    public StatisticsSnapshot snapshot() {
+        return new StatisticsSnapshot(overall.toStatistics(), copy(byCategory, new HashMap<>()),
+                                      copy(byDecade, new TreeMap<>()), copy(byAuthor, new HashMap<>()));
+    }
+    
+    /**
+     * Menghitung dekade publikasi buku.
+     */
+    private static int decadeOf(Book book) {
+        return book.getPublicationYear() / 10 * 10;
+    }
+    
+    private static <K> Counter group(Map<K, Counter> groups, K key) {
+        Counter counter = groups.get(key);
+        if (counter == null) {
+            counter = new Counter();
+            groups.put(key, counter);
+        }
+        return counter;
+    }
+    
+    private static <K> void ungroup(Map<K, Counter> groups, K key, int borrowed) {
+        Counter counter = groups.get(key);
+        if (counter != null) {
+            counter.remove(borrowed);
+            // Kelompok tanpa buku tetap disimpan selama masih punya riwayat peminjaman
+            if (counter.total <= 0 && counter.borrows == 0) {
+                groups.remove(key);
+            }
+        }
+    }
+    
+    private static <K> void move(Map<K, Counter> groups, K from, K to, int borrowed) {
+        if (!Objects.equals(from, to)) {
+            ungroup(groups, from, borrowed);
+            group(groups, to).add(borrowed);
+        }
+    }
+    
+    private static <K> Map<K, GroupStatistics> copy(Map<K, Counter> groups, Map<K, GroupStatistics> target) {
+        groups.forEach((key, counter) -> target.put(key, counter.toStatistics()));
+        return target;
+    }
+    
+    /**
+     * Counter mutable untuk satu kelompok.
+     */
+    private static final class Counter {
+        
+        /** Jumlah buku */
+        int total;
+        
+        /** Jumlah buku yang sedang dipinjam */
+        int borrowed;
+        
+        /** Jumlah peminjaman kumulatif */
+        long borrows;
+        
+        void add(int borrowedDelta) {
+            total++;
+            borrowed += borrowedDelta;
+        }
+        
+        void remove(int borrowedDelta) {
+            total--;
+            borrowed -= borrowedDelta;
+        }
+        
+        void borrow() {
+            borrowed++;
+            borrows++;
+        }
+        
+        GroupStatistics toStatistics() {
+            return new GroupStatistics(total, borrowed, borrows);
+        }
+    }
+}
\ No newline at end of file
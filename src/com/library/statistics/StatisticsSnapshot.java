@@ -0,0 +1,99 @@
+package com.library.statistics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Kelas StatisticsSnapshot berisi salinan statistik perpustakaan pada satu saat.
+ * Objek ini immutable dan aman dibaca dari thread mana pun.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see StatisticsAggregator#snapshot()
+ */
+public final class StatisticsSnapshot {
+    
+    /** Statistik seluruh koleksi */
+    private final GroupStatistics overall;
+    
+    /** Statistik per kategori */
+    private final Map<String, GroupStatistics> byCategory;
+    
+    /** Statistik per dekade publikasi, terurut */
+    private final Map<Integer, GroupStatistics> byDecade;
+    
+    /** Statistik per pengarang */
+    private final Map<String, GroupStatistics> byAuthor;
+    
+    StatisticsSnapshot(GroupStatistics overall, Map<String, GroupStatistics> byCategory,
+                       Map<Integer, GroupStatistics> byDecade, Map<String, GroupStatistics> byAuthor) {
+        this.overall = overall;
+        this.byCategory = Collections.unmodifiableMap(byCategory);
+        this.byDecade = Collections.unmodifiableMap(byDecade);
+        this.byAuthor = Collections.unmodifiableMap(byAuthor);
+    }
+    
+    /**
+     * Mendapatkan statistik seluruh koleksi.
+     * 
+     * @return statistik gabungan
+     */
+    public GroupStatistics getOverall() {
+        return overall;
+    }
+    
+    /**
+     * Mendapatkan jumlah buku dalam koleksi.
+     * 
+     * @return jumlah buku
+     */
+    public int getTotalBooks() {
+        return overall.getTotalBooks();
+    }
+    
+    /**
+     * Mendapatkan jumlah buku tersedia.
+     * 
+     * @return jumlah buku tersedia
+     */
+    public int getAvailableBooks() {
+        return overall.getAvailableBooks();
+    }
+    
+    /**
+     * Mendapatkan jumlah buku yang sedang dipinjam.
+     * 
+     * @return jumlah buku dipinjam
+     */
+    public int getBorrowedBooks() {
+        return overall.getBorrowedBooks();
+    }
+    
+    /**
+     * Mendapatkan statistik per kategori.
+     * 
+     * @return map kategori ke statistik
+     */
+    public Map<String, GroupStatistics> getByCategory() {
+        return byCategory;
+    }
+    
+    /**
+     * Mendapatkan statistik per dekade publikasi, misalnya 1990 untuk 1990-1999.
+     * 
+     * @return map dekade ke statistik, terurut dari dekade terlama
+     */
+    public Map<Integer, GroupStatistics> getByDecade() {
+        return byDecade;
+    }
+    
+    /**
+     * Mendapatkan statistik per pengarang.
+     * 
+     * @return map pengarang ke statistik
+     */
+    public Map<String, GroupStatistics> getByAuthor() {
+        return byAuthor;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.library.storage;
+
+import com.library.Book;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Interface BookRepository adalah SPI mesin penyimpanan buku di bawah
+ * {@link com.library.Library}.
+ * 
+ * <p>Mesin penyimpanan hanya menyimpan dan mengambil buku; aturan bisnis
+ * seperti kapasitas, pengecekan ID ganda, dan status peminjaman tetap
+ * dijalankan oleh Library. Untuk ID yang sama, {@link #get(int)} dan
+ * {@link #scan()} harus mengembalikan objek Book yang sama dengan yang
+ * terakhir disimpan lewat {@link #insert(Book)} atau {@link #update(Book)}
+ * selama objek itu masih dirujuk, karena Library mengikat objek tersebut ke
+ * dirinya agar perubahan langsung lewat mutator Book tetap tercatat. Mesin
+ * penyimpanan yang membuat objek baru, misalnya saat membaca record dari
+ * disk, harus memberikan objek itu ke listener {@link #setLoadListener(Consumer)}
+ * sebelum mengembalikannya.
+ * 
+ * <p>Implementasi tidak perlu thread-safe untuk perubahan, tetapi pembacaan
+ * dari banyak thread harus aman selama tidak ada perubahan bersamaan, sesuai
+ * pola read lock dan write lock pada pemakai Library.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see FileBookRepository
+ */
+public interface BookRepository {
+    
+    /**
+     * Mencari buku berdasarkan ID.
+     * 
+     * @param bookId ID buku
+     * @return buku, atau null jika tidak ada
+     */
+    Book get(int bookId);
+    
+    /**
+     * Menyimpan buku baru. Pemanggil harus memastikan ID buku belum ada.
+     * 
+     * @param book buku yang disimpan
+     */
+    void insert(Book book);
+    
+    /**
+     * Menghapus buku berdasarkan ID.
+     * 
+     * @param bookId ID buku
+     * @return buku yang dihapus, atau null jika tidak ada
+     */
+    Book delete(int bookId);
+    
+    /**
+     * Menyimpan semua atribut buku yang sudah ada, termasuk status
+     * ketersediaan.
+     * 
+     * @param book buku dengan atribut terbaru
+     * @throws IllegalArgumentException jika ID buku tidak ada
+     */
+    void update(Book book);
+    
+    /**
+     * Menyimpan status ketersediaan buku yang sudah ada. Mesin penyimpanan
+     * dapat menyediakan jalur yang lebih murah daripada {@link #update(Book)}.
+     * 
+     * @param book buku dengan status ketersediaan terbaru
+     * @throws IllegalArgumentException jika ID buku tidak ada
+     */
+    default void updateAvailability(Book book) {
+        update(book);
+    }
+    
+    /**
+     * Memasang listener yang dipanggil untuk setiap objek Book baru yang dibuat
+     * oleh mesin penyimpanan sebelum objek itu dikembalikan. Mesin penyimpanan
+     * yang selalu mengembalikan objek yang disimpan tidak perlu memanggilnya.
+     * 
+     * @param listener listener objek baru, atau null untuk melepasnya
+     */
+    default void setLoadListener(Consumer<? super Book> listener) {
+    }
+    
+    /**
+     * Memindai semua buku sesuai urutan penyimpanan.
+     * 
+     * @return stream semua buku
+     */
+    Stream<Book> scan();
+    
+    /**
+     * Mendapatkan jumlah buku yang tersimpan.
+     * 
+     * @return jumlah buku
+     */
+    int size();
+    
+    /**
+     * Mengecek apakah tidak ada buku yang tersimpan.
+     * 
+     * @return true jika kosong
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    /**
+     * Mendapatkan list semua buku sesuai urutan penyimpanan.
+     * 
+     * @return list baru berisi semua buku
+     */
+    default List<Book> toList() {
+        return scan().collect(Collectors.toCollection(() -> new ArrayList<>(size())));
+    }
+    
+    /**
+     * Menghitung buku yang memenuhi predikat.
+     * 
+     * @param filter predikat buku
+     * @return jumlah buku
+     */
+    default int count(Predicate<? super Book> filter) {
+        return (int) scan().filter(filter).count();
+    }
+    
+    /**
+     * Menghapus semua buku yang memenuhi predikat.
+     * 
+     * @param filter predikat buku yang dihapus
+     * @param removed dipanggil untuk setiap buku yang dihapus, boleh null
+     * @return jumlah buku yang dihapus
+     */
+    default int removeIf(Predicate<? super Book> filter, Consumer<? super Book> removed) {
+        List<Book> matches = scan().filter(filter).collect(Collectors.toList());
+        for (Book book : matches) {
+            delete(book.getBookId());
+            if (removed != null) {
+                removed.accept(book);
+            }
+        }
+        return matches.size();
+    }
+    
+    /**
+     * Mendapatkan jumlah entri yang dibaca oleh satu pemindaian penuh,
+     * termasuk entri kosong, untuk pencatatan metrik.
+     * 
+     * @return jumlah entri yang dipindai
+     */
+    default int getScanCost() {
+        return size();
+    }
+    
+    /**
+     * Mendapatkan proporsi ruang penyimpanan yang tidak lagi dipakai.
+     * 
+     * @return nilai antara 0.0 dan 1.0
+     */
+    default double getFragmentation() {
+        return 0.0;
+    }
+    
+    /**
+     * Memadatkan penyimpanan.
+     * 
+     * @param maxMoves jumlah maksimum buku yang dipindahkan, jika mesin
+     *                 penyimpanan mendukung pemadatan bertahap
+     * @return jumlah buku yang dipindahkan
+     */
+    default int compact(int maxMoves) {
+        return 0;
+    }
+}
\ No newline at end of file
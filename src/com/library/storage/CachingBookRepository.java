@@ -0,0 +1,524 @@
+package com.library.storage;
+
+import com.library.Book;
+import com.library.popularity.CountMinSketch;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Kelas CachingBookRepository adalah cache read-through berukuran tetap di
+ * depan {@link BookRepository} lain, biasanya {@link FileBookRepository}, agar
+ * buku yang sering dicari tetap di memori sementara sisanya tetap di disk.
+ * 
+ * <p>Penggantian entri memakai W-TinyLFU. Buku baru masuk ke window LRU kecil
+ * (sekitar 1% kapasitas). Buku yang keluar dari window hanya diterima di
+ * segmen utama jika perkiraan frekuensinya di {@link CountMinSketch} lebih
+ * besar daripada korban segmen utama; jika tidak, buku itu yang dibuang.
+ * Segmen utama adalah SLRU: buku yang diakses lagi dipromosikan dari
+ * probation ke protected (sekitar 80% segmen utama). Frekuensi dihitung untuk
+ * semua akses, termasuk miss, dan dibagi dua setiap sepuluh kali kapasitas
+ * sehingga popularitas lama meluruh.
+ * 
+ * <p>Pencarian hit hanya membaca {@link ConcurrentHashMap}; pencatatan akses
+ * ke struktur penggantian memakai {@code tryLock} dan dilewati jika lock
+ * sedang dipakai thread lain, sehingga pembaca tidak saling menunggu. Miss
+ * membaca dari penyimpanan di bawahnya lalu menyisipkan buku di bawah lock.
+ * 
+ * <p>Perubahan ditulis langsung ke penyimpanan di bawahnya (write-through)
+ * sebelum entri cache diperbarui, termasuk perubahan status ketersediaan dari
+ * peminjaman dan pengembalian. Seperti {@link BookRepository} lain,
+ * pembacaan dari banyak thread aman selama tidak ada perubahan bersamaan.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see BookRepository
+ */
+public final class CachingBookRepository implements BookRepository {
+    
+    /** Proporsi kapasitas untuk window */
+    private static final double WINDOW_RATIO = 0.01;
+    
+    /** Proporsi segmen utama untuk protected */
+    private static final double PROTECTED_RATIO = 0.8;
+    
+    /** Jumlah akses per kapasitas sebelum frekuensi dibagi dua */
+    private static final int SAMPLE_FACTOR = 10;
+    
+    // Segmen tempat sebuah entri berada
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+    private static final byte REMOVED = -1;
+    
+    /** Penyimpanan di bawah cache */
+    private final BookRepository delegate;
+    
+    /** Jumlah maksimum buku di cache */
+    private final int maximumSize;
+    
+    /** Kapasitas window */
+    private final int windowCapacity;
+    
+    /** Kapasitas protected */
+    private final int protectedCapacity;
+    
+    /** Entri cache per ID buku */
+    private final ConcurrentHashMap<Integer, Node> entries;
+    
+    /** Lock untuk struktur penggantian dan sketch */
+    private final ReentrantLock policyLock;
+    
+    /** Perkiraan frekuensi akses per ID buku */
+    private final CountMinSketch sketch;
+    
+    /** Jumlah akses sebelum frekuensi dibagi dua */
+    private final int sampleSize;
+    
+    /** Jumlah akses yang tercatat sejak pembagian terakhir */
+    private int samples;
+    
+    // Urutan LRU per segmen, kepala adalah yang paling lama tidak diakses
+    private final AccessOrder window;
+    private final AccessOrder probation;
+    private final AccessOrder protectedSegment;
+    
+    /** Counter hit */
+    private final LongAdder hits;
+    
+    /** Counter miss */
+    private final LongAdder misses;
+    
+    /** Counter buku yang dibuang dari cache */
+    private final LongAdder evictions;
+    
+    /**
+     * Constructor untuk membuat cache di depan sebuah penyimpanan.
+     * 
+     * @param delegate penyimpanan di bawah cache, tidak boleh null
+     * @param maximumSize jumlah maksimum buku di cache, harus lebih dari 0
+     * @throws IllegalArgumentException jika parameter tidak valid
+     */
+    public CachingBookRepository(BookRepository delegate, int maximumSize) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Penyimpanan di bawah cache tidak boleh null");
+        }
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Ukuran cache harus lebih dari 0");
+        }
+        this.delegate = delegate;
+        this.maximumSize = maximumSize;
+        this.windowCapacity = Math.max(1, (int) (maximumSize * WINDOW_RATIO));
+        this.protectedCapacity = (int) ((maximumSize - windowCapacity) * PROTECTED_RATIO);
+        this.entries = new ConcurrentHashMap<>();
+        this.policyLock = new ReentrantLock();
+        this.sketch = new CountMinSketch(Math.max(64, maximumSize));
+        this.sampleSize = (int) Math.min(Integer.MAX_VALUE, (long) SAMPLE_FACTOR * maximumSize);
+        this.window = new AccessOrder();
+        this.probation = new AccessOrder();
+        this.protectedSegment = new AccessOrder();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+    }
+    
+    /**
+     * Mendapatkan penyimpanan di bawah cache.
+     * 
+     * @return penyimpanan di bawah cache
+     */
+    public BookRepository getDelegate() {
+        return delegate;
+    }
+    
+    @Override
+    public Book get(int bookId) {
+        Node node = entries.get(bookId);
+        if (node != null) {
+            hits.increment();
+            if (policyLock.tryLock()) {
+                try {
+                    onHit(node);
+                } finally {
+                    policyLock.unlock();
+                }
+            }
+            return node.value;
+        }
+        misses.increment();
+        Book book = delegate.get(bookId);
+        policyLock.lock();
+        try {
+            recordAccess(bookId);
+            if (book == null) {
+                return null;
+            }
+            node = entries.get(bookId);
+            if (node != null) {
+                // Thread lain sudah memuat buku yang sama lebih dulu
+                return node.value;
+            }
+            node = new Node(bookId, book);
+            entries.put(bookId, node);
+            node.segment = WINDOW;
+            window.addLast(node);
+            evict();
+            return book;
+        } finally {
+            policyLock.unlock();
+        }
+    }
+    
+    /**
+     * Menyimpan buku baru. Buku tidak langsung dimasukkan ke cache; buku baru
+     * masuk saat pertama kali dicari.
+     */
+    @Override
+    public void insert(Book book) {
+        delegate.insert(book);
+        invalidate(book.getBookId());
+    }
+    
+    @Override
+    public Book delete(int bookId) {
+        Book removed = delegate.delete(bookId);
+        invalidate(bookId);
+        return removed;
+    }
+    
+    @Override
+    public void update(Book book) {
+        delegate.update(book);
+        refresh(book);
+    }
+    
+    @Override
+    public void updateAvailability(Book book) {
+        delegate.updateAvailability(book);
+        refresh(book);
+    }
+    
+    /**
+     * Memindai semua buku di penyimpanan di bawah cache. Buku yang ada di
+     * cache dikembalikan sebagai instance yang di-cache; pemindaian tidak
+     * mengubah isi cache.
+     */
+    @Override
+    public Stream<Book> scan() {
+        return delegate.scan().map(book -> {
+            Node node = entries.get(book.getBookId());
+            return node != null ? node.value : book;
+        });
+    }
+    
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+    
+    @Override
+    public void setLoadListener(Consumer<? super Book> listener) {
+        delegate.setLoadListener(listener);
+    }
+    
+    @Override
+    public int removeIf(Predicate<? super Book> filter, Consumer<? super Book> removed) {
+        return delegate.removeIf(filter, book -> {
+            invalidate(book.getBookId());
+            if (removed != null) {
+                removed.accept(book);
+            }
+        });
+    }
+    
+    @Override
+    public int getScanCost() {
+        return delegate.getScanCost();
+    }
+    
+    @Override
+    public double getFragmentation() {
+        return delegate.getFragmentation();
+    }
+    
+    @Override
+    public int compact(int maxMoves) {
+        return delegate.compact(maxMoves);
+    }
+    
+    /**
+     * Mengosongkan cache tanpa mengubah penyimpanan di bawahnya.
+     */
+    public void invalidateAll() {
+        policyLock.lock();
+        try {
+            for (Node node : entries.values()) {
+                node.segment = REMOVED;
+            }
+            entries.clear();
+            window.clear();
+            probation.clear();
+            protectedSegment.clear();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+    
+    /**
+     * Mendapatkan jumlah maksimum buku di cache.
+     * 
+     * @return kapasitas cache
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+    
+    /**
+     * Mendapatkan jumlah buku yang sedang di cache.
+     * 
+     * @return jumlah entri cache
+     */
+    public int getCachedCount() {
+        return entries.size();
+    }
+    
+    /**
+     * Mendapatkan jumlah pencarian yang dilayani cache.
+     * 
+     * @return jumlah hit
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+    
+    /**
+     * Mendapatkan jumlah pencarian yang harus membaca penyimpanan di bawahnya.
+     * 
+     * @return jumlah miss
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+    
+    /**
+     * Mendapatkan jumlah buku yang dibuang dari cache karena kapasitas.
+     * 
+     * @return jumlah eviction
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+    
+    /**
+     * Mendapatkan proporsi pencarian yang dilayani cache.
+     * 
+     * @return nilai antara 0.0 dan 1.0, atau 0.0 jika belum ada pencarian
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("CachingBookRepository{entri=%d/%d, hit=%d, miss=%d, hitRate=%.1f%%, eviction=%d}",
+                             entries.size(), maximumSize, hits.sum(), misses.sum(),
+                             getHitRate() * 100, evictions.sum());
+    }
+    
+    /**
+     * Mengganti nilai entri cache dengan buku terbaru, jika di-cache.
+     */
+    private void refresh(Book book) {
+        Node node = entries.get(book.getBookId());
+        if (node != null) {
+            node.value = book;
+        }
+    }
+    
+    private void invalidate(int bookId) {
+        if (!entries.containsKey(bookId)) {
+            return;
+        }
+        policyLock.lock();
+        try {
+            Node node = entries.remove(bookId);
+            if (node != null) {
+                segmentOf(node).remove(node);
+                node.segment = REMOVED;
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+    
+    /**
+     * Mencatat hit: memindahkan entri ke posisi paling baru di segmennya,
+     * atau mempromosikan entri probation ke protected.
+     */
+    private void onHit(Node node) {
+        if (node.segment == REMOVED) {
+            // Entri sudah dibuang oleh thread lain setelah dibaca dari map
+            return;
+        }
+        recordAccess(node.bookId);
+        if (node.segment == PROBATION) {
+            probation.remove(node);
+            node.segment = PROTECTED;
+            protectedSegment.addLast(node);
+            while (protectedSegment.size > protectedCapacity) {
+                Node demoted = protectedSegment.pollFirst();
+                demoted.segment = PROBATION;
+                probation.addLast(demoted);
+            }
+        } else {
+            segmentOf(node).moveToLast(node);
+        }
+    }
+    
+    private void recordAccess(int bookId) {
+        sketch.increment(bookId);
+        if (++samples >= sampleSize) {
+            sketch.halve();
+            samples /= 2;
+        }
+    }
+    
+    /**
+     * Memindahkan kelebihan window ke segmen utama dan membuang entri sampai
+     * ukuran cache kembali dalam batas.
+     */
+    private void evict() {
+        while (window.size > windowCapacity) {
+            Node candidate = window.pollFirst();
+            candidate.segment = PROBATION;
+            probation.addLast(candidate);
+            if (entries.size() <= maximumSize) {
+                continue;
+            }
+            Node victim = probation.first();
+            if (victim == candidate) {
+                // Probation hanya berisi kandidat; korban diambil dari protected
+                victim = protectedSegment.first();
+            }
+            if (victim == null) {
+                remove(candidate);
+            } else if (sketch.estimate(candidate.bookId) > sketch.estimate(victim.bookId)) {
+                remove(victim);
+            } else {
+                remove(candidate);
+            }
+        }
+        while (entries.size() > maximumSize) {
+            // Hanya terjadi jika segmen utama kosong, misalnya kapasitas sangat kecil
+            Node victim = window.first();
+            if (victim == null) {
+                break;
+            }
+            remove(victim);
+        }
+    }
+    
+    private void remove(Node node) {
+        segmentOf(node).remove(node);
+        node.segment = REMOVED;
+        entries.remove(node.bookId, node);
+        evictions.increment();
+    }
+    
+    private AccessOrder segmentOf(Node node) {
+        switch (node.segment) {
+            case WINDOW:
+                return window;
+            case PROBATION:
+                return probation;
+            default:
+                return protectedSegment;
+        }
+    }
+    
+    /**
+     * Entri cache yang juga menjadi simpul di daftar LRU segmennya.
+     */
+    private static final class Node {
+        
+        private final int bookId;
+        private volatile Book value;
+        private byte segment;
+        private Node prev;
+        private Node next;
+        
+        Node(int bookId, Book value) {
+            this.bookId = bookId;
+            this.value = value;
+        }
+    }
+    
+    /**
+     * Daftar berantai ganda untuk urutan LRU; hanya diakses di bawah lock.
+     */
+    private static final class AccessOrder {
+        
+        private Node head;
+        private Node tail;
+        private int size;
+        
+        Node first() {
+            return head;
+        }
+        
+        void addLast(Node node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+        
+        Node pollFirst() {
+            Node node = head;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+        
+        void moveToLast(Node node) {
+            if (node != tail) {
+                remove(node);
+                addLast(node);
+            }
+        }
+        
+        void remove(Node node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+        
+        void clear() {
+            head = null;
+            tail = null;
+            size = 0;
+        }
+    }
+}
\ No newline at end of file
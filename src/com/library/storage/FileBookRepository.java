@@ -0,0 +1,1125 @@
+package com.library.storage;
+
+import com.library.Book;
+import com.library.codec.BookCodec;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Kelas FileBookRepository adalah mesin penyimpanan {@link BookRepository}
+ * di disk yang terdiri dari heap file dan hash index berhalaman.
+ * 
+ * <p>Heap file ({@value #HEAP_FILE}) berisi record berurutan: panjang (4
+ * byte), status hidup atau mati (1 byte), lalu buku dalam format
+ * {@link BookCodec} tanpa kamus, sehingga setiap record dapat dibaca sendiri.
+ * Perubahan yang tidak mengubah panjang record, misalnya status ketersediaan,
+ * ditulis di tempat. Perubahan lain dan penghapusan menandai record lama mati
+ * dan, untuk perubahan, menambahkan record baru di akhir file.
+ * 
+ * <p>Index ({@value #INDEX_FILE}) adalah tabel hash open addressing dengan
+ * linear probing yang dibagi ke halaman {@value #PAGE_SIZE} byte dan
+ * dipetakan ke memori. Halaman pertama berisi header; setiap slot berisi ID
+ * buku dan offset record di heap. Tabel diperbesar dua kali lipat jika terlalu
+ * penuh. Pencarian berdasarkan ID biasanya hanya menyentuh satu halaman index
+ * dan satu pembacaan heap.
+ * 
+ * <p>Pemadatan berjalan bertahap: setiap {@link #compact(int)} menyalin
+ * paling banyak sejumlah record hidup ke heap baru ({@value #HEAP_FILE}.tmp).
+ * Heap lama tetap dipakai sampai semua record tersalin; perubahan di tempat
+ * dan penghapusan record yang sudah tersalin juga ditulis ke heap baru.
+ * Setelah record terakhir tersalin, heap baru menggantikan heap lama secara
+ * atomik dan offset di index diperbarui.
+ * 
+ * <p>Perubahan baru tahan crash setelah {@link #flush()} atau {@link #close()}.
+ * Header index menyimpan penanda bersih yang dihapus sebelum perubahan pertama
+ * setelah flush. Jika saat dibuka index tidak bersih atau tidak cocok dengan
+ * heap, index dibangun ulang dari heap: record terakhir yang terpotong
+ * dibuang dan, jika satu ID muncul di beberapa record hidup, record terakhir
+ * yang dipakai.
+ * 
+ * <p>Objek Book yang sudah dikembalikan atau disimpan dicatat lewat weak
+ * reference per ID, sehingga pembacaan berikutnya untuk ID yang sama
+ * mengembalikan objek yang sama selama objek itu masih dirujuk. Record hanya
+ * di-decode menjadi objek baru jika objek lama sudah tidak dirujuk, dan objek
+ * baru itu diberikan ke listener {@link #setLoadListener(Consumer)}.
+ * 
+ * <p>Pembacaan dari banyak thread aman selama tidak ada perubahan bersamaan.
+ * Perubahan tidak thread-safe, sama seperti {@link com.library.Library}.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see BookRepository
+ */
+public final class FileBookRepository implements BookRepository, Closeable {
+    
+    /** Nama heap file di dalam direktori penyimpanan */
+    public static final String HEAP_FILE = "books.heap";
+    
+    /** Nama file index di dalam direktori penyimpanan */
+    public static final String INDEX_FILE = "books.idx";
+    
+    /** Ukuran satu halaman index */
+    public static final int PAGE_SIZE = 4096;
+    
+    /** Penanda heap file ("LBHP") */
+    private static final int HEAP_MAGIC = 0x4C424850;
+    
+    /** Penanda file index ("LBIX") */
+    private static final int INDEX_MAGIC = 0x4C424958;
+    
+    /** Versi format penyimpanan */
+    private static final int VERSION = 1;
+    
+    /** Ukuran header heap: MAGIC, versi, cadangan */
+    private static final int HEAP_HEADER_BYTES = 16;
+    
+    /** Ukuran header record: panjang dan status */
+    private static final int RECORD_HEADER_BYTES = 5;
+    
+    /** Panjang maksimum satu record */
+    private static final int MAX_RECORD_BYTES = 1 << 24;
+    
+    /** Status record hidup */
+    private static final byte LIVE = 1;
+    
+    /** Status record mati */
+    private static final byte DEAD = 0;
+    
+    /** Ukuran satu slot index: ID buku dan offset heap */
+    private static final int SLOT_BYTES = Integer.BYTES + Long.BYTES;
+    
+    /** Jumlah slot per halaman index */
+    private static final int SLOTS_PER_PAGE = PAGE_SIZE / SLOT_BYTES;
+    
+    /** Offset slot kosong */
+    private static final long EMPTY = 0;
+    
+    /** Offset slot yang bukunya sudah dihapus */
+    private static final long TOMBSTONE = -1;
+    
+    /** Jumlah halaman slot awal */
+    private static final int INITIAL_PAGES = 4;
+    
+    /** Proporsi slot terpakai (termasuk tombstone) sebelum tabel diperbesar */
+    private static final double MAX_LOAD = 0.7;
+    
+    /** Ukuran buffer pembacaan berurutan */
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+    
+    /** Ukuran pembacaan awal satu record */
+    private static final int READ_AHEAD = 256;
+    
+    // Posisi field di header index
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_PAGES = 8;
+    private static final int H_SIZE = 12;
+    private static final int H_USED = 16;
+    private static final int H_CLEAN = 20;
+    private static final int H_HEAP_END = 24;
+    private static final int H_DEAD_BYTES = 32;
+    
+    /** Direktori penyimpanan */
+    private final Path directory;
+    
+    /** Channel heap file */
+    private FileChannel heap;
+    
+    /** Index yang dipetakan ke memori */
+    private MappedByteBuffer index;
+    
+    /** Jumlah halaman slot (tanpa halaman header) */
+    private int pageCount;
+    
+    /** Jumlah slot */
+    private int slotCount;
+    
+    /** Jumlah buku */
+    private int size;
+    
+    /** Jumlah slot terisi atau tombstone */
+    private int usedSlots;
+    
+    /** Akhir data heap */
+    private long heapEnd;
+    
+    /** Jumlah byte record mati di heap */
+    private long deadBytes;
+    
+    /** Penanda bahwa ada perubahan sejak flush terakhir */
+    private boolean dirty;
+    
+    /** Pemadatan bertahap yang sedang berjalan, atau null */
+    private Compaction compaction;
+    
+    /** Codec untuk menulis record */
+    private final BookCodec writer;
+    
+    /** Buffer untuk menulis record */
+    private ByteBuffer writeBuffer;
+    
+    /** Codec untuk membaca record per thread */
+    private final ThreadLocal<BookCodec> readers;
+    
+    /** Objek Book yang sudah dikembalikan atau disimpan per ID buku */
+    private final ConcurrentHashMap<Integer, BookReference> loaded;
+    
+    /** Antrian weak reference yang objeknya sudah tidak dirujuk */
+    private final ReferenceQueue<Book> collected;
+    
+    /** Listener objek Book baru hasil decode, atau null */
+    private volatile Consumer<? super Book> loadListener;
+    
+    private FileBookRepository(Path directory) {
+        this.directory = directory;
+        this.writer = new BookCodec(false);
+        this.writeBuffer = ByteBuffer.allocate(READ_AHEAD);
+        this.readers = ThreadLocal.withInitial(() -> new BookCodec(false));
+        this.loaded = new ConcurrentHashMap<>();
+        this.collected = new ReferenceQueue<>();
+    }
+    
+    /**
+     * Membuka atau membuat penyimpanan di sebuah direktori.
+     * 
+     * @param directory direktori penyimpanan, dibuat jika belum ada
+     * @return penyimpanan yang sudah dibuka, harus ditutup setelah selesai
+     * @throws IOException jika file rusak atau gagal dibaca
+     */
+    public static FileBookRepository open(Path directory) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("Direktori penyimpanan tidak boleh null");
+        }
+        Files.createDirectories(directory);
+        FileBookRepository repository = new FileBookRepository(directory);
+        try {
+            repository.openHeap();
+            if (!repository.loadIndex()) {
+                repository.rebuildIndex();
+            }
+        } catch (IOException | RuntimeException e) {
+            repository.closeQuietly();
+            throw e;
+        }
+        return repository;
+    }
+    
+    /**
+     * Mendapatkan direktori penyimpanan.
+     * 
+     * @return path direktori
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+    
+    @Override
+    public Book get(int bookId) {
+        int slot = findSlot(bookId);
+        if (slot < 0) {
+            return null;
+        }
+        Book cached = loaded(bookId);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            return intern(readRecord(index.getLong(slotAddress(slot) + Integer.BYTES)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal membaca buku " + bookId, e);
+        }
+    }
+    
+    @Override
+    public void insert(Book book) {
+        try {
+            markDirty();
+            if (usedSlots + 1 > slotCount * MAX_LOAD) {
+                resizeIndex(size + 1 > slotCount * MAX_LOAD / 2 ? pageCount * 2 : pageCount);
+            }
+            long offset = append(book);
+            putSlot(book.getBookId(), offset);
+            size++;
+            writeCounters();
+            remember(book);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menyimpan buku " + book.getBookId(), e);
+        }
+    }
+    
+    @Override
+    public Book delete(int bookId) {
+        int slot = findSlot(bookId);
+        if (slot < 0) {
+            return null;
+        }
+        try {
+            markDirty();
+            int address = slotAddress(slot);
+            long offset = index.getLong(address + Integer.BYTES);
+            Book book = loaded(bookId);
+            if (book == null) {
+                book = readRecord(offset);
+            }
+            kill(offset);
+            index.putLong(address + Integer.BYTES, TOMBSTONE);
+            size--;
+            writeCounters();
+            loaded.remove(bookId);
+            return book;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menghapus buku " + bookId, e);
+        }
+    }
+    
+    @Override
+    public void update(Book book) {
+        int slot = findSlot(book.getBookId());
+        if (slot < 0) {
+            throw new IllegalArgumentException("Buku dengan ID " + book.getBookId() + " tidak tersimpan");
+        }
+        try {
+            markDirty();
+            int address = slotAddress(slot);
+            long offset = index.getLong(address + Integer.BYTES);
+            ByteBuffer record = encode(book);
+            int length = record.remaining() - RECORD_HEADER_BYTES;
+            if (readInt(offset) == length) {
+                // Panjang sama, misalnya hanya status ketersediaan yang berubah
+                ByteBuffer copy = record.duplicate();
+                writeFully(record, offset);
+                if (compaction != null) {
+                    compaction.rewrite(offset, copy);
+                }
+            } else {
+                long newOffset = heapEnd;
+                writeFully(record, newOffset);
+                heapEnd += record.limit();
+                kill(offset);
+                index.putLong(address + Integer.BYTES, newOffset);
+            }
+            writeCounters();
+            remember(book);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menyimpan buku " + book.getBookId(), e);
+        }
+    }
+    
+    @Override
+    public Stream<Book> scan() {
+        RecordCursor cursor = new RecordCursor(heap, heapEnd);
+        BookCodec codec = new BookCodec(false);
+        Iterator<Book> iterator = new Iterator<Book>() {
+            private Book next;
+            
+            @Override
+            public boolean hasNext() {
+                try {
+                    while (next == null && cursor.next()) {
+                        if (cursor.state == LIVE) {
+                            next = intern(codec.decode(cursor.payload));
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Gagal memindai heap buku", e);
+                }
+                return next != null;
+            }
+            
+            @Override
+            public Book next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Book book = next;
+                next = null;
+                return book;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliterator(iterator, size,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public void setLoadListener(Consumer<? super Book> listener) {
+        this.loadListener = listener;
+    }
+    
+    /**
+     * Mendapatkan proporsi byte heap yang berisi record mati.
+     * 
+     * @return nilai antara 0.0 dan 1.0
+     */
+    @Override
+    public double getFragmentation() {
+        long data = heapEnd - HEAP_HEADER_BYTES;
+        return data == 0 ? 0.0 : (double) deadBytes / data;
+    }
+    
+    /**
+     * Melanjutkan pemadatan bertahap dengan menyalin paling banyak maxMoves
+     * record hidup ke heap baru. Pemadatan baru dimulai jika heap berisi
+     * record mati. Heap baru dipakai setelah semua record tersalin.
+     * 
+     * @param maxMoves jumlah maksimum buku yang disalin dalam panggilan ini
+     * @return jumlah buku yang disalin, 0 jika tidak ada yang perlu dipadatkan
+     */
+    @Override
+    public int compact(int maxMoves) {
+        if (maxMoves <= 0 || (compaction == null && deadBytes == 0)) {
+            return 0;
+        }
+        try {
+            if (compaction == null) {
+                compaction = new Compaction(directory.resolve(HEAP_FILE + ".tmp"));
+            }
+            int copied = copyLive(maxMoves);
+            if (compaction.source >= heapEnd) {
+                finishCompaction();
+            }
+            return copied;
+        } catch (IOException e) {
+            abortCompaction();
+            throw new UncheckedIOException("Gagal memadatkan heap buku", e);
+        }
+    }
+    
+    /**
+     * Memaksa semua perubahan ke disk dan menandai index bersih.
+     * 
+     * @throws IOException jika gagal menulis
+     */
+    public void flush() throws IOException {
+        if (!dirty) {
+            return;
+        }
+        heap.force(false);
+        writeCounters();
+        index.put(H_CLEAN, (byte) 1);
+        index.force();
+        dirty = false;
+    }
+    
+    /**
+     * Menyimpan semua perubahan dan menutup file.
+     * 
+     * @throws IOException jika gagal menulis atau menutup file
+     */
+    @Override
+    public void close() throws IOException {
+        if (!heap.isOpen()) {
+            return;
+        }
+        try {
+            abortCompaction();
+            flush();
+        } finally {
+            heap.close();
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "FileBookRepository{" + directory + ", buku=" + size + ", halaman=" + pageCount
+               + ", heap=" + heapEnd + " byte}";
+    }
+    
+    // ------------------------------------------------------------------
+    // Objek yang sudah dikembalikan
+    // ------------------------------------------------------------------
+    
+    /**
+     * Mendapatkan objek Book untuk ID yang masih dirujuk, atau null.
+     */
+    private Book loaded(int bookId) {
+        BookReference reference = loaded.get(bookId);
+        return reference != null ? reference.get() : null;
+    }
+    
+    /**
+     * Mencatat objek yang disimpan sebagai objek untuk ID-nya.
+     */
+    private void remember(Book book) {
+        expunge();
+        loaded.put(book.getBookId(), new BookReference(book, collected));
+    }
+    
+    /**
+     * Mengembalikan objek yang sudah dikenal untuk ID buku hasil decode, atau
+     * mencatat hasil decode itu setelah diberikan ke listener. Jika beberapa
+     * thread membaca ID yang sama bersamaan, hanya satu objek yang menang.
+     */
+    private Book intern(Book decoded) {
+        int bookId = decoded.getBookId();
+        Book existing = loaded(bookId);
+        if (existing != null) {
+            return existing;
+        }
+        expunge();
+        Consumer<? super Book> listener = loadListener;
+        if (listener != null) {
+            listener.accept(decoded);
+        }
+        BookReference reference = new BookReference(decoded, collected);
+        while (true) {
+            BookReference current = loaded.putIfAbsent(bookId, reference);
+            if (current == null) {
+                return decoded;
+            }
+            Book winner = current.get();
+            if (winner != null) {
+                return winner;
+            }
+            if (loaded.replace(bookId, current, reference)) {
+                return decoded;
+            }
+        }
+    }
+    
+    /**
+     * Membuang catatan yang objeknya sudah tidak dirujuk.
+     */
+    private void expunge() {
+        Reference<? extends Book> reference;
+        while ((reference = collected.poll()) != null) {
+            BookReference stale = (BookReference) reference;
+            loaded.remove(stale.bookId, stale);
+        }
+    }
+    
+    /**
+     * Weak reference ke objek Book yang mengingat ID-nya untuk pembersihan.
+     */
+    private static final class BookReference extends WeakReference<Book> {
+        
+        final int bookId;
+        
+        BookReference(Book book, ReferenceQueue<Book> queue) {
+            super(book, queue);
+            this.bookId = book.getBookId();
+        }
+    }
+    
+    // ------------------------------------------------------------------
+    // Heap
+    // ------------------------------------------------------------------
+    
+    private void openHeap() throws IOException {
+        heap = FileChannel.open(directory.resolve(HEAP_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (heap.size() == 0) {
+            writeFully(heapHeader(), 0);
+            heap.force(false);
+        } else {
+            ByteBuffer header = readFully(heap, 0, HEAP_HEADER_BYTES);
+            if (header.getInt() != HEAP_MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Heap file buku tidak valid: " + directory.resolve(HEAP_FILE));
+            }
+        }
+    }
+    
+    private static ByteBuffer heapHeader() {
+        ByteBuffer header = ByteBuffer.allocate(HEAP_HEADER_BYTES);
+        header.putInt(HEAP_MAGIC).putInt(VERSION);
+        return header.clear();
+    }
+    
+    /**
+     * Meng-encode buku menjadi record hidup lengkap dengan header.
+     */
+    private ByteBuffer encode(Book book) {
+        int length = writer.encodedSize(book);
+        if (length > MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("Record buku " + book.getBookId() + " terlalu besar");
+        }
+        if (writeBuffer.capacity() < RECORD_HEADER_BYTES + length) {
+            writeBuffer = ByteBuffer.allocate(Math.max(RECORD_HEADER_BYTES + length, writeBuffer.capacity() * 2));
+        }
+        writeBuffer.clear();
+        writeBuffer.putInt(length).put(LIVE);
+        writer.encode(book, writeBuffer);
+        return writeBuffer.flip();
+    }
+    
+    private long append(Book book) throws IOException {
+        ByteBuffer record = encode(book);
+        long offset = heapEnd;
+        writeFully(record, offset);
+        heapEnd += record.limit();
+        return offset;
+    }
+    
+    /**
+     * Menandai record mati.
+     */
+    private void kill(long offset) throws IOException {
+        writeFully(ByteBuffer.wrap(new byte[] {DEAD}), offset + Integer.BYTES);
+        int length = readInt(offset);
+        deadBytes += RECORD_HEADER_BYTES + length;
+        if (compaction != null) {
+            compaction.kill(offset, length);
+        }
+    }
+    
+    private Book readRecord(long offset) throws IOException {
+        int available = (int) Math.min(READ_AHEAD, heapEnd - offset);
+        ByteBuffer buffer = readFully(heap, offset, available);
+        int length = buffer.getInt();
+        buffer.get();
+        if (length < 0 || length > heapEnd - offset - RECORD_HEADER_BYTES) {
+            throw new IOException("Record buku di offset " + offset + " rusak");
+        }
+        if (length > buffer.remaining()) {
+            buffer = readFully(heap, offset + RECORD_HEADER_BYTES, length);
+        } else {
+            buffer.limit(RECORD_HEADER_BYTES + length);
+        }
+        try {
+            return readers.get().decode(buffer);
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            throw new IOException("Record buku di offset " + offset + " rusak", e);
+        }
+    }
+    
+    private int readInt(long offset) throws IOException {
+        return readFully(heap, offset, Integer.BYTES).getInt();
+    }
+    
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        long target = position;
+        while (buffer.hasRemaining()) {
+            target += heap.write(buffer, target);
+        }
+    }
+    
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("File penyimpanan buku terpotong");
+            }
+        }
+        return buffer.flip();
+    }
+    
+    // ------------------------------------------------------------------
+    // Pemadatan
+    // ------------------------------------------------------------------
+    
+    /**
+     * Menyalin record hidup berikutnya ke heap baru. Record mati dilewati
+     * tanpa dihitung, sehingga pemadatan dapat selesai pada panggilan yang
+     * sama setelah record hidup terakhir.
+     * 
+     * @return jumlah record yang disalin
+     */
+    private int copyLive(int maxMoves) throws IOException {
+        RecordCursor cursor = new RecordCursor(heap, compaction.source, heapEnd);
+        ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+        int copied = 0;
+        while (cursor.next()) {
+            if (cursor.state == LIVE) {
+                if (copied == maxMoves) {
+                    break;
+                }
+                recordHeader.clear();
+                recordHeader.putInt(cursor.payload.remaining()).put(LIVE).flip();
+                compaction.append(cursor.offset, recordHeader, cursor.payload);
+                copied++;
+            }
+            compaction.source = cursor.position;
+        }
+        if (cursor.truncatedAt >= 0) {
+            throw new IOException("Record buku di offset " + cursor.truncatedAt + " rusak");
+        }
+        return copied;
+    }
+    
+    /**
+     * Mengganti heap lama dengan heap baru dan memindahkan offset di index.
+     */
+    private void finishCompaction() throws IOException {
+        Compaction done = compaction;
+        compaction = null;
+        markDirty();
+        done.target.force(false);
+        done.target.close();
+        heap.close();
+        Files.move(done.file, directory.resolve(HEAP_FILE), StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+        openHeap();
+        heapEnd = done.end;
+        deadBytes = done.deadBytes;
+        for (int slot = 0; slot < slotCount; slot++) {
+            int address = slotAddress(slot) + Integer.BYTES;
+            long offset = index.getLong(address);
+            if (offset == EMPTY || offset == TOMBSTONE) {
+                continue;
+            }
+            long moved = done.find(offset);
+            if (moved < 0) {
+                // Tidak seharusnya terjadi; index dibangun ulang dari heap baru
+                rebuildIndex();
+                return;
+            }
+            index.putLong(address, moved);
+        }
+        writeCounters();
+    }
+    
+    /**
+     * Membatalkan pemadatan yang sedang berjalan dan menghapus heap barunya.
+     */
+    private void abortCompaction() {
+        Compaction aborted = compaction;
+        compaction = null;
+        if (aborted == null) {
+            return;
+        }
+        try {
+            aborted.target.close();
+            Files.deleteIfExists(aborted.file);
+        } catch (IOException ignored) {
+            // Heap baru diabaikan saat dibuka dan ditimpa oleh pemadatan berikutnya
+        }
+    }
+    
+    /**
+     * Keadaan pemadatan bertahap: heap baru, posisi salin di heap lama, dan
+     * pasangan offset lama dan baru setiap record yang sudah disalin. Record
+     * disalin berurutan, sehingga kedua array offset terurut naik.
+     */
+    private static final class Compaction {
+        
+        /** File heap baru */
+        final Path file;
+        
+        /** Channel heap baru */
+        final FileChannel target;
+        
+        /** Offset record berikutnya di heap lama yang belum diperiksa */
+        long source;
+        
+        /** Akhir data di heap baru */
+        long end;
+        
+        /** Jumlah byte record mati di heap baru */
+        long deadBytes;
+        
+        /** Offset record tersalin di heap lama */
+        private long[] from;
+        
+        /** Offset record tersalin di heap baru */
+        private long[] to;
+        
+        /** Jumlah record tersalin */
+        private int count;
+        
+        Compaction(Path file) throws IOException {
+            this.file = file;
+            this.target = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            this.source = HEAP_HEADER_BYTES;
+            this.end = HEAP_HEADER_BYTES;
+            this.from = new long[64];
+            this.to = new long[64];
+            try {
+                write(heapHeader(), 0);
+            } catch (IOException e) {
+                target.close();
+                throw e;
+            }
+        }
+        
+        /**
+         * Menambahkan record di akhir heap baru.
+         */
+        void append(long offset, ByteBuffer header, ByteBuffer payload) throws IOException {
+            if (count == from.length) {
+                from = Arrays.copyOf(from, count * 2);
+                to = Arrays.copyOf(to, count * 2);
+            }
+            from[count] = offset;
+            to[count] = end;
+            count++;
+            int length = header.remaining() + payload.remaining();
+            write(header, end);
+            write(payload, end + RECORD_HEADER_BYTES);
+            end += length;
+        }
+        
+        /**
+         * Mencari offset baru sebuah record.
+         * 
+         * @return offset di heap baru, atau -1 jika record belum disalin
+         */
+        long find(long offset) {
+            int position = Arrays.binarySearch(from, 0, count, offset);
+            return position >= 0 ? to[position] : -1;
+        }
+        
+        /**
+         * Menulis ulang record yang sudah disalin setelah diubah di tempat.
+         */
+        void rewrite(long offset, ByteBuffer record) throws IOException {
+            long moved = find(offset);
+            if (moved >= 0) {
+                write(record, moved);
+            }
+        }
+        
+        /**
+         * Menandai mati record yang sudah disalin.
+         */
+        void kill(long offset, int length) throws IOException {
+            long moved = find(offset);
+            if (moved >= 0) {
+                write(ByteBuffer.wrap(new byte[] {DEAD}), moved + Integer.BYTES);
+                deadBytes += RECORD_HEADER_BYTES + length;
+            }
+        }
+        
+        private void write(ByteBuffer buffer, long position) throws IOException {
+            long at = position;
+            while (buffer.hasRemaining()) {
+                at += target.write(buffer, at);
+            }
+        }
+    }
+    
+    // ------------------------------------------------------------------
+    // Index
+    // ------------------------------------------------------------------
+    
+    /**
+     * Memuat index yang bersih dan cocok dengan heap.
+     * 
+     * @return false jika index harus dibangun ulang
+     */
+    private boolean loadIndex() throws IOException {
+        Path file = directory.resolve(INDEX_FILE);
+        if (!Files.exists(file) || Files.size(file) < 2L * PAGE_SIZE) {
+            return false;
+        }
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        int pages = mapped.getInt(H_PAGES);
+        if (mapped.getInt(H_MAGIC) != INDEX_MAGIC || mapped.getInt(H_VERSION) != VERSION
+                || mapped.get(H_CLEAN) != 1 || pages <= 0
+                || (long) (pages + 1) * PAGE_SIZE != mapped.capacity()
+                || mapped.getLong(H_HEAP_END) != heap.size()) {
+            return false;
+        }
+        index = mapped;
+        pageCount = pages;
+        slotCount = pages * SLOTS_PER_PAGE;
+        size = mapped.getInt(H_SIZE);
+        usedSlots = mapped.getInt(H_USED);
+        heapEnd = mapped.getLong(H_HEAP_END);
+        deadBytes = mapped.getLong(H_DEAD_BYTES);
+        return true;
+    }
+    
+    /**
+     * Membangun ulang index dari heap.
+     */
+    private void rebuildIndex() throws IOException {
+        long end = heap.size();
+        RecordCursor cursor = new RecordCursor(heap, end);
+        BookCodec codec = new BookCodec(false);
+        int records = 0;
+        while (cursor.next()) {
+            records++;
+        }
+        if (cursor.truncatedAt >= 0) {
+            // Record terakhir terpotong karena crash saat menulis
+            heap.truncate(cursor.truncatedAt);
+            end = cursor.truncatedAt;
+        }
+        
+        createIndex(pagesFor(records));
+        heapEnd = end;
+        size = 0;
+        usedSlots = 0;
+        deadBytes = 0;
+        dirty = true;
+        index.put(H_CLEAN, (byte) 0);
+        
+        cursor = new RecordCursor(heap, end);
+        while (cursor.next()) {
+            long offset = cursor.offset;
+            if (cursor.state != LIVE) {
+                deadBytes += RECORD_HEADER_BYTES + cursor.payload.remaining();
+                continue;
+            }
+            int bookId;
+            try {
+                bookId = codec.decode(cursor.payload).getBookId();
+            } catch (IllegalArgumentException | BufferUnderflowException e) {
+                throw new IOException("Record buku di offset " + offset + " rusak", e);
+            }
+            int slot = findSlot(bookId);
+            if (slot >= 0) {
+                // ID yang sama muncul lagi; record yang lebih baru menang
+                int address = slotAddress(slot);
+                kill(index.getLong(address + Integer.BYTES));
+                index.putLong(address + Integer.BYTES, offset);
+            } else {
+                putSlot(bookId, offset);
+                size++;
+            }
+        }
+        flush();
+    }
+    
+    /**
+     * Membuat file index kosong dengan jumlah halaman tertentu.
+     */
+    private void createIndex(int pages) throws IOException {
+        Path file = directory.resolve(INDEX_FILE);
+        Path temp = directory.resolve(INDEX_FILE + ".tmp");
+        Files.deleteIfExists(temp);
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) (pages + 1) * PAGE_SIZE);
+        }
+        mapped.putInt(H_MAGIC, INDEX_MAGIC);
+        mapped.putInt(H_VERSION, VERSION);
+        mapped.putInt(H_PAGES, pages);
+        mapped.put(H_CLEAN, (byte) 0);
+        mapped.force();
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        index = mapped;
+        pageCount = pages;
+        slotCount = pages * SLOTS_PER_PAGE;
+    }
+    
+    /**
+     * Memindahkan semua slot hidup ke index baru, sekaligus membuang tombstone.
+     */
+    private void resizeIndex(int pages) throws IOException {
+        MappedByteBuffer old = index;
+        int oldSlots = slotCount;
+        createIndex(pages);
+        usedSlots = 0;
+        for (int slot = 0; slot < oldSlots; slot++) {
+            int address = slotAddress(slot);
+            long offset = old.getLong(address + Integer.BYTES);
+            if (offset != EMPTY && offset != TOMBSTONE) {
+                putSlot(old.getInt(address), offset);
+            }
+        }
+        writeCounters();
+    }
+    
+    private static int pagesFor(int records) {
+        int pages = INITIAL_PAGES;
+        while ((long) pages * SLOTS_PER_PAGE * MAX_LOAD < records) {
+            pages *= 2;
+        }
+        return pages;
+    }
+    
+    /**
+     * Mencari slot berisi ID buku.
+     * 
+     * @return nomor slot, atau -1 jika tidak ada
+     */
+    private int findSlot(int bookId) {
+        int slot = home(bookId);
+        for (int probes = 0; probes < slotCount; probes++) {
+            int address = slotAddress(slot);
+            long offset = index.getLong(address + Integer.BYTES);
+            if (offset == EMPTY) {
+                return -1;
+            }
+            if (offset != TOMBSTONE && index.getInt(address) == bookId) {
+                return slot;
+            }
+            slot = slot + 1 == slotCount ? 0 : slot + 1;
+        }
+        return -1;
+    }
+    
+    /**
+     * Mengisi slot kosong atau tombstone pertama di jalur probing ID buku.
+     */
+    private void putSlot(int bookId, long offset) {
+        int slot = home(bookId);
+        while (true) {
+            int address = slotAddress(slot);
+            long current = index.getLong(address + Integer.BYTES);
+            if (current == EMPTY || current == TOMBSTONE) {
+                if (current == EMPTY) {
+                    usedSlots++;
+                }
+                index.putInt(address, bookId);
+                index.putLong(address + Integer.BYTES, offset);
+                return;
+            }
+            slot = slot + 1 == slotCount ? 0 : slot + 1;
+        }
+    }
+    
+    private int home(int bookId) {
+        int hash = bookId * 0x9E3779B9;
+        hash ^= hash >>> 16;
+        return (hash & 0x7FFFFFFF) % slotCount;
+    }
+    
+    /**
+     * Posisi slot di file index; slot tidak pernah melewati batas halaman.
+     */
+    private static int slotAddress(int slot) {
+        return (1 + slot / SLOTS_PER_PAGE) * PAGE_SIZE + (slot % SLOTS_PER_PAGE) * SLOT_BYTES;
+    }
+    
+    private void writeCounters() {
+        index.putInt(H_SIZE, size);
+        index.putInt(H_USED, usedSlots);
+        index.putLong(H_HEAP_END, heapEnd);
+        index.putLong(H_DEAD_BYTES, deadBytes);
+    }
+    
+    /**
+     * Menghapus penanda bersih di disk sebelum perubahan pertama setelah flush.
+     */
+    private void markDirty() {
+        if (!dirty) {
+            index.put(H_CLEAN, (byte) 0);
+            index.force();
+            dirty = true;
+        }
+    }
+    
+    private void closeQuietly() {
+        try {
+            if (heap != null) {
+                heap.close();
+            }
+        } catch (IOException ignored) {
+            // Kesalahan utama sudah dilempar oleh pemanggil
+        }
+    }
+    
+    /**
+     * Pembaca record heap secara berurutan dengan buffer besar.
+     */
+    private static final class RecordCursor {
+        
+        private final FileChannel channel;
+        private final long end;
+        private ByteBuffer buffer;
+        private long bufferStart;
+        
+        /** Offset setelah record saat ini */
+        long position;
+        
+        /** Offset record saat ini */
+        long offset;
+        
+        /** Status record saat ini */
+        byte state;
+        
+        /** Isi record saat ini */
+        ByteBuffer payload;
+        
+        /** Offset record terpotong pertama, atau -1 */
+        long truncatedAt;
+        
+        RecordCursor(FileChannel channel, long end) {
+            this(channel, HEAP_HEADER_BYTES, end);
+        }
+        
+        RecordCursor(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.end = end;
+            this.buffer = ByteBuffer.allocate(0);
+            this.bufferStart = start;
+            this.position = start;
+            this.truncatedAt = -1;
+        }
+        
+        /**
+         * Maju ke record berikutnya.
+         * 
+         * @return false jika sudah di akhir heap atau record berikutnya terpotong
+         */
+        boolean next() throws IOException {
+            if (position >= end || truncatedAt >= 0) {
+                return false;
+            }
+            if (end - position < RECORD_HEADER_BYTES) {
+                truncatedAt = position;
+                return false;
+            }
+            ensure(RECORD_HEADER_BYTES);
+            int at = (int) (position - bufferStart);
+            int length = buffer.getInt(at);
+            byte status = buffer.get(at + Integer.BYTES);
+            if (length < 0 || length > MAX_RECORD_BYTES || (status != LIVE && status != DEAD)
+                    || end - position - RECORD_HEADER_BYTES < length) {
+                truncatedAt = position;
+                return false;
+            }
+            ensure(RECORD_HEADER_BYTES + length);
+            at = (int) (position - bufferStart);
+            offset = position;
+            state = status;
+            payload = buffer.duplicate();
+            payload.limit(at + RECORD_HEADER_BYTES + length).position(at + RECORD_HEADER_BYTES);
+            position += RECORD_HEADER_BYTES + length;
+            return true;
+        }
+        
+        /**
+         * Memastikan buffer memuat sejumlah byte mulai dari posisi saat ini.
+         */
+        private void ensure(int bytes) throws IOException {
+            if (position >= bufferStart && position + bytes <= bufferStart + buffer.limit()) {
+                return;
+            }
+            int length = (int) Math.min(Math.max(SCAN_BUFFER_SIZE, bytes), end - position);
+            if (buffer.capacity() < length) {
+                buffer = ByteBuffer.allocate(length);
+            }
+            buffer.clear().limit(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("Heap file buku terpotong");
+                }
+            }
+            bufferStart = position;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,247 @@
+package com.library.stress;
+
+import com.library.OperationStatus;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Kelas LinearizabilityChecker memeriksa apakah riwayat operasi pada satu
+ * buku linearizable terhadap model sirkulasi sekuensial: ada urutan total
+ * operasi yang menghormati urutan waktu nyata (operasi yang selesai sebelum
+ * operasi lain dimulai tetap lebih dulu) dan setiap hasil yang diamati sama
+ * dengan hasil model sekuensial.
+ * 
+ * <p>Pemeriksaan memakai algoritma Wing dan Gong dengan cache keadaan dari
+ * Lowe: operasi yang bisa dilinearisasi berikutnya dicoba satu per satu, dan
+ * pasangan (himpunan operasi yang sudah dilinearisasi, keadaan buku) yang
+ * pernah gagal tidak dicoba lagi. Karena setiap operasi hanya menyentuh satu
+ * buku, riwayat diperiksa per buku (linearizability bersifat komposisional).
+ * 
+ * <p>Model per buku memiliki tiga keadaan ({@link State}). Status FULL saat
+ * menambah buku bergantung pada seluruh library, bukan satu buku, sehingga
+ * diterima di keadaan apa pun tanpa perubahan; batas kapasitas diperiksa
+ * terpisah oleh {@link StressHarness}.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see StressHarness
+ */
+public final class LinearizabilityChecker {
+    
+    /**
+     * Keadaan satu buku di model sekuensial.
+     */
+    public enum State {
+        /** Buku tidak ada di library */
+        ABSENT,
+        /** Buku ada dan tersedia */
+        AVAILABLE,
+        /** Buku ada dan sedang dipinjam */
+        BORROWED
+    }
+    
+    private LinearizabilityChecker() {
+    }
+    
+    /**
+     * Memeriksa riwayat satu buku.
+     * 
+     * @param history operasi-operasi pada satu buku
+     * @param initial keadaan buku sebelum operasi pertama
+     * @param expectedFinal keadaan buku setelah semua operasi selesai, atau
+     *                      null jika keadaan akhir tidak diperiksa
+     * @return true jika riwayat linearizable
+     */
+    public static boolean check(List<StressOperation> history, State initial, State expectedFinal) {
+        int count = history.size();
+        if (count == 0) {
+            return expectedFinal == null || expectedFinal == initial;
+        }
+        
+        // Daftar kejadian panggil dan kembali terurut waktu; kejadian panggil
+        // didahulukan pada waktu yang sama agar operasi yang bersentuhan
+        // dianggap tumpang tindih
+        List<Event> events = new ArrayList<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            StressOperation operation = history.get(i);
+            Event call = new Event(i, operation, operation.getInvokedAt(), true);
+            Event ret = new Event(i, operation, operation.getReturnedAt(), false);
+            call.match = ret;
+            events.add(call);
+            events.add(ret);
+        }
+        events.sort((a, b) -> a.time != b.time ? Long.compare(a.time, b.time) : Boolean.compare(b.call, a.call));
+        Event head = new Event(-1, null, Long.MIN_VALUE, false);
+        Event previous = head;
+        for (Event event : events) {
+            previous.next = event;
+            event.prev = previous;
+            previous = event;
+        }
+        
+        BitSet linearized = new BitSet(count);
+        Set<CacheKey> seen = new HashSet<>();
+        Deque<Event> calls = new ArrayDeque<>();
+        Deque<State> states = new ArrayDeque<>();
+        State state = initial;
+        Event entry = head.next;
+        while (true) {
+            if (head.next == null) {
+                if (expectedFinal == null || state == expectedFinal) {
+                    return true;
+                }
+                entry = null;
+            }
+            if (entry != null && entry.call) {
+                State next = apply(state, entry.operation);
+                if (next != null) {
+                    linearized.set(entry.id);
+                    if (seen.add(new CacheKey((BitSet) linearized.clone(), next))) {
+                        calls.push(entry);
+                        states.push(state);
+                        state = next;
+                        lift(entry);
+                        entry = head.next;
+                        continue;
+                    }
+                    linearized.clear(entry.id);
+                }
+                entry = entry.next;
+            } else {
+                // Operasi yang sudah kembali belum bisa dilinearisasi: mundur
+                if (calls.isEmpty()) {
+                    return false;
+                }
+                entry = calls.pop();
+                state = states.pop();
+                linearized.clear(entry.id);
+                unlift(entry);
+                entry = entry.next;
+            }
+        }
+    }
+    
+    /**
+     * Menjalankan satu operasi pada model sekuensial.
+     * 
+     * @param state keadaan buku sebelum operasi
+     * @param operation operasi dengan hasil yang diamati
+     * @return keadaan setelah operasi, atau null jika hasil yang diamati tidak
+     *         mungkin dari keadaan tersebut
+     */
+    static State apply(State state, StressOperation operation) {
+        if (operation.getKind() == StressOperation.Kind.FIND) {
+            State observed = !operation.isFound() ? State.ABSENT
+                             : operation.isAvailable() ? State.AVAILABLE : State.BORROWED;
+            return observed == state ? state : null;
+        }
+        OperationStatus status = operation.getStatus();
+        switch (operation.getKind()) {
+            case BORROW:
+                return status == OperationStatus.OK && state == State.AVAILABLE ? State.BORROWED
+                       : status == OperationStatus.NOT_AVAILABLE && state == State.BORROWED ? state
+                       : status == OperationStatus.NOT_FOUND && state == State.ABSENT ? state : null;
+            case RETURN:
+                return status == OperationStatus.OK && state == State.BORROWED ? State.AVAILABLE
+                       : status == OperationStatus.ALREADY_AVAILABLE && state == State.AVAILABLE ? state
+                       : status == OperationStatus.NOT_FOUND && state == State.ABSENT ? state : null;
+            case REMOVE:
+                return status == OperationStatus.OK && state == State.AVAILABLE ? State.ABSENT
+                       : status == OperationStatus.BORROWED && state == State.BORROWED ? state
+                       : status == OperationStatus.NOT_FOUND && state == State.ABSENT ? state : null;
+            case ADD:
+                return status == OperationStatus.OK && state == State.ABSENT ? State.AVAILABLE
+                       : status == OperationStatus.DUPLICATE && state != State.ABSENT ? state
+                       : status == OperationStatus.FULL ? state : null;
+            default:
+                return null;
+        }
+    }
+    
+    /**
+     * Mengeluarkan pasangan kejadian panggil dan kembali dari daftar.
+     */
+    private static void lift(Event call) {
+        call.prev.next = call.next;
+        if (call.next != null) {
+            call.next.prev = call.prev;
+        }
+        Event ret = call.match;
+        ret.prev.next = ret.next;
+        if (ret.next != null) {
+            ret.next.prev = ret.prev;
+        }
+    }
+    
+    /**
+     * Mengembalikan pasangan kejadian ke posisi semula, kebalikan dari
+     * {@link #lift(Event)}.
+     */
+    private static void unlift(Event call) {
+        Event ret = call.match;
+        ret.prev.next = ret;
+        if (ret.next != null) {
+            ret.next.prev = ret;
+        }
+        call.prev.next = call;
+        if (call.next != null) {
+            call.next.prev = call;
+        }
+    }
+    
+    /**
+     * Kejadian panggil atau kembali di daftar berantai ganda.
+     */
+    private static final class Event {
+        
+        private final int id;
+        private final StressOperation operation;
+        private final long time;
+        private final boolean call;
+        private Event match;
+        private Event prev;
+        private Event next;
+        
+        Event(int id, StressOperation operation, long time, boolean call) {
+            this.id = id;
+            this.operation = operation;
+            this.time = time;
+            this.call = call;
+        }
+    }
+    
+    /**
+     * Kunci cache: himpunan operasi yang sudah dilinearisasi dan keadaan buku.
+     */
+    private static final class CacheKey {
+        
+        private final BitSet linearized;
+        private final State state;
+        
+        CacheKey(BitSet linearized, State state) {
+            this.linearized = linearized;
+            this.state = state;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return state == other.state && linearized.equals(other.linearized);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(linearized, state);
+        }
+    }
+}
\ No newline at end of file
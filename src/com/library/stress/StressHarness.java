@@ -0,0 +1,443 @@
+package com.library.stress;
+
+import com.library.Book;
+import com.library.BookResult;
+import com.library.Library;
+import com.library.stress.LinearizabilityChecker.State;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Kelas StressHarness menguji {@link Library} di bawah kontensi tinggi ala
+ * jcstress dan memeriksa bahwa tidak ada buku yang dipinjam dua kali atau
+ * hilang.
+ * 
+ * <p>Banyak thread menjalankan campuran acak find, borrow, return, remove, dan
+ * add (dengan ID eksplisit) pada sejumlah kecil ID buku yang sama, dengan
+ * kapasitas library lebih kecil dari jumlah ID sehingga penambahan saling
+ * berebut kapasitas. Setiap operasi direkam beserta waktu mulai, waktu
+ * selesai, dan hasilnya. Beban dijalankan dalam beberapa putaran; di akhir
+ * setiap putaran, saat semua thread diam, riwayat setiap buku diperiksa oleh
+ * {@link LinearizabilityChecker} dengan keadaan awal dari putaran sebelumnya
+ * dan keadaan akhir yang diamati di library.
+ * 
+ * <p>Selama beban berjalan, thread monitor memeriksa invarian berikut di
+ * bawah read lock, dan invarian yang sama diperiksa lagi di akhir putaran:
+ * <ul>
+ * <li>jumlah buku tersedia dari statistik sama dengan jumlah buku yang
+ *     berstatus tersedia;</li>
+ * <li>jumlah buku sama dengan jumlah buku hasil pemindaian;</li>
+ * <li>jumlah buku tidak pernah melebihi kapasitas (juga diperiksa setiap
+ *     kali penambahan berhasil).</li>
+ * </ul>
+ * 
+ * <p>Secara default library dijaga {@link ReadWriteLock} seperti
+ * {@link com.library.server.LibraryHttpServer}. Dengan mode tanpa lock,
+ * harness dapat dipakai untuk memvalidasi implementasi Library yang
+ * thread-safe; untuk Library saat ini mode tersebut diharapkan gagal.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see LinearizabilityChecker
+ */
+public final class StressHarness {
+    
+    /** Library yang diuji */
+    private final Library library;
+    
+    /** Lock yang menjaga library, atau null untuk mode tanpa lock */
+    private final ReadWriteLock lock;
+    
+    /** Jumlah thread beban */
+    private final int threads;
+    
+    /** Jumlah ID buku yang diperebutkan */
+    private final int keys;
+    
+    /** Sumber seed acak per thread */
+    private final SplittableRandom seeds;
+    
+    /** Keadaan setiap buku di akhir putaran sebelumnya */
+    private final State[] states;
+    
+    /** Pelanggaran yang ditemukan */
+    private final Queue<String> violations;
+    
+    /** Jumlah putaran yang sudah dijalankan */
+    private int rounds;
+    
+    /** Jumlah operasi yang sudah dijalankan */
+    private long operations;
+    
+    /** Total waktu beban dalam nanodetik, tanpa waktu pemeriksaan */
+    private long loadNanos;
+    
+    /** Total waktu pemeriksaan riwayat dalam nanodetik */
+    private long checkNanos;
+    
+    /** Jumlah pemeriksaan invarian; monitor dan thread utama tidak pernah berjalan bersamaan */
+    private long monitorChecks;
+    
+    /**
+     * Constructor untuk membuat harness dengan library baru.
+     * 
+     * @param threads jumlah thread beban, harus lebih dari 0
+     * @param keys jumlah ID buku yang diperebutkan, harus lebih dari 0
+     * @param capacity kapasitas library, harus lebih dari 0
+     * @param locked true untuk menjaga library dengan read/write lock
+     * @param seed seed acak
+     * @throws IllegalArgumentException jika parameter tidak valid
+     */
+    public StressHarness(int threads, int keys, int capacity, boolean locked, long seed) {
+        if (threads <= 0 || keys <= 0) {
+            throw new IllegalArgumentException("Jumlah thread dan ID buku harus lebih dari 0");
+        }
+        this.library = new Library("Uji Stres", capacity);
+        this.lock = locked ? new ReentrantReadWriteLock() : null;
+        this.threads = threads;
+        this.keys = keys;
+        this.seeds = new SplittableRandom(seed);
+        this.states = new State[keys + 1];
+        this.violations = new ConcurrentLinkedQueue<>();
+        for (int bookId = 1; bookId <= keys; bookId++) {
+            BookResult result = library.tryAddBook(newBook(bookId));
+            states[bookId] = result.isOk() ? State.AVAILABLE : State.ABSENT;
+        }
+    }
+    
+    /**
+     * Menjalankan satu putaran beban lalu memeriksa riwayat dan invarian.
+     * 
+     * @param operationsPerThread jumlah operasi setiap thread
+     * @return true jika tidak ada pelanggaran baru
+     */
+    public boolean runRound(int operationsPerThread) {
+        int before = violations.size();
+        List<List<StressOperation>> histories = new ArrayList<>(threads);
+        CyclicBarrier startLine = new CyclicBarrier(threads + 1);
+        CountDownLatch finished = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            List<StressOperation> history = new ArrayList<>(operationsPerThread);
+            histories.add(history);
+            int thread = t;
+            SplittableRandom random = seeds.split();
+            Thread worker = new Thread(() -> {
+                try {
+                    startLine.await();
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        history.add(execute(thread, random));
+                    }
+                } catch (Exception e) {
+                    violations.add("Thread " + thread + " gagal: " + e);
+                } finally {
+                    finished.countDown();
+                }
+            }, "stress-" + t);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        Thread monitor = new Thread(() -> {
+            while (finished.getCount() > 0) {
+                checkInvariants("monitor");
+                Thread.yield();
+            }
+        }, "stress-monitor");
+        monitor.setDaemon(true);
+        
+        long start;
+        try {
+            startLine.await();
+            start = System.nanoTime();
+            monitor.start();
+            finished.await();
+            loadNanos += System.nanoTime() - start;
+            monitor.join();
+        } catch (Exception e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Putaran uji stres diinterupsi", e);
+        }
+        rounds++;
+        
+        // Semua thread diam: periksa invarian dan riwayat setiap buku
+        long checkStart = System.nanoTime();
+        checkInvariants("akhir putaran " + rounds);
+        Map<Integer, List<StressOperation>> byBook = new HashMap<>();
+        for (List<StressOperation> history : histories) {
+            operations += history.size();
+            for (StressOperation operation : history) {
+                byBook.computeIfAbsent(operation.getBookId(), id -> new ArrayList<>()).add(operation);
+            }
+        }
+        for (int bookId = 1; bookId <= keys; bookId++) {
+            Book book = library.findBookById(bookId);
+            State observed = book == null ? State.ABSENT : book.isAvailable() ? State.AVAILABLE : State.BORROWED;
+            List<StressOperation> history = byBook.getOrDefault(bookId, new ArrayList<>());
+            if (!LinearizabilityChecker.check(history, states[bookId], observed)) {
+                violations.add(String.format("Riwayat buku %d tidak linearizable (putaran %d, awal %s, akhir %s, "
+                                             + "%d operasi)%n%s", bookId, rounds, states[bookId], observed,
+                                             history.size(), excerpt(history)));
+            }
+            states[bookId] = observed;
+        }
+        checkNanos += System.nanoTime() - checkStart;
+        return violations.size() == before;
+    }
+    
+    /**
+     * Mendapatkan pelanggaran yang ditemukan.
+     * 
+     * @return daftar pelanggaran
+     */
+    public List<String> getViolations() {
+        return new ArrayList<>(violations);
+    }
+    
+    /**
+     * Mendapatkan throughput beban tanpa waktu pemeriksaan.
+     * 
+     * @return operasi per detik
+     */
+    public double getThroughput() {
+        return loadNanos == 0 ? 0.0 : operations * 1e9 / loadNanos;
+    }
+    
+    /**
+     * Membuat ringkasan hasil uji.
+     * 
+     * @return ringkasan teks
+     */
+    public String summary() {
+        return String.format("Putaran: %d, operasi: %d, thread: %d, ID buku: %d, kapasitas: %d, lock: %s%n"
+                             + "Throughput: %.0f op/s, pemeriksaan monitor: %d, waktu pemeriksaan riwayat: %d ms%n"
+                             + "Pelanggaran: %d",
+                             rounds, operations, threads, keys, library.getMaxCapacity(),
+                             lock != null ? "read/write" : "tanpa lock", getThroughput(), monitorChecks,
+                             checkNanos / 1_000_000, violations.size());
+    }
+    
+    /**
+     * Menjalankan satu operasi acak dan merekamnya.
+     */
+    private StressOperation execute(int thread, SplittableRandom random) {
+        int bookId = 1 + random.nextInt(keys);
+        int choice = random.nextInt(10);
+        if (choice < 2) {
+            Lock held = readLock();
+            long invokedAt = System.nanoTime();
+            Book book;
+            boolean available;
+            held.lock();
+            try {
+                book = library.findBookById(bookId);
+                available = book != null && book.isAvailable();
+            } finally {
+                held.unlock();
+            }
+            return new StressOperation(bookId, thread, invokedAt, System.nanoTime(), book != null, available);
+        }
+        
+        StressOperation.Kind kind = choice < 5 ? StressOperation.Kind.BORROW
+                                    : choice < 8 ? StressOperation.Kind.RETURN
+                                    : choice < 9 ? StressOperation.Kind.REMOVE : StressOperation.Kind.ADD;
+        Book candidate = kind == StressOperation.Kind.ADD ? newBook(bookId) : null;
+        Lock held = writeLock();
+        long invokedAt = System.nanoTime();
+        BookResult result;
+        held.lock();
+        try {
+            switch (kind) {
+                case BORROW:
+                    result = library.tryBorrowBook(bookId, "anggota-" + thread);
+                    break;
+                case RETURN:
+                    result = library.tryReturnBook(bookId);
+                    break;
+                case REMOVE:
+                    result = library.tryRemoveBook(bookId);
+                    break;
+                default:
+                    result = library.tryAddBook(candidate);
+                    if (result.isOk() && library.getTotalBooks() > library.getMaxCapacity()) {
+                        violations.add("Kapasitas terlampaui setelah menambah buku " + bookId + ": "
+                                       + library.getTotalBooks() + " > " + library.getMaxCapacity());
+                    }
+                    break;
+            }
+        } finally {
+            held.unlock();
+        }
+        return new StressOperation(kind, bookId, thread, invokedAt, System.nanoTime(), result.getStatus());
+    }
+    
+    /**
+     * Memeriksa invarian jumlah buku tersedia dan kapasitas.
+     */
+    private void checkInvariants(String source) {
+        Lock held = readLock();
+        held.lock();
+        try {
+            List<Book> books = library.getAllBooks();
+            int total = library.getTotalBooks();
+            int available = library.getAvailableBooks();
+            long counted = books.stream().filter(Book::isAvailable).count();
+            if (available != counted) {
+                violations.add(source + ": jumlah tersedia " + available + " tidak sama dengan " + counted
+                               + " buku berstatus tersedia");
+            }
+            if (total != books.size()) {
+                violations.add(source + ": jumlah buku " + total + " tidak sama dengan " + books.size()
+                               + " buku hasil pemindaian");
+            }
+            if (total > library.getMaxCapacity()) {
+                violations.add(source + ": jumlah buku " + total + " melebihi kapasitas " + library.getMaxCapacity());
+            }
+        } catch (RuntimeException e) {
+            violations.add(source + ": pemeriksaan invarian gagal: " + e);
+        } finally {
+            held.unlock();
+        }
+        monitorChecks++;
+    }
+    
+    private Lock readLock() {
+        return lock != null ? lock.readLock() : NoLock.INSTANCE;
+    }
+    
+    private Lock writeLock() {
+        return lock != null ? lock.writeLock() : NoLock.INSTANCE;
+    }
+    
+    private static Book newBook(int bookId) {
+        return new Book(bookId, "Buku Uji " + bookId, "Penguji", "", 2020, "Uji");
+    }
+    
+    /**
+     * Mengambil potongan riwayat terurut waktu untuk laporan pelanggaran.
+     */
+    private static String excerpt(List<StressOperation> history) {
+        List<StressOperation> sorted = new ArrayList<>(history);
+        sorted.sort((a, b) -> Long.compare(a.getInvokedAt(), b.getInvokedAt()));
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < Math.min(20, sorted.size()); i++) {
+            sb.append("  ").append(sorted.get(i)).append(System.lineSeparator());
+        }
+        if (sorted.size() > 20) {
+            sb.append("  ... ").append(sorted.size() - 20).append(" operasi lagi");
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * Menjalankan uji stres dari command line dan keluar dengan kode 1 jika
+     * ada pelanggaran.
+     * 
+     * <p>Opsi: {@code --threads N} (default 4), {@code --keys N} (default 8),
+     * {@code --capacity N} (default 6), {@code --rounds N} (default 50),
+     * {@code --ops N} operasi per thread per putaran (default 500),
+     * {@code --lock rw|none} (default rw), dan {@code --seed nilai}.
+     * 
+     * @param args opsi command line
+     */
+    public static void main(String[] args) {
+        int threads = 4;
+        int keys = 8;
+        int capacity = 6;
+        int rounds = 50;
+        int ops = 500;
+        boolean locked = true;
+        long seed = System.nanoTime();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "--keys":
+                    keys = Integer.parseInt(value);
+                    break;
+                case "--capacity":
+                    capacity = Integer.parseInt(value);
+                    break;
+                case "--rounds":
+                    rounds = Integer.parseInt(value);
+                    break;
+                case "--ops":
+                    ops = Integer.parseInt(value);
+                    break;
+                case "--lock":
+                    locked = !"none".equalsIgnoreCase(value);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+                default:
+                    System.err.println("Opsi tidak dikenal: " + args[i]);
+                    System.exit(2);
+            }
+        }
+        
+        System.out.println("Seed: " + seed);
+        StressHarness harness = new StressHarness(threads, keys, capacity, locked, seed);
+        for (int round = 0; round < rounds; round++) {
+            if (!harness.runRound(ops)) {
+                break;
+            }
+        }
+        System.out.println(harness.summary());
+        List<String> found = harness.getViolations();
+        for (int i = 0; i < Math.min(10, found.size()); i++) {
+            System.out.println("- " + found.get(i));
+        }
+        if (!found.isEmpty()) {
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * Lock kosong untuk mode tanpa lock.
+     */
+    private static final class NoLock implements Lock {
+        
+        private static final NoLock INSTANCE = new NoLock();
+        
+        @Override
+        public void lock() {
+        }
+        
+        @Override
+        public void lockInterruptibly() {
+        }
+        
+        @Override
+        public boolean tryLock() {
+            return true;
+        }
+        
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) {
+            return true;
+        }
+        
+        @Override
+        public void unlock() {
+        }
+        
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException("Lock kosong tidak mendukung Condition");
+        }
+    }
+}
\ No newline at end of file
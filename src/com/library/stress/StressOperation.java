@@ -0,0 +1,182 @@
+package com.library.stress;
+
+import com.library.OperationStatus;
+
+/**
+ * Kelas StressOperation adalah satu entri riwayat yang direkam oleh
+ * {@link StressHarness}: jenis operasi, ID buku, waktu mulai dan selesai, serta
+ * hasil yang diamati.
+ * 
+ * <p>Waktu mulai dicatat sebelum operasi dipanggil dan waktu selesai sesudah
+ * operasi kembali, sehingga titik linearisasi operasi pasti berada di antara
+ * keduanya.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see LinearizabilityChecker
+ */
+public final class StressOperation {
+    
+    /**
+     * Jenis operasi pada riwayat.
+     */
+    public enum Kind {
+        /** Mencari buku dan membaca status ketersediaannya */
+        FIND,
+        /** Meminjam buku */
+        BORROW,
+        /** Mengembalikan buku */
+        RETURN,
+        /** Menghapus buku */
+        REMOVE,
+        /** Menambahkan buku dengan ID eksplisit */
+        ADD
+    }
+    
+    /** Jenis operasi */
+    private final Kind kind;
+    
+    /** ID buku */
+    private final int bookId;
+    
+    /** Nomor thread yang menjalankan operasi */
+    private final int thread;
+    
+    /** Waktu mulai dalam nanodetik */
+    private final long invokedAt;
+    
+    /** Waktu selesai dalam nanodetik */
+    private final long returnedAt;
+    
+    /** Hasil operasi mutasi, atau null untuk FIND */
+    private final OperationStatus status;
+    
+    /** Hasil FIND: buku ada di library */
+    private final boolean found;
+    
+    /** Hasil FIND: buku tersedia */
+    private final boolean available;
+    
+    /**
+     * Constructor untuk entri riwayat operasi mutasi.
+     * 
+     * @param kind jenis operasi
+     * @param bookId ID buku
+     * @param thread nomor thread
+     * @param invokedAt waktu mulai
+     * @param returnedAt waktu selesai
+     * @param status hasil operasi
+     */
+    public StressOperation(Kind kind, int bookId, int thread, long invokedAt, long returnedAt,
+                           OperationStatus status) {
+        this(kind, bookId, thread, invokedAt, returnedAt, status, false, false);
+    }
+    
+    /**
+     * Constructor untuk entri riwayat FIND.
+     * 
+     * @param bookId ID buku
+     * @param thread nomor thread
+     * @param invokedAt waktu mulai
+     * @param returnedAt waktu selesai
+     * @param found true jika buku ditemukan
+     * @param available true jika buku tersedia
+     */
+    public StressOperation(int bookId, int thread, long invokedAt, long returnedAt, boolean found,
+                           boolean available) {
+        this(Kind.FIND, bookId, thread, invokedAt, returnedAt, null, found, available);
+    }
+    
+    private StressOperation(Kind kind, int bookId, int thread, long invokedAt, long returnedAt,
+                            OperationStatus status, boolean found, boolean available) {
+        this.kind = kind;
+        this.bookId = bookId;
+        this.thread = thread;
+        this.invokedAt = invokedAt;
+        this.returnedAt = returnedAt;
+        this.status = status;
+        this.found = found;
+        this.available = available;
+    }
+    
+    /**
+     * Mendapatkan jenis operasi.
+     * 
+     * @return jenis operasi
+     */
+    public Kind getKind() {
+        return kind;
+    }
+    
+    /**
+     * Mendapatkan ID buku.
+     * 
+     * @return ID buku
+     */
+    public int getBookId() {
+        return bookId;
+    }
+    
+    /**
+     * Mendapatkan nomor thread yang menjalankan operasi.
+     * 
+     * @return nomor thread
+     */
+    public int getThread() {
+        return thread;
+    }
+    
+    /**
+     * Mendapatkan waktu mulai operasi.
+     * 
+     * @return waktu mulai dalam nanodetik
+     */
+    public long getInvokedAt() {
+        return invokedAt;
+    }
+    
+    /**
+     * Mendapatkan waktu selesai operasi.
+     * 
+     * @return waktu selesai dalam nanodetik
+     */
+    public long getReturnedAt() {
+        return returnedAt;
+    }
+    
+    /**
+     * Mendapatkan hasil operasi mutasi.
+     * 
+     * @return status hasil, atau null untuk FIND
+     */
+    public OperationStatus getStatus() {
+        return status;
+    }
+    
+    /**
+     * Mengecek apakah FIND menemukan buku.
+     * 
+     * @return true jika buku ditemukan
+     */
+    public boolean isFound() {
+        return found;
+    }
+    
+    /**
+     * Mengecek apakah FIND melihat buku tersedia.
+     * 
+     * @return true jika buku tersedia
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+    
+    @Override
+    public String toString() {
+        String result = kind == Kind.FIND ? (!found ? "tidak ada" : available ? "tersedia" : "dipinjam")
+                        : status.name();
+        return String.format("[%d..%d] thread-%d %s(%d) -> %s", invokedAt, returnedAt, thread, kind, bookId,
+                             result);
+    }
+}
\ No newline at end of file
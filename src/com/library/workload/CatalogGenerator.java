@@ -0,0 +1,245 @@
+package com.library.workload;
+
+import com.library.Book;
+import com.library.Library;
+import java.util.SplittableRandom;
+
+/**
+ * Kelas CatalogGenerator membuat katalog buku sintetis dengan distribusi yang
+ * menyerupai katalog sungguhan untuk pengujian beban.
+ * 
+ * <p>Judul disusun dari kosakata bahasa Indonesia dengan awalan umum seperti
+ * "Pengantar" atau "Sejarah", sehingga pencarian judul menemukan banyak buku
+ * untuk kata umum dan sedikit buku untuk kata langka. Pengarang diambil dari
+ * kumpulan nama berukuran sekitar seperempat jumlah buku dengan distribusi
+ * Zipf, sehingga sebagian kecil pengarang menulis banyak buku. Kategori
+ * berbobot (Fiksi paling banyak) dan tahun publikasi condong ke tahun-tahun
+ * terakhir. ISBN-13 dibuat dengan digit pemeriksa yang benar.
+ * 
+ * <p>Objek ini tidak berubah setelah dibuat; semua metode menerima sumber acak
+ * sendiri sehingga aman dipakai bersama oleh banyak thread.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see WorkloadDriver
+ */
+public final class CatalogGenerator {
+    
+    /** Tahun publikasi terbaru yang diterima {@link Book} */
+    private static final int LATEST_YEAR = 2024;
+    
+    /** Rata-rata umur buku dalam tahun */
+    private static final double MEAN_AGE = 12;
+    
+    /** Eksponen Zipf untuk jumlah buku per pengarang */
+    private static final double AUTHOR_THETA = 0.8;
+    
+    private static final String[] TITLE_PREFIXES = {
+        "Pengantar", "Sejarah", "Dasar-Dasar", "Kisah", "Panduan", "Rahasia", "Catatan",
+        "Belajar", "Teori", "Jejak"
+    };
+    
+    private static final String[] TITLE_WORDS = {
+        "Laut", "Gunung", "Hujan", "Kota", "Desa", "Cahaya", "Bulan", "Matahari", "Angin",
+        "Sungai", "Pelangi", "Rumah", "Jalan", "Waktu", "Cinta", "Harapan", "Mimpi",
+        "Perjalanan", "Negeri", "Pulau", "Hutan", "Langit", "Bumi", "Api", "Air", "Batu",
+        "Algoritma", "Data", "Jaringan", "Ekonomi", "Politik", "Budaya", "Bahasa",
+        "Matematika", "Fisika", "Kimia", "Biologi", "Sastra", "Musik", "Filsafat",
+        "Nusantara", "Jawa", "Sumatra", "Kalimantan", "Sulawesi", "Papua", "Bali",
+        "Merah", "Biru", "Senja", "Fajar", "Malam", "Pagi", "Sunyi", "Rindu", "Pahlawan"
+    };
+    
+    private static final String[] FIRST_NAMES = {
+        "Andi", "Budi", "Citra", "Dewi", "Eka", "Fajar", "Gita", "Hadi", "Indah", "Joko",
+        "Kartika", "Lestari", "Made", "Nur", "Oka", "Putri", "Rina", "Sari", "Teguh",
+        "Umar", "Wahyu", "Yusuf", "Ayu", "Bayu", "Dian", "Reza", "Siti", "Agus"
+    };
+    
+    private static final String[] LAST_NAMES = {
+        "Hirata", "Toer", "Munir", "Santoso", "Wijaya", "Pratama", "Saputra", "Hidayat",
+        "Nugroho", "Siregar", "Nasution", "Lubis", "Sitompul", "Wibowo", "Kusuma",
+        "Setiawan", "Halim", "Gunawan", "Susanto", "Rahman", "Harahap", "Simanjuntak",
+        "Purnomo", "Utomo", "Sulistyo", "Maharani", "Anwar", "Lesmana"
+    };
+    
+    private static final String[] CATEGORIES = {
+        "Fiksi", "Komputer", "Sejarah", "Sains", "Anak", "Agama", "Matematika", "Ekonomi",
+        "Biografi", "Seni", "Hukum", "Kesehatan"
+    };
+    
+    private static final int[] CATEGORY_WEIGHTS = {30, 10, 9, 9, 9, 8, 6, 6, 5, 4, 2, 2};
+    
+    /** Jumlah semua bobot kategori */
+    private static final int CATEGORY_TOTAL;
+    
+    static {
+        int total = 0;
+        for (int weight : CATEGORY_WEIGHTS) {
+            total += weight;
+        }
+        CATEGORY_TOTAL = total;
+    }
+    
+    /** Kumpulan nama pengarang */
+    private final String[] authors;
+    
+    /** Popularitas pengarang */
+    private final ZipfianGenerator authorRanks;
+    
+    /**
+     * Constructor untuk membuat generator untuk katalog berukuran tertentu.
+     * 
+     * @param expectedBooks perkiraan jumlah buku, menentukan ukuran kumpulan pengarang
+     * @throws IllegalArgumentException jika expectedBooks tidak lebih dari 0
+     */
+    public CatalogGenerator(int expectedBooks) {
+        if (expectedBooks <= 0) {
+            throw new IllegalArgumentException("Jumlah buku harus lebih dari 0");
+        }
+        int combinations = FIRST_NAMES.length * LAST_NAMES.length;
+        this.authors = new String[Math.max(16, expectedBooks / 4)];
+        for (int i = 0; i < authors.length; i++) {
+            String first = FIRST_NAMES[i % FIRST_NAMES.length];
+            String last = LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length];
+            // Setelah semua kombinasi terpakai, nama dibedakan dengan inisial tengah
+            int round = i / combinations;
+            authors[i] = round == 0 ? first + " " + last : first + " " + initials(round - 1) + last;
+        }
+        this.authorRanks = new ZipfianGenerator(authors.length, AUTHOR_THETA);
+    }
+    
+    /**
+     * Membuat satu buku sintetis.
+     * 
+     * @param bookId ID buku, harus berupa angka positif
+     * @param random sumber acak milik thread pemanggil
+     * @return buku baru
+     */
+    public Book generate(int bookId, SplittableRandom random) {
+        return new Book(bookId, nextTitle(random), nextAuthor(random), nextIsbn(random),
+                        nextYear(random), nextCategory(random));
+    }
+    
+    /**
+     * Menambahkan satu buku sintetis dengan ID otomatis dari library.
+     * 
+     * @param library library tujuan
+     * @param random sumber acak milik thread pemanggil
+     * @return buku yang ditambahkan
+     * @throws IllegalStateException jika library sudah penuh
+     */
+    public Book addTo(Library library, SplittableRandom random) {
+        return library.addBook(nextTitle(random), nextAuthor(random), nextIsbn(random),
+                               nextYear(random), nextCategory(random));
+    }
+    
+    /**
+     * Mengisi library dengan sejumlah buku sintetis.
+     * 
+     * @param library library tujuan
+     * @param count jumlah buku
+     * @param seed seed acak
+     * @return ID buku-buku yang ditambahkan sesuai urutan penambahan
+     * @throws IllegalStateException jika library penuh sebelum semua buku ditambahkan
+     */
+    public int[] populate(Library library, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] bookIds = new int[count];
+        for (int i = 0; i < count; i++) {
+            bookIds[i] = addTo(library, random).getBookId();
+        }
+        return bookIds;
+    }
+    
+    /**
+     * Membuat judul sintetis.
+     * 
+     * @param random sumber acak
+     * @return judul
+     */
+    public String nextTitle(SplittableRandom random) {
+        StringBuilder title = new StringBuilder(32);
+        if (random.nextInt(3) == 0) {
+            title.append(pick(TITLE_PREFIXES, random)).append(' ');
+        }
+        int words = 1 + random.nextInt(3);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                title.append(i == words - 1 && random.nextBoolean() ? " dan " : " ");
+            }
+            title.append(pick(TITLE_WORDS, random));
+        }
+        return title.toString();
+    }
+    
+    /**
+     * Mengambil satu kata judul, untuk pencarian judul.
+     * 
+     * @param random sumber acak
+     * @return kata judul
+     */
+    public String nextTitleWord(SplittableRandom random) {
+        return pick(TITLE_WORDS, random);
+    }
+    
+    /**
+     * Mengambil pengarang sesuai popularitasnya.
+     * 
+     * @param random sumber acak
+     * @return nama pengarang
+     */
+    public String nextAuthor(SplittableRandom random) {
+        return authors[authorRanks.next(random)];
+    }
+    
+    /**
+     * Mengambil kategori sesuai bobotnya.
+     * 
+     * @param random sumber acak
+     * @return nama kategori
+     */
+    public String nextCategory(SplittableRandom random) {
+        int target = random.nextInt(CATEGORY_TOTAL);
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            target -= CATEGORY_WEIGHTS[i];
+            if (target < 0) {
+                return CATEGORIES[i];
+            }
+        }
+        return CATEGORIES[CATEGORIES.length - 1];
+    }
+    
+    private int nextYear(SplittableRandom random) {
+        double age = -MEAN_AGE * Math.log(1 - random.nextDouble());
+        return Math.max(1900, LATEST_YEAR - (int) age);
+    }
+    
+    private String nextIsbn(SplittableRandom random) {
+        char[] digits = new char[13];
+        "978602".getChars(0, 6, digits, 0);
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            if (i >= 6) {
+                digits[i] = (char) ('0' + random.nextInt(10));
+            }
+            sum += (digits[i] - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        digits[12] = (char) ('0' + (10 - sum % 10) % 10);
+        String isbn = new String(digits);
+        return isbn.substring(0, 3) + "-" + isbn.substring(3, 6) + "-" + isbn.substring(6, 12) + "-"
+               + isbn.charAt(12);
+    }
+    
+    /**
+     * Membuat inisial tengah ke-n: "A. ", "B. ", ..., lalu "A. A. " dan seterusnya.
+     */
+    private static String initials(int n) {
+        String initial = (char) ('A' + n % 26) + ". ";
+        return n < 26 ? initial : initials(n / 26 - 1) + initial;
+    }
+    
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+}
\ No newline at end of file
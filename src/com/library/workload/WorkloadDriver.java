@@ -0,0 +1,436 @@
+package com.library.workload;
+
+import com.library.Book;
+import com.library.BookResult;
+import com.library.Library;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Kelas WorkloadDriver menjalankan beban kerja sintetis yang menyerupai beban
+ * production terhadap sebuah {@link Library} dan menghasilkan
+ * {@link WorkloadReport} berisi throughput dan persentil latensi per operasi.
+ * 
+ * <p>Buku dipilih dengan {@link ZipfianGenerator} atas permutasi acak ID
+ * katalog, sehingga buku populer tersebar di seluruh rentang ID. Peminjaman
+ * dan pencarian ID mengikuti popularitas, pengembalian mengambil pinjaman
+ * tertua yang masih terbuka, dan penghapusan memilih buku secara merata
+ * (penyiangan koleksi). Buku yang ditambahkan menggantikan posisi popularitas
+ * buku yang dihapus, sehingga ukuran ruang kunci tetap.
+ * 
+ * <p>Library tidak thread-safe, sehingga driver menjaganya dengan
+ * {@link ReadWriteLock} seperti {@link com.library.server.LibraryHttpServer}:
+ * pencarian di bawah read lock dan mutasi di bawah write lock. Lock dapat
+ * diberikan dari luar agar driver berbagi lock dengan pemakai lain.
+ * 
+ * <p>Dua mode tersedia. Closed-loop menjalankan N thread yang masing-masing
+ * langsung mengirim operasi berikutnya setelah operasi sebelumnya selesai.
+ * Open-loop mengirim operasi pada laju tetap sesuai jadwal; latensi diukur
+ * dari waktu terjadwal sehingga antrean saat sistem tertinggal ikut terlihat.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see WorkloadMix
+ * @see CatalogGenerator
+ */
+public final class WorkloadDriver {
+    
+    /** Jumlah nama peminjam yang dipakai bergiliran */
+    private static final int BORROWER_COUNT = 1000;
+    
+    /** Library yang diuji */
+    private final Library library;
+    
+    /** Lock yang menjaga library */
+    private final ReadWriteLock lock;
+    
+    /** Generator buku baru dan kata pencarian */
+    private final CatalogGenerator catalog;
+    
+    /** Campuran operasi */
+    private final WorkloadMix mix;
+    
+    /** Popularitas posisi buku */
+    private final ZipfianGenerator popularity;
+    
+    /** ID buku per posisi popularitas */
+    private final AtomicIntegerArray slots;
+    
+    /** ID buku yang sedang dipinjam oleh driver, pinjaman tertua di depan */
+    private final Queue<Integer> borrowed;
+    
+    /** Posisi popularitas yang bukunya sudah dihapus */
+    private final Queue<Integer> vacated;
+    
+    /** Nama peminjam */
+    private final String[] borrowers;
+    
+    /** Seed untuk sumber acak setiap putaran */
+    private final SplittableRandom seeds;
+    
+    /** Penanda untuk menghentikan semua thread jika ada yang gagal */
+    private volatile boolean aborted;
+    
+    /**
+     * Constructor untuk membuat driver dengan lock sendiri.
+     * 
+     * @param library library yang diuji, tidak boleh null
+     * @param bookIds ID buku katalog awal, minimal satu
+     * @param catalog generator buku baru, tidak boleh null
+     * @param mix campuran operasi, tidak boleh null
+     * @param theta eksponen Zipf popularitas buku
+     * @param seed seed acak
+     * @throws IllegalArgumentException jika parameter tidak valid
+     */
+    public WorkloadDriver(Library library, int[] bookIds, CatalogGenerator catalog, WorkloadMix mix,
+                          double theta, long seed) {
+        this(library, new ReentrantReadWriteLock(), bookIds, catalog, mix, theta, seed);
+    }
+    
+    /**
+     * Constructor untuk membuat driver yang berbagi lock dengan pemakai lain.
+     * 
+     * @param library library yang diuji, tidak boleh null
+     * @param lock lock yang menjaga library, tidak boleh null
+     * @param bookIds ID buku katalog awal, minimal satu
+     * @param catalog generator buku baru, tidak boleh null
+     * @param mix campuran operasi, tidak boleh null
+     * @param theta eksponen Zipf popularitas buku
+     * @param seed seed acak
+     * @throws IllegalArgumentException jika parameter tidak valid
+     */
+    public WorkloadDriver(Library library, ReadWriteLock lock, int[] bookIds, CatalogGenerator catalog,
+                          WorkloadMix mix, double theta, long seed) {
+        if (library == null || lock == null || catalog == null || mix == null) {
+            throw new IllegalArgumentException("Library, lock, generator, dan campuran tidak boleh null");
+        }
+        if (bookIds == null || bookIds.length == 0) {
+            throw new IllegalArgumentException("Katalog awal tidak boleh kosong");
+        }
+        this.library = library;
+        this.lock = lock;
+        this.catalog = catalog;
+        this.mix = mix;
+        this.popularity = new ZipfianGenerator(bookIds.length, theta);
+        this.seeds = new SplittableRandom(seed);
+        
+        // Permutasi acak agar buku populer tidak berkumpul di ID kecil
+        int[] shuffled = bookIds.clone();
+        SplittableRandom random = seeds.split();
+        for (int i = shuffled.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = tmp;
+        }
+        this.slots = new AtomicIntegerArray(shuffled);
+        this.borrowed = new ConcurrentLinkedQueue<>();
+        this.vacated = new ConcurrentLinkedQueue<>();
+        this.borrowers = new String[BORROWER_COUNT];
+        for (int i = 0; i < BORROWER_COUNT; i++) {
+            borrowers[i] = "anggota-" + i;
+        }
+    }
+    
+    /**
+     * Menjalankan beban closed-loop: setiap thread langsung mengirim operasi
+     * berikutnya setelah operasi sebelumnya selesai.
+     * 
+     * @param threads jumlah thread, harus lebih dari 0
+     * @param duration durasi putaran
+     * @return laporan putaran
+     * @throws IllegalStateException jika ada operasi yang gagal dengan exception
+     */
+    public WorkloadReport runClosedLoop(int threads, Duration duration) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Jumlah thread harus lebih dari 0");
+        }
+        WorkloadReport report = new WorkloadReport("closed-loop " + threads + " thread, " + mix);
+        run(report, threads, duration, (worker, random, start, end) -> {
+            long now = System.nanoTime();
+            while (now < end && !aborted) {
+                WorkloadOperation operation = mix.next(random);
+                boolean ok = execute(operation, random);
+                long finished = System.nanoTime();
+                report.record(operation, finished - now, ok);
+                now = finished;
+            }
+        });
+        return report;
+    }
+    
+    /**
+     * Menjalankan beban open-loop pada laju tetap. Operasi ke-k dijadwalkan
+     * pada waktu mulai + k / laju dan dibagi bergiliran ke thread-thread;
+     * latensi diukur dari waktu terjadwal.
+     * 
+     * @param opsPerSecond laju target semua thread, harus lebih dari 0
+     * @param threads jumlah thread, harus lebih dari 0
+     * @param duration durasi putaran
+     * @return laporan putaran
+     * @throws IllegalStateException jika ada operasi yang gagal dengan exception
+     */
+    public WorkloadReport runOpenLoop(double opsPerSecond, int threads, Duration duration) {
+        if (!(opsPerSecond > 0) || threads <= 0) {
+            throw new IllegalArgumentException("Laju dan jumlah thread harus lebih dari 0");
+        }
+        double interval = 1e9 / opsPerSecond;
+        WorkloadReport report = new WorkloadReport(String.format("open-loop %.0f op/s, %d thread, %s",
+                                                                 opsPerSecond, threads, mix));
+        run(report, threads, duration, (worker, random, start, end) -> {
+            for (long k = worker; !aborted; k += threads) {
+                long intended = start + (long) (k * interval);
+                if (intended >= end) {
+                    break;
+                }
+                long delay;
+                while ((delay = intended - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                WorkloadOperation operation = mix.next(random);
+                boolean ok = execute(operation, random);
+                report.record(operation, System.nanoTime() - intended, ok);
+            }
+        });
+        return report;
+    }
+    
+    /**
+     * Mendapatkan jumlah buku yang sedang dipinjam oleh driver.
+     * 
+     * @return jumlah pinjaman terbuka
+     */
+    public int getOpenLoanCount() {
+        return borrowed.size();
+    }
+    
+    private void run(WorkloadReport report, int threads, Duration duration, Worker worker) {
+        long durationNanos = duration.toNanos();
+        if (durationNanos <= 0) {
+            throw new IllegalArgumentException("Durasi harus lebih dari 0");
+        }
+        aborted = false;
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "workload-driver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            long start = System.nanoTime() + Duration.ofMillis(10).toNanos();
+            long end = start + durationNanos;
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                int index = i;
+                SplittableRandom random = seeds.split();
+                futures.add(executor.submit(() -> {
+                    LockSupport.parkNanos(start - System.nanoTime());
+                    worker.run(index, random, start, end);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    aborted = true;
+                    throw new IllegalStateException("Operasi beban kerja gagal", e.getCause());
+                }
+            }
+            report.setElapsedNanos(Math.max(System.nanoTime(), end) - start);
+        } catch (InterruptedException e) {
+            aborted = true;
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Beban kerja diinterupsi", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * Menjalankan satu operasi.
+     * 
+     * @return true jika operasi berhasil, misalnya buku ditemukan atau dipinjam
+     */
+    private boolean execute(WorkloadOperation operation, SplittableRandom random) {
+        Lock held = operation.isMutation() ? lock.writeLock() : lock.readLock();
+        switch (operation) {
+            case FIND: {
+                int bookId = slots.get(popularity.next(random));
+                held.lock();
+                try {
+                    return library.findBookById(bookId) != null;
+                } finally {
+                    held.unlock();
+                }
+            }
+            case SEARCH: {
+                int kind = random.nextInt(3);
+                String term = kind == 0 ? catalog.nextTitleWord(random)
+                              : kind == 1 ? catalog.nextAuthor(random) : catalog.nextCategory(random);
+                held.lock();
+                try {
+                    List<Book> result = kind == 0 ? library.findBooksByTitle(term)
+                                        : kind == 1 ? library.findBooksByAuthor(term)
+                                        : library.findBooksByCategory(term);
+                    return !result.isEmpty();
+                } finally {
+                    held.unlock();
+                }
+            }
+            case BORROW: {
+                int bookId = slots.get(popularity.next(random));
+                BookResult result;
+                held.lock();
+                try {
+                    result = library.tryBorrowBook(bookId, borrowers[random.nextInt(BORROWER_COUNT)]);
+                } finally {
+                    held.unlock();
+                }
+                if (result.isOk()) {
+                    borrowed.offer(bookId);
+                }
+                return result.isOk();
+            }
+            case RETURN: {
+                Integer loan = borrowed.poll();
+                int bookId = loan != null ? loan : slots.get(popularity.next(random));
+                held.lock();
+                try {
+                    return library.tryReturnBook(bookId).isOk();
+                } finally {
+                    held.unlock();
+                }
+            }
+            case ADD: {
+                Book book;
+                held.lock();
+                try {
+                    if (library.isFull()) {
+                        return false;
+                    }
+                    book = catalog.addTo(library, random);
+                } finally {
+                    held.unlock();
+                }
+                Integer slot = vacated.poll();
+                if (slot != null) {
+                    slots.set(slot, book.getBookId());
+                }
+                return true;
+            }
+            case REMOVE: {
+                int slot = random.nextInt(slots.length());
+                BookResult result;
+                held.lock();
+                try {
+                    result = library.tryRemoveBook(slots.get(slot));
+                } finally {
+                    held.unlock();
+                }
+                if (result.isOk()) {
+                    vacated.offer(slot);
+                }
+                return result.isOk();
+            }
+            default:
+                throw new IllegalArgumentException("Operasi tidak dikenal: " + operation);
+        }
+    }
+    
+    /**
+     * Badan satu thread beban kerja.
+     */
+    @FunctionalInterface
+    private interface Worker {
+        void run(int index, SplittableRandom random, long start, long end);
+    }
+    
+    /**
+     * Menjalankan beban kerja dari command line.
+     * 
+     * <p>Opsi: {@code --books N} (default 100000), {@code --threads N}
+     * (default 4), {@code --duration detik} (default 10), {@code --warmup
+     * detik} (default 3), {@code --rate op/s} (0 untuk closed-loop, default
+     * 0), {@code --mix spesifikasi} (default {@link WorkloadMix#DEFAULT}),
+     * {@code --theta nilai} (default {@value ZipfianGenerator#DEFAULT_THETA}),
+     * dan {@code --seed nilai}.
+     * 
+     * @param args opsi command line
+     */
+    public static void main(String[] args) {
+        int books = 100_000;
+        int threads = 4;
+        int seconds = 10;
+        int warmup = 3;
+        double rate = 0;
+        WorkloadMix mix = WorkloadMix.DEFAULT;
+        double theta = ZipfianGenerator.DEFAULT_THETA;
+        long seed = 42;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--books":
+                    books = Integer.parseInt(value);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "--duration":
+                    seconds = Integer.parseInt(value);
+                    break;
+                case "--warmup":
+                    warmup = Integer.parseInt(value);
+                    break;
+                case "--rate":
+                    rate = Double.parseDouble(value);
+                    break;
+                case "--mix":
+                    mix = WorkloadMix.parse(value);
+                    break;
+                case "--theta":
+                    theta = Double.parseDouble(value);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+                default:
+                    System.err.println("Opsi tidak dikenal: " + args[i]);
+                    return;
+            }
+        }
+        
+        long loadStart = System.nanoTime();
+        Library library = new Library("Beban Kerja", books * 2);
+        CatalogGenerator catalog = new CatalogGenerator(books);
+        int[] bookIds = catalog.populate(library, books, seed);
+        System.out.printf("Katalog %d buku dibuat dalam %d ms%n", books,
+                          (System.nanoTime() - loadStart) / 1_000_000);
+                          
+        WorkloadDriver driver = new WorkloadDriver(library, bookIds, catalog, mix, theta, seed);
+        if (warmup > 0) {
+            run(driver, rate, threads, Duration.ofSeconds(warmup));
+            System.out.println("Pemanasan selesai");
+        }
+        System.out.print(run(driver, rate, threads, Duration.ofSeconds(seconds)).format());
+        System.out.printf("Buku: %d, tersedia: %d, pinjaman terbuka driver: %d%n", library.getTotalBooks(),
+                          library.getAvailableBooks(), driver.getOpenLoanCount());
+    }
+    
+    private static WorkloadReport run(WorkloadDriver driver, double rate, int threads, Duration duration) {
+        return rate > 0 ? driver.runOpenLoop(rate, threads, duration) : driver.runClosedLoop(threads, duration);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.library.workload;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Kelas WorkloadMix menyatakan proporsi setiap {@link WorkloadOperation} di
+ * sebuah beban kerja, misalnya "find=60,search=10,borrow=12,return=12,add=3,remove=3".
+ * 
+ * <p>Bobot tidak harus berjumlah 100; setiap operasi dipilih dengan peluang
+ * bobotnya dibagi jumlah semua bobot. Objek ini tidak berubah setelah dibuat.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see WorkloadDriver
+ */
+public final class WorkloadMix {
+    
+    /** Operasi sesuai urutan enum */
+    private static final WorkloadOperation[] OPERATIONS = WorkloadOperation.values();
+    
+    /** Campuran default: dominan baca dengan sirkulasi dan sedikit perubahan katalog */
+    public static final WorkloadMix DEFAULT = parse("find=60,search=10,borrow=12,return=12,add=3,remove=3");
+    
+    /** Bobot per operasi */
+    private final int[] weights;
+    
+    /** Bobot kumulatif per operasi */
+    private final int[] cumulative;
+    
+    /**
+     * Constructor untuk membuat campuran dari bobot per operasi.
+     * 
+     * @param weights bobot per operasi; operasi yang tidak ada berbobot 0
+     * @throws IllegalArgumentException jika ada bobot negatif atau semua bobot 0
+     */
+    public WorkloadMix(Map<WorkloadOperation, Integer> weights) {
+        this.weights = new int[OPERATIONS.length];
+        this.cumulative = new int[OPERATIONS.length];
+        int total = 0;
+        for (WorkloadOperation operation : OPERATIONS) {
+            int weight = weights.getOrDefault(operation, 0);
+            if (weight < 0) {
+                throw new IllegalArgumentException("Bobot operasi " + operation.getParameterName()
+                                                   + " tidak boleh negatif");
+            }
+            this.weights[operation.ordinal()] = weight;
+            total += weight;
+            this.cumulative[operation.ordinal()] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Campuran beban kerja harus memiliki minimal satu operasi");
+        }
+    }
+    
+    /**
+     * Membaca campuran dari teks "nama=bobot" yang dipisahkan koma.
+     * 
+     * @param spec spesifikasi campuran, misalnya "find=90,borrow=5,return=5"
+     * @return campuran beban kerja
+     * @throws IllegalArgumentException jika spesifikasi tidak valid
+     */
+    public static WorkloadMix parse(String spec) {
+        if (spec == null || spec.trim().isEmpty()) {
+            throw new IllegalArgumentException("Spesifikasi campuran tidak boleh kosong");
+        }
+        Map<WorkloadOperation, Integer> weights = new EnumMap<>(WorkloadOperation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            WorkloadOperation operation = pair.length == 2 ? WorkloadOperation.fromParameterName(pair[0].trim()) : null;
+            if (operation == null) {
+                throw new IllegalArgumentException("Bagian campuran tidak valid: " + part.trim());
+            }
+            try {
+                weights.put(operation, Integer.parseInt(pair[1].trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bobot tidak valid: " + part.trim());
+            }
+        }
+        return new WorkloadMix(weights);
+    }
+    
+    /**
+     * Memilih satu operasi sesuai bobot.
+     * 
+     * @param random sumber acak milik thread pemanggil
+     * @return operasi yang dipilih
+     */
+    public WorkloadOperation next(SplittableRandom random) {
+        int target = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (target < cumulative[i]) {
+                return OPERATIONS[i];
+            }
+        }
+        return OPERATIONS[OPERATIONS.length - 1];
+    }
+    
+    /**
+     * Mendapatkan bobot sebuah operasi.
+     * 
+     * @param operation operasi
+     * @return bobot, 0 jika operasi tidak dijalankan
+     */
+    public int getWeight(WorkloadOperation operation) {
+        return weights[operation.ordinal()];
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (WorkloadOperation operation : OPERATIONS) {
+            if (weights[operation.ordinal()] > 0) {
+                if (sb.length() > 0) {
+                    sb.append(',');
+                }
+                sb.append(operation.getParameterName()).append('=').append(weights[operation.ordinal()]);
+            }
+        }
+        return sb.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.library.workload;
+
+/**
+ * Enum WorkloadOperation mendaftar jenis operasi yang dijalankan oleh
+ * {@link WorkloadDriver}.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see WorkloadMix
+ */
+public enum WorkloadOperation {
+    
+    /** Mencari buku berdasarkan ID */
+    FIND("find", false),
+    
+    /** Mencari buku berdasarkan judul, pengarang, atau kategori */
+    SEARCH("search", false),
+    
+    /** Meminjam buku */
+    BORROW("borrow", true),
+    
+    /** Mengembalikan buku yang dipinjam */
+    RETURN("return", true),
+    
+    /** Menambahkan buku baru */
+    ADD("add", true),
+    
+    /** Menghapus buku */
+    REMOVE("remove", true);
+    
+    /** Nama operasi pada spesifikasi campuran */
+    private final String parameterName;
+    
+    /** Penanda bahwa operasi mengubah library */
+    private final boolean mutation;
+    
+    /**
+     * Constructor untuk enum WorkloadOperation.
+     * 
+     * @param parameterName nama operasi pada spesifikasi campuran
+     * @param mutation true jika operasi mengubah library
+     */
+    WorkloadOperation(String parameterName, boolean mutation) {
+        this.parameterName = parameterName;
+        this.mutation = mutation;
+    }
+    
+    /**
+     * Mendapatkan nama operasi pada spesifikasi campuran.
+     * 
+     * @return nama operasi, misalnya "find"
+     */
+    public String getParameterName() {
+        return parameterName;
+    }
+    
+    /**
+     * Mengecek apakah operasi mengubah library dan perlu write lock.
+     * 
+     * @return true untuk operasi mutasi
+     */
+    public boolean isMutation() {
+        return mutation;
+    }
+    
+    /**
+     * Mencari operasi berdasarkan nama.
+     * 
+     * @param name nama operasi, tidak case-sensitive
+     * @return operasi, atau null jika tidak dikenal
+     */
+    public static WorkloadOperation fromParameterName(String name) {
+        for (WorkloadOperation operation : values()) {
+            if (operation.parameterName.equalsIgnoreCase(name)) {
+                return operation;
+            }
+        }
+        return null;
+    }
+}
\ No newline at end of file
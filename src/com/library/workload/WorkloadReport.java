@@ -0,0 +1,171 @@
+package com.library.workload;
+
+import com.library.metrics.LatencyHistogram;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Kelas WorkloadReport mengumpulkan hasil satu putaran {@link WorkloadDriver}:
+ * jumlah operasi, jumlah operasi yang berhasil, dan histogram latensi per
+ * jenis operasi, serta durasi putaran untuk menghitung throughput.
+ * 
+ * <p>Untuk beban open-loop, latensi diukur dari waktu mulai yang dijadwalkan,
+ * bukan waktu mulai sebenarnya, sehingga antrean akibat sistem yang tertinggal
+ * ikut terhitung (koreksi coordinated omission). Pencatatan aman dipanggil
+ * dari banyak thread sekaligus.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see WorkloadDriver
+ */
+public final class WorkloadReport {
+    
+    /** Persentil yang ditampilkan di laporan */
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    
+    /** Deskripsi putaran, misalnya "closed-loop 4 thread" */
+    private final String description;
+    
+    /** Histogram latensi per operasi */
+    private final Map<WorkloadOperation, LatencyHistogram> latencies;
+    
+    /** Jumlah operasi yang berhasil per operasi */
+    private final Map<WorkloadOperation, LongAdder> succeeded;
+    
+    /** Durasi putaran dalam nanodetik */
+    private volatile long elapsedNanos;
+    
+    /**
+     * Constructor untuk membuat laporan kosong.
+     * 
+     * @param description deskripsi putaran
+     */
+    WorkloadReport(String description) {
+        this.description = description;
+        this.latencies = new EnumMap<>(WorkloadOperation.class);
+        this.succeeded = new EnumMap<>(WorkloadOperation.class);
+        for (WorkloadOperation operation : WorkloadOperation.values()) {
+            latencies.put(operation, new LatencyHistogram());
+            succeeded.put(operation, new LongAdder());
+        }
+    }
+    
+    void record(WorkloadOperation operation, long latencyNanos, boolean ok) {
+        latencies.get(operation).record(latencyNanos);
+        if (ok) {
+            succeeded.get(operation).increment();
+        }
+    }
+    
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+    
+    /**
+     * Mendapatkan deskripsi putaran.
+     * 
+     * @return deskripsi
+     */
+    public String getDescription() {
+        return description;
+    }
+    
+    /**
+     * Mendapatkan histogram latensi sebuah operasi.
+     * 
+     * @param operation operasi
+     * @return histogram latensi dalam nanodetik
+     */
+    public LatencyHistogram getLatency(WorkloadOperation operation) {
+        return latencies.get(operation);
+    }
+    
+    /**
+     * Mendapatkan jumlah operasi yang dijalankan.
+     * 
+     * @param operation operasi
+     * @return jumlah operasi
+     */
+    public long getCount(WorkloadOperation operation) {
+        return latencies.get(operation).getCount();
+    }
+    
+    /**
+     * Mendapatkan jumlah operasi yang berhasil, misalnya peminjaman buku yang
+     * tersedia atau pencarian yang menemukan buku.
+     * 
+     * @param operation operasi
+     * @return jumlah operasi yang berhasil
+     */
+    public long getSucceeded(WorkloadOperation operation) {
+        return succeeded.get(operation).sum();
+    }
+    
+    /**
+     * Mendapatkan jumlah semua operasi.
+     * 
+     * @return jumlah operasi
+     */
+    public long getTotalCount() {
+        long total = 0;
+        for (LatencyHistogram histogram : latencies.values()) {
+            total += histogram.getCount();
+        }
+        return total;
+    }
+    
+    /**
+     * Mendapatkan durasi putaran.
+     * 
+     * @return durasi dalam nanodetik
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    
+    /**
+     * Mendapatkan throughput semua operasi.
+     * 
+     * @return operasi per detik
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0.0 : getTotalCount() * 1e9 / elapsedNanos;
+    }
+    
+    /**
+     * Membuat laporan teks berisi throughput dan persentil latensi per operasi.
+     * 
+     * @return laporan teks
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("=== Beban kerja: %s ===%n", description));
+        sb.append(String.format("Durasi: %.2f s, total operasi: %d, throughput: %.0f op/s%n",
+                                elapsedNanos / 1e9, getTotalCount(), getThroughput()));
+        sb.append(String.format("%-8s %10s %10s %8s %9s %9s %9s %9s %9s%n", "operasi", "jumlah", "op/s",
+                                "ok%", "p50(us)", "p90(us)", "p99(us)", "p99.9(us)", "max(us)"));
+        for (WorkloadOperation operation : WorkloadOperation.values()) {
+            LatencyHistogram histogram = latencies.get(operation);
+            long count = histogram.getCount();
+            if (count == 0) {
+                continue;
+            }
+            sb.append(String.format("%-8s %10d %10.0f %7.1f%%", operation.getParameterName(), count,
+                                    elapsedNanos == 0 ? 0.0 : count * 1e9 / elapsedNanos,
+                                    100.0 * succeeded.get(operation).sum() / count));
+            for (double percentile : PERCENTILES) {
+                sb.append(String.format(" %9.1f", histogram.getValueAtPercentile(percentile) / 1e3));
+            }
+            sb.append(String.format(" %9.1f%n", histogram.getMax() / 1e3));
+        }
+        return sb.toString();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("WorkloadReport{%s, operasi=%d, throughput=%.0f op/s}",
+                             description, getTotalCount(), getThroughput());
+    }
+}
\ No newline at end of file
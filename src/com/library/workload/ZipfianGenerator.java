@@ -0,0 +1,109 @@
+package com.library.workload;
+
+import java.util.SplittableRandom;
+
+/**
+ * Kelas ZipfianGenerator menghasilkan peringkat 0 sampai n-1 dengan
+ * distribusi Zipf, sehingga peringkat kecil jauh lebih sering muncul daripada
+ * peringkat besar, seperti popularitas buku di perpustakaan sungguhan.
+ * 
+ * <p>Pengambilan sampel memakai metode Gray dkk. ("Quickly Generating
+ * Billion-Record Synthetic Databases") yang juga dipakai YCSB: konstanta zeta
+ * dihitung sekali dalam O(n) dan setiap sampel dihitung dalam O(1) tanpa
+ * tabel. Peringkat belum diacak; pemetaan peringkat ke buku dilakukan oleh
+ * pemakai, misalnya dengan permutasi acak ID buku.
+ * 
+ * <p>Objek ini tidak berubah setelah dibuat dan aman dipakai bersama oleh
+ * banyak thread, masing-masing dengan sumber acaknya sendiri.
+ * 
+ * @author Mochammad Rizky Firdaus
+ * @version 1
+ * @since 2025-11-09
+ * @see WorkloadDriver
+ */
+public final class ZipfianGenerator {
+    
+    /** Eksponen default, sama dengan YCSB */
+    public static final double DEFAULT_THETA = 0.99;
+    
+    /** Jumlah peringkat */
+    private final int itemCount;
+    
+    /** Eksponen distribusi */
+    private final double theta;
+    
+    // Konstanta metode Gray dkk.
+    private final double zetan;
+    private final double alpha;
+    private final double eta;
+    private final double halfPowTheta;
+    
+    /**
+     * Constructor untuk membuat generator dengan eksponen tertentu.
+     * 
+     * @param itemCount jumlah peringkat, harus lebih dari 0
+     * @param theta eksponen distribusi, antara 0 (eksklusif) dan 1 (eksklusif);
+     *              makin besar makin timpang
+     * @throws IllegalArgumentException jika parameter tidak valid
+     */
+    public ZipfianGenerator(int itemCount, double theta) {
+        if (itemCount <= 0) {
+            throw new IllegalArgumentException("Jumlah item harus lebih dari 0");
+        }
+        if (!(theta > 0 && theta < 1)) {
+            throw new IllegalArgumentException("Theta harus di antara 0 dan 1");
+        }
+        this.itemCount = itemCount;
+        this.theta = theta;
+        this.zetan = zeta(itemCount, theta);
+        double zeta2 = zeta(2, theta);
+        this.alpha = 1.0 / (1.0 - theta);
+        this.eta = (1 - Math.pow(2.0 / itemCount, 1 - theta)) / (1 - zeta2 / zetan);
+        this.halfPowTheta = 1 + Math.pow(0.5, theta);
+    }
+    
+    /**
+     * Mengambil satu peringkat.
+     * 
+     * @param random sumber acak milik thread pemanggil
+     * @return peringkat antara 0 dan {@link #getItemCount()} - 1
+     */
+    public int next(SplittableRandom random) {
+        double u = random.nextDouble();
+        double uz = u * zetan;
+        if (uz < 1.0) {
+            return 0;
+        }
+        if (uz < halfPowTheta) {
+            return Math.min(1, itemCount - 1);
+        }
+        long rank = (long) (itemCount * Math.pow(eta * u - eta + 1, alpha));
+        return (int) Math.min(rank, itemCount - 1);
+    }
+    
+    /**
+     * Mendapatkan jumlah peringkat.
+     * 
+     * @return jumlah peringkat
+     */
+    public int getItemCount() {
+        return itemCount;
+    }
+    
+    /**
+     * Mendapatkan eksponen distribusi.
+     * 
+     * @return theta
+     */
+    public double getTheta() {
+        return theta;
+    }
+    
+    private static double zeta(int n, double theta) {
+        double sum = 0;
+        for (int i = 1; i <= n; i++) {
+            sum += 1 / Math.pow(i, theta);
+        }
+        return sum;
+    }
+}
\ No newline at end of file